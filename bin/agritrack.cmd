@@ -0,0 +1,23 @@
+@echo off
+rem AgriTrack launcher (Windows)
+rem WHAT: Starts app\target\agritrack-1.0-SNAPSHOT.jar, with the AppCDS archive app\target\agritrack.jsa when it exists
+rem HOW: Same as bin/agritrack - absolute jar path (the archive stores it), -Xshare:auto, JVM options in JAVA_OPTS
+setlocal
+set "HOME_DIR=%~dp0.."
+for %%I in ("%HOME_DIR%") do set "HOME_DIR=%%~fI"
+set "JAR=%HOME_DIR%\app\target\agritrack-1.0-SNAPSHOT.jar"
+set "ARCHIVE=%HOME_DIR%\app\target\agritrack.jsa"
+set "JAVA=java"
+if defined JAVA_HOME set "JAVA=%JAVA_HOME%\bin\java"
+
+if not exist "%JAR%" (
+    echo %JAR% not found - run mvn -B package first 1>&2
+    exit /b 1
+)
+
+if exist "%ARCHIVE%" (
+    "%JAVA%" -XX:SharedArchiveFile="%ARCHIVE%" -Xshare:auto %JAVA_OPTS% -jar "%JAR%" %*
+) else (
+    "%JAVA%" %JAVA_OPTS% -jar "%JAR%" %*
+)
+exit /b %ERRORLEVEL%
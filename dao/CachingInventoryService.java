@@ -0,0 +1,403 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.util.ArrayList; // Import: ArrayList for returned item lists
+import java.util.Collection; // Import: Collection for bulk inserts
+import java.util.Comparator; // Import: Comparator for the listing order
+import java.util.LinkedHashMap; // Import: LinkedHashMap for the LRU item index
+import java.util.List; // Import: List interface for collections
+import java.util.Locale; // Import: Locale for stats formatting
+import java.util.Map; // Import: Map interface for the item index
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for the maximum cache age
+import model.BulkInsertResult; // Import: BulkInsertResult for bulk insert outcomes
+import model.EquipmentItem; // Import: EquipmentItem subclass (copying)
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot subclass (copying)
+import model.InventoryPage; // Import: InventoryPage for paged query results
+import model.InventoryService; // Import: InventoryService interface
+import util.Metrics; // Import: Metrics for timing the shared service's operations
+
+/**
+ * CachingInventoryService - Write-Through In-Memory Cache in Front of InventoryDAO
+ * WHAT: InventoryService that answers getAllRecords(), getRecordById() and countRecords() from memory when it can
+ * WHY: Home, records, reports and purchase screens re-read and re-parse the whole INVENTORY_ITEM table
+ *      for every visit, although the data rarely changes between them
+ * HOW: Items are kept in an ID-indexed LinkedHashMap in access order (LRU), bounded by agritrack.cache.maxItems.
+ *      After a full getAllRecords() load that fits, the cache is "complete" and answers listings and counts itself.
+ *      addRecord/updateRecord/deleteRecord write to the database first, then update the cached item.
+ *      Searches and paging always go to InventoryDAO (they have their own index / keyset queries).
+ *
+ * COPIES: FarmItem objects are mutable - the cache stores and returns copies, so a screen changing an item
+ *         without saving cannot change what other screens see
+ * EXTERNAL CHANGES: Rows edited in H2 Console or by another running instance are picked up after
+ *                   agritrack.cache.maxAgeSeconds (default 300), or right away after invalidate()
+ * THREADING: Thread-safe - all cache state is guarded by one lock, database calls run outside of it
+ */
+public final class CachingInventoryService implements InventoryService {
+    // WHAT: Maximum number of cached items
+    // WHY: Bounds memory; larger inventories keep the most recently used items only
+    private static final int MAX_ITEMS = Integer.getInteger("agritrack.cache.maxItems", 50_000);
+
+    // WHAT: Maximum age of cached data before it is dropped
+    // WHY: Picks up changes made outside this application
+    private static final long MAX_AGE_NANOS =
+        TimeUnit.SECONDS.toNanos(Long.getLong("agritrack.cache.maxAgeSeconds", 300));
+
+    // WHAT: Listing order of getAllRecords() - newest date first, then newest ID
+    // WHY: Same order as the database listing and keyset pagination
+    private static final Comparator<FarmItem> LISTING_ORDER = Comparator
+        .comparing(FarmItem::getDateAdded, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(FarmItem::getId, Comparator.reverseOrder());
+
+    // WHAT: Shared cache for all screens
+    // WHY: A cache per screen would be empty on every visit
+    private static final CachingInventoryService INSTANCE = new CachingInventoryService(new InventoryDAO(), MAX_ITEMS);
+
+    // WHAT: The shared cache as seen by screens - timed per operation when agritrack.metrics.enabled is set
+    // HOW: Metrics.instrument() returns INSTANCE itself when metrics are disabled
+    private static final InventoryService SERVICE = Metrics.instrument(InventoryService.class, INSTANCE, "InventoryService");
+
+    /**
+     * Stats - Snapshot of cache metrics
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final int capacity;
+
+        Stats(long hits, long misses, long evictions, int size, int capacity) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public int getSize() { return size; }
+        public int getCapacity() { return capacity; }
+
+        /**
+         * getHitRatio() - Fraction of lookups answered from memory (0 when nothing was looked up)
+         */
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "hits=%d misses=%d hitRatio=%.1f%% evictions=%d size=%d/%d",
+                hits, misses, getHitRatio() * 100, evictions, size, capacity);
+        }
+    }
+
+    private final InventoryDAO delegate;
+    private final int maxItems;
+    private final Object lock = new Object();
+
+    // WHAT: Cached items by ID, least recently used first
+    // HOW: removeEldestEntry() evicts beyond maxItems - the cache is then no longer complete
+    private final LinkedHashMap<Integer, FarmItem> items;
+
+    // WHAT: Whether items holds every row of INVENTORY_ITEM
+    private boolean complete;
+
+    // WHAT: When the cached data started to accumulate (reset by invalidate)
+    private long epochStartNanos = System.nanoTime();
+
+    // WHAT: Incremented on every write and invalidation
+    // WHY: A database read that overlapped a write must not store its (possibly older) result
+    private long modCount;
+
+    // WHAT: Metrics (guarded by lock)
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor - Creates a cache in front of the given DAO
+     * @param delegate DAO that performs the database operations
+     * @param maxItems Maximum number of cached items (must be positive)
+     */
+    CachingInventoryService(InventoryDAO delegate, int maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxItems);
+        }
+        this.delegate = delegate;
+        this.maxItems = maxItems;
+        this.items = new LinkedHashMap<Integer, FarmItem>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, FarmItem> eldest) {
+                if (size() > CachingInventoryService.this.maxItems) {
+                    evictions++;
+                    complete = false;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * getInstance() - Returns the shared cache
+     */
+    public static CachingInventoryService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * getService() - Returns the shared cache through its InventoryService interface, with operation metrics
+     * WHY: Screens call inventory operations through this; getInstance() is for cache maintenance
+     *      (invalidate, stock changes, statistics)
+     */
+    public static InventoryService getService() {
+        return SERVICE;
+    }
+
+    @Override
+    public void addRecord(FarmItem item) throws Exception {
+        int itemId = delegate.insertRecord(item);
+        synchronized (lock) {
+            modCount++;
+            FarmItem copy = itemId > 0 ? copyOf(item, itemId) : null;
+            if (copy != null) {
+                copy.setVersion(0); // New rows start at the column default, so the cached copy can be edited
+                items.put(itemId, copy);
+            } else {
+                complete = false; // Row exists in the database but not in memory
+            }
+        }
+    }
+
+    @Override
+    public BulkInsertResult addRecords(Collection<? extends FarmItem> items) throws Exception {
+        // InventoryBatchWriter.close() invalidates this cache when rows were inserted
+        return delegate.addRecords(items);
+    }
+
+    @Override
+    public List<FarmItem> getAllRecords() throws Exception {
+        long startModCount;
+        synchronized (lock) {
+            expireIfStaleLocked();
+            if (complete) {
+                hits++;
+                List<FarmItem> all = new ArrayList<>(items.size());
+                for (FarmItem item : items.values()) {
+                    all.add(copyOf(item, item.getId()));
+                }
+                all.sort(LISTING_ORDER);
+                return all;
+            }
+            misses++;
+            startModCount = modCount;
+        }
+
+        List<FarmItem> all = delegate.getAllRecords();
+        synchronized (lock) {
+            if (startModCount == modCount && all.size() <= maxItems) {
+                List<FarmItem> copies = new ArrayList<>(all.size());
+                for (FarmItem item : all) {
+                    FarmItem copy = copyOf(item, item.getId());
+                    if (copy == null) {
+                        return all; // Unknown item type - cannot be cached
+                    }
+                    copies.add(copy);
+                }
+                items.clear();
+                for (FarmItem copy : copies) {
+                    items.put(copy.getId(), copy);
+                }
+                complete = true;
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public FarmItem getRecordById(int id) throws Exception {
+        long startModCount;
+        synchronized (lock) {
+            expireIfStaleLocked();
+            FarmItem cached = items.get(id);
+            if (cached != null) {
+                hits++;
+                return copyOf(cached, id);
+            }
+            if (complete) {
+                hits++;
+                return null; // Every row is cached - no item with this ID
+            }
+            misses++;
+            startModCount = modCount;
+        }
+
+        FarmItem item = delegate.getRecordById(id);
+        if (item != null) {
+            synchronized (lock) {
+                FarmItem copy = copyOf(item, id);
+                if (startModCount == modCount && copy != null) {
+                    items.put(id, copy);
+                }
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public void updateRecord(FarmItem item) throws Exception {
+        try {
+            delegate.updateRecord(item);
+        } catch (Exception e) {
+            // WHAT: Drop the cached item when the update fails
+            // WHY: A version conflict means the cached copy is out of date (changed by a purchase or by
+            //      another instance); the retry must read the current row from the database
+            synchronized (lock) {
+                modCount++;
+                if (items.remove(item.getId()) != null) {
+                    complete = false; // The row still exists but is no longer in memory
+                }
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            modCount++;
+            // WHAT: Replace the cached item (the update succeeded, so the row exists)
+            // HOW: The copy carries the new row version set by InventoryDAO
+            FarmItem copy = copyOf(item, item.getId());
+            if (copy != null) {
+                items.put(item.getId(), copy);
+            } else {
+                items.remove(item.getId());
+            }
+        }
+    }
+
+    @Override
+    public void deleteRecord(int id) throws Exception {
+        delegate.deleteRecord(id);
+        synchronized (lock) {
+            modCount++;
+            items.remove(id);
+        }
+    }
+
+    @Override
+    public List<FarmItem> searchRecords(String query) throws Exception {
+        return delegate.searchRecords(query);
+    }
+
+    @Override
+    public List<FarmItem> fullTextSearch(String query, int limit) throws Exception {
+        return delegate.fullTextSearch(query, limit);
+    }
+
+    @Override
+    public InventoryPage getRecordsPage(String cursor, int pageSize) throws Exception {
+        return delegate.getRecordsPage(cursor, pageSize);
+    }
+
+    @Override
+    public int countRecords() throws Exception {
+        synchronized (lock) {
+            expireIfStaleLocked();
+            if (complete) {
+                hits++;
+                return items.size();
+            }
+            misses++;
+        }
+        return delegate.countRecords();
+    }
+
+    /**
+     * invalidate() - Drops all cached items
+     * WHAT: Next reads go to the database
+     * WHY: Called after bulk imports (generated IDs unknown) and when data may have changed externally
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            invalidateLocked();
+        }
+    }
+
+    /**
+     * applyStockChange() - Updates quantity and status of a cached harvest lot
+     * WHAT: Mirrors a stock change that was written to the database by other DAO code
+     * WHY: PurchaseService decrements stock in SQL; the cached lot must not keep showing the old quantity
+     * HOW: Replaces the cached HarvestLot with a copy carrying the new values; other items are dropped
+     * @param id ID of the changed item
+     * @param quantity New quantity
+     * @param status New status
+     * @param version New row version (a later edit of the cached lot must not conflict with this change)
+     */
+    void applyStockChange(int id, double quantity, String status, int version) {
+        synchronized (lock) {
+            modCount++;
+            FarmItem cached = items.get(id);
+            if (cached instanceof HarvestLot) {
+                HarvestLot lot = (HarvestLot) cached;
+                HarvestLot changed = new HarvestLot(id, lot.getName(), quantity, lot.getUnit(), lot.getDateAdded(),
+                    lot.getNotes(), status, lot.getPricePerUnit());
+                changed.setVersion(version);
+                items.put(id, changed);
+            } else if (cached != null || complete) {
+                items.remove(id);
+                complete = false; // The row still exists but is no longer in memory
+            }
+        }
+    }
+
+    /**
+     * getStats() - Returns a snapshot of the cache metrics
+     */
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(hits, misses, evictions, items.size(), maxItems);
+        }
+    }
+
+    /**
+     * expireIfStaleLocked() - Drops the cache when it is older than MAX_AGE_NANOS (caller holds the lock)
+     */
+    private void expireIfStaleLocked() {
+        if (System.nanoTime() - epochStartNanos > MAX_AGE_NANOS) {
+            invalidateLocked();
+        }
+    }
+
+    /**
+     * invalidateLocked() - Clears all cached state (caller holds the lock)
+     */
+    private void invalidateLocked() {
+        modCount++;
+        items.clear();
+        complete = false;
+        epochStartNanos = System.nanoTime();
+    }
+
+    /**
+     * copyOf() - Copies an item with the given ID
+     * @return Copy (with the same row version), or null for item types the cache does not know
+     */
+    private static FarmItem copyOf(FarmItem item, int id) {
+        FarmItem copy;
+        if (item instanceof HarvestLot) {
+            HarvestLot lot = (HarvestLot) item;
+            copy = new HarvestLot(id, lot.getName(), lot.getQuantity(), lot.getUnit(), lot.getDateAdded(),
+                lot.getNotes(), lot.getStatus(), lot.getPricePerUnit());
+        } else if (item instanceof EquipmentItem) {
+            EquipmentItem equipment = (EquipmentItem) item;
+            copy = new EquipmentItem(id, equipment.getName(), equipment.getQuantity(), equipment.getUnit(),
+                equipment.getDateAdded(), equipment.getNotes(), equipment.getCondition());
+        } else {
+            return null;
+        }
+        copy.setVersion(item.getVersion());
+        return copy;
+    }
+}
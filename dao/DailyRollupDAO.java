@@ -0,0 +1,198 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for database connections
+import java.sql.PreparedStatement; // Import: PreparedStatement for range queries
+import java.sql.ResultSet; // Import: ResultSet for reading rollup rows
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for the rebuild statements
+import java.time.DayOfWeek; // Import: DayOfWeek for Monday-based weeks
+import java.time.LocalDate; // Import: LocalDate for bucket dates
+import java.time.temporal.ChronoUnit; // Import: ChronoUnit for counting buckets in a range
+import java.time.temporal.TemporalAdjusters; // Import: TemporalAdjusters for week and month starts
+import java.util.ArrayList; // Import: ArrayList for results
+import java.util.LinkedHashMap; // Import: LinkedHashMap for downsampled buckets in date order
+import java.util.List; // Import: List interface for results
+import java.util.Map; // Import: Map interface for downsampled buckets
+import model.RollupPoint; // Import: RollupPoint returned to trend reports
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
+import util.DBConnection; // Import: DBConnection utility for database connections
+
+/**
+ * DailyRollupDAO - Time-Series Harvest and Sales Rollups
+ * WHAT: Range queries over DAILY_ROLLUP (harvested and sold quantity, lots, sales and revenue per day, crop and
+ *       unit), downsampled to days, weeks or months
+ * WHY: Trend reports must not scan INVENTORY_ITEM and PURCHASE_ORDER; a year of rollups is at most
+ *      365 rows per crop whatever the number of lots and orders
+ * HOW: Writers update their day bucket in the same transaction (DailyRollupDelta): harvest lots when inserted
+ *      (InventoryDAO, InventoryBatchWriter), edited or deleted (InventoryDAO), sales when committed
+ *      (PurchaseService, PurchaseOrderDAO).
+ *      Weekly and monthly points are sums of the daily rows in the range. rebuildRollup() recomputes the table
+ *      from the current lots and the ledger.
+ *
+ * HARVESTED QUANTITY: A lot counts with its current quantity plus its ledger sales, so purchases do not change
+ *                     it but edits do; a deleted lot leaves the harvest totals (its sales stay)
+ * THREADING: Thread-safe - each query uses its own connection
+ */
+public class DailyRollupDAO {
+    /**
+     * Granularity - Bucket size of a trend query
+     */
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        /**
+         * bucketStart() - First day of the bucket containing the date (weeks start on Monday)
+         */
+        public LocalDate bucketStart(LocalDate date) {
+            switch (this) {
+                case WEEK: return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH: return date.withDayOfMonth(1);
+                default: return date;
+            }
+        }
+
+        /**
+         * forRange() - Finest granularity that keeps a range within maxPoints buckets per crop
+         * WHY: Long ranges are downsampled automatically so tables and charts stay readable
+         */
+        public static Granularity forRange(LocalDate from, LocalDate to, int maxPoints) {
+            long days = ChronoUnit.DAYS.between(from, to) + 1;
+            if (days <= maxPoints) {
+                return DAY;
+            }
+            return (days + 6) / 7 <= maxPoints ? WEEK : MONTH;
+        }
+    }
+
+    private static final String RANGE_SQL = "SELECT bucket_date, crop, unit, harvested_quantity, harvest_lots, " +
+        "sold_quantity, sales_count, revenue FROM DAILY_ROLLUP WHERE bucket_date BETWEEN ? AND ?";
+
+    // WHAT: Rollup rows derived from the current lots and the ledger
+    // HOW: A lot's harvested quantity is its remaining quantity plus what the ledger sold from it
+    private static final String REBUILD_SQL = "INSERT INTO DAILY_ROLLUP (bucket_date, crop, unit, harvested_quantity, " +
+        "harvest_lots, sold_quantity, sales_count, revenue) " +
+        "SELECT bucket_date, crop, unit, SUM(harvested), SUM(lots), SUM(sold), SUM(sales), SUM(revenue) FROM (" +
+        "SELECT i.date_added AS bucket_date, TRIM(i.name) AS crop, i.unit AS unit, " +
+        "i.quantity + COALESCE((SELECT SUM(o.quantity) FROM PURCHASE_ORDER o WHERE o.item_id = i.item_id), 0) AS harvested, " +
+        "1 AS lots, 0.0 AS sold, 0 AS sales, 0.0 AS revenue FROM INVENTORY_ITEM i WHERE i.item_type = 'HARVEST' " +
+        "UNION ALL " +
+        "SELECT CAST(o.ordered_at AS DATE), TRIM(o.item_name), o.unit, 0.0, 0, o.quantity, 1, o.subtotal " +
+        "FROM PURCHASE_ORDER o" +
+        ") events GROUP BY bucket_date, crop, unit";
+
+    private final ConnectionPool.ConnectionFactory connections;
+
+    /**
+     * Constructor - Uses the application database
+     */
+    public DailyRollupDAO() {
+        this(DBConnection::getConnection);
+    }
+
+    /**
+     * Constructor - Uses the given connection source
+     * @param connections Opens a connection per query (closed afterwards)
+     */
+    public DailyRollupDAO(ConnectionPool.ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * getTrend() - Returns harvest and sales totals per bucket and crop for a date range
+     * WHAT: One RollupPoint per (bucket, crop, unit) with any activity, ordered by bucket then crop
+     * WHY: Trend reports (per day, week or month)
+     * HOW: Reads the daily rows of the range (index on bucket_date) and adds them into their bucket
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @param granularity Bucket size
+     * @param crop Crop name, or null for all crops
+     * @return Points in bucket order
+     * @throws Exception If database error occurs
+     */
+    public List<RollupPoint> getTrend(LocalDate from, LocalDate to, Granularity granularity, String crop) throws Exception {
+        String sql = RANGE_SQL + (crop != null ? " AND crop = ?" : "") + " ORDER BY bucket_date, crop, unit";
+        Map<String, RollupPoint> buckets = new LinkedHashMap<>();
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, java.sql.Date.valueOf(from));
+            pstmt.setDate(2, java.sql.Date.valueOf(to));
+            if (crop != null) {
+                pstmt.setString(3, crop);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate start = granularity.bucketStart(rs.getDate(1).toLocalDate());
+                    RollupPoint point = new RollupPoint(start, rs.getString(2), rs.getString(3), rs.getDouble(4),
+                        rs.getInt(5), rs.getDouble(6), rs.getInt(7), rs.getDouble(8));
+                    // WHAT: Rows are in date order, so buckets are created in date order
+                    buckets.merge(start + "\u0000" + point.getCrop() + '\u0000' + point.getUnit(), point, RollupPoint::plus);
+                }
+            }
+        } catch (Exception e) {
+            throw new Exception("Error loading trend data: " + e.getMessage(), e);
+        }
+        List<RollupPoint> points = new ArrayList<>(buckets.values());
+        // WHAT: Keep crops grouped within a bucket (daily rows are sorted by day, not by bucket)
+        points.sort((a, b) -> {
+            int byDate = a.getBucketStart().compareTo(b.getBucketStart());
+            if (byDate != 0) {
+                return byDate;
+            }
+            int byCrop = a.getCrop().compareTo(b.getCrop());
+            return byCrop != 0 ? byCrop : a.getUnit().compareTo(b.getUnit());
+        });
+        return points;
+    }
+
+    /**
+     * getCrops() - Returns all crop names with rollup data, sorted
+     * @throws Exception If database error occurs
+     */
+    public List<String> getCrops() throws Exception {
+        List<String> crops = new ArrayList<>();
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT DISTINCT crop FROM DAILY_ROLLUP ORDER BY crop");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                crops.add(rs.getString(1));
+            }
+        } catch (Exception e) {
+            throw new Exception("Error loading crops: " + e.getMessage(), e);
+        }
+        return crops;
+    }
+
+    /**
+     * rebuildRollup() - Recomputes DAILY_ROLLUP from the current lots and the purchase ledger
+     * WHY: Repair after rows were edited outside the application (application writes keep it current)
+     * @throws Exception If database error occurs
+     */
+    public void rebuildRollup() throws Exception {
+        try (Connection conn = connections.create()) {
+            conn.setAutoCommit(false);
+            try {
+                replaceRollup(conn);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            throw new Exception("Error rebuilding trend data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * replaceRollup() - Fills DAILY_ROLLUP from INVENTORY_ITEM and PURCHASE_ORDER on the given connection
+     * WHY: Used by rebuildRollup() (migration 9 has its own copy of this SQL)
+     * @param conn Connection (the caller commits)
+     */
+    private static void replaceRollup(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM DAILY_ROLLUP");
+            stmt.executeUpdate(REBUILD_SQL);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for the writer's transaction
+import java.sql.PreparedStatement; // Import: PreparedStatement for reading lots and updating DAILY_ROLLUP
+import java.sql.ResultSet; // Import: ResultSet for reading the stored lot
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.time.LocalDate; // Import: LocalDate for the day bucket
+import java.util.Map; // Import: Map interface for changes by bucket
+import java.util.TreeMap; // Import: TreeMap for a fixed bucket (lock) order
+import model.FarmItem; // Import: FarmItem base class
+import model.PurchaseOrder; // Import: PurchaseOrder for sale events
+
+/**
+ * DailyRollupDelta - Pending Changes to DAILY_ROLLUP
+ * WHAT: Adds harvest lots (inserted, or edited: old values out, new values in), removes deleted lots and adds
+ *       sale events (committed purchase orders) to their (day, crop, unit) bucket in the writer's transaction
+ * WHY: Trend reports read DAILY_ROLLUP instead of scanning INVENTORY_ITEM and PURCHASE_ORDER
+ * HOW: Same pattern as InventoryStatsDelta - collect per bucket, then one UPDATE (or INSERT) per bucket just
+ *      before commit, in sorted bucket order. A lot's harvested quantity is its current quantity plus what the
+ *      ledger sold from it, the same value DailyRollupDAO.rebuildRollup() computes
+ *
+ * THREADING: Not thread-safe - one delta per write
+ */
+final class DailyRollupDelta {
+    private static final String UPDATE_SQL = "UPDATE DAILY_ROLLUP SET harvested_quantity = harvested_quantity + ?, " +
+        "harvest_lots = harvest_lots + ?, sold_quantity = sold_quantity + ?, sales_count = sales_count + ?, " +
+        "revenue = revenue + ? WHERE bucket_date = ? AND crop = ? AND unit = ?";
+    private static final String INSERT_SQL = "INSERT INTO DAILY_ROLLUP (bucket_date, crop, unit, harvested_quantity, " +
+        "harvest_lots, sold_quantity, sales_count, revenue) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_LOT_SQL = "SELECT i.item_type, i.date_added, i.name, i.unit, i.quantity, " +
+        "COALESCE((SELECT SUM(o.quantity) FROM PURCHASE_ORDER o WHERE o.item_id = i.item_id), 0) " +
+        "FROM INVENTORY_ITEM i WHERE i.item_id = ?";
+
+    /**
+     * Change - Accumulated change of one bucket
+     */
+    private static final class Change {
+        private final LocalDate day;
+        private final String crop;
+        private final String unit;
+        private double harvestedQuantity;
+        private int harvestLots;
+        private double soldQuantity;
+        private int salesCount;
+        private double revenue;
+
+        Change(LocalDate day, String crop, String unit) {
+            this.day = day;
+            this.crop = crop;
+            this.unit = unit;
+        }
+
+        boolean isZero() {
+            return harvestedQuantity == 0 && harvestLots == 0 && soldQuantity == 0 && salesCount == 0 && revenue == 0;
+        }
+    }
+
+    // WHAT: Changes keyed by ISO date + NUL + crop + NUL + unit (sorted: deterministic lock order)
+    private final Map<String, Change> changes = new TreeMap<>();
+
+    /**
+     * addHarvest() - Records a newly inserted item if it is a harvest lot
+     * HOW: Crop is the lot name (trimmed), the day is date_added
+     */
+    void addHarvest(FarmItem item) {
+        addHarvest(item, 0);
+    }
+
+    /**
+     * addHarvest() - Records the new values of an edited item if it is a harvest lot
+     * @param soldQuantity What the ledger sold from the lot (returned by removeStoredHarvest())
+     */
+    void addHarvest(FarmItem item, double soldQuantity) {
+        if ("HARVEST".equals(item.getItemType())) {
+            Change change = change(item.getDateAdded(), item.getName(), item.getUnit());
+            change.harvestedQuantity += item.getQuantity() + soldQuantity;
+            change.harvestLots++;
+        }
+    }
+
+    /**
+     * removeStoredHarvest() - Takes a stored harvest lot out of its bucket before it is updated or deleted
+     * WHAT: Subtracts the lot's harvested quantity (current quantity + ledger sales) and one lot
+     * WHY: Without it, fixing 1000 kg to 100 kg (or deleting the lot) would leave 1000 kg in the trend
+     * HOW: Call after InventoryStatsDelta.removeStoredRow() has locked the row; sales stay in their buckets
+     * @return What the ledger sold from the lot (0 if none, or if the row is not a harvest lot)
+     */
+    double removeStoredHarvest(Connection conn, int itemId) throws SQLException {
+        try (PreparedStatement select = conn.prepareStatement(SELECT_LOT_SQL)) {
+            select.setInt(1, itemId);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next() || !"HARVEST".equals(rs.getString(1))) {
+                    return 0;
+                }
+                double sold = rs.getDouble(6);
+                Change change = change(rs.getDate(2).toLocalDate(), rs.getString(3), rs.getString(4));
+                change.harvestedQuantity -= rs.getDouble(5) + sold;
+                change.harvestLots--;
+                return sold;
+            }
+        }
+    }
+
+    /**
+     * addSale() - Records a committed purchase order
+     * HOW: The day is the order date; revenue is the subtotal (shipping is not crop revenue)
+     */
+    void addSale(PurchaseOrder order) {
+        Change change = change(order.getOrderedAt().toLocalDate(), order.getItemName(), order.getUnit());
+        change.soldQuantity += order.getQuantity();
+        change.salesCount++;
+        change.revenue += order.getSubtotal();
+    }
+
+    /**
+     * apply() - Adds the collected changes to DAILY_ROLLUP
+     * HOW: UPDATE per bucket; INSERT for a new bucket; UPDATE again if a concurrent writer inserted it first
+     * @param conn Writer's connection with auto-commit off
+     */
+    void apply(Connection conn) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement update = conn.prepareStatement(UPDATE_SQL)) {
+            for (Change change : changes.values()) {
+                if (change.isZero()) {
+                    continue; // e.g. an edit that changed only the notes
+                }
+                if (update(update, change) == 0) {
+                    try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+                        insert.setDate(1, java.sql.Date.valueOf(change.day));
+                        insert.setString(2, change.crop);
+                        insert.setString(3, change.unit);
+                        insert.setDouble(4, change.harvestedQuantity);
+                        insert.setInt(5, change.harvestLots);
+                        insert.setDouble(6, change.soldQuantity);
+                        insert.setInt(7, change.salesCount);
+                        insert.setDouble(8, change.revenue);
+                        insert.executeUpdate();
+                    } catch (SQLException e) {
+                        if (!"23505".equals(e.getSQLState()) || update(update, change) == 0) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * addAll() - Adds another delta's changes to this one
+     * WHY: InventoryBatchWriter collects per batch (dropped if the batch is rolled back) and applies per commit
+     */
+    void addAll(DailyRollupDelta other) {
+        for (Change from : other.changes.values()) {
+            Change change = change(from.day, from.crop, from.unit);
+            change.harvestedQuantity += from.harvestedQuantity;
+            change.harvestLots += from.harvestLots;
+            change.soldQuantity += from.soldQuantity;
+            change.salesCount += from.salesCount;
+            change.revenue += from.revenue;
+        }
+    }
+
+    void clear() {
+        changes.clear();
+    }
+
+    private Change change(LocalDate day, String crop, String unit) {
+        String cropKey = crop.trim();
+        return changes.computeIfAbsent(day + "\u0000" + cropKey + '\u0000' + unit, k -> new Change(day, cropKey, unit));
+    }
+
+    private static int update(PreparedStatement update, Change change) throws SQLException {
+        update.setDouble(1, change.harvestedQuantity);
+        update.setInt(2, change.harvestLots);
+        update.setDouble(3, change.soldQuantity);
+        update.setInt(4, change.salesCount);
+        update.setDouble(5, change.revenue);
+        update.setDate(6, java.sql.Date.valueOf(change.day));
+        update.setString(7, change.crop);
+        update.setString(8, change.unit);
+        return update.executeUpdate();
+    }
+}
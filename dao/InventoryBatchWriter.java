@@ -0,0 +1,285 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for the writer's single connection
+import java.sql.PreparedStatement; // Import: PreparedStatement for the batched INSERT
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Savepoint; // Import: Savepoint for rolling back a single failed batch
+import model.BulkInsertResult; // Import: BulkInsertResult for counts and per-batch errors
+import model.FarmItem; // Import: FarmItem base class
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
+import util.DBConnection; // Import: DBConnection utility for database connections
+import util.FlightEvents; // Import: FlightEvents for recording batches in flight recordings
+
+/**
+ * InventoryBatchWriter - Batched INSERT Writer for Inventory Items
+ * WHAT: Inserts FarmItems using JDBC addBatch()/executeBatch() on one connection with explicit commits
+ * WHY: addRecord() opens a connection and auto-commits per row; large imports spend almost all their time
+ *      in per-row round trips and transaction commits
+ * HOW: Rows are buffered in a PreparedStatement batch, executed every batchSize rows and committed
+ *      every commitInterval rows; a failing batch is rolled back to its savepoint and reported, later batches continue.
+ *      INVENTORY_STATS and DAILY_ROLLUP changes are applied once per commit, right before it, so parallel
+ *      writers and interactive writes only wait for the shared stats rows for the length of a commit.
+ *      Each batch is a FlightEvents.InsertBatch event during flight recordings
+ *
+ * USAGE:
+ *   try (InventoryBatchWriter writer = new InventoryBatchWriter()) {
+ *       for (FarmItem item : items) writer.add(item);
+ *       BulkInsertResult result = writer.finish();
+ *   }
+ *
+ * THREADING: Not thread-safe - use one writer per thread
+ */
+public class InventoryBatchWriter implements AutoCloseable {
+    // WHAT: Default number of rows per executeBatch() call
+    // WHY: Large enough to amortize round trips, small enough that one bad row only rejects a few hundred rows
+    // HOW: Overridable with -Dagritrack.import.batchSize
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("agritrack.import.batchSize", 500);
+
+    // WHAT: Default number of rows per transaction commit
+    // WHY: Fewer commits means fewer log flushes; bounded so a crash does not lose the whole import
+    // HOW: Overridable with -Dagritrack.import.commitInterval (rounded up to a multiple of the batch size)
+    public static final int DEFAULT_COMMIT_INTERVAL = Integer.getInteger("agritrack.import.commitInterval", 5000);
+
+    // WHAT: Rows per batch and per commit
+    // WHY: Configurable per writer (tests, benchmarks, imports of different sizes)
+    // HOW: Set in constructor
+    private final int batchSize;
+    private final int commitInterval;
+
+    // WHAT: Connection and statement used for the whole import
+    // WHY: One connection avoids a pool borrow per row; autoCommit is off for the writer's lifetime
+    // HOW: Opened in constructor, closed in close()
+    private final Connection conn;
+    private final PreparedStatement pstmt;
+
+    // WHAT: Counts and per-batch errors
+    // WHY: Returned from finish()
+    // HOW: Updated in executePendingBatch() and commit()
+    private final BulkInsertResult result = new BulkInsertResult();
+
+    // WHAT: Rows added to the current (not yet executed) batch
+    private int pendingRows;
+
+    // WHAT: INVENTORY_STATS and DAILY_ROLLUP changes of the current batch
+    // WHY: Added to the uncommitted changes only if the batch succeeds, so a rolled-back batch is not counted
+    private final InventoryStatsDelta pendingStats = new InventoryStatsDelta();
+    private final DailyRollupDelta pendingRollup = new DailyRollupDelta();
+
+    // WHAT: INVENTORY_STATS and DAILY_ROLLUP changes of the executed but uncommitted batches
+    // WHY: Every imported HARVEST row updates the same stats row; applying at commit instead of per batch keeps
+    //      that row locked for one statement instead of up to commitInterval / batchSize batches
+    // HOW: Applied in commit() just before conn.commit()
+    private final InventoryStatsDelta uncommittedStats = new InventoryStatsDelta();
+    private final DailyRollupDelta uncommittedRollup = new DailyRollupDelta();
+
+    // WHAT: Rows executed but not yet committed
+    // WHY: Only counted as inserted once committed
+    private int uncommittedRows;
+
+    // WHAT: Total rows passed to add(), used to report the position of failed batches
+    private int rowsAdded;
+
+    // WHAT: Number of executed batches, used to number failed batches
+    private int batchNumber;
+
+    // WHAT: Whether finish() completed
+    // WHY: close() rolls back uncommitted work if the caller did not finish (e.g. after an exception)
+    private boolean finished;
+
+    /**
+     * Constructor - Creates a writer with the default batch size and commit interval
+     * @throws SQLException If no connection can be obtained
+     */
+    public InventoryBatchWriter() throws SQLException {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_INTERVAL);
+    }
+
+    /**
+     * Constructor - Creates a writer with explicit batch size and commit interval
+     * @param batchSize Rows per executeBatch() call (must be positive)
+     * @param commitInterval Rows per commit (rounded up to a multiple of batchSize)
+     * @throws SQLException If no connection can be obtained
+     */
+    public InventoryBatchWriter(int batchSize, int commitInterval) throws SQLException {
+        this(DBConnection::getConnection, batchSize, commitInterval);
+    }
+
+    /**
+     * Constructor - Creates a writer on a connection from the given source
+     * @param connections Source of the writer's connection (closed by close())
+     * @param batchSize Rows per executeBatch() call (must be positive)
+     * @param commitInterval Rows per commit (rounded up to a multiple of batchSize)
+     * @throws SQLException If no connection can be obtained
+     */
+    public InventoryBatchWriter(ConnectionPool.ConnectionFactory connections, int batchSize, int commitInterval)
+            throws SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (commitInterval <= 0) {
+            throw new IllegalArgumentException("commitInterval must be positive: " + commitInterval);
+        }
+        this.batchSize = batchSize;
+        this.commitInterval = ((commitInterval + batchSize - 1) / batchSize) * batchSize;
+
+        this.conn = connections.create();
+        try {
+            conn.setAutoCommit(false);
+            this.pstmt = conn.prepareStatement(InventoryDAO.INSERT_SQL);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * add() - Adds one item to the current batch
+     * WHAT: Binds the item's values and queues them with addBatch()
+     * WHY: Rows are sent to the database in batches, not one by one
+     * HOW: Executes the batch when it reaches batchSize, commits when commitInterval rows are uncommitted
+     * @param item Item to insert
+     * @throws SQLException If the connection fails (failed batches are recorded, not thrown)
+     */
+    public void add(FarmItem item) throws SQLException {
+        if (finished) {
+            throw new IllegalStateException("Writer already finished");
+        }
+        InventoryDAO.bindInsertParameters(pstmt, item);
+        pstmt.addBatch();
+        pendingStats.addItem(item);
+        pendingRollup.addHarvest(item);
+        pendingRows++;
+        rowsAdded++;
+        if (pendingRows >= batchSize) {
+            executePendingBatch();
+            if (uncommittedRows >= commitInterval) {
+                commit();
+            }
+        }
+    }
+
+    /**
+     * finish() - Writes remaining rows and commits
+     * WHAT: Executes the last partial batch and commits the transaction
+     * WHY: Rows are only durable after commit
+     * HOW: executePendingBatch() then commit()
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws SQLException If the final commit fails
+     */
+    public BulkInsertResult finish() throws SQLException {
+        if (!finished) {
+            executePendingBatch();
+            commit();
+            finished = true;
+        }
+        return result;
+    }
+
+    /**
+     * getResult() - Returns the counts so far
+     * WHAT: Rows committed and batches failed up to now
+     * WHY: Lets callers report progress during long imports
+     */
+    public BulkInsertResult getResult() {
+        return result;
+    }
+
+    /**
+     * executePendingBatch() - Executes the queued rows
+     * WHAT: Sends the current batch with executeBatch()
+     * WHY: One round trip per batch instead of per row
+     * HOW: Sets a savepoint first; on any SQLException (failed row, lock timeout) rolls back to it and records
+     *      the failed batch
+     */
+    private void executePendingBatch() throws SQLException {
+        if (pendingRows == 0) {
+            return;
+        }
+        int rows = pendingRows;
+        int firstRow = rowsAdded - rows;
+        batchNumber++;
+        pendingRows = 0;
+
+        FlightEvents.InsertBatch event = new FlightEvents.InsertBatch();
+        event.begin();
+        event.batchNumber = batchNumber;
+        event.firstRow = firstRow;
+        event.rows = rows;
+        event.failed = true; // Until the batch succeeded
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            pstmt.executeBatch();
+            conn.releaseSavepoint(savepoint);
+            uncommittedStats.addAll(pendingStats);
+            uncommittedRollup.addAll(pendingRollup);
+            uncommittedRows += rows;
+            event.failed = false;
+        } catch (SQLException e) {
+            // WHAT: Undo the partially executed batch, keep earlier uncommitted batches
+            // WHY: A single bad row (constraint violation, value too long) must not abort the whole import
+            // HOW: Roll back to the savepoint taken before this batch, record the error
+            conn.rollback(savepoint);
+            pstmt.clearBatch();
+            result.recordFailedBatch(new BulkInsertResult.BatchError(batchNumber, firstRow, rows, e.getMessage()));
+            System.err.println("Error inserting batch " + batchNumber + ": " + e.getMessage());
+        } finally {
+            pendingStats.clear();
+            pendingRollup.clear();
+            event.commit(); // Written only during flight recordings
+        }
+    }
+
+    /**
+     * commit() - Commits executed batches
+     * WHAT: Applies the stats and rollup changes of the executed batches, then ends the current transaction
+     * WHY: Bounds the amount of work lost on a crash and the size of the undo log
+     * HOW: Counts the committed rows as inserted. If the stats rows cannot be updated (e.g. lock timeout), the
+     *      whole transaction is rolled back and its rows are reported as one failed range - rows without their
+     *      stats must not be committed
+     */
+    private void commit() throws SQLException {
+        try {
+            uncommittedStats.apply(conn); // A few grouped updates per commit, not one per row
+            uncommittedRollup.apply(conn);
+        } catch (SQLException e) {
+            conn.rollback();
+            int firstRow = rowsAdded - pendingRows - uncommittedRows;
+            result.recordFailedBatch(new BulkInsertResult.BatchError(batchNumber, firstRow, uncommittedRows,
+                "Statistics update failed, rows rolled back: " + e.getMessage()));
+            System.err.println("Error updating statistics for rows " + firstRow + "-" + (firstRow + uncommittedRows - 1)
+                + ": " + e.getMessage());
+            uncommittedRows = 0;
+            return;
+        } finally {
+            uncommittedStats.clear();
+            uncommittedRollup.clear();
+        }
+        conn.commit();
+        result.recordInserted(uncommittedRows);
+        uncommittedRows = 0;
+    }
+
+    /**
+     * close() - Releases the statement and connection
+     * WHAT: Rolls back uncommitted rows if finish() was not called, then closes resources
+     * WHY: An aborted import must not leave a half-written transaction behind
+     * HOW: Pooled connection is returned to the pool by close()
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!finished) {
+                conn.rollback();
+            }
+            pstmt.close();
+        } finally {
+            conn.close();
+            // WHAT: Search index and inventory cache do not know the generated IDs of batched rows
+            // HOW: Invalidate both so the next search / read reloads them
+            if (result.getInsertedCount() > 0) {
+                InventorySearchIndex.getInstance().invalidate();
+                CachingInventoryService.getInstance().invalidate();
+            }
+        }
+    }
+}
@@ -8,12 +8,23 @@ import java.sql.Statement; // Import: Statement for executing SQL DDL statements
 import java.time.LocalDate; // Import: LocalDate for date handling
 import java.time.format.DateTimeFormatter; // Import: DateTimeFormatter for date string formatting
 import java.util.ArrayList; // Import: ArrayList for storing query results
+import java.util.Collection; // Import: Collection for bulk inserts
+import java.util.HashMap; // Import: HashMap for collecting search results by ID
+import java.util.HashSet; // Import: HashSet for de-duplicating search results
+import java.util.Iterator; // Import: Iterator for streaming bulk inserts
 import java.util.List; // Import: List interface for collections
+import java.util.Map; // Import: Map interface for search results by ID
+import java.util.Set; // Import: Set interface for de-duplicating search results
+import model.BulkInsertResult; // Import: BulkInsertResult for bulk insert outcomes
 import model.EquipmentItem; // Import: EquipmentItem subclass
 import model.FarmItem; // Import: FarmItem base class
 import model.HarvestLot; // Import: HarvestLot subclass
+import model.InventoryPage; // Import: InventoryPage for paged query results
 import model.InventoryService; // Import: InventoryService interface
+import util.CSVExporter; // Import: CSVExporter for streaming CSV exports
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
 import util.DBConnection; // Import: DBConnection utility for database connections
+import util.FlightEvents; // Import: FlightEvents for recording statements in flight recordings
 
 /**
  * InventoryDAO - Data Access Object for Inventory Operations
@@ -25,9 +36,9 @@ import util.DBConnection; // Import: DBConnection utility for database connectio
  * OOP CONCEPT: Implements interface (abstraction), uses polymorphism to handle HarvestLot and EquipmentItem
  */
 public class InventoryDAO implements InventoryService {
-    // WHAT: Date formatter for converting LocalDate to/from database string format
-    // WHY: Database stores dates as VARCHAR strings (yyyy-MM-dd), need formatter for conversion
-    // HOW: DateTimeFormatter.ofPattern() creates formatter matching database date format
+    // WHAT: Date formatter for parsing date text (yyyy-MM-dd)
+    // WHY: Databases not yet upgraded by InventorySchema store dates as VARCHAR strings
+    // HOW: DateTimeFormatter.ofPattern() creates formatter matching the stored text format
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     // WHAT: Alternative date formatter for MM/dd/yyyy format (from H2 Console manual entries)
@@ -35,6 +46,47 @@ public class InventoryDAO implements InventoryService {
     // HOW: DateTimeFormatter.ofPattern() creates formatter for alternative date format
     private static final DateTimeFormatter ALT_DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
     
+    // WHAT: SQL INSERT statement for a new inventory item
+    // WHY: Shared by addRecord() and InventoryBatchWriter so both write the same columns
+    // HOW: Parameters are bound by bindInsertParameters()
+    static final String INSERT_SQL = "INSERT INTO INVENTORY_ITEM (name, quantity, unit, item_type, date_added, status, notes, price_per_unit) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // WHAT: Rows fetched per round trip by the streaming export
+    // WHY: Without a fetch size the driver may buffer the whole result; too small a size costs round trips
+    // HOW: Overridable with -Dagritrack.export.fetchSize
+    private static final int EXPORT_FETCH_SIZE = Integer.getInteger("agritrack.export.fetchSize", 5000);
+    
+    // WHAT: Source of database connections
+    // WHY: Application database by default; benchmarks pass a seeded database of their own
+    private final ConnectionPool.ConnectionFactory connections;
+    
+    // WHAT: Full-text index used by fullTextSearch()
+    // WHY: Updated here on every add/update/delete; the application database's index is shared by all DAO instances
+    private final InventorySearchIndex searchIndex;
+    
+    /**
+     * Constructor - Uses the application database
+     */
+    public InventoryDAO() {
+        this(DBConnection::getConnection, InventorySearchIndex.getInstance());
+    }
+    
+    /**
+     * Constructor - Uses the given connection source
+     * WHY: JMH benchmarks run the DAO against an embedded H2 database seeded at a chosen size
+     * HOW: During flight recordings every statement is recorded as a FlightEvents.SqlStatement event;
+     *      fullTextSearch() uses an index of its own, loaded from the same connection source
+     * @param connections Opens a connection per operation (closed afterwards)
+     */
+    public InventoryDAO(ConnectionPool.ConnectionFactory connections) {
+        this(connections, null);
+    }
+    
+    private InventoryDAO(ConnectionPool.ConnectionFactory connections, InventorySearchIndex searchIndex) {
+        this.connections = () -> FlightEvents.instrument(connections.create(), "InventoryDAO");
+        this.searchIndex = searchIndex != null ? searchIndex : new InventorySearchIndex(this.connections);
+    }
+    
     /**
      * addRecord() - Create Operation (CRUD)
      * WHAT: Inserts new inventory item into database
@@ -45,16 +97,34 @@ public class InventoryDAO implements InventoryService {
      */
     @Override
     public void addRecord(FarmItem item) throws Exception {
+        insertRecord(item);
+    }
+    
+    /**
+     * insertRecord() - Inserts an item and returns its generated ID
+     * WHAT: Body of addRecord(); also reports the new item_id
+     * WHY: CachingInventoryService stores new items under their ID (FarmItem has no ID setter)
+     * HOW: Reads the key from getGeneratedKeys() after the INSERT
+     * @param item FarmItem object to add (HarvestLot or EquipmentItem)
+     * @return Generated item_id, or 0 if the driver did not return it
+     * @throws Exception If database error occurs
+     */
+    int insertRecord(FarmItem item) throws Exception {
         // WHAT: SQL INSERT statement to add new inventory item
         // WHY: Need to insert item data into INVENTORY_ITEM table
         // HOW: INSERT INTO with column names and ? placeholders for values
-        String sql = "INSERT INTO INVENTORY_ITEM (name, quantity, unit, item_type, date_added, status, notes, price_per_unit) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         // WHAT: Try-with-resources block to automatically close database resources
         // WHY: Ensures Connection and PreparedStatement are closed even if exception occurs
         // HOW: try (resource) syntax automatically calls close() when block exits
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            // WHAT: Insert and statistics update in one transaction
+            // WHY: INVENTORY_STATS must count the row exactly when the row exists
+            // HOW: Committed after InventoryStatsDelta.apply(); the pool rolls back if anything fails
+            conn.setAutoCommit(false);
             
             // WHAT: Set first parameter (?) to item name
             // WHY: Name is required field for inventory items
@@ -76,10 +146,10 @@ public class InventoryDAO implements InventoryService {
             // HOW: getItemType() uses polymorphism - each subclass returns its type
             pstmt.setString(4, item.getItemType());
             
-            // WHAT: Set fifth parameter (?) to formatted date string
-            // WHY: Database stores dates as VARCHAR strings, not date type
-            // HOW: format() converts LocalDate to yyyy-MM-dd string format
-            pstmt.setString(5, item.getDateAdded().format(DATE_FORMATTER));
+            // WHAT: Set fifth parameter (?) to the item's date
+            // WHY: date_added is a DATE column (indexed for the listing order)
+            // HOW: java.sql.Date.valueOf() converts LocalDate without time zone shifts
+            pstmt.setDate(5, java.sql.Date.valueOf(item.getDateAdded()));
             
             // WHAT: Handle status/condition based on item type (polymorphism)
             // WHY: HarvestLot has status, EquipmentItem has condition - different fields
@@ -135,8 +205,11 @@ public class InventoryDAO implements InventoryService {
             // WHY: Confirms data was saved to database
             // HOW: System.out.println() writes confirmation message
             if (rowsAffected > 0) {
+                commitWithStats(conn, item);
                 System.out.println("✓ Successfully added item to database: " + item.getName() + " (Type: " + item.getItemType() + ")");
+                return indexInsertedItem(pstmt, item);
             }
+            return 0;
         } catch (SQLException e) {
             // WHAT: Check if error is primary key violation (AUTO_INCREMENT sequence out of sync)
             // WHY: When records are manually inserted via H2 Console, AUTO_INCREMENT sequence doesn't update
@@ -150,14 +223,15 @@ public class InventoryDAO implements InventoryService {
                     System.out.println("⚠ Primary key violation detected. Attempting to fix AUTO_INCREMENT sequence...");
                     fixAutoIncrementSequence();
                     // Retry the insert after fixing sequence
-                    try (Connection conn = DBConnection.getConnection();
-                         PreparedStatement retryPstmt = conn.prepareStatement(sql)) {
+                    try (Connection conn = connections.create();
+                         PreparedStatement retryPstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        conn.setAutoCommit(false);
                         // Set all parameters again
                         retryPstmt.setString(1, item.getName());
                         retryPstmt.setDouble(2, item.getQuantity());
                         retryPstmt.setString(3, item.getUnit());
                         retryPstmt.setString(4, item.getItemType());
-                        retryPstmt.setString(5, item.getDateAdded().format(DATE_FORMATTER));
+                        retryPstmt.setDate(5, java.sql.Date.valueOf(item.getDateAdded()));
                         if (item instanceof HarvestLot) {
                             retryPstmt.setString(6, ((HarvestLot) item).getStatus());
                         } else if (item instanceof EquipmentItem) {
@@ -178,9 +252,11 @@ public class InventoryDAO implements InventoryService {
                         }
                         int retryRowsAffected = retryPstmt.executeUpdate();
                         if (retryRowsAffected > 0) {
+                            commitWithStats(conn, item);
                             System.out.println("✓ Successfully added item to database after fixing sequence: " + item.getName());
+                            return indexInsertedItem(retryPstmt, item); // Success, exit method
                         }
-                        return; // Success, exit method
+                        return 0;
                     }
                 } catch (Exception fixEx) {
                     // If fixing sequence fails, throw original error
@@ -192,6 +268,137 @@ public class InventoryDAO implements InventoryService {
         }
     }
     
+    /**
+     * commitWithStats() - Counts an inserted item in INVENTORY_STATS and DAILY_ROLLUP, then commits
+     * @param conn Connection with auto-commit off that executed the INSERT
+     * @param item Inserted item
+     */
+    private static void commitWithStats(Connection conn, FarmItem item) throws SQLException {
+        InventoryStatsDelta delta = new InventoryStatsDelta();
+        delta.addItem(item);
+        delta.apply(conn);
+        DailyRollupDelta rollup = new DailyRollupDelta();
+        rollup.addHarvest(item);
+        rollup.apply(conn);
+        conn.commit();
+    }
+    
+    /**
+     * indexInsertedItem() - Adds a newly inserted item to the search index
+     * WHAT: Reads the generated item_id and indexes the item under it
+     * WHY: Keeps fullTextSearch() current without reloading the index
+     * HOW: getGeneratedKeys() of the INSERT statement (prepared with RETURN_GENERATED_KEYS)
+     * @return Generated item_id, or 0 if the driver did not return it
+     */
+    private int indexInsertedItem(PreparedStatement pstmt, FarmItem item) throws SQLException {
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            if (keys.next()) {
+                int itemId = keys.getInt(1);
+                searchIndex.put(itemId, item);
+                return itemId;
+            }
+            searchIndex.invalidate(); // ID unknown - reload on next search
+            return 0;
+        }
+    }
+    
+    /**
+     * addRecords() - Bulk Create Operation
+     * WHAT: Inserts many inventory items using JDBC batching
+     * WHY: Per-row addRecord() is far too slow for imports of many thousands of rows
+     * HOW: Delegates to InventoryBatchWriter with the default batch size and commit interval
+     * @param items Items to insert, in insertion order
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws Exception If the connection fails (failed batches are reported in the result)
+     */
+    @Override
+    public BulkInsertResult addRecords(Collection<? extends FarmItem> items) throws Exception {
+        return addRecords(items, InventoryBatchWriter.DEFAULT_BATCH_SIZE, InventoryBatchWriter.DEFAULT_COMMIT_INTERVAL);
+    }
+    
+    /**
+     * addRecords() - Bulk Create Operation with explicit batching parameters
+     * WHAT: Inserts many inventory items, batchSize rows per executeBatch(), commitInterval rows per transaction
+     * WHY: Lets imports and benchmarks tune batching
+     * HOW: Feeds every item to an InventoryBatchWriter, then finishes it (final batch + commit)
+     * @param items Items to insert, in insertion order
+     * @param batchSize Rows per executeBatch() call
+     * @param commitInterval Rows per commit
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws Exception If the connection fails (failed batches are reported in the result)
+     */
+    public BulkInsertResult addRecords(Collection<? extends FarmItem> items, int batchSize, int commitInterval) throws Exception {
+        return addRecords(items.iterator(), batchSize, commitInterval);
+    }
+    
+    /**
+     * addRecords() - Streaming Bulk Create Operation
+     * WHAT: Inserts items pulled from an iterator using JDBC batching
+     * WHY: Lets importers feed records straight from a file parser without materializing them in a list
+     * HOW: The next item is only requested after the previous one was added to the batch, so a slow
+     *      database throttles the producer (backpressure) and memory is bounded by one batch
+     * @param items Items to insert, in insertion order (may be lazily produced)
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws Exception If the connection fails (failed batches are reported in the result)
+     */
+    public BulkInsertResult addRecords(Iterator<? extends FarmItem> items) throws Exception {
+        return addRecords(items, InventoryBatchWriter.DEFAULT_BATCH_SIZE, InventoryBatchWriter.DEFAULT_COMMIT_INTERVAL);
+    }
+    
+    /**
+     * addRecords() - Streaming Bulk Create Operation with explicit batching parameters
+     * @param items Items to insert, in insertion order (may be lazily produced)
+     * @param batchSize Rows per executeBatch() call
+     * @param commitInterval Rows per commit
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws Exception If the connection fails (failed batches are reported in the result)
+     */
+    public BulkInsertResult addRecords(Iterator<? extends FarmItem> items, int batchSize, int commitInterval) throws Exception {
+        try (InventoryBatchWriter writer = new InventoryBatchWriter(connections, batchSize, commitInterval)) {
+            while (items.hasNext()) {
+                writer.add(items.next());
+            }
+            BulkInsertResult result = writer.finish();
+            System.out.println("✓ Bulk insert finished: " + result);
+            return result;
+        } finally {
+            // WHAT: Batched rows have no known IDs - reload this DAO's index on the next search
+            // HOW: The writer invalidates the shared index; a DAO on its own connections has its own index
+            searchIndex.invalidate();
+        }
+    }
+    
+    /**
+     * bindInsertParameters() - Binds an item's values to an INSERT_SQL statement
+     * WHAT: Sets all 8 parameters of INSERT_SQL from the item
+     * WHY: Batched inserts bind thousands of rows to the same statement
+     * HOW: Same column mapping as addRecord(): status or condition in column 6, price only for HarvestLot
+     * @param pstmt Statement prepared from INSERT_SQL
+     * @param item Item to bind
+     * @throws SQLException If a parameter cannot be set
+     */
+    static void bindInsertParameters(PreparedStatement pstmt, FarmItem item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setDouble(2, item.getQuantity());
+        pstmt.setString(3, item.getUnit());
+        pstmt.setString(4, item.getItemType());
+        pstmt.setDate(5, java.sql.Date.valueOf(item.getDateAdded()));
+        if (item instanceof HarvestLot) {
+            pstmt.setString(6, ((HarvestLot) item).getStatus());
+        } else if (item instanceof EquipmentItem) {
+            pstmt.setString(6, ((EquipmentItem) item).getCondition());
+        } else {
+            pstmt.setString(6, null);
+        }
+        pstmt.setString(7, item.getNotes());
+        Double price = item instanceof HarvestLot ? ((HarvestLot) item).getPricePerUnit() : null;
+        if (price != null) {
+            pstmt.setDouble(8, price);
+        } else {
+            pstmt.setNull(8, java.sql.Types.DOUBLE);
+        }
+    }
+    
     /**
      * fixAutoIncrementSequence() - Fixes AUTO_INCREMENT sequence for INVENTORY_ITEM table
      * WHAT: Finds the maximum existing item_id and resets AUTO_INCREMENT to max+1
@@ -199,7 +406,7 @@ public class InventoryDAO implements InventoryService {
      * HOW: Queries MAX(item_id), then uses ALTER TABLE to reset the sequence
      */
     private void fixAutoIncrementSequence() throws Exception {
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              Statement stmt = conn.createStatement()) {
             // Find maximum existing ID
             ResultSet rs = stmt.executeQuery("SELECT MAX(item_id) FROM INVENTORY_ITEM");
@@ -243,12 +450,12 @@ public class InventoryDAO implements InventoryService {
         // WHAT: SQL SELECT statement to get all inventory items
         // WHY: Need to retrieve all records from database
         // HOW: SELECT with all columns, ORDER BY date_added DESC (newest first)
-        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit FROM INVENTORY_ITEM ORDER BY date_added DESC";
+        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit, version FROM INVENTORY_ITEM ORDER BY date_added DESC";
         
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
@@ -267,35 +474,190 @@ public class InventoryDAO implements InventoryService {
         // HOW: return statement
         return items;
     }
-    
+
+    /**
+     * exportAllToCSV() - Streaming Export of All Records
+     * WHAT: Writes every inventory item to a CSV file straight from the query result
+     * WHY: getAllRecords() + CSVExporter.exportToCSV(List) holds every row as an object in memory; exports of
+     *      millions of rows ran out of heap and spent most of their time formatting with String.format()
+     * HOW: Forward-only, read-only query with a fetch size; CSVExporter writes each row as it is read
+     * @param filePath Full path where CSV file should be created
+     * @return Number of rows written
+     * @throws Exception If database or file error occurs
+     */
+    public int exportAllToCSV(String filePath) throws Exception {
+        // WHAT: Same columns and order as getAllRecords()
+        // WHY: Streaming export produces the same file as the list export
+        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit FROM INVENTORY_ITEM ORDER BY date_added DESC";
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int rows = CSVExporter.exportToCSV(filePath, rs);
+                System.out.println("✓ Exported " + rows + " records to " + filePath);
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * getRecordsPage() - Paged Read Operation (Keyset Pagination)
+     * WHAT: Retrieves one page of inventory items ordered by date_added DESC, item_id DESC
+     * WHY: Avoids loading the whole INVENTORY_ITEM table when a screen only shows one window of rows
+     * HOW: Seeks past the (date_added, item_id) key from the cursor, fetches pageSize + 1 rows to detect a next page
+     * @param cursor Token from a previous page, or null for the first page
+     * @param pageSize Maximum number of items to return
+     * @return InventoryPage with items and next-page cursor (null on the last page)
+     * @throws Exception If database error occurs or cursor is invalid
+     */
+    @Override
+    public InventoryPage getRecordsPage(String cursor, int pageSize) throws Exception {
+        return getRecordsPage(cursor, 0, pageSize);
+    }
+
+    /**
+     * getRecordsPage() - Paged Read Operation with Skip
+     * WHAT: Same as getRecordsPage(cursor, pageSize) but skips the first rows after the cursor
+     * WHY: Lazy table models jump to a block whose start cursor is not known yet (scroll bar drag)
+     * HOW: Seeks to the nearest known cursor, then OFFSET skips the remaining rows (keeps the scan short)
+     * @param cursor Token from a previous page, or null to start at the first row
+     * @param skip Number of rows after the cursor to skip before the page starts
+     * @param pageSize Maximum number of items to return
+     * @return InventoryPage with items and next-page cursor (null on the last page)
+     * @throws Exception If database error occurs or cursor is invalid
+     */
+    public InventoryPage getRecordsPage(String cursor, int skip, int pageSize) throws Exception {
+        // WHAT: Validate page size
+        // WHY: Zero or negative page sizes make no sense and would produce an empty LIMIT
+        // HOW: Throw IllegalArgumentException for invalid input
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        if (skip < 0) {
+            throw new IllegalArgumentException("Skip must not be negative: " + skip);
+        }
+
+        // WHAT: SQL SELECT with keyset (seek) condition
+        // WHY: OFFSET pagination re-reads all skipped rows; seeking on the sort key reads only the page
+        // HOW: Rows strictly "after" the cursor in (date_added DESC, item_id DESC) order, item_id breaks date ties;
+        //      the leading "date_added <= ?" lets H2 start the scan of IDX_INVENTORY_DATE_ID at the cursor
+        String columns = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit, version FROM INVENTORY_ITEM ";
+        String order = " ORDER BY date_added DESC, item_id DESC LIMIT ?" + (skip > 0 ? " OFFSET ?" : "");
+        String sql = cursor == null
+            ? columns + order
+            : columns + "WHERE date_added <= ? AND (date_added < ? OR item_id < ?)" + order;
+
+        List<FarmItem> items = new ArrayList<>();
+        String lastDate = null; // Raw date_added of last row on the page (for the next cursor)
+        int lastId = 0; // item_id of last row on the page
+        boolean hasMore = false;
+
+        // WHAT: Try-with-resources block for database operations
+        // WHY: Ensures resources are properly closed
+        // HOW: try (resource) syntax
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            // WHAT: Bind cursor key and limit parameters
+            // WHY: Cursor holds the sort key of the last row already shown
+            // HOW: Decode date and id from token, LIMIT pageSize + 1 to detect another page
+            int index = 1;
+            if (cursor != null) {
+                String cursorDate = InventoryPage.decodeCursorDate(cursor);
+                pstmt.setString(index++, cursorDate);
+                pstmt.setString(index++, cursorDate);
+                pstmt.setInt(index++, InventoryPage.decodeCursorId(cursor));
+            }
+            pstmt.setInt(index++, pageSize + 1);
+            if (skip > 0) {
+                pstmt.setInt(index, skip);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // WHAT: Read up to pageSize rows, remember whether an extra row exists
+                // WHY: Extra row means there is a next page
+                // HOW: Stop adding once pageSize rows are collected
+                while (rs.next()) {
+                    if (items.size() == pageSize) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(createFarmItemFromResultSet(rs));
+                    lastDate = rs.getString("date_added");
+                    lastId = rs.getInt("item_id");
+                }
+            }
+        }
+
+        // WHAT: Return page with cursor pointing after its last row
+        // WHY: Caller passes the cursor back to fetch the next page
+        // HOW: Cursor is null when no further rows exist
+        return new InventoryPage(items, hasMore ? InventoryPage.encodeCursor(lastDate, lastId) : null);
+    }
+
+    /**
+     * countRecords() - Count Operation
+     * WHAT: Returns the number of rows in INVENTORY_ITEM
+     * WHY: Paged screens need the total count without loading the rows
+     * HOW: SELECT COUNT(*) query
+     * @return Total number of inventory items
+     * @throws Exception If database error occurs
+     */
+    @Override
+    public int countRecords() throws Exception {
+        String sql = "SELECT COUNT(*) FROM INVENTORY_ITEM";
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
     /**
      * updateRecord() - Update Operation (CRUD)
      * WHAT: Updates existing inventory item in database
      * WHY: Required for editing/modifying existing records
-     * HOW: UPDATE SQL statement with new item data, uses polymorphism for status/condition
-     * @param item FarmItem object with updated data (must have valid ID)
-     * @throws Exception If database error occurs
+     * HOW: UPDATE SQL statement with new item data, uses polymorphism for status/condition;
+     *      only succeeds if the row still has the version the item was read with (optimistic locking)
+     * @param item FarmItem object with updated data (must have valid ID and the version it was read with)
+     * @throws Exception If database error occurs, or the row was changed or deleted since the item was read
      */
     @Override
     public void updateRecord(FarmItem item) throws Exception {
+        // WHAT: Reject items that were not read from the database
+        // WHY: Without the read version a full-row write could revert a purchase committed in the meantime
+        if (item.getVersion() == FarmItem.UNKNOWN_VERSION) {
+            throw new IllegalArgumentException("Item " + item.getId() + " has no row version - load it before updating");
+        }
+        
         // WHAT: SQL UPDATE statement to modify existing inventory item
         // WHY: Need to update item data in database
-        // HOW: UPDATE SET with column names and ? placeholders, WHERE clause for item_id
-        String sql = "UPDATE INVENTORY_ITEM SET name = ?, quantity = ?, unit = ?, date_added = ?, status = ?, notes = ?, price_per_unit = ? WHERE item_id = ?";
+        // HOW: UPDATE SET with column names and ? placeholders, WHERE clause for item_id and the read version;
+        //      version is incremented so PurchaseService and other editors notice the edit (optimistic locking)
+        String sql = "UPDATE INVENTORY_ITEM SET name = ?, quantity = ?, unit = ?, date_added = ?, status = ?, notes = ?, price_per_unit = ?, version = version + 1 WHERE item_id = ? AND version = ?";
         
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
+            // WHAT: Read (and lock) the stored row before changing it
+            // WHY: INVENTORY_STATS is adjusted by the difference between the old and the new values
+            // HOW: Update and statistics change commit together; the pool rolls back if anything fails
+            conn.setAutoCommit(false);
+            InventoryStatsDelta statsDelta = new InventoryStatsDelta();
+            String storedType = statsDelta.removeStoredRow(conn, item.getId());
+            DailyRollupDelta rollup = new DailyRollupDelta();
+            double soldQuantity = rollup.removeStoredHarvest(conn, item.getId()); // Lot leaves its old day bucket
+            
             // WHAT: Set parameters for updated values
             // WHY: PreparedStatement uses ? placeholders
             // HOW: setString() and setDouble() methods set parameter values
             pstmt.setString(1, item.getName()); // Set name
             pstmt.setDouble(2, item.getQuantity()); // Set quantity
             pstmt.setString(3, item.getUnit()); // Set unit
-            pstmt.setString(4, item.getDateAdded().format(DATE_FORMATTER)); // Set formatted date
+            pstmt.setDate(4, java.sql.Date.valueOf(item.getDateAdded())); // Set date
             
             // WHAT: Handle status for HarvestLot items (polymorphism)
             // WHY: HarvestLot has status field, other types may not
@@ -337,22 +699,42 @@ public class InventoryDAO implements InventoryService {
                 pstmt.setNull(7, java.sql.Types.DOUBLE);
             }
             
-            // WHAT: Set item_id parameter for WHERE clause
-            // WHY: WHERE clause identifies which record to update
-            // HOW: setInt(8, item.getId()) sets item ID
+            // WHAT: Set item_id and version parameters for WHERE clause
+            // WHY: WHERE clause identifies which record to update - as long as it is unchanged since the read
+            // HOW: setInt(8, item.getId()) sets item ID, setInt(9, ...) the read version
             pstmt.setInt(8, item.getId());
+            pstmt.setInt(9, item.getVersion());
             
             // WHAT: Execute UPDATE statement
             // WHY: Actually updates the record in database
             // HOW: executeUpdate() executes the SQL statement
             int rowsAffected = pstmt.executeUpdate();
             
+            // WHAT: Report a conflict when no row matched
+            // WHY: The row was changed (a purchase, another editor) or deleted since the item was read;
+            //      writing the stale values back would silently undo that change
+            // HOW: Roll back the (empty) transaction and fail; the caller reloads the item and retries
+            if (rowsAffected == 0) {
+                conn.rollback();
+                throw new Exception("Error updating record: item " + item.getId()
+                    + " was changed or deleted since it was loaded. Reload it and try again.");
+            }
+            
+            // WHAT: Count the row with its new values (item_type is not changed by the UPDATE)
+            HarvestLot harvest = item instanceof HarvestLot ? (HarvestLot) item : null;
+            statsDelta.add(storedType, harvest != null ? harvest.getStatus() : null, item.getQuantity(),
+                harvest != null ? harvest.getPricePerUnit() : null);
+            statsDelta.apply(conn);
+            rollup.addHarvest(item, soldQuantity); // ... and enters its (possibly new) bucket with the new values
+            rollup.apply(conn);
+            conn.commit();
+            item.setVersion(item.getVersion() + 1); // Item now matches the stored row again
+            
             // WHAT: Log successful update for debugging
             // WHY: Confirms data was updated in database
             // HOW: System.out.println() writes confirmation message
-            if (rowsAffected > 0) {
-                System.out.println("✓ Successfully updated item in database: " + item.getName() + " (ID: " + item.getId() + ")");
-            }
+            System.out.println("✓ Successfully updated item in database: " + item.getName() + " (ID: " + item.getId() + ")");
+            searchIndex.put(item.getId(), item);
         }
     }
     
@@ -374,9 +756,17 @@ public class InventoryDAO implements InventoryService {
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
+            // WHAT: Read (and lock) the row before deleting it
+            // WHY: Its values are subtracted from INVENTORY_STATS and DAILY_ROLLUP in the same transaction
+            conn.setAutoCommit(false);
+            InventoryStatsDelta statsDelta = new InventoryStatsDelta();
+            statsDelta.removeStoredRow(conn, id);
+            DailyRollupDelta rollup = new DailyRollupDelta();
+            rollup.removeStoredHarvest(conn, id);
+            
             // WHAT: Set parameter (?) to item ID
             // WHY: WHERE clause needs item ID to identify which record to delete
             // HOW: setInt(1, id) sets first ? parameter to id
@@ -391,16 +781,21 @@ public class InventoryDAO implements InventoryService {
             // WHY: Confirms data was deleted from database
             // HOW: System.out.println() writes confirmation message
             if (rowsAffected > 0) {
+                statsDelta.apply(conn);
+                rollup.apply(conn);
+                conn.commit();
                 System.out.println("✓ Successfully deleted item from database (ID: " + id + ")");
+                searchIndex.remove(id);
             }
         }
     }
     
     /**
      * searchRecords() - Search/Filter Operation
-     * WHAT: Searches inventory items matching query string in name, notes, or item_type
+     * WHAT: Searches inventory items containing the query string in name, notes, item_type or status
      * WHY: Required for filtering records by search criteria
-     * HOW: SELECT with LIKE pattern matching in WHERE clause, uses OR to search multiple columns
+     * HOW: SELECT with case-insensitive LIKE pattern matching in WHERE clause, uses OR to search multiple columns;
+     *      % and _ in the query are matched literally
      * @param query Search string to match against item fields
      * @return List of FarmItem objects matching the search query
      * @throws Exception If database error occurs
@@ -413,28 +808,31 @@ public class InventoryDAO implements InventoryService {
         List<FarmItem> items = new ArrayList<>();
         
         // WHAT: SQL SELECT statement with LIKE pattern matching
-        // WHY: Need to search across multiple columns (name, notes, item_type)
-        // HOW: WHERE clause with OR conditions, LIKE uses % wildcards for partial matching
-        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit FROM INVENTORY_ITEM " +
-                     "WHERE name LIKE ? OR notes LIKE ? OR item_type LIKE ? ORDER BY date_added DESC";
+        // WHY: Need to search across multiple columns (name, notes, item_type, status)
+        // HOW: WHERE clause with OR conditions, LIKE uses % wildcards for partial matching, LOWER() ignores case
+        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit, version FROM INVENTORY_ITEM " +
+                     "WHERE LOWER(name) LIKE ? OR LOWER(notes) LIKE ? OR LOWER(item_type) LIKE ? OR LOWER(status) LIKE ? " +
+                     "ORDER BY date_added DESC";
         
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             // WHAT: Create search pattern with wildcards (%query%)
             // WHY: LIKE operator needs % wildcards to match partial strings
-            // HOW: String concatenation adds % before and after query
-            String searchPattern = "%" + query + "%";
+            // HOW: Escape LIKE wildcards in the query (default escape character \), lowercase it, add % around it
+            String literal = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            String searchPattern = "%" + literal.toLowerCase(java.util.Locale.ROOT) + "%";
             
-            // WHAT: Set all three LIKE parameters to same search pattern
-            // WHY: Search same pattern across name, notes, and item_type columns
+            // WHAT: Set all four LIKE parameters to same search pattern
+            // WHY: Search same pattern across name, notes, item_type and status columns
             // HOW: setString() sets each ? parameter to searchPattern
             pstmt.setString(1, searchPattern); // Search in name column
             pstmt.setString(2, searchPattern); // Search in notes column
             pstmt.setString(3, searchPattern); // Search in item_type column
+            pstmt.setString(4, searchPattern); // Search in status column
             
             // WHAT: Execute query and process results
             // WHY: Need to read matching records
@@ -476,30 +874,10 @@ public class InventoryDAO implements InventoryService {
         String unit = rs.getString("unit"); // Get unit
         String itemType = rs.getString("item_type"); // Get item type (HARVEST or EQUIPMENT)
         
-        // WHAT: Parse date string with flexible format support
-        // WHY: Database may have dates in yyyy-MM-dd or MM/dd/yyyy format (from H2 Console)
-        // HOW: Try primary format first, fallback to alternative format if parsing fails
-        String dateString = rs.getString("date_added");
-        LocalDate dateAdded;
-        try {
-            // WHAT: Try parsing with primary format (yyyy-MM-dd)
-            // WHY: Application uses this format by default
-            // HOW: LocalDate.parse() with DATE_FORMATTER
-            dateAdded = LocalDate.parse(dateString, DATE_FORMATTER);
-        } catch (Exception e) {
-            // WHAT: If primary format fails, try alternative format (MM/dd/yyyy)
-            // WHY: H2 Console may have dates in MM/dd/yyyy format
-            // HOW: LocalDate.parse() with ALT_DATE_FORMATTER
-            try {
-                dateAdded = LocalDate.parse(dateString, ALT_DATE_FORMATTER);
-            } catch (Exception e2) {
-                // WHAT: If both formats fail, use current date as fallback
-                // WHY: Application should not crash on invalid date format
-                // HOW: LocalDate.now() provides current date
-                System.err.println("⚠ Warning: Could not parse date '" + dateString + "'. Using current date as fallback.");
-                dateAdded = LocalDate.now();
-            }
-        }
+        // WHAT: Read date_added as a DATE
+        // WHY: Upgraded databases store a DATE; older ones still hold yyyy-MM-dd or MM/dd/yyyy text (H2 Console)
+        // HOW: getObject() returns a date value for DATE columns, parseDateAdded() handles text
+        LocalDate dateAdded = readDateAdded(rs);
         
         String status = rs.getString("status"); // Get status/condition (used for both HarvestLot status and EquipmentItem condition)
         String notes = rs.getString("notes"); // Get notes
@@ -522,24 +900,153 @@ public class InventoryDAO implements InventoryService {
         // WHAT: Create appropriate FarmItem subclass based on item_type (Polymorphism)
         // WHY: Different item types need different subclasses (HarvestLot vs EquipmentItem)
         // HOW: if-else statements check itemType string, create corresponding subclass
+        FarmItem item;
         if ("HARVEST".equals(itemType)) {
             // WHAT: Create HarvestLot object for harvest items
             // WHY: Harvest items need HarvestLot subclass with status and price fields
             // HOW: new HarvestLot() constructor with all extracted values including price
-            return new HarvestLot(id, name, quantity, unit, dateAdded, notes, status, pricePerUnit);
+            item = new HarvestLot(id, name, quantity, unit, dateAdded, notes, status, pricePerUnit);
         } else if ("EQUIPMENT".equals(itemType)) {
             // WHAT: Create EquipmentItem object for equipment items
             // WHY: Equipment items need EquipmentItem subclass with condition field
             // HOW: new EquipmentItem() constructor with all extracted values (status becomes condition)
-            return new EquipmentItem(id, name, quantity, unit, dateAdded, notes, status);
+            item = new EquipmentItem(id, name, quantity, unit, dateAdded, notes, status);
         } else {
             // WHAT: Default to HarvestLot for backward compatibility
             // WHY: Old records or unknown types should still work
             // HOW: Default case creates HarvestLot (most common type)
-            return new HarvestLot(id, name, quantity, unit, dateAdded, notes, status, pricePerUnit);
+            item = new HarvestLot(id, name, quantity, unit, dateAdded, notes, status, pricePerUnit);
+        }
+        
+        // WHAT: Remember the row version the item was read with
+        // WHY: updateRecord() sends it back to detect changes made since this read
+        item.setVersion(rs.getInt("version"));
+        return item;
+    }
+        
+    /**
+     * readDateAdded() - Reads the date_added column of the current row
+     * WHAT: Converts the column value into a LocalDate for DATE and VARCHAR columns
+     * WHY: No string parsing for upgraded (DATE) databases; text fallback if the upgrade could not run
+     * @param rs Result positioned on a row with a date_added column
+     * @return Date value (current date if missing or unparseable)
+     * @throws SQLException If the column cannot be read
+     */
+    private static LocalDate readDateAdded(ResultSet rs) throws SQLException {
+        Object value = rs.getObject("date_added");
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
         }
+        return parseDateAdded(value != null ? value.toString() : null);
+    }
+
+    /**
+     * fullTextSearch() - Ranked Full-Text Search
+     * WHAT: Finds items whose name, notes, type or status contain every query word (or a word starting with it);
+     *       queries with partial words also find substring matches
+     * WHY: LIKE '%q%' over notes scans the whole table on every keystroke of a live search
+     * HOW: InventorySearchIndex returns ranked item IDs; rows are loaded with item_id IN (...) in chunks
+     *      and returned in rank order. If a query word is not a whole indexed word ("orn" for Corn),
+     *      searchRecords() substring matches are appended after the ranked ones (only then is the table scanned)
+     * @param query Search words (prefix matching, case-insensitive)
+     * @param limit Maximum number of results
+     * @return Matching items, best match first
+     * @throws Exception If database error occurs
+     */
+    @Override
+    public List<FarmItem> fullTextSearch(String query, int limit) throws Exception {
+        List<InventorySearchIndex.Hit> hits = searchIndex.search(query, limit);
+        
+        // WHAT: Load the rows of the hits
+        // WHY: The index only stores IDs and words, not full items
+        // HOW: Primary key lookups in chunks of 500 IDs, collected by ID
+        Map<Integer, FarmItem> byId = new HashMap<>(hits.size() * 2);
+        String columns = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit, version FROM INVENTORY_ITEM WHERE item_id IN (";
+        if (!hits.isEmpty()) {
+            try (Connection conn = connections.create()) {
+                for (int from = 0; from < hits.size(); from += 500) {
+                    int to = Math.min(hits.size(), from + 500);
+                    StringBuilder sql = new StringBuilder(columns);
+                    for (int i = from; i < to; i++) {
+                        sql.append(i == from ? "?" : ", ?");
+                    }
+                    sql.append(')');
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                        for (int i = from; i < to; i++) {
+                            pstmt.setInt(i - from + 1, hits.get(i).getItemId());
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                FarmItem item = createFarmItemFromResultSet(rs);
+                                byId.put(item.getId(), item);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        
+        // WHAT: Return items in rank order
+        // HOW: Hits whose row was deleted elsewhere meanwhile are skipped
+        List<FarmItem> items = new ArrayList<>(hits.size());
+        for (InventorySearchIndex.Hit hit : hits) {
+            FarmItem item = byId.get(hit.getItemId());
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        
+        // WHAT: Substring fallback for partial words
+        // WHY: The records search used to match any part of a value; word-prefix matching alone misses "orn" in Corn
+        // HOW: Skipped when the ranked hits fill the limit or every query word is a whole indexed word
+        if (items.size() < limit && !query.isBlank() && !searchIndex.containsAllWords(query)) {
+            Set<Integer> shown = new HashSet<>(byId.keySet());
+            for (FarmItem item : searchRecords(query.trim())) {
+                if (items.size() >= limit) {
+                    break;
+                }
+                if (shown.add(item.getId())) {
+                    items.add(item);
+                }
+            }
+        }
+        return items;
     }
     
+    /**
+     * parseDateAdded() - Parses a stored date_added value
+     * WHAT: Converts the VARCHAR date into a LocalDate
+     * WHY: Database may have dates in yyyy-MM-dd or MM/dd/yyyy format (from H2 Console); shared by
+     *      createFarmItemFromResultSet() and the streaming CSV export
+     * HOW: Try primary format first, fallback to alternative format, current date if both fail
+     * @param dateString Stored date text
+     * @return Parsed date (never null)
+     */
+    public static LocalDate parseDateAdded(String dateString) {
+        try {
+            // WHAT: Try parsing with primary format (yyyy-MM-dd)
+            // WHY: Application uses this format by default
+            // HOW: LocalDate.parse() with DATE_FORMATTER
+            return LocalDate.parse(dateString, DATE_FORMATTER);
+        } catch (Exception e) {
+            // WHAT: If primary format fails, try alternative format (MM/dd/yyyy)
+            // WHY: H2 Console may have dates in MM/dd/yyyy format
+            // HOW: LocalDate.parse() with ALT_DATE_FORMATTER
+            try {
+                return LocalDate.parse(dateString, ALT_DATE_FORMATTER);
+            } catch (Exception e2) {
+                // WHAT: If both formats fail, use current date as fallback
+                // WHY: Application should not crash on invalid date format
+                // HOW: LocalDate.now() provides current date
+                System.err.println("⚠ Warning: Could not parse date '" + dateString + "'. Using current date as fallback.");
+                return LocalDate.now();
+            }
+        }
+    }
+
     /**
      * getRecordById() - Retrieves single inventory item by ID
      * WHAT: Queries database to find inventory item with specific item_id
@@ -549,16 +1056,17 @@ public class InventoryDAO implements InventoryService {
      * @return FarmItem object if found, null if not found
      * @throws Exception If database error occurs
      */
+    @Override
     public FarmItem getRecordById(int id) throws Exception {
         // WHAT: SQL SELECT statement to get item by ID
         // WHY: Need to retrieve specific item for editing
         // HOW: SELECT with WHERE clause matching item_id
-        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit FROM INVENTORY_ITEM WHERE item_id = ?";
+        String sql = "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit, version FROM INVENTORY_ITEM WHERE item_id = ?";
         
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
+        try (Connection conn = connections.create();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             // WHAT: Set parameter (?) to item ID
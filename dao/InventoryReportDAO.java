@@ -0,0 +1,178 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for database connections
+import java.sql.PreparedStatement; // Import: PreparedStatement for the aggregate query
+import java.sql.ResultSet; // Import: ResultSet for reading aggregate rows
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for the rebuild statements
+import java.util.ArrayList; // Import: ArrayList for collecting groups
+import java.util.List; // Import: List interface for groups
+import java.util.Objects; // Import: Objects for null-safe status comparison
+import model.InventorySummary; // Import: InventorySummary returned to report screens
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
+import util.DBConnection; // Import: DBConnection utility for database connections
+
+/**
+ * InventoryReportDAO - Aggregate Queries for Reports
+ * WHAT: Reads inventory statistics (counts, quantity and value totals, status tallies) for report screens
+ * WHY: ReportsWindow and the admin reports panel fetched every FarmItem to count and sum them in Java, so report
+ *      latency and memory grew with the inventory
+ * HOW: INVENTORY_STATS holds one precomputed row per (item_type, status) group, kept exact by the writers
+ *      (InventoryStatsDelta in the same transaction as each insert, update, delete and purchase), so reading a
+ *      summary costs a handful of rows whatever the table size. rebuildStats() recomputes the table with a
+ *      GROUP BY over INVENTORY_ITEM - for rows edited outside the application (H2 Console) or a suspected drift.
+ *
+ * THREADING: Thread-safe - each query uses its own connection
+ */
+public class InventoryReportDAO {
+    private static final String SUMMARY_SQL =
+        "SELECT item_type, status, item_count, total_quantity, total_value FROM INVENTORY_STATS WHERE item_count <> 0";
+
+    // WHAT: Aggregates computed from the raw rows
+    // HOW: NULL and "" status form one group (INVENTORY_STATS.status is NOT NULL); NULL prices add no value
+    private static final String AGGREGATE_SQL =
+        "SELECT item_type, COALESCE(status, ''), COUNT(*), COALESCE(SUM(quantity), 0), " +
+        "COALESCE(SUM(quantity * price_per_unit), 0) " +
+        "FROM INVENTORY_ITEM GROUP BY item_type, COALESCE(status, '')";
+
+    // WHAT: Relative difference below which stored and recomputed totals count as equal
+    // WHY: Incremental sums of doubles differ from a fresh SUM() in the last bits
+    private static final double DRIFT_TOLERANCE = 1e-9;
+
+    private final ConnectionPool.ConnectionFactory connections;
+
+    /**
+     * Constructor - Uses the application database
+     */
+    public InventoryReportDAO() {
+        this(DBConnection::getConnection);
+    }
+
+    /**
+     * Constructor - Uses the given connection source
+     * @param connections Opens a connection per query (closed afterwards)
+     */
+    public InventoryReportDAO(ConnectionPool.ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * getSummary() - Returns aggregated statistics for the whole inventory
+     * WHAT: Counts and totals per (item_type, status), combined into an InventorySummary
+     * WHY: Report screens need totals, not rows
+     * HOW: Reads the precomputed INVENTORY_STATS rows - no scan of INVENTORY_ITEM
+     * @return Summary of the current inventory
+     * @throws Exception If database error occurs
+     */
+    public InventorySummary getSummary() throws Exception {
+        try (Connection conn = connections.create()) {
+            return query(conn, SUMMARY_SQL);
+        } catch (Exception e) {
+            throw new Exception("Error loading inventory summary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * computeSummary() - Computes statistics from the inventory rows
+     * WHAT: Same summary as getSummary(), aggregated with GROUP BY over INVENTORY_ITEM
+     * WHY: Reference for checking INVENTORY_STATS; cost grows with the table, so reports do not use it
+     * @return Summary of the current inventory
+     * @throws Exception If database error occurs
+     */
+    public InventorySummary computeSummary() throws Exception {
+        try (Connection conn = connections.create()) {
+            return query(conn, AGGREGATE_SQL);
+        } catch (Exception e) {
+            throw new Exception("Error computing inventory summary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * rebuildStats() - Recomputes INVENTORY_STATS from the inventory rows
+     * WHAT: Replaces every stats row with a fresh GROUP BY aggregate in one transaction
+     * WHY: Consistency repair after edits outside the application, and a check that the incremental totals are exact
+     * HOW: DELETE first - it waits for writers holding stats rows, so their items are committed before the
+     *      aggregate reads INVENTORY_ITEM; writers arriving later wait for the rebuild and apply their delta on top
+     * @return true if the stored statistics differed from the recomputed ones (drift was corrected)
+     * @throws Exception If database error occurs
+     */
+    public boolean rebuildStats() throws Exception {
+        try (Connection conn = connections.create()) {
+            conn.setAutoCommit(false);
+            try {
+                InventorySummary before = query(conn, SUMMARY_SQL + " FOR UPDATE"); // Latest committed totals
+                replaceStats(conn);
+                InventorySummary after = query(conn, SUMMARY_SQL);
+                conn.commit();
+                boolean drifted = !sameTotals(before, after);
+                System.out.println((drifted ? "⚠ Inventory statistics rebuilt - drift corrected: "
+                    : "✓ Inventory statistics rebuilt - no drift: ") + after);
+                return drifted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            throw new Exception("Error rebuilding inventory statistics: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * replaceStats() - Fills INVENTORY_STATS from INVENTORY_ITEM on the given connection
+     * WHY: Used by rebuildStats() (migration 8 has its own copy of this SQL)
+     * @param conn Connection (the caller commits)
+     */
+    private static void replaceStats(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM INVENTORY_STATS");
+            stmt.executeUpdate("INSERT INTO INVENTORY_STATS (item_type, status, item_count, total_quantity, total_value) "
+                + AGGREGATE_SQL);
+        }
+    }
+
+    /**
+     * query() - Runs a (item_type, status, count, quantity, value) query and builds the summary
+     * HOW: The "" status of INVENTORY_STATS is reported as null (no status)
+     */
+    private static InventorySummary query(Connection conn, String sql) throws SQLException {
+        List<InventorySummary.Group> groups = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String status = rs.getString(2);
+                groups.add(new InventorySummary.Group(rs.getString(1), status == null || status.isEmpty() ? null : status,
+                    rs.getInt(3), rs.getDouble(4), rs.getDouble(5)));
+            }
+        }
+        return new InventorySummary(groups);
+    }
+
+    /**
+     * sameTotals() - Compares two summaries group by group
+     */
+    private static boolean sameTotals(InventorySummary a, InventorySummary b) {
+        if (a.getGroups().size() != b.getGroups().size()) {
+            return false;
+        }
+        for (InventorySummary.Group groupA : a.getGroups()) {
+            InventorySummary.Group groupB = null;
+            for (InventorySummary.Group candidate : b.getGroups()) {
+                if (candidate.getItemType().equals(groupA.getItemType())
+                        && Objects.equals(candidate.getStatus(), groupA.getStatus())) {
+                    groupB = candidate;
+                }
+            }
+            if (groupB == null || groupA.getCount() != groupB.getCount()
+                    || !close(groupA.getQuantity(), groupB.getQuantity()) || !close(groupA.getValue(), groupB.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) <= DRIFT_TOLERANCE * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+}
@@ -0,0 +1,378 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for loading the index
+import java.sql.PreparedStatement; // Import: PreparedStatement for the index load query
+import java.sql.ResultSet; // Import: ResultSet for reading indexed columns
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.util.ArrayList; // Import: ArrayList for tokens and hits
+import java.util.HashMap; // Import: HashMap for postings and per-item tokens
+import java.util.List; // Import: List interface for tokens and hits
+import java.util.Locale; // Import: Locale for locale-independent lowercasing
+import java.util.Map; // Import: Map interface for postings
+import java.util.NavigableMap; // Import: NavigableMap for prefix lookups
+import java.util.TreeMap; // Import: TreeMap for the sorted term dictionary
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for the maximum index age
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Import: ReentrantReadWriteLock for concurrent searches
+import model.EquipmentItem; // Import: EquipmentItem subclass (condition is stored as status)
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot subclass (status)
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the database the index is loaded from
+import util.DBConnection; // Import: DBConnection utility for the application database
+
+/**
+ * InventorySearchIndex - In-Process Full-Text Index over INVENTORY_ITEM
+ * WHAT: Inverted index from words of name, notes, item_type and status to item IDs, with ranked prefix search
+ * WHY: searchRecords() runs LIKE '%q%' over four columns (including notes VARCHAR(1000)), a full table scan
+ *      for every keystroke of a live search
+ * HOW: Sorted term dictionary (TreeMap) -> postings (item ID -> weighted term frequency).
+ *      Prefix matching is a range scan of the dictionary; results are ranked with tf-idf, name words weigh more.
+ *      InventoryDAO keeps the index current on add/update/delete; bulk inserts invalidate it (rebuilt on next search).
+ *
+ * EXTERNAL CHANGES: Rows edited in H2 Console or by another running instance are picked up when the index
+ *                   is rebuilt after agritrack.search.maxIndexAgeSeconds (default 300)
+ * THREADING: Thread-safe - searches share a read lock, updates take the write lock
+ */
+public final class InventorySearchIndex {
+    // WHAT: Field weights added to a word's score per occurrence
+    // WHY: A query word in the item name is a stronger match than the same word in the notes
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TYPE_WEIGHT = 1.0f;
+    private static final float NOTES_WEIGHT = 1.0f;
+    private static final float STATUS_WEIGHT = 1.0f;
+
+    // WHAT: Score factor for words that only start with the query word
+    // WHY: Exact word matches rank above prefix matches ("rice" before "riceland" for query "rice")
+    private static final double PREFIX_FACTOR = 0.6;
+
+    // WHAT: Maximum age of the index before it is reloaded from the database
+    // WHY: Picks up changes made outside this application (H2 Console, another instance)
+    private static final long MAX_AGE_NANOS =
+        TimeUnit.SECONDS.toNanos(Long.getLong("agritrack.search.maxIndexAgeSeconds", 300));
+
+    // WHAT: Shared index of the application database for all InventoryDAO instances that use it
+    // WHY: Screens create their own DAO objects; one index per JVM keeps memory and build time bounded
+    private static final InventorySearchIndex INSTANCE = new InventorySearchIndex(DBConnection::getConnection);
+
+    /**
+     * Hit - One ranked search result
+     */
+    public static final class Hit {
+        private final int itemId;
+        private final double score;
+
+        Hit(int itemId, double score) {
+            this.itemId = itemId;
+            this.score = score;
+        }
+
+        public int getItemId() { return itemId; }
+        public double getScore() { return score; }
+    }
+
+    // WHAT: Term dictionary: word -> (item ID -> weighted term frequency)
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    // WHAT: Distinct words of each indexed item
+    // WHY: Needed to remove an item's postings on update/delete
+    private final Map<Integer, String[]> itemTerms = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // WHAT: Whether the index reflects the table, and when it was loaded
+    private boolean loaded;
+    private long loadedAtNanos;
+
+    // WHAT: Database the index is loaded from
+    private final ConnectionPool.ConnectionFactory connections;
+
+    /**
+     * Constructor - Creates an empty index over the given database
+     * WHY: InventoryDAO instances on their own connection source (benchmarks) search their own rows
+     * @param connections Opens a connection per (re)load
+     */
+    InventorySearchIndex(ConnectionPool.ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * getInstance() - Returns the shared index of the application database
+     */
+    public static InventorySearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * search() - Ranked prefix search
+     * WHAT: Returns items containing every query word (as a word or word prefix), best matches first
+     * WHY: Backs InventoryService.fullTextSearch()
+     * HOW: Per query word, scans the dictionary range of words starting with it; scores are tf-idf with
+     *      PREFIX_FACTOR for prefix-only matches; items missing any query word are dropped.
+     *      Ties are broken by newer item ID first.
+     * @param query Search text (split into words like the indexed text)
+     * @param limit Maximum number of hits
+     * @return Hits sorted by descending score (empty for a blank query)
+     * @throws SQLException If the index has to be (re)loaded and the database cannot be read
+     */
+    public List<Hit> search(String query, int limit) throws SQLException {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            int itemCount = Math.max(1, itemTerms.size());
+            Map<Integer, Double> scores = null;
+            for (String word : words) {
+                // WHAT: Best score of this query word per item
+                Map<Integer, Double> wordScores = new HashMap<>();
+                NavigableMap<String, Map<Integer, Float>> range = postings.subMap(word, true, word + Character.MAX_VALUE, false);
+                for (Map.Entry<String, Map<Integer, Float>> term : range.entrySet()) {
+                    Map<Integer, Float> items = term.getValue();
+                    double idf = Math.log(1.0 + (double) itemCount / items.size());
+                    double factor = term.getKey().length() == word.length() ? 1.0 : PREFIX_FACTOR;
+                    for (Map.Entry<Integer, Float> posting : items.entrySet()) {
+                        if (scores != null && !scores.containsKey(posting.getKey())) {
+                            continue; // Already excluded by an earlier query word
+                        }
+                        float tf = posting.getValue();
+                        double score = factor * idf * (tf / (tf + 1.2)) * 2.2; // Saturating term frequency
+                        wordScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+
+                // WHAT: Intersect with earlier words, sum scores
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Integer, Double> combined = new HashMap<>();
+                    for (Map.Entry<Integer, Double> entry : wordScores.entrySet()) {
+                        Double previous = scores.get(entry.getKey());
+                        if (previous != null) {
+                            combined.put(entry.getKey(), previous + entry.getValue());
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                hits.add(new Hit(entry.getKey(), entry.getValue()));
+            }
+            hits.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Integer.compare(b.itemId, a.itemId));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * containsAllWords() - Returns true if every query word is a whole indexed word
+     * WHAT: Exact dictionary lookups, no prefix matching
+     * WHY: InventoryDAO.fullTextSearch() falls back to a substring search for partial words such as "orn" (Corn),
+     *      which word-prefix matching cannot find
+     * @param query Search text (split into words like the indexed text)
+     * @return false for a query without words
+     * @throws SQLException If the index has to be (re)loaded and the database cannot be read
+     */
+    public boolean containsAllWords(String query) throws SQLException {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return false;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                if (!postings.containsKey(word)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * put() - Adds or replaces an item in the index
+     * WHAT: Indexes name, notes, item type and status (condition for equipment) of the item under its ID
+     * WHY: Called by InventoryDAO after a successful insert or update
+     * HOW: No-op while the index is not loaded (the next load reads the row from the database)
+     * @param itemId Database ID of the item (items passed to addRecord() still have ID 0)
+     * @param item Item values
+     */
+    public void put(int itemId, FarmItem item) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeLocked(itemId);
+            addLocked(itemId, item.getName(), item.getNotes(), item.getItemType(), statusOf(item));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * remove() - Removes an item from the index
+     * WHY: Called by InventoryDAO after a successful delete
+     */
+    public void remove(int itemId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeLocked(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * invalidate() - Marks the index as out of date
+     * WHAT: Forces a reload on the next search
+     * WHY: Bulk imports insert rows whose generated IDs are not returned one by one
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            postings.clear();
+            itemTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ensureLoaded() - Loads the index if it is missing or older than MAX_AGE_NANOS
+     * HOW: Streams (item_id, name, notes, item_type, status) with a fetch size; one loader at a time (write lock)
+     */
+    private void ensureLoaded() throws SQLException {
+        lock.readLock().lock();
+        try {
+            if (loaded && System.nanoTime() - loadedAtNanos < MAX_AGE_NANOS) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded && System.nanoTime() - loadedAtNanos < MAX_AGE_NANOS) {
+                return; // Loaded by another thread meanwhile
+            }
+            long start = System.nanoTime();
+            postings.clear();
+            itemTerms.clear();
+            String sql = "SELECT item_id, name, notes, item_type, status FROM INVENTORY_ITEM";
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setFetchSize(5000);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        addLocked(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+                    }
+                }
+            }
+            loaded = true;
+            loadedAtNanos = System.nanoTime();
+            System.out.println("✓ Search index loaded: " + itemTerms.size() + " items, " + postings.size() + " words in "
+                + (loadedAtNanos - start) / 1_000_000 + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * addLocked() - Adds postings for one item (caller holds the write lock)
+     */
+    private void addLocked(int itemId, String name, String notes, String itemType, String status) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addWords(frequencies, name, NAME_WEIGHT);
+        addWords(frequencies, notes, NOTES_WEIGHT);
+        addWords(frequencies, itemType, TYPE_WEIGHT);
+        addWords(frequencies, status, STATUS_WEIGHT);
+        if (frequencies.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), word -> new HashMap<>()).put(itemId, entry.getValue());
+        }
+        itemTerms.put(itemId, frequencies.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * removeLocked() - Removes postings of one item (caller holds the write lock)
+     */
+    private void removeLocked(int itemId) {
+        String[] words = itemTerms.remove(itemId);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Map<Integer, Float> items = postings.get(word);
+            if (items != null) {
+                items.remove(itemId);
+                if (items.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * statusOf() - Returns the value stored in the status column for an item
+     * HOW: HarvestLot status, EquipmentItem condition (same column), null otherwise
+     */
+    private static String statusOf(FarmItem item) {
+        if (item instanceof HarvestLot) {
+            return ((HarvestLot) item).getStatus();
+        }
+        if (item instanceof EquipmentItem) {
+            return ((EquipmentItem) item).getCondition();
+        }
+        return null;
+    }
+
+    /**
+     * addWords() - Adds weighted occurrences of the words of a text
+     */
+    private static void addWords(Map<String, Float> frequencies, String text, float weight) {
+        for (String word : tokenize(text)) {
+            frequencies.merge(word, weight, Float::sum);
+        }
+    }
+
+    /**
+     * tokenize() - Splits text into lowercase words
+     * WHAT: Words are maximal runs of letters and digits
+     * WHY: Same rules for indexed text and queries, so "Sweet-Corn" matches "corn"
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
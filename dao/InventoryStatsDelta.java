@@ -0,0 +1,187 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for the writer's transaction
+import java.sql.PreparedStatement; // Import: PreparedStatement for reading rows and updating INVENTORY_STATS
+import java.sql.ResultSet; // Import: ResultSet for reading the stored row
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.util.Map; // Import: Map interface for changes by group
+import java.util.TreeMap; // Import: TreeMap for a fixed group (lock) order
+import model.EquipmentItem; // Import: EquipmentItem subclass (condition stored as status)
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot subclass (status and price)
+
+/**
+ * InventoryStatsDelta - Pending Changes to INVENTORY_STATS
+ * WHAT: Collects row count, quantity and value changes per (item_type, status) group made by one write,
+ *       and applies them to INVENTORY_STATS in the writer's transaction
+ * WHY: Report screens read precomputed totals from INVENTORY_STATS; every write to INVENTORY_ITEM must keep them
+ *      exact, and only the DAO knows the old and new values of the rows it changes
+ * HOW: Writers record removed rows (old values) and added rows (new values), then call apply() just before
+ *      commit. Groups are updated in sorted order, so two writers always lock stats rows in the same order.
+ *
+ * THREADING: Not thread-safe - one delta per write
+ */
+final class InventoryStatsDelta {
+    private static final String SELECT_ROW_SQL =
+        "SELECT item_type, status, quantity, price_per_unit FROM INVENTORY_ITEM WHERE item_id = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE INVENTORY_STATS SET item_count = item_count + ?, " +
+        "total_quantity = total_quantity + ?, total_value = total_value + ? WHERE item_type = ? AND status = ?";
+    private static final String INSERT_SQL = "INSERT INTO INVENTORY_STATS " +
+        "(item_type, status, item_count, total_quantity, total_value) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Change - Accumulated change of one group
+     */
+    private static final class Change {
+        private final String itemType;
+        private final String status;
+        private long count;
+        private double quantity;
+        private double value;
+
+        Change(String itemType, String status) {
+            this.itemType = itemType;
+            this.status = status;
+        }
+
+        boolean isZero() {
+            return count == 0 && quantity == 0 && value == 0;
+        }
+    }
+
+    // WHAT: Changes keyed by item_type + NUL + status
+    // WHY: Sorted keys give a deterministic lock order (no deadlock between writers)
+    private final Map<String, Change> changes = new TreeMap<>();
+
+    /**
+     * add() - Records a row that now exists with the given values
+     * @param itemType item_type column
+     * @param status status column (null and "" are the same group)
+     * @param quantity quantity column
+     * @param pricePerUnit price_per_unit column, or null (adds no value)
+     */
+    void add(String itemType, String status, double quantity, Double pricePerUnit) {
+        change(itemType, status, 1, quantity, pricePerUnit);
+    }
+
+    /**
+     * remove() - Records a row that no longer exists with the given values (deleted or changed)
+     */
+    void remove(String itemType, String status, double quantity, Double pricePerUnit) {
+        change(itemType, status, -1, -quantity, pricePerUnit);
+    }
+
+    /**
+     * addItem() - Records an inserted item
+     * HOW: Same column mapping as InventoryDAO.bindInsertParameters(): status or condition, price only for HarvestLot
+     */
+    void addItem(FarmItem item) {
+        String status = null;
+        if (item instanceof HarvestLot) {
+            status = ((HarvestLot) item).getStatus();
+        } else if (item instanceof EquipmentItem) {
+            status = ((EquipmentItem) item).getCondition();
+        }
+        Double price = item instanceof HarvestLot ? ((HarvestLot) item).getPricePerUnit() : null;
+        add(item.getItemType(), status, item.getQuantity(), price);
+    }
+
+    /**
+     * removeStoredRow() - Records the current values of a row that is about to be updated or deleted
+     * WHAT: Reads the row and locks it until the transaction ends
+     * WHY: The old values must be the ones the update/delete replaces, not ones read earlier
+     * HOW: SELECT ... FOR UPDATE on the writer's connection (auto-commit must be off)
+     * @return Stored item_type, or null if the row does not exist
+     */
+    String removeStoredRow(Connection conn, int itemId) throws SQLException {
+        try (PreparedStatement select = conn.prepareStatement(SELECT_ROW_SQL)) {
+            select.setInt(1, itemId);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                String itemType = rs.getString(1);
+                double price = rs.getDouble(4);
+                remove(itemType, rs.getString(2), rs.getDouble(3), rs.wasNull() ? null : price);
+                return itemType;
+            }
+        }
+    }
+
+    /**
+     * apply() - Adds the collected changes to INVENTORY_STATS
+     * WHAT: One UPDATE per changed group; INSERT when the group has no row yet
+     * WHY: Called right before commit, so the stats rows are locked as briefly as possible
+     * HOW: If a concurrent writer inserted the same new group first (duplicate key), the UPDATE is repeated
+     * @param conn Writer's connection with auto-commit off
+     */
+    void apply(Connection conn) throws SQLException {
+        if (isEmpty()) {
+            return;
+        }
+        try (PreparedStatement update = conn.prepareStatement(UPDATE_SQL)) {
+            for (Change change : changes.values()) {
+                if (change.isZero()) {
+                    continue;
+                }
+                if (update(update, change) == 0) {
+                    try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+                        insert.setString(1, change.itemType);
+                        insert.setString(2, change.status);
+                        insert.setLong(3, change.count);
+                        insert.setDouble(4, change.quantity);
+                        insert.setDouble(5, change.value);
+                        insert.executeUpdate();
+                    } catch (SQLException e) {
+                        if (!"23505".equals(e.getSQLState()) || update(update, change) == 0) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * addAll() - Adds another delta's changes to this one
+     * WHY: InventoryBatchWriter collects per batch (dropped if the batch is rolled back) and applies per commit
+     */
+    void addAll(InventoryStatsDelta other) {
+        for (Change from : other.changes.values()) {
+            change(from.itemType, from.status, from.count, from.quantity, null).value += from.value;
+        }
+    }
+
+    boolean isEmpty() {
+        for (Change change : changes.values()) {
+            if (!change.isZero()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear() {
+        changes.clear();
+    }
+
+    private Change change(String itemType, String status, long count, double quantity, Double pricePerUnit) {
+        String statusKey = status != null ? status : "";
+        Change change = changes.computeIfAbsent(itemType + '\u0000' + statusKey, k -> new Change(itemType, statusKey));
+        change.count += count;
+        change.quantity += quantity;
+        if (pricePerUnit != null) {
+            change.value += quantity * pricePerUnit;
+        }
+        return change;
+    }
+
+    private static int update(PreparedStatement update, Change change) throws SQLException {
+        update.setLong(1, change.count);
+        update.setDouble(2, change.quantity);
+        update.setDouble(3, change.value);
+        update.setString(4, change.itemType);
+        update.setString(5, change.status);
+        return update.executeUpdate();
+    }
+}
@@ -0,0 +1,357 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for ledger writes and reads
+import java.sql.PreparedStatement; // Import: PreparedStatement for batched inserts and queries
+import java.sql.ResultSet; // Import: ResultSet for reading orders and sequence values
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for sequence allocation
+import java.sql.Timestamp; // Import: Timestamp for the ordered_at column
+import java.time.LocalDateTime; // Import: LocalDateTime for order times
+import java.util.ArrayList; // Import: ArrayList for batches and query results
+import java.util.List; // Import: List interface for collections
+import java.util.concurrent.BlockingQueue; // Import: BlockingQueue for pending orders
+import java.util.concurrent.CompletableFuture; // Import: CompletableFuture for the commit notification
+import java.util.concurrent.ExecutionException; // Import: ExecutionException for failed appends
+import java.util.concurrent.LinkedBlockingQueue; // Import: LinkedBlockingQueue for pending orders
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for the group commit wait
+import model.PurchaseOrder; // Import: PurchaseOrder model class
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
+import util.DBConnection; // Import: DBConnection utility for database connections
+
+/**
+ * PurchaseOrderDAO - Append-Only Purchase Order Ledger
+ * WHAT: Stores completed purchases in PURCHASE_ORDER and reads them back by buyer, item or date range
+ * WHY: Sales must be recorded for reconciliation and reporting; at peak many buyers complete purchases at once,
+ *      and one connection + one commit (log flush) per order does not scale
+ * HOW: Group commit - callers put orders on a queue and wait; a single writer thread takes everything queued
+ *      (waiting up to agritrack.ledger.maxWaitMicros for more), inserts it with one JDBC batch and one commit,
+ *      then wakes all callers of that batch (the batch's sales are added to DAILY_ROLLUP in the same commit). Order IDs come from PURCHASE_ORDER_SEQ in blocks of
+ *      ID_ALLOCATION_SIZE (hi/lo), so a batch needs at most one sequence call.
+ *      Purchases do not use the queue: PurchaseService calls insert() inside its own transaction, so the order
+ *      is committed together with the stock decrement.
+ *
+ * APPEND-ONLY: There are no update or delete methods; corrections are recorded as new orders
+ * THREADING: Thread-safe; append() blocks until the order is committed
+ */
+public final class PurchaseOrderDAO {
+    // WHAT: IDs reserved per sequence call
+    // WHY: Must match INCREMENT BY of PURCHASE_ORDER_SEQ (SchemaMigrator migration 7) - each NEXT VALUE reserves a block;
+    //      changing it needs a new migration that alters the sequence
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // WHAT: Maximum orders per batch/commit
+    // WHY: Bounds the transaction size and the wait of the first order in a batch
+    private static final int MAX_BATCH = Integer.getInteger("agritrack.ledger.maxBatch", 256);
+
+    // WHAT: How long the writer waits for more orders after the first one
+    // WHY: A short wait lets concurrent purchases share a commit; 0 commits whatever is queued immediately
+    private static final long MAX_WAIT_NANOS =
+        TimeUnit.MICROSECONDS.toNanos(Long.getLong("agritrack.ledger.maxWaitMicros", 2000));
+
+    private static final String INSERT_SQL = "INSERT INTO PURCHASE_ORDER (order_id, buyer_id, buyer_username, item_id, "
+        + "item_name, quantity, unit, price_per_unit, subtotal, shipping_fee, total, purchase_method, delivery_option, "
+        + "delivery_address, ordered_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COLUMNS = "SELECT order_id, buyer_id, buyer_username, item_id, item_name, quantity, unit, "
+        + "price_per_unit, subtotal, shipping_fee, total, purchase_method, delivery_option, delivery_address, ordered_at "
+        + "FROM PURCHASE_ORDER ";
+
+    // WHAT: Shared ledger for the application database
+    // WHY: One writer thread per database lets all purchases share commits
+    private static final PurchaseOrderDAO INSTANCE = new PurchaseOrderDAO(DBConnection::getConnection);
+
+    /**
+     * PendingOrder - An order waiting for the writer, with the caller's completion handle
+     */
+    private static final class PendingOrder {
+        final PurchaseOrder order;
+        final CompletableFuture<Long> committed = new CompletableFuture<>();
+
+        PendingOrder(PurchaseOrder order) {
+            this.order = order;
+        }
+    }
+
+    // WHAT: Marker that tells the writer to stop
+    private static final PendingOrder STOP = new PendingOrder(null);
+
+    private final ConnectionPool.ConnectionFactory connections;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+
+    // WHAT: Writer thread (started on the first append) and shutdown flag
+    private Thread writer;
+    private boolean stopped;
+
+    // WHAT: Current block of allocated order IDs (guarded by allocateId())
+    private long nextId;
+    private long lastIdInBlock = -1;
+
+    // WHAT: Commit statistics (writer thread writes, volatile for readers)
+    private volatile long committedOrders;
+    private volatile long commits;
+
+    /**
+     * Constructor - Creates a ledger on the given connection source
+     * @param connections Opens a connection per batch and per query (closed afterwards)
+     */
+    public PurchaseOrderDAO(ConnectionPool.ConnectionFactory connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * getInstance() - Returns the ledger of the application database
+     */
+    public static PurchaseOrderDAO getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * append() - Stores an order and waits until it is committed
+     * @param order Completed purchase (its orderId is ignored)
+     * @return Allocated order ID
+     * @throws Exception If the batch containing the order could not be committed
+     */
+    public long append(PurchaseOrder order) throws Exception {
+        try {
+            return appendAsync(order).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new Exception("Error recording purchase order: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * appendAsync() - Queues an order for the next group commit
+     * @param order Completed purchase (its orderId is ignored)
+     * @return Completed with the order ID once committed, or exceptionally if the batch failed
+     */
+    public CompletableFuture<Long> appendAsync(PurchaseOrder order) {
+        PendingOrder pending = new PendingOrder(order);
+        synchronized (this) {
+            if (stopped) {
+                pending.committed.completeExceptionally(new IllegalStateException("Purchase order ledger is shut down"));
+                return pending.committed;
+            }
+            if (writer == null) {
+                writer = new Thread(this::writeLoop, "purchase-ledger-writer");
+                writer.setDaemon(true);
+                writer.start();
+            }
+            queue.add(pending);
+        }
+        return pending.committed;
+    }
+
+    /**
+     * shutdown() - Commits queued orders and stops the writer
+     * WHY: Called at application exit so no accepted order is lost
+     */
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            thread = writer;
+            queue.add(STOP);
+        }
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.println("Purchase ledger at shutdown: " + committedOrders + " orders in " + commits + " commits");
+        }
+    }
+
+    /**
+     * insert() - Inserts an order and its DAILY_ROLLUP sale in the caller's transaction
+     * WHAT: Used by PurchaseService before it commits the stock decrement
+     * WHY: The order must be committed (or rolled back) together with the sale it records
+     * @param conn Caller's connection with auto-commit off (the caller commits)
+     * @return Allocated order ID (skipped if the caller rolls back)
+     */
+    long insert(Connection conn, PurchaseOrder order) throws SQLException {
+        long orderId = allocateId(conn);
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+            bindInsert(insert, orderId, order);
+            insert.executeUpdate();
+        }
+        DailyRollupDelta rollup = new DailyRollupDelta();
+        rollup.addSale(order);
+        rollup.apply(conn);
+        return orderId;
+    }
+
+    /**
+     * findByBuyer() - Orders of one buyer, newest first (uses IDX_PURCHASE_ORDER_BUYER)
+     */
+    public List<PurchaseOrder> findByBuyer(int buyerId, int limit) throws Exception {
+        return query(COLUMNS + "WHERE buyer_id = ? ORDER BY ordered_at DESC, order_id DESC LIMIT ?", buyerId, limit);
+    }
+
+    /**
+     * findByItem() - Orders of one item, newest first (uses IDX_PURCHASE_ORDER_ITEM)
+     */
+    public List<PurchaseOrder> findByItem(int itemId, int limit) throws Exception {
+        return query(COLUMNS + "WHERE item_id = ? ORDER BY ordered_at DESC, order_id DESC LIMIT ?", itemId, limit);
+    }
+
+    /**
+     * findBetween() - Orders placed in [from, to), oldest first (uses IDX_PURCHASE_ORDER_DATE)
+     */
+    public List<PurchaseOrder> findBetween(LocalDateTime from, LocalDateTime to) throws Exception {
+        return query(COLUMNS + "WHERE ordered_at >= ? AND ordered_at < ? ORDER BY ordered_at, order_id",
+            Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * writeLoop() - Body of the writer thread
+     * HOW: Blocks for the first order, gathers more for up to MAX_WAIT_NANOS, writes the batch, repeats
+     */
+    private void writeLoop() {
+        List<PendingOrder> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            try {
+                PendingOrder first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - batch.size());
+                long deadline = System.nanoTime() + MAX_WAIT_NANOS;
+                while (batch.size() < MAX_BATCH) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, MAX_BATCH - batch.size());
+                }
+                // WHAT: Stop marker inside a batch - write the orders before it, then stop
+                if (batch.remove(STOP)) {
+                    running = false;
+                }
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                // WHAT: Keep the writer alive - the callers of this batch get the error in finally
+                System.err.println("Purchase ledger writer error: " + e.getMessage());
+            } finally {
+                for (PendingOrder pending : batch) {
+                    pending.committed.completeExceptionally(new IllegalStateException("Purchase order ledger stopped"));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * writeBatch() - Inserts and commits one batch, then completes its callers
+     * HOW: On failure the whole batch is rolled back and every caller gets the error (allocated IDs are skipped)
+     */
+    private void writeBatch(List<PendingOrder> batch) {
+        long[] ids = new long[batch.size()];
+        try (Connection conn = connections.create()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+                DailyRollupDelta rollup = new DailyRollupDelta();
+                for (int i = 0; i < batch.size(); i++) {
+                    ids[i] = allocateId(conn);
+                    bindInsert(insert, ids[i], batch.get(i).order);
+                    insert.addBatch();
+                    rollup.addSale(batch.get(i).order);
+                }
+                insert.executeBatch();
+                rollup.apply(conn); // Sales of the batch added to their day buckets in the same commit
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            for (PendingOrder pending : batch) {
+                pending.committed.completeExceptionally(e);
+            }
+            batch.clear();
+            return;
+        }
+
+        committedOrders += batch.size();
+        commits++;
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).committed.complete(ids[i]);
+        }
+        batch.clear();
+    }
+
+    /**
+     * allocateId() - Returns the next order ID
+     * HOW: Hands out the current block; fetches NEXT VALUE FOR PURCHASE_ORDER_SEQ when it is used up.
+     *      Synchronized because the writer thread and purchase transactions share the block
+     */
+    private synchronized long allocateId(Connection conn) throws SQLException {
+        if (nextId > lastIdInBlock) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT NEXT VALUE FOR PURCHASE_ORDER_SEQ")) {
+                rs.next();
+                nextId = rs.getLong(1);
+                lastIdInBlock = nextId + ID_ALLOCATION_SIZE - 1;
+            }
+        }
+        return nextId++;
+    }
+
+    /**
+     * bindInsert() - Sets the INSERT_SQL parameters for one order
+     */
+    private static void bindInsert(PreparedStatement insert, long orderId, PurchaseOrder order) throws SQLException {
+        insert.setLong(1, orderId);
+        insert.setInt(2, order.getBuyerId());
+        insert.setString(3, order.getBuyerUsername());
+        insert.setInt(4, order.getItemId());
+        insert.setString(5, order.getItemName());
+        insert.setDouble(6, order.getQuantity());
+        insert.setString(7, order.getUnit());
+        insert.setDouble(8, order.getPricePerUnit());
+        insert.setDouble(9, order.getSubtotal());
+        insert.setDouble(10, order.getShippingFee());
+        insert.setDouble(11, order.getTotal());
+        insert.setString(12, order.getPurchaseMethod());
+        insert.setString(13, order.getDeliveryOption());
+        insert.setString(14, order.getDeliveryAddress());
+        insert.setTimestamp(15, Timestamp.valueOf(order.getOrderedAt()));
+    }
+
+    /**
+     * query() - Runs a SELECT over PURCHASE_ORDER and maps the rows
+     */
+    private List<PurchaseOrder> query(String sql, Object... params) throws Exception {
+        List<PurchaseOrder> orders = new ArrayList<>();
+        try (Connection conn = connections.create();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    orders.add(new PurchaseOrder(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getInt(4),
+                        rs.getString(5), rs.getDouble(6), rs.getString(7), rs.getDouble(8), rs.getDouble(9),
+                        rs.getDouble(10), rs.getDouble(11), rs.getString(12), rs.getString(13), rs.getString(14),
+                        rs.getTimestamp(15).toLocalDateTime()));
+                }
+            }
+        }
+        return orders;
+    }
+}
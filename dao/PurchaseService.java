@@ -0,0 +1,254 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.sql.Connection; // Import: Connection interface for the purchase transaction
+import java.sql.PreparedStatement; // Import: PreparedStatement for the read and the conditional update
+import java.sql.ResultSet; // Import: ResultSet for reading the current stock
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.util.concurrent.ThreadLocalRandom; // Import: ThreadLocalRandom for backoff jitter
+import java.util.concurrent.atomic.AtomicLong; // Import: AtomicLong for purchase counters
+import model.PurchaseOrder; // Import: PurchaseOrder recorded with the purchase
+import model.PurchaseResult; // Import: PurchaseResult for purchase outcomes
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
+import util.DBConnection; // Import: DBConnection utility for database connections
+
+/**
+ * PurchaseService - Atomic Stock Decrement for Purchases
+ * WHAT: Buys a quantity of a harvest lot so that concurrent buyers can never oversell it
+ * WHY: PurchaseDialog computed the new quantity from the item it loaded when it opened and wrote it back with
+ *      updateRecord(); two buyers of the same lot both succeeded and the last writer won (stock sold twice)
+ * HOW: Per attempt, one transaction reads (quantity, price, version) and runs
+ *          UPDATE ... SET quantity = quantity - ?, status = ..., version = version + 1
+ *          WHERE item_id = ? AND version = ? AND quantity >= ?
+ *      The quantity condition makes overselling impossible; the version condition (optimistic locking) detects
+ *      any change since the read - another purchase or a seller edit - in which case the attempt is rolled back
+ *      and retried after a randomized exponential backoff. Price checks use the freshly read row, so a buyer
+ *      never pays a price different from the one they confirmed. The purchase order (ledger row) and its
+ *      DAILY_ROLLUP sale are written in the same transaction, so a committed decrement always has its order.
+ *
+ * THREADING: Thread-safe - each purchase uses its own connection
+ */
+public class PurchaseService {
+    // WHAT: Maximum attempts per purchase (first try + retries)
+    // WHY: Under heavy contention a purchase may lose the version race a few times; retrying is cheap
+    // HOW: Overridable with -Dagritrack.purchase.maxAttempts
+    public static final int DEFAULT_MAX_ATTEMPTS = Integer.getInteger("agritrack.purchase.maxAttempts", 10);
+
+    // WHAT: First backoff delay; doubles per retry up to MAX_BACKOFF_MILLIS
+    // WHY: Spreads competing buyers apart so the next attempt is likely to win
+    private static final long BASE_BACKOFF_MILLIS = Long.getLong("agritrack.purchase.backoffMillis", 2);
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    // WHAT: Largest price difference still treated as "unchanged"
+    // WHY: Prices are DOUBLE columns; the dialog passes back the value it displayed
+    private static final double PRICE_TOLERANCE = 0.005;
+
+    private static final String SELECT_SQL =
+        "SELECT quantity, item_type, status, price_per_unit, version FROM INVENTORY_ITEM WHERE item_id = ?";
+
+    // WHAT: Conditional decrement with status transition
+    // HOW: Right-hand sides see the row before the update, so "quantity - ?" is the new quantity
+    private static final String DECREMENT_SQL = "UPDATE INVENTORY_ITEM SET quantity = quantity - ?, " +
+        "status = CASE WHEN quantity - ? > 0 THEN 'Available' ELSE 'Sold Out' END, version = version + 1 " +
+        "WHERE item_id = ? AND version = ? AND quantity >= ?";
+
+    private final ConnectionPool.ConnectionFactory connections;
+    private final int maxAttempts;
+
+    // WHAT: Ledger that allocates order IDs and inserts orders into the purchase transaction
+    private final PurchaseOrderDAO ledger;
+
+    // WHAT: Counters for monitoring and the benchmark
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Constructor - Uses the application database
+     */
+    public PurchaseService() {
+        this(DBConnection::getConnection, DEFAULT_MAX_ATTEMPTS, PurchaseOrderDAO.getInstance());
+    }
+
+    /**
+     * Constructor - Uses the given connection source
+     * @param connections Opens a connection per purchase (closed afterwards)
+     * @param maxAttempts Maximum attempts per purchase (must be positive)
+     */
+    public PurchaseService(ConnectionPool.ConnectionFactory connections, int maxAttempts) {
+        this(connections, maxAttempts, new PurchaseOrderDAO(connections));
+    }
+
+    private PurchaseService(ConnectionPool.ConnectionFactory connections, int maxAttempts, PurchaseOrderDAO ledger) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        this.connections = connections;
+        this.maxAttempts = maxAttempts;
+        this.ledger = ledger;
+    }
+
+    /**
+     * purchase() - Buys a quantity of a harvest lot
+     * WHAT: Decrements the lot's stock by quantity and sets its status, or reports why it could not
+     * WHY: Replaces the read-modify-write in PurchaseDialog
+     * HOW: Optimistic attempts (see class comment); transient lock errors are retried like version conflicts
+     * @param itemId ID of the harvest lot
+     * @param quantity Quantity to buy (must be positive)
+     * @param expectedPricePerUnit Price the buyer confirmed, or null to accept the current price
+     * @return Outcome with the remaining quantity and the number of attempts
+     * @throws Exception If the database fails with a non-transient error or keeps failing
+     */
+    public PurchaseResult purchase(int itemId, double quantity, Double expectedPricePerUnit) throws Exception {
+        return purchase(itemId, quantity, expectedPricePerUnit, null);
+    }
+
+    /**
+     * purchase() - Buys a quantity of a harvest lot and records the order
+     * WHAT: Same as purchase(itemId, quantity, price), plus the order row in PURCHASE_ORDER and its sale in
+     *       DAILY_ROLLUP
+     * WHY: Both are committed with the stock decrement - a sale can no longer be lost between two transactions
+     * @param order Order to record (its orderId is ignored), or null to record none
+     * @return Outcome; getOrderId() is the allocated order ID when COMPLETED
+     */
+    public PurchaseResult purchase(int itemId, double quantity, Double expectedPricePerUnit, PurchaseOrder order)
+            throws Exception {
+        if (!(quantity > 0)) {
+            throw new IllegalArgumentException("Purchase quantity must be positive: " + quantity);
+        }
+
+        try (Connection conn = connections.create()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    PurchaseResult result;
+                    try {
+                        result = attempt(conn, itemId, quantity, expectedPricePerUnit, order, attempt);
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        if (!isTransient(e) || attempt >= maxAttempts) {
+                            throw new Exception("Error processing purchase: " + e.getMessage(), e);
+                        }
+                        result = null; // Lock timeout / deadlock - retry like a version conflict
+                    }
+
+                    if (result != null) {
+                        if (result.isCompleted()) {
+                            completed.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                        return result;
+                    }
+                    if (attempt >= maxAttempts) {
+                        rejected.incrementAndGet();
+                        return new PurchaseResult(PurchaseResult.Outcome.CONFLICT, 0, null, attempt);
+                    }
+                    retries.incrementAndGet();
+                    backoff(attempt);
+                }
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * attempt() - One optimistic purchase attempt (commits or rolls back)
+     * @return Final result, or null if the row changed after it was read (retry)
+     */
+    private PurchaseResult attempt(Connection conn, int itemId, double quantity, Double expectedPricePerUnit,
+                                   PurchaseOrder order, int attempt) throws SQLException {
+        double available;
+        String itemType;
+        String status;
+        double price;
+        boolean hasPrice;
+        int version;
+        try (PreparedStatement select = conn.prepareStatement(SELECT_SQL)) {
+            select.setInt(1, itemId);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    conn.rollback();
+                    return new PurchaseResult(PurchaseResult.Outcome.NOT_FOUND, 0, null, attempt);
+                }
+                available = rs.getDouble(1);
+                itemType = rs.getString(2);
+                status = rs.getString(3);
+                price = rs.getDouble(4);
+                hasPrice = !rs.wasNull();
+                version = rs.getInt(5);
+            }
+        }
+
+        // WHAT: Business checks on the current row
+        // WHY: Stock, price or type may have changed since the dialog loaded the item
+        PurchaseResult.Outcome rejection = null;
+        if ("EQUIPMENT".equals(itemType) || !hasPrice || price <= 0) {
+            rejection = PurchaseResult.Outcome.NOT_FOR_SALE;
+        } else if (available < quantity) {
+            rejection = PurchaseResult.Outcome.INSUFFICIENT_STOCK;
+        } else if (expectedPricePerUnit != null && Math.abs(price - expectedPricePerUnit) > PRICE_TOLERANCE) {
+            rejection = PurchaseResult.Outcome.PRICE_CHANGED;
+        }
+        if (rejection != null) {
+            conn.rollback();
+            return new PurchaseResult(rejection, available, status, attempt);
+        }
+
+        try (PreparedStatement update = conn.prepareStatement(DECREMENT_SQL)) {
+            update.setDouble(1, quantity);
+            update.setDouble(2, quantity);
+            update.setInt(3, itemId);
+            update.setInt(4, version);
+            update.setDouble(5, quantity);
+            if (update.executeUpdate() == 0) {
+                conn.rollback();
+                return null; // Changed since the read - retry with the new version
+            }
+        }
+
+        // WHAT: Record the order and its sale in the same transaction
+        // WHY: If the commit fails, neither the decrement nor the order exist; if it succeeds, both do
+        long orderId = order != null ? ledger.insert(conn, order) : 0;
+
+        // WHAT: Move the sold quantity (and a sold-out lot) in INVENTORY_STATS
+        // WHY: Statistics must change in the same transaction as the stock
+        // HOW: Last statement before commit, so the shared stats row is locked only briefly
+        double remaining = available - quantity;
+        String newStatus = remaining > 0 ? "Available" : "Sold Out";
+        InventoryStatsDelta statsDelta = new InventoryStatsDelta();
+        statsDelta.remove(itemType, status, available, price);
+        statsDelta.add(itemType, newStatus, remaining, price);
+        statsDelta.apply(conn);
+        conn.commit();
+
+        // WHAT: Update the lot in the inventory cache
+        // WHY: Cached quantity, status and version are out of date after the decrement
+        CachingInventoryService.getInstance().applyStockChange(itemId, remaining, newStatus, version + 1);
+
+        return new PurchaseResult(PurchaseResult.Outcome.COMPLETED, remaining, newStatus, attempt, orderId);
+    }
+
+    /**
+     * isTransient() - Returns true for errors that a retry may resolve
+     * HOW: SQL state class 40 (deadlock / serialization failure) and H2's lock timeout (HYT00)
+     */
+    private static boolean isTransient(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("40") || "HYT00".equals(state));
+    }
+
+    /**
+     * backoff() - Sleeps before the next attempt
+     * HOW: Random delay up to BASE_BACKOFF_MILLIS * 2^(attempt-1), capped at MAX_BACKOFF_MILLIS ("full jitter")
+     */
+    private static void backoff(int attempt) throws InterruptedException {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 16));
+        Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    public long getCompletedCount() { return completed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public long getRetryCount() { return retries.get(); }
+}
@@ -0,0 +1,177 @@
+package dao; // Package declaration: Groups this class with other Data Access Object classes
+
+import java.util.HashMap; // Import: HashMap for the username index
+import java.util.LinkedHashMap; // Import: LinkedHashMap for the LRU user index
+import java.util.Locale; // Import: Locale for stats formatting
+import java.util.Map; // Import: Map interface for both indexes
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for the entry lifetime
+import model.User; // Import: User model class
+
+/**
+ * UserCache - Bounded, Time-Limited Cache of User Rows
+ * WHAT: Remembers users by ID and by normalized username for UserDAO.getUserById() and usernameExists()
+ * WHY: Registration checks and profile lookups opened a connection and queried USER every time, although
+ *      user rows almost never change
+ * HOW: Entries in an ID-indexed LinkedHashMap in access order (LRU), bounded by agritrack.userCache.maxUsers, plus
+ *      a username -> ID index. Each entry expires agritrack.userCache.ttlSeconds after it was loaded. UserDAO
+ *      invalidates entries it changes (signUp, updateUserLocation, password re-hash) and stores users it read.
+ *
+ * COPIES: User objects are mutable - the cache stores and returns copies
+ * NOT CACHED: Absent usernames - a registration must always see users created by another running instance
+ * THREADING: Thread-safe - all state is guarded by this object's lock
+ */
+final class UserCache {
+    // WHAT: Default maximum number of cached users
+    static final int DEFAULT_MAX_USERS = Integer.getInteger("agritrack.userCache.maxUsers", 1_000);
+
+    // WHAT: Default lifetime of an entry
+    // WHY: Picks up changes made outside this application (H2 Console, another instance)
+    static final long DEFAULT_TTL_NANOS =
+        TimeUnit.SECONDS.toNanos(Long.getLong("agritrack.userCache.ttlSeconds", 300));
+
+    // WHAT: Cache shared by all UserDAO instances using the application database
+    // WHY: Screens create a UserDAO per action; a cache per instance would always be empty
+    static final UserCache SHARED = new UserCache(DEFAULT_MAX_USERS, DEFAULT_TTL_NANOS);
+
+    /**
+     * Entry - A cached user and when it expires
+     */
+    private static final class Entry {
+        final User user;
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entry> byId;
+    private final Map<String, Integer> idByUsername = new HashMap<>();
+
+    // WHAT: Incremented on every invalidation
+    // WHY: A database read that overlapped a change must not store its (possibly older) result
+    private long modCount;
+
+    // WHAT: Metrics (guarded by this)
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor - Creates an empty cache
+     * @param maxUsers Maximum number of cached users (0 disables caching)
+     * @param ttlNanos Lifetime of an entry
+     */
+    UserCache(int maxUsers, long ttlNanos) {
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttlNanos;
+        this.byId = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > UserCache.this.maxUsers) {
+                    idByUsername.remove(UserDAO.normalizeUsername(eldest.getValue().user.getUsername()));
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * getById() - Returns a copy of the cached user, or null if absent or expired
+     */
+    synchronized User getById(int userId) {
+        Entry entry = live(userId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(entry.user);
+    }
+
+    /**
+     * containsUsername() - Returns true if a live entry has this username (any case)
+     */
+    synchronized boolean containsUsername(String username) {
+        Integer userId = idByUsername.get(UserDAO.normalizeUsername(username));
+        if (userId == null || live(userId) == null) {
+            misses++;
+            return false;
+        }
+        hits++;
+        return true;
+    }
+
+    /**
+     * getModCount() - Returns the invalidation counter (read before a database query)
+     */
+    synchronized long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * put() - Stores a user read from the database
+     * @param user User as stored in the database
+     * @param expectedModCount getModCount() from before the query; the user is not stored if anything was
+     *                         invalidated since
+     */
+    synchronized void put(User user, long expectedModCount) {
+        if (user == null || maxUsers <= 0 || expectedModCount != modCount) {
+            return;
+        }
+        Entry old = byId.get(user.getId());
+        if (old != null) {
+            idByUsername.remove(UserDAO.normalizeUsername(old.user.getUsername()));
+        }
+        byId.put(user.getId(), new Entry(copy(user), System.nanoTime() + ttlNanos));
+        idByUsername.put(UserDAO.normalizeUsername(user.getUsername()), user.getId());
+    }
+
+    /**
+     * invalidate() - Forgets one user
+     */
+    synchronized void invalidate(int userId) {
+        modCount++;
+        Entry removed = byId.remove(userId);
+        if (removed != null) {
+            idByUsername.remove(UserDAO.normalizeUsername(removed.user.getUsername()));
+        }
+    }
+
+    /**
+     * invalidateAll() - Forgets every user
+     */
+    synchronized void invalidateAll() {
+        modCount++;
+        byId.clear();
+        idByUsername.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + misses;
+        return String.format(Locale.ROOT, "hits=%d misses=%d hitRatio=%.1f%% size=%d/%d", hits, misses,
+            lookups == 0 ? 0.0 : hits * 100.0 / lookups, byId.size(), maxUsers);
+    }
+
+    /**
+     * live() - Returns the entry if present and not expired; removes it if expired
+     */
+    private Entry live(int userId) {
+        Entry entry = byId.get(userId);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            byId.remove(userId);
+            idByUsername.remove(UserDAO.normalizeUsername(entry.user.getUsername()));
+            return null;
+        }
+        return entry;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getName(), user.getRole(),
+            user.getLocation());
+    }
+}
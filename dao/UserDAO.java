@@ -1,11 +1,18 @@
 package dao; // Package declaration: Groups this class with other Data Access Object classes
 
+import java.nio.charset.StandardCharsets; // Import: StandardCharsets for comparing legacy passwords
+import java.security.MessageDigest; // Import: MessageDigest.isEqual for constant-time comparison
 import java.sql.Connection; // Import: Connection interface for database connections
 import java.sql.PreparedStatement; // Import: PreparedStatement for parameterized SQL queries
 import java.sql.ResultSet; // Import: ResultSet for reading query results
 import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement.RETURN_GENERATED_KEYS for the new user's ID
+import java.util.Locale; // Import: Locale.ROOT for username normalization
 import model.User; // Import: User model class
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory for the connection source
 import util.DBConnection; // Import: DBConnection utility for getting database connections
+import util.Metrics; // Import: Metrics for operation timing
+import util.PasswordHasher; // Import: PasswordHasher for hashing and verifying passwords
 
 /**
  * UserDAO - Data Access Object for User Operations
@@ -16,165 +23,286 @@ import util.DBConnection; // Import: DBConnection utility for getting database c
  * DESIGN PATTERN: DAO (Data Access Object) - abstracts database operations from business logic
  */
 public class UserDAO {
+    // WHAT: Columns of a User row
+    private static final String USER_COLUMNS = "SELECT user_id, username, password, name, role, location FROM \"USER\" ";
+    
+    // WHAT: Timing of each public operation (no-ops unless agritrack.metrics.enabled)
+    private static final Metrics.Operation LOGIN = Metrics.operation("UserDAO.login");
+    private static final Metrics.Operation GET_BY_ID = Metrics.operation("UserDAO.getUserById");
+    private static final Metrics.Operation USERNAME_EXISTS = Metrics.operation("UserDAO.usernameExists");
+    private static final Metrics.Operation SIGN_UP = Metrics.operation("UserDAO.signUp");
+    private static final Metrics.Operation UPDATE_LOCATION = Metrics.operation("UserDAO.updateUserLocation");
+    
+    // WHAT: Source of database connections
+    // WHY: Application database by default; benchmarks pass their own
+    private final ConnectionPool.ConnectionFactory connections;
+    
+    // WHAT: Password hasher (cost and verification cache)
+    private final PasswordHasher hasher;
+    
+    // WHAT: Cache of user rows by ID and username
+    // WHY: getUserById() and usernameExists() are answered from memory while entries are fresh
+    private final UserCache cache;
+    
+    /**
+     * Constructor - Uses the application database, the default password hasher and the shared user cache
+     */
+    public UserDAO() {
+        this(DBConnection::getConnection, PasswordHasher.getDefault(), UserCache.SHARED);
+    }
+    
+    /**
+     * Constructor - Uses the given connection source and hasher, with a user cache of its own
+     * @param connections Opens a connection per operation (closed afterwards)
+     * @param hasher Hashes new passwords and verifies logins
+     */
+    public UserDAO(ConnectionPool.ConnectionFactory connections, PasswordHasher hasher) {
+        this(connections, hasher, new UserCache(UserCache.DEFAULT_MAX_USERS, UserCache.DEFAULT_TTL_NANOS));
+    }
+    
+    UserDAO(ConnectionPool.ConnectionFactory connections, PasswordHasher hasher, UserCache cache) {
+        this.connections = connections;
+        this.hasher = hasher;
+        this.cache = cache;
+    }
+    
+    /**
+     * getCacheStats() - Returns hit/miss counts and size of the user cache (for logs and diagnostics)
+     */
+    public String getCacheStats() {
+        return cache.toString();
+    }
+    
+    /**
+     * normalizeUsername() - Returns the form stored in USER.username_lower
+     * WHAT: Lower-cased username (locale-independent)
+     * WHY: Usernames are case-insensitive; comparing a stored lower-case column can use its index,
+     *      UPPER(username) = UPPER(?) could not
+     */
+    public static String normalizeUsername(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+    
     /**
      * login() - Authenticates user with username and password
-     * WHAT: Queries database to find user matching username and password
+     * WHAT: Finds the user by username and verifies the password against the stored hash
      * WHY: Required for user authentication - verifies credentials
-     * HOW: SELECT query with WHERE clause matching username and password, returns User if found
-     * @param username Username to authenticate
+     * HOW: Index lookup on username_lower, then PasswordHasher.verify(); a plain-text password (row added in the
+     *      H2 Console) or a hash with fewer iterations than configured is re-hashed after a successful login.
+     *      Always reads the database (a changed password takes effect at once) and refreshes the user cache.
+     * @param username Username to authenticate (case-insensitive)
      * @param password Password to verify
      * @return User object if authentication successful, null if credentials invalid
      * @throws SQLException If database error occurs
      */
     public User login(String username, String password) throws SQLException {
-        // WHAT: SQL query to select user by username and password (case-insensitive username)
-        // WHY: Need to find user record matching both username and password, username should be case-insensitive for better UX
-        // HOW: SELECT statement with WHERE clause using UPPER() for case-insensitive comparison, "USER" in quotes because it's H2 reserved keyword
-        String sql = "SELECT user_id, username, password, name, role, location FROM \"USER\" WHERE UPPER(username) = UPPER(?) AND password = ?";
+        return LOGIN.record(() -> {
+            // WHAT: SQL query to select user by normalized username
+            // WHY: Password is checked in Java (salted hash), username case-insensitively via the indexed column
+            // HOW: WHERE username_lower = ?, "USER" in quotes because it's H2 reserved keyword
+            String sql = USER_COLUMNS + "WHERE username_lower = ?";
+            long cacheVersion = cache.getModCount();
         
-        // WHAT: Try-with-resources block to automatically close database resources
-        // WHY: Ensures Connection and PreparedStatement are closed even if exception occurs
-        // HOW: try (resource) syntax automatically calls close() when block exits
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            // WHAT: Set first parameter (?) to username value
-            // WHY: PreparedStatement uses ? placeholders to prevent SQL injection
-            // HOW: setString(1, username) sets first ? parameter to username
-            pstmt.setString(1, username);
+            // WHAT: Try-with-resources block to automatically close database resources
+            // WHY: Ensures Connection and PreparedStatement are closed even if exception occurs
+            // HOW: try (resource) syntax automatically calls close() when block exits
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            // WHAT: Set second parameter (?) to password value
-            // WHY: Password must match database record for authentication
-            // HOW: setString(2, password) sets second ? parameter to password
-            pstmt.setString(2, password);
+                // WHAT: Set parameter (?) to the normalized username
+                // WHY: PreparedStatement uses ? placeholders to prevent SQL injection
+                // HOW: normalizeUsername() lower-cases like the stored column
+                pstmt.setString(1, normalizeUsername(username));
             
-            // WHAT: Execute query and process results
-            // WHY: Need to read query results to get user data
-            // HOW: executeQuery() returns ResultSet, try-with-resources closes ResultSet
-            try (ResultSet rs = pstmt.executeQuery()) {
-                // WHAT: Check if query returned a row (user found)
-                // WHY: next() returns true if row exists, false if no match
-                // HOW: if statement checks return value of next()
-                if (rs.next()) {
-                    // WHAT: Create User object from database row data
-                    // WHY: Return User object instead of raw database data
-                    // HOW: new User() constructor with values from ResultSet
-                    return new User(
-                        rs.getInt("user_id"), // Get user ID column value
-                        rs.getString("username"), // Get username column value
-                        rs.getString("password"), // Get password column value
-                        rs.getString("name"), // Get name column value
-                        rs.getString("role"), // Get role column value
-                        rs.getString("location") // Get location column value (can be null)
-                    );
+                // WHAT: Execute query and check each matching row
+                // WHY: Databases from before the migration may hold usernames differing only in case
+                // HOW: First row whose password verifies wins
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        String stored = rs.getString("password");
+                        boolean plainText = !PasswordHasher.isHash(stored);
+                    
+                        // WHAT: Verify the password
+                        // WHY: Plain text only remains for rows inserted outside the application
+                        // HOW: Constant-time comparison for plain text, PBKDF2 (or the verification cache) for hashes
+                        boolean matches = plainText
+                            ? stored != null && MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                                password.getBytes(StandardCharsets.UTF_8))
+                            : hasher.verify(password, stored);
+                        if (!matches) {
+                            continue;
+                        }
+                    
+                        // WHAT: Upgrade plain text or old-cost hashes
+                        // WHY: The password is known only now, at login
+                        int userId = rs.getInt("user_id");
+                        if (hasher.needsRehash(stored)) {
+                            stored = rehash(conn, userId, stored, password);
+                            cacheVersion = cache.getModCount();
+                        }
+                    
+                        // WHAT: Create User object from database row data
+                        // WHY: Return User object instead of raw database data
+                        // HOW: new User() constructor with values from ResultSet (password holds the stored hash)
+                        User user = new User(
+                            userId, // User ID column value
+                            rs.getString("username"), // Get username column value
+                            stored, // Stored password hash
+                            rs.getString("name"), // Get name column value
+                            rs.getString("role"), // Get role column value
+                            rs.getString("location") // Get location column value (can be null)
+                        );
+                    
+                        // WHAT: Remember the user for later lookups by ID or username
+                        cache.put(user, cacheVersion);
+                        return user;
+                    }
                 }
             }
+            // WHAT: Return null if no user found (authentication failed)
+            // WHY: Indicates credentials were invalid
+            // HOW: return statement returns null
+            return null;
+        });
+    }
+    
+    /**
+     * rehash() - Stores a new hash of a verified password
+     * HOW: Conditional UPDATE - if the password changed meanwhile, the newer value is kept
+     * @return Hash now stored for the user
+     */
+    private String rehash(Connection conn, int userId, String oldStored, String password) throws SQLException {
+        String newHash = hasher.hash(password);
+        try (PreparedStatement update = conn.prepareStatement(
+                "UPDATE \"USER\" SET password = ? WHERE user_id = ? AND password = ?")) {
+            update.setString(1, newHash);
+            update.setInt(2, userId);
+            update.setString(3, oldStored);
+            int updated = update.executeUpdate();
+            cache.invalidate(userId);
+            return updated > 0 ? newHash : oldStored;
         }
-        // WHAT: Return null if no user found (authentication failed)
-        // WHY: Indicates credentials were invalid
-        // HOW: return statement returns null
-        return null;
     }
     
     /**
      * getUserById() - Retrieves user by unique ID
      * WHAT: Queries database to find user with specific user_id
      * WHY: Needed to retrieve user information when only ID is known
-     * HOW: SELECT query with WHERE clause matching user_id, returns User if found
+     * HOW: User cache first; otherwise SELECT query with WHERE clause matching user_id, result is cached
      * @param userId Unique user identifier
      * @return User object if found, null if not found
      * @throws SQLException If database error occurs
      */
     public User getUserById(int userId) throws SQLException {
-        // WHAT: SQL query to select user by ID
-        // WHY: Need to find user record matching user_id
-        // HOW: SELECT statement with WHERE clause, "USER" in quotes for H2 compatibility
-        String sql = "SELECT user_id, username, password, name, role, location FROM \"USER\" WHERE user_id = ?";
+        return GET_BY_ID.record(() -> {
+            // WHAT: Answer from the user cache when possible
+            // WHY: Avoids a connection and a query for users looked up recently
+            User cached = cache.getById(userId);
+            if (cached != null) {
+                return cached;
+            }
+            long cacheVersion = cache.getModCount();
         
-        // WHAT: Try-with-resources block for database operations
-        // WHY: Ensures resources are properly closed
-        // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            // WHAT: SQL query to select user by ID
+            // WHY: Need to find user record matching user_id
+            // HOW: SELECT statement with WHERE clause, "USER" in quotes for H2 compatibility
+            String sql = USER_COLUMNS + "WHERE user_id = ?";
+        
+            // WHAT: Try-with-resources block for database operations
+            // WHY: Ensures resources are properly closed
+            // HOW: try (resource) syntax
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            // WHAT: Set parameter (?) to userId value
-            // WHY: PreparedStatement uses ? placeholder for user ID
-            // HOW: setInt(1, userId) sets first ? parameter to userId
-            pstmt.setInt(1, userId);
+                // WHAT: Set parameter (?) to userId value
+                // WHY: PreparedStatement uses ? placeholder for user ID
+                // HOW: setInt(1, userId) sets first ? parameter to userId
+                pstmt.setInt(1, userId);
             
-            // WHAT: Execute query and process results
-            // WHY: Need to read query results
-            // HOW: executeQuery() returns ResultSet
-            try (ResultSet rs = pstmt.executeQuery()) {
-                // WHAT: Check if query returned a row
-                // WHY: next() returns true if user found
-                // HOW: if statement checks return value
-                if (rs.next()) {
-                    // WHAT: Create User object from database row
-                    // WHY: Return User object with all user data
-                    // HOW: new User() constructor with ResultSet values
-                    return new User(
-                        rs.getInt("user_id"), // Get user ID
-                        rs.getString("username"), // Get username
-                        rs.getString("password"), // Get password
-                        rs.getString("name"), // Get name
-                        rs.getString("role"), // Get role
-                        rs.getString("location") // Get location (can be null)
-                    );
+                // WHAT: Execute query and process results
+                // WHY: Need to read query results
+                // HOW: executeQuery() returns ResultSet
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    // WHAT: Check if query returned a row
+                    // WHY: next() returns true if user found
+                    // HOW: if statement checks return value
+                    if (rs.next()) {
+                        // WHAT: Create User object from database row
+                        // WHY: Return User object with all user data
+                        // HOW: new User() constructor with ResultSet values, stored in the cache
+                        User user = new User(
+                            rs.getInt("user_id"), // Get user ID
+                            rs.getString("username"), // Get username
+                            rs.getString("password"), // Get password
+                            rs.getString("name"), // Get name
+                            rs.getString("role"), // Get role
+                            rs.getString("location") // Get location (can be null)
+                        );
+                        cache.put(user, cacheVersion);
+                        return user;
+                    }
                 }
             }
-        }
-        // WHAT: Return null if user not found
-        // WHY: Indicates user with that ID doesn't exist
-        // HOW: return statement
-        return null;
+            // WHAT: Return null if user not found
+            // WHY: Indicates user with that ID doesn't exist
+            // HOW: return statement
+            return null;
+        });
     }
     
     /**
      * usernameExists() - Checks if username is already taken
-     * WHAT: Queries database to count users with matching username
-     * WHY: Prevents duplicate usernames during registration
-     * HOW: SELECT COUNT(*) query, returns true if count > 0
+     * WHAT: Queries database to count users with matching username (case-insensitive)
+     * WHY: Prevents duplicate usernames during registration - "Juan" and "juan" would log in to the same account
+     * HOW: A cached user with that username answers true; otherwise SELECT COUNT(*) on the indexed
+     *      username_lower column, returns true if count > 0 (a free username is never cached)
      * @param username Username to check
      * @return true if username exists, false if available
      * @throws SQLException If database error occurs
      */
     public boolean usernameExists(String username) throws SQLException {
-        // WHAT: SQL query to count users with matching username
-        // WHY: Need to check if username is already in use
-        // HOW: SELECT COUNT(*) counts matching rows, "USER" in quotes for H2
-        String sql = "SELECT COUNT(*) FROM \"USER\" WHERE username = ?";
+        return USERNAME_EXISTS.record(() -> {
+            // WHAT: Known user - no query needed
+            if (cache.containsUsername(username)) {
+                return true;
+            }
+        
+            // WHAT: SQL query to count users with matching username
+            // WHY: Need to check if username is already in use
+            // HOW: SELECT COUNT(*) counts matching rows, "USER" in quotes for H2
+            String sql = "SELECT COUNT(*) FROM \"USER\" WHERE username_lower = ?";
         
-        // WHAT: Try-with-resources block for database operations
-        // WHY: Ensures resources are properly closed
-        // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            // WHAT: Try-with-resources block for database operations
+            // WHY: Ensures resources are properly closed
+            // HOW: try (resource) syntax
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            // WHAT: Set parameter (?) to username value
-            // WHY: PreparedStatement uses ? placeholder
-            // HOW: setString(1, username) sets first ? parameter
-            pstmt.setString(1, username);
+                // WHAT: Set parameter (?) to the normalized username
+                // WHY: PreparedStatement uses ? placeholder
+                // HOW: normalizeUsername() lower-cases like the stored column
+                pstmt.setString(1, normalizeUsername(username));
             
-            // WHAT: Execute query and process results
-            // WHY: Need to read count result
-            // HOW: executeQuery() returns ResultSet with count
-            try (ResultSet rs = pstmt.executeQuery()) {
-                // WHAT: Check if query returned a row
-                // WHY: COUNT(*) always returns one row with count value
-                // HOW: if statement checks if row exists
-                if (rs.next()) {
-                    // WHAT: Return true if count > 0 (username exists)
-                    // WHY: Count > 0 means at least one user has this username
-                    // HOW: getInt(1) gets first column (count), > 0 comparison
-                    return rs.getInt(1) > 0;
+                // WHAT: Execute query and process results
+                // WHY: Need to read count result
+                // HOW: executeQuery() returns ResultSet with count
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    // WHAT: Check if query returned a row
+                    // WHY: COUNT(*) always returns one row with count value
+                    // HOW: if statement checks if row exists
+                    if (rs.next()) {
+                        // WHAT: Return true if count > 0 (username exists)
+                        // WHY: Count > 0 means at least one user has this username
+                        // HOW: getInt(1) gets first column (count), > 0 comparison
+                        return rs.getInt(1) > 0;
+                    }
                 }
             }
-        }
-        // WHAT: Return false if no users found (username available)
-        // WHY: Indicates username is not taken
-        // HOW: return statement
-        return false;
+            // WHAT: Return false if no users found (username available)
+            // WHY: Indicates username is not taken
+            // HOW: return statement
+            return false;
+        });
     }
     
     /**
@@ -190,71 +318,82 @@ public class UserDAO {
      * @throws SQLException If username exists or database error occurs
      */
     public User signUp(String username, String password, String name, String role) throws SQLException {
-        // WHAT: Check if username already exists before creating account
-        // WHY: Prevents duplicate usernames - each username must be unique
-        // HOW: usernameExists() queries database for matching username
-        if (usernameExists(username)) {
-            // WHAT: Throw exception if username is taken
-            // WHY: Cannot create account with duplicate username
-            // HOW: throw new SQLException() with error message
-            throw new SQLException("Username already exists. Please choose a different username.");
-        }
+        return SIGN_UP.record(() -> {
+            // WHAT: Check if username already exists before creating account
+            // WHY: Prevents duplicate usernames - each username must be unique
+            // HOW: usernameExists() queries database for matching username
+            if (usernameExists(username)) {
+                // WHAT: Throw exception if username is taken
+                // WHY: Cannot create account with duplicate username
+                // HOW: throw new SQLException() with error message
+                throw new SQLException("Username already exists. Please choose a different username.");
+            }
         
-        // WHAT: SQL INSERT statement to create new user record
-        // WHY: Need to insert new user data into database
-        // HOW: INSERT INTO statement with column names and ? placeholders, "USER" in quotes for H2
-        String sql = "INSERT INTO \"USER\" (username, password, name, role, location) VALUES (?, ?, ?, ?, ?)";
+            // WHAT: SQL INSERT statement to create new user record
+            // WHY: Need to insert new user data into database
+            // HOW: INSERT INTO statement with column names and ? placeholders, "USER" in quotes for H2
+            String sql = "INSERT INTO \"USER\" (username, username_lower, password, name, role, location) VALUES (?, ?, ?, ?, ?, ?)";
         
-        // WHAT: Try-with-resources block for database operations
-        // WHY: Ensures resources are properly closed
-        // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            // WHAT: Try-with-resources block for database operations
+            // WHY: Ensures resources are properly closed
+            // HOW: try (resource) syntax
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            // WHAT: Set first parameter (?) to username
-            // WHY: PreparedStatement uses ? placeholders
-            // HOW: setString(1, username) sets first ? parameter
-            pstmt.setString(1, username);
+                // WHAT: Set first parameters (?) to username and its normalized form
+                // WHY: PreparedStatement uses ? placeholders; username_lower serves logins and uniqueness checks
+                // HOW: setString(1, username), setString(2, normalizeUsername(username))
+                pstmt.setString(1, username);
+                pstmt.setString(2, normalizeUsername(username));
             
-            // WHAT: Set second parameter (?) to password
-            // WHY: Password must be stored in database
-            // HOW: setString(2, password) sets second ? parameter
-            pstmt.setString(2, password);
+                // WHAT: Set third parameter (?) to the password hash
+                // WHY: Only a salted hash is stored, never the password
+                // HOW: PasswordHasher.hash() (PBKDF2 with a random salt)
+                pstmt.setString(3, hasher.hash(password));
             
-            // WHAT: Set third parameter (?) to name
-            // WHY: User's name must be stored
-            // HOW: setString(3, name) sets third ? parameter
-            pstmt.setString(3, name);
+                // WHAT: Set fourth parameter (?) to name
+                // WHY: User's name must be stored
+                // HOW: setString(4, name) sets fourth ? parameter
+                pstmt.setString(4, name);
             
-            // WHAT: Set fourth parameter (?) to role
-            // WHY: User's role determines permissions
-            // HOW: setString(4, role) sets fourth ? parameter
-            pstmt.setString(4, role);
+                // WHAT: Set fifth parameter (?) to role
+                // WHY: User's role determines permissions
+                // HOW: setString(5, role) sets fifth ? parameter
+                pstmt.setString(5, role);
             
-            // WHAT: Set fifth parameter (?) to location (null for new users)
-            // WHY: Location is optional, new users may not have location set yet
-            // HOW: setString(5, null) sets fifth ? parameter to null
-            pstmt.setString(5, null);
+                // WHAT: Set sixth parameter (?) to location (null for new users)
+                // WHY: Location is optional, new users may not have location set yet
+                // HOW: setString(6, null) sets sixth ? parameter to null
+                pstmt.setString(6, null);
             
-            // WHAT: Execute INSERT statement and get number of rows affected
-            // WHY: Need to verify that insert was successful
-            // HOW: executeUpdate() returns number of rows inserted (should be 1)
-            int rowsAffected = pstmt.executeUpdate();
+                // WHAT: Execute INSERT statement and get number of rows affected
+                // WHY: Need to verify that insert was successful
+                // HOW: executeUpdate() returns number of rows inserted (should be 1)
+                int rowsAffected = pstmt.executeUpdate();
             
-            // WHAT: Check if insert was successful (at least one row affected)
-            // WHY: rowsAffected > 0 means record was created
-            // HOW: if statement checks rowsAffected value
-            if (rowsAffected > 0) {
-                // WHAT: Return the newly created user by logging in
-                // WHY: Caller needs User object with database-assigned ID
-                // HOW: login() method queries database and returns User object with all fields including ID
-                return login(username, password);
+                // WHAT: Check if insert was successful (at least one row affected)
+                // WHY: rowsAffected > 0 means record was created
+                // HOW: if statement checks rowsAffected value
+                if (rowsAffected > 0) {
+                    // WHAT: Return the newly created user
+                    // WHY: Caller needs User object with database-assigned ID
+                    // HOW: Generated key, then getUserById() (logging in again would hash the password a second time)
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            // WHAT: Drop any stale entry for the new ID before loading it
+                            // WHY: Explicit invalidation - a concurrent lookup must not cache an older row
+                            int userId = keys.getInt(1);
+                            cache.invalidate(userId);
+                            return getUserById(userId);
+                        }
+                    }
+                }
             }
-        }
-        // WHAT: Return null if insert failed (shouldn't happen if no exception)
-        // WHY: Indicates insert was unsuccessful
-        // HOW: return statement
-        return null;
+            // WHAT: Return null if insert failed (shouldn't happen if no exception)
+            // WHY: Indicates insert was unsuccessful
+            // HOW: return statement
+            return null;
+        });
     }
     
     /**
@@ -267,31 +406,38 @@ public class UserDAO {
      * @throws SQLException If database error occurs
      */
     public void updateUserLocation(int userId, String location) throws SQLException {
-        // WHAT: SQL UPDATE statement to modify user location
-        // WHY: Need to update location field in database
-        // HOW: UPDATE SET with location column, WHERE clause for user_id
-        String sql = "UPDATE \"USER\" SET location = ? WHERE user_id = ?";
+        UPDATE_LOCATION.run(() -> {
+            // WHAT: SQL UPDATE statement to modify user location
+            // WHY: Need to update location field in database
+            // HOW: UPDATE SET with location column, WHERE clause for user_id
+            String sql = "UPDATE \"USER\" SET location = ? WHERE user_id = ?";
         
-        // WHAT: Try-with-resources block for database operations
-        // WHY: Ensures resources are properly closed
-        // HOW: try (resource) syntax
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            // WHAT: Try-with-resources block for database operations
+            // WHY: Ensures resources are properly closed
+            // HOW: try (resource) syntax
+            try (Connection conn = connections.create();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            // WHAT: Set first parameter (?) to location value
-            // WHY: PreparedStatement uses ? placeholder
-            // HOW: setString(1, location) sets first ? parameter
-            pstmt.setString(1, location);
+                // WHAT: Set first parameter (?) to location value
+                // WHY: PreparedStatement uses ? placeholder
+                // HOW: setString(1, location) sets first ? parameter
+                pstmt.setString(1, location);
             
-            // WHAT: Set second parameter (?) to userId value
-            // WHY: WHERE clause needs user ID to identify which record to update
-            // HOW: setInt(2, userId) sets second ? parameter
-            pstmt.setInt(2, userId);
+                // WHAT: Set second parameter (?) to userId value
+                // WHY: WHERE clause needs user ID to identify which record to update
+                // HOW: setInt(2, userId) sets second ? parameter
+                pstmt.setInt(2, userId);
             
-            // WHAT: Execute UPDATE statement
-            // WHY: Actually updates the record in database
-            // HOW: executeUpdate() executes the SQL statement
-            pstmt.executeUpdate();
-        }
+                // WHAT: Execute UPDATE statement
+                // WHY: Actually updates the record in database
+                // HOW: executeUpdate() executes the SQL statement
+                pstmt.executeUpdate();
+            }
+        
+            // WHAT: Forget the cached user
+            // WHY: The next getUserById() must return the new location
+            // HOW: After the update, so a concurrent lookup cannot re-cache the old row
+            cache.invalidate(userId);
+        });
     }
 }
@@ -8,6 +8,7 @@ import java.awt.event.WindowEvent; // Import: WindowEvent for window state chang
 import javax.swing.*; // Import: Swing components (JFrame, JPanel, JButton, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
 import model.User; // Import: User model class
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * BuyerMainFrame - Buyer-Specific Dashboard Window
@@ -48,13 +49,12 @@ public class BuyerMainFrame extends JFrame implements ActionListener {
      * WHAT: Initializes components, sets up layout, configures window properties
      * WHY: Called after buyer login to show buyer dashboard
      * HOW: Calls helper methods to set up GUI, then displays window
-     * @param user Authenticated User object with BUYER role
      */
-    public BuyerMainFrame(User user) {
-        // WHAT: Store user object in instance variable
-        // WHY: Needed for displaying user info and passing to other windows
-        // HOW: this.currentUser = user assigns parameter to instance field
-        this.currentUser = user;
+    public BuyerMainFrame() {
+        // WHAT: Read the logged-in user from the session
+        // WHY: Needed for displaying user info and role-based features; every screen shares the session User
+        // HOW: UserSession.requireUser() fails fast if the screen is opened without a login
+        this.currentUser = UserSession.requireUser();
         
         // WHAT: Initialize all GUI components
         // WHY: Components must be created before adding to layout
@@ -350,7 +350,7 @@ public class BuyerMainFrame extends JFrame implements ActionListener {
             // WHAT: Open records management window
             // WHY: Buyer wants to browse available harvests
             // HOW: new RecordsWindow() creates and displays window
-            new RecordsWindow(currentUser);
+            new RecordsWindow();
         } 
         // WHAT: Check if export data button was clicked
         // WHY: Need to export data to CSV file
@@ -359,7 +359,7 @@ public class BuyerMainFrame extends JFrame implements ActionListener {
             // WHAT: Create records window and trigger CSV export
             // WHY: Export functionality is in RecordsWindow class
             // HOW: Create RecordsWindow instance, call exportToCSV() method
-            RecordsWindow rw = new RecordsWindow(currentUser); // Create window
+            RecordsWindow rw = new RecordsWindow(); // Create window
             rw.exportToCSV(); // Trigger export immediately
         }
         // WHAT: Check if profile button was clicked
@@ -369,7 +369,7 @@ public class BuyerMainFrame extends JFrame implements ActionListener {
             // WHAT: Open user profile dialog
             // WHY: Buyer wants to set location information
             // HOW: new UserProfileDialog() creates and displays dialog
-            new UserProfileDialog(this, currentUser);
+            new UserProfileDialog(this);
         }
         // WHAT: Check if logout button was clicked
         // WHY: Need to logout buyer
@@ -387,6 +387,11 @@ public class BuyerMainFrame extends JFrame implements ActionListener {
             // WHY: Only logout if user confirms
             // HOW: YES_OPTION constant returned when Yes clicked
             if (confirm == JOptionPane.YES_OPTION) {
+                // WHAT: End the user session
+                // WHY: Nobody is logged in until the next login
+                // HOW: UserSession.end() clears the shared session
+                UserSession.end();
+                
                 // WHAT: Close buyer window
                 // WHY: User is logging out
                 // HOW: dispose() closes and destroys window
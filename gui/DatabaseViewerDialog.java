@@ -4,9 +4,14 @@ import java.awt.*; // Import: AWT classes for layout managers, colors, fonts, di
 import java.awt.event.ActionEvent; // Import: ActionEvent for button click events
 import java.awt.event.ActionListener; // Import: ActionListener interface for event handling
 import java.sql.*; // Import: Swing components (JFrame, JPanel, JButton, JTable, etc.)
+import java.util.ArrayList; // Import: ArrayList for per-table error messages
+import java.util.LinkedHashMap; // Import: LinkedHashMap for ordered table models
+import java.util.List; // Import: List interface for collections
+import java.util.Map; // Import: Map interface for table models by name
 import javax.swing.*; // Import: EmptyBorder for padding/margins
 import javax.swing.border.EmptyBorder; // Import: DefaultTableModel for table data
 import javax.swing.table.DefaultTableModel; // Import: SQL classes for database operations
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
 import util.DBConnection; // Import: DBConnection utility for database access
 
 /**
@@ -79,6 +84,14 @@ public class DatabaseViewerDialog extends JDialog implements ActionListener {
         initializeComponents();
         setupLayout();
         
+        // WHAT: Start the H2 TCP server and web console if they are not running yet
+        // WHY: They no longer start with the application; users who view the database here also use H2 Console
+        // HOW: startServers() opens the ports on a background thread (does nothing when already started)
+        BackgroundTasks.run(() -> {
+            DBConnection.startServers();
+            return null;
+        }, ignored -> { }, ex -> System.err.println("Error starting H2 servers: " + ex.getMessage()));
+        
         // WHAT: Load all database tables
         // WHY: Dialog should show data when opened
         // HOW: Calls loadAllTables() method
@@ -192,7 +205,8 @@ public class DatabaseViewerDialog extends JDialog implements ActionListener {
      * loadAllTables() - Loads all database tables into tabs
      * WHAT: Queries database metadata to get all tables, then loads each table's data
      * WHY: Users need to see all tables and their contents
-     * HOW: Uses DatabaseMetaData to get table names, then queries each table
+     * HOW: Uses DatabaseMetaData to get table names, then queries each table on a background thread;
+     *      tabs are created on the EDT once all table data has been read
      */
     private void loadAllTables() {
         // WHAT: Clear existing tabs
@@ -200,9 +214,46 @@ public class DatabaseViewerDialog extends JDialog implements ActionListener {
         // HOW: removeAll() removes all tabs
         tabbedPane.removeAll();
         
+        // WHAT: Disable buttons while tables are loading
+        // WHY: Prevents starting a second load (or switching databases) in the middle of a load
+        // HOW: Re-enabled in both completion callbacks
+        refreshButton.setEnabled(false);
+        switchDatabaseButton.setEnabled(false);
+        
+        // WHAT: Read all tables on a background thread
+        // WHY: SELECT * over every table can take a while and must not freeze the EDT
+        // HOW: BackgroundTasks.run() executes readAllTables(), showTables() builds the tabs on the EDT
+        BackgroundTasks.run(this::readAllTables, result -> {
+            showTables(result);
+            refreshButton.setEnabled(true);
+            switchDatabaseButton.setEnabled(true);
+        }, ex -> {
+            // WHAT: Handle database errors
+            // WHY: Database operations can fail
+            // HOW: onError callback runs on the EDT when the background task throws
+            refreshButton.setEnabled(true);
+            switchDatabaseButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, 
+                "Error loading database tables: " + ex.getMessage(), 
+                "Database Error", 
+                JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    /**
+     * readAllTables() - Reads every user table into a table model
+     * WHAT: Queries database metadata to get all tables, then reads each table's rows
+     * WHY: All JDBC work happens here so it can run off the EDT
+     * HOW: Runs on a BackgroundTasks worker thread - must not touch Swing components that are displayed
+     * @return Table models (in metadata order) plus error messages for tables that failed to load
+     * @throws SQLException If the connection or metadata query fails
+     */
+    private TableLoadResult readAllTables() throws SQLException {
+        TableLoadResult result = new TableLoadResult();
+        
         // WHAT: Try block to handle database exceptions
         // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
+        // HOW: try-with-resources closes (returns) the connection automatically
         try (Connection conn = DBConnection.getConnection()) {
             // WHAT: Get database metadata
             // WHY: Metadata contains information about tables
@@ -212,59 +263,97 @@ public class DatabaseViewerDialog extends JDialog implements ActionListener {
             // WHAT: Get all tables from database
             // WHY: Need to know which tables exist
             // HOW: getTables() returns ResultSet with table information
-            ResultSet tables = metaData.getTables(null, null, null, new String[]{"TABLE"});
-            
-            // WHAT: Loop through each table
-            // WHY: Each table needs its own tab
-            // HOW: while loop iterates through ResultSet
-            while (tables.next()) {
-                // WHAT: Get table name
-                // WHY: Need table name to query data
-                // HOW: getString("TABLE_NAME") gets table name from ResultSet
-                String tableName = tables.getString("TABLE_NAME");
-                
-                // WHAT: Skip H2 system tables
-                // WHY: System tables are not user data
-                // HOW: Check if table name starts with "INFORMATION_SCHEMA" or "SYSTEM"
-                if (tableName.startsWith("INFORMATION_SCHEMA") || tableName.startsWith("SYSTEM")) {
-                    continue; // Skip system tables
+            try (ResultSet tables = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
+                // WHAT: Loop through each table
+                // WHY: Each table needs its own tab
+                // HOW: while loop iterates through ResultSet
+                while (tables.next()) {
+                    // WHAT: Get table name
+                    // WHY: Need table name to query data
+                    // HOW: getString("TABLE_NAME") gets table name from ResultSet
+                    String tableName = tables.getString("TABLE_NAME");
+                    
+                    // WHAT: Skip H2 system tables
+                    // WHY: System tables are not user data
+                    // HOW: Check if table name starts with "INFORMATION_SCHEMA" or "SYSTEM"
+                    if (tableName.startsWith("INFORMATION_SCHEMA") || tableName.startsWith("SYSTEM")) {
+                        continue; // Skip system tables
+                    }
+                    
+                    // WHAT: Load table data into a table model
+                    // WHY: Users need to see table contents
+                    // HOW: Calls loadTableData(); a failing table is reported but does not stop the others
+                    try {
+                        result.models.put(tableName, loadTableData(tableName, conn));
+                    } catch (SQLException e) {
+                        result.errors.add("Error loading table " + tableName + ": " + e.getMessage());
+                    }
                 }
-                
-                // WHAT: Load table data into a tab
-                // WHY: Users need to see table contents
-                // HOW: Calls loadTableData() method
-                loadTableData(tableName, conn);
             }
+        }
+        return result;
+    }
+    
+    /**
+     * showTables() - Displays loaded tables as tabs
+     * WHAT: Creates a JTable tab per loaded table and updates the connection label
+     * WHY: Swing components must be created and changed on the EDT
+     * HOW: Called from the BackgroundTasks success callback
+     * @param result Table models and errors produced by readAllTables()
+     */
+    private void showTables(TableLoadResult result) {
+        for (Map.Entry<String, DefaultTableModel> entry : result.models.entrySet()) {
+            // WHAT: Create JTable with model
+            // WHY: Display data in tabular format
+            // HOW: JTable constructor takes TableModel
+            JTable table = new JTable(entry.getValue());
+            table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            table.setRowHeight(25);
+            table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
+            table.getTableHeader().setBackground(new Color(0, 188, 212)); // Teal
+            table.getTableHeader().setForeground(Color.WHITE);
+            table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
             
-            // WHAT: Update connection label
-            // WHY: Show current database connection
-            // HOW: setText() updates label text
-            if (DBConnection.isUsingUserDatabase()) {
-                connectionLabel.setText("Database: " + DBConnection.getUserDatabaseURL() + " (User's H2 Console)");
-            } else {
-                connectionLabel.setText("Database: " + DBConnection.getConnectionURL());
-            }
+            // WHAT: Create scroll pane for table
+            // WHY: Table may be large, needs scrolling
+            // HOW: JScrollPane wraps JTable
+            JScrollPane scrollPane = new JScrollPane(table);
+            scrollPane.setBorder(new EmptyBorder(10, 10, 10, 10));
             
-        } catch (SQLException e) {
-            // WHAT: Handle database errors
-            // WHY: Database operations can fail
-            // HOW: catch block executes when exception occurs
-            JOptionPane.showMessageDialog(this, 
-                "Error loading database tables: " + e.getMessage(), 
-                "Database Error", 
-                JOptionPane.ERROR_MESSAGE);
+            // WHAT: Add tab to tabbed pane
+            // WHY: Each table needs its own tab
+            // HOW: addTab() creates new tab with label and component
+            tabbedPane.addTab(entry.getKey(), scrollPane);
+        }
+        
+        // WHAT: Update connection label
+        // WHY: Show current database connection
+        // HOW: setText() updates label text
+        if (DBConnection.isUsingUserDatabase()) {
+            connectionLabel.setText("Database: " + DBConnection.getUserDatabaseURL() + " (User's H2 Console)");
+        } else {
+            connectionLabel.setText("Database: " + DBConnection.getConnectionURL());
+        }
+        
+        // WHAT: Report tables that could not be loaded
+        // WHY: Table query can fail
+        // HOW: Show error message per failed table
+        for (String error : result.errors) {
+            JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
     /**
-     * loadTableData() - Loads a specific table's data into a tab
-     * WHAT: Queries a table and displays its data in a JTable within a tab
+     * loadTableData() - Loads a specific table's data into a table model
+     * WHAT: Queries a table and copies its rows into a DefaultTableModel
      * WHY: Users need to see table contents
-     * HOW: Executes SELECT query, creates JTable with data, adds tab to tabbed pane
+     * HOW: Executes SELECT query, fills a read-only DefaultTableModel (not yet attached to any JTable)
      * @param tableName Name of the table to load
      * @param conn Database connection
+     * @return Table model with the table's columns and rows
+     * @throws SQLException If the table query fails
      */
-    private void loadTableData(String tableName, Connection conn) {
+    private DefaultTableModel loadTableData(String tableName, Connection conn) throws SQLException {
         // WHAT: Query all data from table
         // WHY: Need all rows to display
         // HOW: SELECT * FROM table query
@@ -313,39 +402,21 @@ public class DatabaseViewerDialog extends JDialog implements ActionListener {
                 tableModel.addRow(row);
             }
             
-            // WHAT: Create JTable with model
-            // WHY: Display data in tabular format
-            // HOW: JTable constructor takes TableModel
-            JTable table = new JTable(tableModel);
-            table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-            table.setRowHeight(25);
-            table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
-            table.getTableHeader().setBackground(new Color(0, 188, 212)); // Teal
-            table.getTableHeader().setForeground(Color.WHITE);
-            table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-            
-            // WHAT: Create scroll pane for table
-            // WHY: Table may be large, needs scrolling
-            // HOW: JScrollPane wraps JTable
-            JScrollPane scrollPane = new JScrollPane(table);
-            scrollPane.setBorder(new EmptyBorder(10, 10, 10, 10));
-            
-            // WHAT: Add tab to tabbed pane
-            // WHY: Each table needs its own tab
-            // HOW: addTab() creates new tab with label and component
-            tabbedPane.addTab(tableName, scrollPane);
-            
-        } catch (SQLException e) {
-            // WHAT: Handle errors loading table
-            // WHY: Table query can fail
-            // HOW: Show error message
-            JOptionPane.showMessageDialog(this, 
-                "Error loading table " + tableName + ": " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
+            return tableModel;
         }
     }
     
+    /**
+     * TableLoadResult - Tables read by readAllTables()
+     * WHAT: Table models keyed by table name plus per-table error messages
+     * WHY: Background work returns one value; errors for single tables should not hide the others
+     * HOW: LinkedHashMap keeps the metadata order of the tabs
+     */
+    private static class TableLoadResult {
+        final Map<String, DefaultTableModel> models = new LinkedHashMap<>();
+        final List<String> errors = new ArrayList<>();
+    }
+    
     /**
      * actionPerformed() - Handles button click events
      * WHAT: Called automatically when buttons are clicked
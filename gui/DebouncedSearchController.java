@@ -0,0 +1,196 @@
+package gui; // Package declaration: Groups this class with other GUI classes
+
+import java.util.BitSet; // Import: BitSet for the model rows matched by the previous query
+import java.util.Locale; // Import: Locale for locale-independent lowercasing
+import java.util.function.Consumer; // Import: Consumer for the query and latency callbacks
+import javax.swing.RowFilter; // Import: RowFilter base class for the literal row filter
+import javax.swing.Timer; // Import: Swing Timer for the debounce delay (fires on the EDT)
+import javax.swing.event.DocumentEvent; // Import: DocumentEvent for text changes
+import javax.swing.event.DocumentListener; // Import: DocumentListener for text changes (typing, paste, setText)
+import javax.swing.table.TableModel; // Import: TableModel for reading row values
+import javax.swing.table.TableRowSorter; // Import: TableRowSorter that applies the row filter
+import javax.swing.text.JTextComponent; // Import: JTextComponent for the search field
+
+/**
+ * DebouncedSearchController - Coalesced Live Search for a Search Field
+ * WHAT: Runs a search once the user pauses typing instead of on every key event
+ * WHY: Search fields called the search from keyTyped, keyPressed and keyReleased, so one keystroke ran
+ *      up to three searches, and filtering compiled a new regex and refiltered every row each time
+ * HOW: A DocumentListener restarts a single-shot Swing Timer on every text change; when the timer fires
+ *      (on the EDT) the trimmed text is passed to the search callback - unless it equals the text of the last search.
+ *      forRowSorter() adds a literal, case-insensitive row filter that only re-checks the rows matched
+ *      by the previous query when the new query extends it, and reports the filter latency.
+ *
+ * THREADING: EDT only (Swing Timer and DocumentListener both run on the EDT)
+ */
+public final class DebouncedSearchController {
+    // WHAT: Default pause after the last keystroke before searching
+    // WHY: Long enough to coalesce a typed word, short enough to still feel live
+    // HOW: Override with -Dagritrack.search.debounceMs=...
+    public static final int DEFAULT_DELAY_MS = Integer.getInteger("agritrack.search.debounceMs", 200);
+
+    private final JTextComponent field;
+    private final Consumer<String> onSearch;
+    private final Timer timer;
+
+    // WHAT: Text of the last search passed to onSearch
+    // WHY: Timer may fire for edits that end with the same text (type + backspace)
+    private String lastQuery = "";
+
+    /**
+     * Constructor - Attaches the controller to a search field
+     * @param field Search field to watch
+     * @param delayMs Pause after the last change before searching
+     * @param onSearch Called on the EDT with the trimmed search text ("" when cleared)
+     */
+    public DebouncedSearchController(JTextComponent field, int delayMs, Consumer<String> onSearch) {
+        this.field = field;
+        this.onSearch = onSearch;
+        this.timer = new Timer(delayMs, e -> flush());
+        this.timer.setRepeats(false);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { timer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { timer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { /* Attribute changes only */ }
+        });
+    }
+
+    /**
+     * flush() - Runs a pending search now
+     * WHAT: Cancels the timer and searches for the current text if it changed
+     * WHY: Enter key or Refresh should not wait for the debounce delay
+     */
+    public void flush() {
+        timer.stop();
+        String query = field.getText().trim();
+        if (query.equals(lastQuery)) {
+            return;
+        }
+        lastQuery = query;
+        onSearch.accept(query);
+    }
+
+    /**
+     * rerun() - Searches again for the current text
+     * WHY: After the data changed, the same query can have different results
+     */
+    public void rerun() {
+        lastQuery = null;
+        flush();
+    }
+
+    /**
+     * forRowSorter() - Debounced literal filtering of a sorted table
+     * WHAT: Filters the sorter's rows to those containing the search text in any column (case-insensitive)
+     * WHY: Replaces RowFilter.regexFilter("(?i)" + text), which recompiled a regex per keystroke
+     *      and failed on text such as "(" or "*"
+     * @param field Search field to watch
+     * @param sorter Sorter of the table to filter
+     * @param onFiltered Called after each filter with a status text (visible rows, total rows, latency); may be null
+     * @return Controller attached to the field
+     */
+    public static DebouncedSearchController forRowSorter(JTextComponent field, TableRowSorter<? extends TableModel> sorter,
+                                                         Consumer<String> onFiltered) {
+        LiteralRowFilter filter = new LiteralRowFilter();
+
+        // WHAT: Drop cached row texts and previous matches when the model changes
+        // WHY: Rows were added, removed or edited - narrowing from old matches would hide new rows
+        sorter.getModel().addTableModelListener(e -> filter.invalidate());
+
+        return new DebouncedSearchController(field, DEFAULT_DELAY_MS, query -> {
+            long start = System.nanoTime();
+            if (query.isEmpty()) {
+                filter.invalidate();
+                sorter.setRowFilter(null);
+            } else {
+                filter.prepare(query.toLowerCase(Locale.ROOT), sorter.getModel());
+                sorter.setRowFilter(filter);
+                filter.finish();
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (onFiltered != null) {
+                onFiltered.accept(query.isEmpty() ? "" : String.format(Locale.ROOT, "%,d of %,d records (%.1f ms)",
+                    sorter.getViewRowCount(), sorter.getModelRowCount(), millis));
+            }
+        });
+    }
+
+    /**
+     * LiteralRowFilter - Case-insensitive substring filter with incremental narrowing
+     * WHAT: Includes a row if the lowercase text of any column contains the lowercase query
+     * HOW: Each row's column texts are lowercased once and cached; when the query extends the previous one,
+     *      rows that did not match before are rejected without looking at their text
+     */
+    private static final class LiteralRowFilter extends RowFilter<TableModel, Integer> {
+        // WHAT: Separator between column texts - cannot be typed, so matches never span two columns
+        private static final char COLUMN_SEPARATOR = '\u0000';
+
+        // WHAT: Lowercase text per model row (null entries are computed on first use)
+        private String[] rowTexts;
+
+        // WHAT: Current query and the rows it matched
+        private String needle;
+        private BitSet matched;
+
+        // WHAT: Previous query and its matches, used to narrow the current query
+        // HOW: null when the current query does not extend the previous one
+        private String previousNeedle;
+        private BitSet candidates;
+
+        /**
+         * prepare() - Starts filtering for a new query
+         */
+        void prepare(String query, TableModel model) {
+            candidates = previousNeedle != null && matched != null && query.startsWith(previousNeedle) ? matched : null;
+            needle = query;
+            matched = new BitSet();
+            if (rowTexts == null || rowTexts.length != model.getRowCount()) {
+                rowTexts = new String[model.getRowCount()];
+            }
+        }
+
+        /**
+         * finish() - Remembers the current query as the base for narrowing
+         */
+        void finish() {
+            previousNeedle = needle;
+        }
+
+        /**
+         * invalidate() - Forgets cached texts and matches
+         */
+        void invalidate() {
+            rowTexts = null;
+            previousNeedle = null;
+            candidates = null;
+        }
+
+        @Override
+        public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+            int row = entry.getIdentifier();
+            if (candidates != null && !candidates.get(row)) {
+                return false; // Did not contain the shorter query, cannot contain this one
+            }
+            String text = rowTexts != null && row < rowTexts.length ? rowTexts[row] : null;
+            if (text == null) {
+                StringBuilder sb = new StringBuilder();
+                for (int column = 0; column < entry.getValueCount(); column++) {
+                    sb.append(entry.getStringValue(column).toLowerCase(Locale.ROOT)).append(COLUMN_SEPARATOR);
+                }
+                text = sb.toString();
+                if (rowTexts != null && row < rowTexts.length) {
+                    rowTexts[row] = text;
+                }
+            }
+            if (text.contains(needle)) {
+                matched.set(row);
+                return true;
+            }
+            return false;
+        }
+    }
+}
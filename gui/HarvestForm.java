@@ -1,6 +1,6 @@
 package gui; // Package declaration: Groups this class with other GUI classes
 
-import dao.InventoryDAO; // Import: InventoryDAO for database operations (add, update)
+import dao.CachingInventoryService; // Import: CachingInventoryService for database operations (add, update)
 import java.awt.*; // Import: AWT classes for layout managers, colors, fonts, dimensions, cursors
 import java.awt.event.ActionEvent; // Import: ActionEvent for button click events
 import java.awt.event.ActionListener; // Import: ActionListener interface for event handling
@@ -12,13 +12,15 @@ import javax.swing.*; // Import: Swing components (JDialog, JPanel, JButton, JTe
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
 import model.FarmItem; // Import: FarmItem base class
 import model.HarvestLot; // Import: HarvestLot class for creating/editing harvest records
+import model.InventoryService; // Import: InventoryService interface for saving records
 import model.User; // Import: User model class
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
 
 /**
  * HarvestForm - Dialog for Adding and Editing Harvest Records
  * WHAT: Modal dialog form for creating new harvest records or editing existing ones
  * WHY: Provides user-friendly interface for harvest data entry with validation
- * HOW: Extends JDialog, uses form fields, validates input, saves to database via InventoryDAO
+ * HOW: Extends JDialog, uses form fields, validates input, saves to database via CachingInventoryService
  * 
  * OOP CONCEPT: Event-Driven Programming - implements ActionListener for button clicks
  */
@@ -702,71 +704,69 @@ public class HarvestForm extends JDialog implements ActionListener {
         // HOW: getText() gets text area content, trim() removes whitespace
         String notes = notesArea.getText().trim();
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Create InventoryDAO object for database operations
-            // WHY: DAO handles database insert/update operations
-            // HOW: new InventoryDAO() creates instance
-            InventoryDAO dao = new InventoryDAO();
-            
-            // WHAT: Check if adding new record or editing existing
-            // WHY: Different operations needed (INSERT vs UPDATE)
-            // HOW: if statement checks if editingItem is null
-            if (editingItem == null) {
-                // WHAT: Create new HarvestLot object with form data
-                // WHY: Need FarmItem object to save to database
-                // HOW: new HarvestLot() constructor with all form values, ID=0 (auto-generated)
-                HarvestLot newItem = new HarvestLot(0, name, quantity, unit, date, notes, status, pricePerUnit);
-                
-                // WHAT: Insert new record into database
-                // WHY: Save new harvest to database
-                // HOW: addRecord() executes INSERT SQL statement
-                dao.addRecord(newItem);
-                
-                // WHAT: Show success message dialog
-                // WHY: User needs confirmation that record was saved
-                // HOW: showMessageDialog() displays success message
-                JOptionPane.showMessageDialog(this, "Harvest record added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+        // WHAT: Check if adding new record or editing existing
+        // WHY: Different operations needed (INSERT vs UPDATE)
+        // HOW: editingItem is null when adding
+        final boolean adding = editingItem == null;
+        
+        // WHAT: Create HarvestLot object with form data
+        // WHY: Need FarmItem object to save to database
+        // HOW: ID=0 (auto-generated) when adding, existing ID when editing
+        final HarvestLot itemToSave = new HarvestLot(
+            adding ? 0 : editingItem.getId(), // New or existing ID
+            name, // Name from form
+            quantity, // Quantity from form
+            unit, // Unit from form
+            date, // Date from form
+            notes, // Notes from form
+            status, // Status from form
+            pricePerUnit // Price from form
+        );
+        
+        // WHAT: Carry the row version the edited record was loaded with
+        // WHY: updateRecord() refuses to overwrite the row if it changed since (e.g. a purchase lowered the stock)
+        // HOW: New records keep UNKNOWN_VERSION (INSERT does not check it)
+        if (!adding) {
+            itemToSave.setVersion(editingItem.getVersion());
+        }
+        
+        // WHAT: Disable save button while saving
+        // WHY: Prevents duplicate inserts from repeated clicks while the background save runs
+        // HOW: setEnabled(false), re-enabled on error
+        saveButton.setEnabled(false);
+        
+        // WHAT: Save record on a background thread
+        // WHY: INSERT/UPDATE must not freeze the EDT
+        // HOW: BackgroundTasks.run() executes addRecord()/updateRecord() off the EDT, callbacks run on the EDT
+        BackgroundTasks.run(() -> {
+            InventoryService service = CachingInventoryService.getService();
+            if (adding) {
+                service.addRecord(itemToSave); // INSERT SQL statement (write-through to the cache)
             } else {
-                // WHAT: Create updated HarvestLot object with form data and existing ID
-                // WHY: Update requires existing ID to identify which record to update
-                // HOW: new HarvestLot() constructor with editingItem.getId() and new form values
-                HarvestLot updatedItem = new HarvestLot(
-                    editingItem.getId(), // Keep existing ID
-                    name, // New name from form
-                    quantity, // New quantity from form
-                    unit, // New unit from form
-                    date, // New date from form
-                    notes, // New notes from form
-                    status, // New status from form
-                    pricePerUnit // New price from form
-                );
-                
-                // WHAT: Update existing record in database
-                // WHY: Save changes to existing harvest
-                // HOW: updateRecord() executes UPDATE SQL statement
-                dao.updateRecord(updatedItem);
-                
-                // WHAT: Show success message dialog
-                // WHY: User needs confirmation that record was updated
-                // HOW: showMessageDialog() displays success message
-                JOptionPane.showMessageDialog(this, "Harvest record updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                service.updateRecord(itemToSave); // UPDATE SQL statement (write-through to the cache)
             }
+            return null;
+        }, ignored -> {
+            // WHAT: Show success message dialog
+            // WHY: User needs confirmation that record was saved/updated
+            // HOW: showMessageDialog() displays success message
+            JOptionPane.showMessageDialog(this,
+                adding ? "Harvest record added successfully!" : "Harvest record updated successfully!",
+                "Success", JOptionPane.INFORMATION_MESSAGE);
             
             // WHAT: Close dialog after successful save
             // WHY: User is done with form
             // HOW: dispose() closes and destroys dialog
             dispose();
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle database errors
             // WHY: Database operations can fail (connection issues, constraint violations)
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
+            saveButton.setEnabled(true);
             // WHAT: Show error message dialog with exception details
             // WHY: User needs to know what went wrong
             // HOW: getMessage() gets exception description, showMessageDialog() displays it
             JOptionPane.showMessageDialog(this, "Error saving record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
@@ -0,0 +1,315 @@
+package gui; // Package declaration: Groups this class with other GUI classes
+
+import dao.InventoryDAO; // Import: InventoryDAO for paged and counted reads
+import java.util.ArrayList; // Import: ArrayList for search result rows
+import java.util.HashMap; // Import: HashMap for block start cursors
+import java.util.HashSet; // Import: HashSet for blocks currently being loaded
+import java.util.LinkedHashMap; // Import: LinkedHashMap for the LRU block cache
+import java.util.List; // Import: List interface for collections
+import java.util.Map; // Import: Map interface for caches
+import java.util.Set; // Import: Set interface for pending block loads
+import javax.swing.table.AbstractTableModel; // Import: AbstractTableModel base class for custom table models
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot class for status and price columns
+import util.BackgroundTasks; // Import: BackgroundTasks for loading blocks off the EDT
+
+/**
+ * LazyInventoryTableModel - Virtualized Table Model for Inventory Records
+ * WHAT: JTable model that knows the total row count and loads rows in blocks only when they are displayed
+ * WHY: Copying every FarmItem into a DefaultTableModel freezes the EDT and holds the whole table in memory twice
+ * HOW: getRowCount() returns COUNT(*), getValueAt() loads the block containing the row via keyset pagination
+ *      on a background thread, a small LRU cache keeps the most recently viewed blocks
+ *
+ * THREADING: All fields are only read and written on the EDT; only the DAO query runs on a worker thread.
+ *            Rows of a block that is still loading are shown blank and repainted when the block arrives.
+ *
+ * MODES:
+ * - Browse mode: all records, loaded lazily block by block
+ * - Search mode: only the rows matching the current search (materialized, usually small)
+ */
+public class LazyInventoryTableModel extends AbstractTableModel {
+    // WHAT: Column names shown in the table header
+    // WHY: Same columns as the previous DefaultTableModel so existing column indexes keep working
+    // HOW: String array indexed by column number
+    private static final String[] COLUMN_NAMES = {"ID", "Name", "Quantity", "Unit", "Price", "Type", "Date Added", "Status", "Notes"};
+
+    // WHAT: Number of rows fetched per database round trip
+    // WHY: Large enough to fill a screen with a single query, small enough to load instantly
+    // HOW: Used as page size for getRecordsPage()
+    private static final int BLOCK_SIZE = 100;
+
+    // WHAT: Maximum number of blocks kept in memory
+    // WHY: Bounds memory regardless of table size (MAX_CACHED_BLOCKS * BLOCK_SIZE rows)
+    // HOW: LinkedHashMap in access order evicts the least recently used block
+    private static final int MAX_CACHED_BLOCKS = 8;
+
+    // WHAT: DAO used for counting and paging
+    // WHY: Model reads directly from the database instead of from a full in-memory copy
+    // HOW: Passed from RecordsWindow constructor
+    private final InventoryDAO inventoryDAO;
+
+    // WHAT: LRU cache of loaded blocks (block index -> formatted rows)
+    // WHY: Scrolling back and forth should not hit the database every time
+    // HOW: accessOrder = true, removeEldestEntry() drops the least recently used block
+    private final Map<Integer, Object[][]> blockCache = new LinkedHashMap<Integer, Object[][]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > MAX_CACHED_BLOCKS;
+        }
+    };
+
+    // WHAT: Keyset cursors marking the start of each block seen so far (block index -> cursor)
+    // WHY: Lets the next block be fetched with an index seek instead of an OFFSET scan
+    // HOW: Filled from InventoryPage.getNextCursor() as blocks are loaded; block 0 starts at null
+    private final Map<Integer, String> blockStartCursors = new HashMap<>();
+
+    // WHAT: Blocks whose load is currently running
+    // WHY: JTable paints every cell of a row; each block must only be queried once
+    // HOW: Added when a load starts, removed when it completes
+    private final Set<Integer> pendingBlocks = new HashSet<>();
+
+    // WHAT: Load generation, incremented by reset()
+    // WHY: A block requested before a reset must not be cached after it (it may contain stale rows)
+    // HOW: Each load remembers the generation it started in; results from older generations are dropped
+    private int generation;
+
+    // WHAT: Total number of rows in browse mode
+    // WHY: JTable needs the row count to size the scroll bar
+    // HOW: Set by refresh() from countRecords()
+    private int totalRows;
+
+    // WHAT: Rows matching the current search (null in browse mode)
+    // WHY: Search results are displayed instead of the lazily loaded full listing
+    // HOW: Set by showSearchResults(), cleared by showAll()
+    private List<Object[]> searchRows;
+
+    /**
+     * Constructor - Creates the lazy table model
+     * @param inventoryDAO DAO used to count and page through records
+     */
+    public LazyInventoryTableModel(InventoryDAO inventoryDAO) {
+        this.inventoryDAO = inventoryDAO;
+    }
+
+    /**
+     * reset() - Sets a new row count and drops cached blocks
+     * WHAT: Clears all cached data and pending loads
+     * WHY: Called after add/edit/delete so the table shows current data
+     * HOW: Caller runs countRecords() off the EDT and passes the result; blocks reload as they are displayed
+     * @param rowCount Total number of records (from InventoryDAO.countRecords())
+     */
+    public void reset(int rowCount) {
+        generation++;
+        blockCache.clear();
+        blockStartCursors.clear();
+        pendingBlocks.clear();
+        totalRows = rowCount;
+        fireTableDataChanged();
+    }
+
+    /**
+     * showSearchResults() - Switches the model to search mode
+     * WHAT: Displays only the given items
+     * WHY: Search results come from a database query, not from filtering every loaded row
+     * HOW: Formats each item once into a row array
+     * @param items Items matching the search
+     */
+    public void showSearchResults(List<FarmItem> items) {
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (FarmItem item : items) {
+            rows.add(toRow(item));
+        }
+        searchRows = rows;
+        fireTableDataChanged();
+    }
+
+    /**
+     * showAll() - Switches the model back to browse mode
+     * WHAT: Displays all records again (lazily loaded)
+     * WHY: Called when the search field is cleared
+     * HOW: Drops search rows and fires a data change
+     */
+    public void showAll() {
+        if (searchRows != null) {
+            searchRows = null;
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * isSearchMode() - Returns whether search results are currently shown
+     */
+    public boolean isSearchMode() {
+        return searchRows != null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return searchRows != null ? searchRows.size() : totalRows;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        // WHAT: ID column holds Integer, all other columns are display strings
+        // WHY: Callers cast column 0 to Integer when looking up the selected record
+        // HOW: Return Integer.class for column 0, String.class otherwise
+        return column == 0 ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // All cells are read-only - users must use Edit button
+    }
+
+    /**
+     * getValueAt() - Returns a cell value, loading its block if needed
+     * WHAT: Finds the block containing the row, loads it on a cache miss, returns the cell
+     * WHY: Only the rows the JTable actually paints are ever read from the database
+     * HOW: block = row / BLOCK_SIZE, offset = row % BLOCK_SIZE
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (searchRows != null) {
+            return row < searchRows.size() ? searchRows.get(row)[column] : null;
+        }
+        Object[][] block = getBlock(row / BLOCK_SIZE);
+        if (block == null) {
+            return null; // Block still loading - cell renders blank until fireTableRowsUpdated()
+        }
+        int offset = row % BLOCK_SIZE;
+        return offset < block.length ? block[offset][column] : null;
+    }
+
+    /**
+     * getItemIdAt() - Returns the item ID of a row, or -1 if the row is not loaded
+     * WHAT: Reads column 0 without unboxing a blank cell
+     * WHY: A row's block may still be loading or may have been evicted from the LRU cache;
+     *      actions on the selected row must not fail with a NullPointerException
+     * HOW: getValueAt() (starts loading the block on a miss); -1 like JTable.getSelectedRow() for "none"
+     * @param row Model row index
+     * @return Item ID, or -1 while the row's block is loading
+     */
+    public int getItemIdAt(int row) {
+        Object id = getValueAt(row, 0);
+        return id instanceof Integer ? (Integer) id : -1;
+    }
+
+    /**
+     * getBlock() - Returns a block from cache or starts loading it
+     * WHAT: LRU lookup, starts loadBlock() on a miss
+     * WHY: Keeps repeated paints of the same rows free of database access
+     * HOW: LinkedHashMap get() also refreshes the block's LRU position; returns null while the block loads
+     */
+    private Object[][] getBlock(int blockIndex) {
+        Object[][] block = blockCache.get(blockIndex);
+        if (block == null && pendingBlocks.add(blockIndex)) {
+            loadBlock(blockIndex);
+        }
+        return block;
+    }
+
+    /**
+     * loadBlock() - Loads one block of rows from the database in the background
+     * WHAT: Fetches BLOCK_SIZE rows starting at blockIndex * BLOCK_SIZE
+     * WHY: Called when the table needs a row that is not cached; the query must not block painting
+     * HOW: Seeks to the nearest known block start cursor, skips any remaining blocks, remembers the next cursor,
+     *      then caches the rows and repaints them on the EDT
+     */
+    private void loadBlock(int blockIndex) {
+        // WHAT: Find the closest block at or before blockIndex whose start cursor is known
+        // WHY: Seeking from a cursor avoids scanning rows from the beginning of the table
+        // HOW: Block 0 always starts at the null cursor
+        int knownBlock = blockIndex;
+        while (knownBlock > 0 && !blockStartCursors.containsKey(knownBlock)) {
+            knownBlock--;
+        }
+        String cursor = knownBlock == 0 ? null : blockStartCursors.get(knownBlock);
+        int skip = (blockIndex - knownBlock) * BLOCK_SIZE;
+        int loadGeneration = generation;
+
+        BackgroundTasks.run(() -> inventoryDAO.getRecordsPage(cursor, skip, BLOCK_SIZE), page -> {
+            if (loadGeneration != generation) {
+                return; // Model was reset while loading - rows may be stale
+            }
+            pendingBlocks.remove(blockIndex);
+            if (page.hasMore()) {
+                blockStartCursors.put(blockIndex + 1, page.getNextCursor());
+            }
+            List<FarmItem> items = page.getItems();
+            Object[][] rows = new Object[items.size()][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = toRow(items.get(i));
+            }
+            blockCache.put(blockIndex, rows);
+            fireBlockUpdated(blockIndex);
+        }, ex -> {
+            // WHAT: Log and cache an empty block on error
+            // WHY: Retrying on every paint would flood the database with failing queries
+            // HOW: Empty block renders as blank cells; next reset() retries
+            System.err.println("Error loading records block " + blockIndex + ": " + ex.getMessage());
+            if (loadGeneration == generation) {
+                pendingBlocks.remove(blockIndex);
+                blockCache.put(blockIndex, new Object[0][]);
+            }
+        });
+    }
+
+    /**
+     * fireBlockUpdated() - Repaints the rows of a freshly loaded block
+     * WHAT: Notifies the JTable that the block's rows changed
+     * WHY: Rows were painted blank while the block was loading
+     * HOW: fireTableRowsUpdated() for the block's row range (clamped to the row count)
+     */
+    private void fireBlockUpdated(int blockIndex) {
+        int firstRow = blockIndex * BLOCK_SIZE;
+        int lastRow = Math.min(firstRow + BLOCK_SIZE, totalRows) - 1;
+        if (searchRows == null && firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * toRow() - Converts a FarmItem into a table row
+     * WHAT: Formats item fields in column order
+     * WHY: Rows are formatted once per block load instead of once per paint
+     * HOW: Same formatting as the previous RecordsWindow.loadRecords()
+     * @param item FarmItem to convert
+     * @return Object array with one value per column
+     */
+    static Object[] toRow(FarmItem item) {
+        // WHAT: Extract status and price if item is HarvestLot
+        // WHY: Only HarvestLot has status and price fields
+        // HOW: instanceof operator checks type
+        String status = item instanceof HarvestLot ? ((HarvestLot) item).getStatus() : "";
+        String priceDisplay = "";
+        if (item instanceof HarvestLot) {
+            Double price = ((HarvestLot) item).getPricePerUnit();
+            if (price != null && price > 0) {
+                priceDisplay = String.format("₱%.2f", price);
+            } else {
+                priceDisplay = "Not set";
+            }
+        }
+        return new Object[]{
+            item.getId(), // Column 0: ID
+            item.getName(), // Column 1: Name
+            String.format("%.2f", item.getQuantity()), // Column 2: Quantity (formatted to 2 decimals)
+            item.getUnit(), // Column 3: Unit
+            priceDisplay, // Column 4: Price (formatted currency or "Not set")
+            item.getItemType(), // Column 5: Type (HARVEST or EQUIPMENT)
+            item.getDateAdded().toString(), // Column 6: Date (formatted as string)
+            status, // Column 7: Status (empty for non-HarvestLot items)
+            item.getNotes() != null ? item.getNotes() : "" // Column 8: Notes (empty string if null)
+        };
+    }
+}
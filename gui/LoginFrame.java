@@ -10,7 +10,9 @@ import java.awt.event.WindowEvent; // Import: WindowEvent for window state chang
 import javax.swing.*; // Import: Swing components (JFrame, JPanel, JButton, JTextField, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for adding padding/margins to components
 import model.User; // Import: User model class representing authenticated user
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
 import util.ThemeColors; // Import: ThemeColors for consistent color theming
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * LoginFrame - Main Authentication and Registration Window
@@ -967,19 +969,21 @@ public class LoginFrame extends JFrame implements ActionListener {
             return;
         }
         
-        // WHAT: Try block to handle potential database exceptions
-        // WHY: Database operations can throw exceptions that must be caught
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Create UserDAO object for database operations
-            // WHY: UserDAO handles all user-related database queries
-            // HOW: new UserDAO() creates instance
-            UserDAO userDAO = new UserDAO();
-            
-            // WHAT: Attempt to authenticate user with database
-            // WHY: Verifies username and password match database record
-            // HOW: login() method queries database, returns User object if successful, null if failed
-            User user = userDAO.login(username, password);
+        // WHAT: Show progress message and disable login button while authenticating
+        // WHY: Login runs in the background; user needs feedback and must not submit twice
+        // HOW: setText() updates label, setEnabled(false) blocks repeated clicks
+        loginStatusLabel.setText("Logging in...");
+        loginStatusLabel.setForeground(ThemeColors.INFO);
+        loginButton.setEnabled(false);
+        
+        // WHAT: Authenticate user with database on a background thread
+        // WHY: Connection setup (with lock retries) and query must not freeze the EDT
+        // HOW: BackgroundTasks.run() executes UserDAO.login() off the EDT, callbacks run on the EDT
+        BackgroundTasks.run(() -> new UserDAO().login(username, password), user -> {
+            // WHAT: Re-enable login button
+            // WHY: User may retry after a failed attempt
+            // HOW: setEnabled(true)
+            loginButton.setEnabled(true);
             
             // WHAT: Check if authentication was successful (user object not null)
             // WHY: null means no matching user found in database
@@ -1020,10 +1024,11 @@ public class LoginFrame extends JFrame implements ActionListener {
                 // HOW: setText("") clears field content
                 loginPasswordField.setText("");
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle any exceptions during login process
             // WHY: Database errors, network issues, etc. must be handled gracefully
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
+            loginButton.setEnabled(true);
             // WHAT: Check if error is database lock error
             // WHY: Database lock errors need special user-friendly message
             // HOW: Check exception message for lock-related keywords
@@ -1045,7 +1050,7 @@ public class LoginFrame extends JFrame implements ActionListener {
                 loginStatusLabel.setText("Error: " + (errorMsg != null ? errorMsg : ex.getClass().getSimpleName()));
                 loginStatusLabel.setForeground(ThemeColors.ERROR);
             }
-        }
+        });
     }
     
     /**
@@ -1102,20 +1107,10 @@ public class LoginFrame extends JFrame implements ActionListener {
             return;
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail (e.g., username already exists)
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Create UserDAO object for database operations
-            // WHY: UserDAO handles user registration in database
-            // HOW: new UserDAO() creates instance
-            UserDAO userDAO = new UserDAO();
-            
-            // WHAT: Attempt to create new user account in database
-            // WHY: Registers new user so they can log in later
-            // HOW: signUp() inserts user record, returns User object if successful, throws exception if username exists
-            User newUser = userDAO.signUp(username, password, name, role);
-            
+        // WHAT: Create new user account in database on a background thread
+        // WHY: Registers new user so they can log in later, without freezing the EDT
+        // HOW: BackgroundTasks.run() executes signUp() off the EDT (throws if username exists), callbacks run on the EDT
+        BackgroundTasks.run(() -> new UserDAO().signUp(username, password, name, role), newUser -> {
             // WHAT: Check if registration was successful (user object not null)
             // WHY: null means registration failed (shouldn't happen if no exception)
             // HOW: != null checks if object exists
@@ -1148,16 +1143,16 @@ public class LoginFrame extends JFrame implements ActionListener {
                 // HOW: setSelectedIndex(0) selects first tab (Login tab)
                 tabbedPane.setSelectedIndex(0);
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle registration exceptions (e.g., username already exists)
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Display error message with exception details
             // WHY: User needs to know why registration failed
             // HOW: getMessage() gets exception description
             signupStatusLabel.setText("Error: " + ex.getMessage());
             signupStatusLabel.setForeground(new Color(200, 0, 0));
-        }
+        });
     }
     
     /**
@@ -1199,9 +1194,14 @@ public class LoginFrame extends JFrame implements ActionListener {
         // HOW: dispose() releases window resources and removes from screen
         this.dispose();
         
+        // WHAT: Start the session of the authenticated user
+        // WHY: All windows share this User object instead of looking the user up again
+        // HOW: UserSession.start() stores it as the current session
+        UserSession.start(user);
+        
         // WHAT: Create and display main menu window with user information
         // WHY: Main menu is the application's main interface after login
-        // HOW: new MainMenuFrame(user) creates window, constructor makes it visible
-        new MainMenuFrame(user);
+        // HOW: new MainMenuFrame() creates window, constructor makes it visible
+        new MainMenuFrame();
     }
 }
@@ -12,7 +12,10 @@ import javax.swing.table.DefaultTableModel; // Import: DefaultTableModel for tab
 import model.User; // Import: User model class
 import java.io.File; // Import: File for checking if logo file exists
 import javax.swing.BorderFactory; // Import: BorderFactory for creating borders
+import util.FlightEvents; // Import: FlightEvents for recording table reloads
 import util.ThemeColors; // Import: ThemeColors for consistent color theming
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * MainMenuFrame - Professional Main Navigation Hub After Login
@@ -98,13 +101,12 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * WHAT: Initializes components, sets up layout, configures window properties
      * WHY: Called after successful login to show main menu
      * HOW: Calls helper methods to set up GUI, then displays window
-     * @param user Authenticated User object from login
      */
-    public MainMenuFrame(User user) {
-        // WHAT: Store user object in instance variable
-        // WHY: Needed for displaying user info and passing to other windows
-        // HOW: this.currentUser = user assigns parameter to instance field
-        this.currentUser = user;
+    public MainMenuFrame() {
+        // WHAT: Read the logged-in user from the session
+        // WHY: Needed for displaying user info and role-based features; every screen shares the session User
+        // HOW: UserSession.requireUser() fails fast if the screen is opened without a login
+        this.currentUser = UserSession.requireUser();
         
         // WHAT: Initialize all GUI components (buttons, labels, etc.)
         // WHY: Components must be created before adding to layout
@@ -604,15 +606,32 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         // WHAT: Add user role information for new users
         // WHY: Help new users understand their role
         // HOW: JLabel with role information
+        JLabel roleLabel = null;
         if (!isReturningUser && currentUser != null) {
             String roleInfo = "You are logged in as: " + currentUser.getRole();
-            JLabel roleLabel = new JLabel(roleInfo);
+            roleLabel = new JLabel(roleInfo);
             roleLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
             roleLabel.setForeground(ThemeColors.TEXT_TERTIARY);
             gbc.gridy = 3;
             welcomePanel.add(roleLabel, gbc);
         }
         
+        // WHAT: Check for existing records in the background
+        // WHY: A system that already has records suggests a returning user, but the query must not delay the window
+        // HOW: countRecords() runs off the EDT; labels switch to the returning-user text if records exist
+        if (!isReturningUser && currentUser != null) {
+            JLabel newUserRoleLabel = roleLabel;
+            BackgroundTasks.run(() -> dao.CachingInventoryService.getService().countRecords(), count -> {
+                if (count > 0) {
+                    welcomeLabel.setText("Welcome back, " + currentUser.getName() + "!");
+                    instructionLabel.setText("Select an option from the menu to continue");
+                    newUserRoleLabel.setVisible(false);
+                }
+            }, ex -> {
+                // If error checking records, assume new user
+            });
+        }
+        
         // WHAT: Add welcome panel to center
         // WHY: Content should be centered
         // HOW: BorderLayout.CENTER positions in center
@@ -703,7 +722,7 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * checkIfReturningUser() - Checks if user is returning or new
      * WHAT: Determines if user has been active in the system before
      * WHY: Needed to show personalized welcome message
-     * HOW: Checks if user has location set or if there are records in the system
+     * HOW: Checks if user has location set (record check runs in the background, see createHomePanel())
      * @return true if user is returning, false if new
      */
     private boolean checkIfReturningUser() {
@@ -714,22 +733,6 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             return true; // User has set location, they're returning
         }
         
-        // WHAT: Check if there are any records in the system
-        // WHY: If system has records, user might have interacted before
-        // HOW: Query database for record count
-        try {
-            dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-            java.util.List<model.FarmItem> records = inventoryDAO.getAllRecords();
-            // WHAT: If there are records, user might be returning (system has been used)
-            // WHY: System with records suggests it's not brand new
-            // HOW: Check if records list is not empty
-            if (!records.isEmpty()) {
-                return true; // System has records, likely returning user
-            }
-        } catch (Exception e) {
-            // If error checking records, assume new user
-        }
-        
         // WHAT: Default to new user if no indicators found
         // WHY: Better to welcome new users than assume they're returning
         // HOW: Return false
@@ -832,9 +835,9 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                 statusLabel.setText("Passwords do not match");
                 statusLabel.setForeground(ThemeColors.ERROR);
             } else {
-                try {
-                    dao.UserDAO userDAO = new dao.UserDAO();
-                    userDAO.signUp(username, password, name, role);
+                saveButton.setEnabled(false);
+                BackgroundTasks.run(() -> new dao.UserDAO().signUp(username, password, name, role), user -> {
+                    saveButton.setEnabled(true);
                     statusLabel.setText("User registered successfully!");
                     statusLabel.setForeground(ThemeColors.SUCCESS);
                     // Clear fields
@@ -842,10 +845,11 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                     passwordField.setText("");
                     confirmPasswordField.setText("");
                     nameField.setText("");
-                } catch (java.sql.SQLException | RuntimeException ex) {
+                }, ex -> {
+                    saveButton.setEnabled(true);
                     statusLabel.setText("Error: " + ex.getMessage());
                     statusLabel.setForeground(ThemeColors.ERROR);
-                }
+                });
             }
         });
         
@@ -972,8 +976,16 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         JTextField searchField = new JTextField(25);
         searchField.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         
+        // WHAT: Label showing match count and filter time
+        // WHY: Users see how many records match; filter latency is visible when tuning
+        // HOW: Text set by DebouncedSearchController after each filter
+        JLabel searchStatusLabel = new JLabel(" ");
+        searchStatusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        searchStatusLabel.setForeground(Color.GRAY);
+        
         searchPanel.add(searchLabel);
         searchPanel.add(searchField);
+        searchPanel.add(searchStatusLabel);
         
         // WHAT: Create table model for records
         // WHY: JTable needs data model
@@ -1004,18 +1016,10 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         
         // WHAT: Add search functionality
         // WHY: Users need to filter records in real-time
-        // HOW: KeyListener updates row filter as user types
-        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
-            @Override
-            public void keyReleased(java.awt.event.KeyEvent e) {
-                String text = searchField.getText();
-                if (text.trim().length() == 0) {
-                    sorter.setRowFilter(null);
-                } else {
-                    sorter.setRowFilter(javax.swing.RowFilter.regexFilter("(?i)" + text));
-                }
-            }
-        });
+        // HOW: DebouncedSearchController filters once typing pauses (literal, case-insensitive text match)
+        DebouncedSearchController searchController =
+            DebouncedSearchController.forRowSorter(searchField, sorter, searchStatusLabel::setText);
+        searchField.addActionListener(e -> searchController.flush()); // Enter filters immediately
         
         // WHAT: Load records into table
         // WHY: Table should show existing records
@@ -1052,7 +1056,7 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             // WHAT: Open full RecordsWindow with all features
             // WHY: Users may want full functionality with menu bar, export, etc.
             // HOW: Create new RecordsWindow instance
-            RecordsWindow fullWindow = new RecordsWindow(currentUser);
+            RecordsWindow fullWindow = new RecordsWindow();
             fullWindow.setVisible(true);
         });
         
@@ -1084,19 +1088,17 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             editButton.addActionListener(e -> {
                 int selectedRow = recordsTable.getSelectedRow();
                 if (selectedRow >= 0) {
-                    try {
-                        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-                        Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
-                        dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                        model.FarmItem item = inventoryDAO.getRecordById(recordId);
+                    int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+                    Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
+                    BackgroundTasks.run(() -> dao.CachingInventoryService.getService().getRecordById(recordId), item -> {
                         if (item != null) {
                             HarvestForm form = new HarvestForm(currentUser, this, item);
                             form.setVisible(true);
                             loadRecordsIntoTable(tableModel);
                         }
-                    } catch (Exception ex) {
+                    }, ex -> {
                         JOptionPane.showMessageDialog(this, "Error loading record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    });
                 } else {
                     JOptionPane.showMessageDialog(this, "Please select a record to edit", "No Selection", JOptionPane.WARNING_MESSAGE);
                 }
@@ -1107,15 +1109,16 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                 if (selectedRow >= 0) {
                     int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this record?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
                     if (confirm == JOptionPane.YES_OPTION) {
-                        try {
-                            int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-                            Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
-                            dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                            inventoryDAO.deleteRecord(recordId);
+                        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+                        Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
+                        BackgroundTasks.run(() -> {
+                            dao.CachingInventoryService.getService().deleteRecord(recordId);
+                            return null;
+                        }, ignored -> {
                             loadRecordsIntoTable(tableModel);
-                        } catch (Exception ex) {
+                        }, ex -> {
                             JOptionPane.showMessageDialog(this, "Error deleting record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                        }
+                        });
                     }
                 } else {
                     JOptionPane.showMessageDialog(this, "Please select a record to delete", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -1123,36 +1126,19 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             });
             
             exportButton.addActionListener(e -> {
-                try {
-                    // WHAT: Get all records from database
-                    // WHY: exportToCSV needs list of records
-                    // HOW: InventoryDAO.getAllRecords() returns list
-                    dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                    java.util.List<model.FarmItem> records = inventoryDAO.getAllRecords();
-                    
-                    JFileChooser exportFileChooser = new JFileChooser();
-                    exportFileChooser.setDialogTitle("Export Records to CSV");
-                    if (exportFileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-                        java.io.File exportFile = exportFileChooser.getSelectedFile();
-                        util.CSVExporter.exportToCSV(exportFile.getAbsolutePath(), records);
-                        JOptionPane.showMessageDialog(this, "Records exported successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this, "Error exporting: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JFileChooser exportFileChooser = new JFileChooser();
+                exportFileChooser.setDialogTitle("Export Records to CSV");
+                if (exportFileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+                    java.io.File exportFile = exportFileChooser.getSelectedFile();
+                    exportRecordsInBackground(exportFile.getAbsolutePath());
                 }
             });
             
             importButton.addActionListener(e -> {
-                try {
-                    // WHAT: Import from CSV (FileImporter handles file chooser internally)
-                    // WHY: FileImporter.importFromCSV() shows file chooser and imports
-                    // HOW: Pass parent frame, method handles file selection and import
-                    util.FileImporter.importFromCSV(this);
-                    JOptionPane.showMessageDialog(this, "Records imported successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadRecordsIntoTable(tableModel);
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this, "Error importing: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // WHAT: Import from CSV (FileImporter handles file chooser internally)
+                // WHY: FileImporter.importFromCSV() shows file chooser, imports in the background and reports the result
+                // HOW: Pass parent frame and a reload callback that runs once the import finished
+                util.FileImporter.importFromCSV(this, () -> loadRecordsIntoTable(tableModel));
             });
             
             controlPanel.add(addButton);
@@ -1177,11 +1163,9 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             buyButton.addActionListener(e -> {
                 int selectedRow = recordsTable.getSelectedRow();
                 if (selectedRow >= 0) {
-                    try {
-                        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-                        Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
-                        dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                        model.FarmItem item = inventoryDAO.getRecordById(recordId);
+                    int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+                    Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
+                    BackgroundTasks.run(() -> dao.CachingInventoryService.getService().getRecordById(recordId), item -> {
                         if (item != null && item instanceof model.HarvestLot) {
                             model.HarvestLot harvestLot = (model.HarvestLot) item;
                             // WHAT: Open PurchaseDialog for complete purchase workflow
@@ -1193,9 +1177,9 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                         } else {
                             JOptionPane.showMessageDialog(this, "Only harvest items can be purchased", "Invalid Item", JOptionPane.WARNING_MESSAGE);
                         }
-                    } catch (Exception ex) {
+                    }, ex -> {
                         JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    });
                 } else {
                     JOptionPane.showMessageDialog(this, "Please select a product to purchase", "No Selection", JOptionPane.WARNING_MESSAGE);
                 }
@@ -1204,43 +1188,40 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             interestedButton.addActionListener(e -> {
                 int selectedRow = recordsTable.getSelectedRow();
                 if (selectedRow >= 0) {
-                    try {
-                        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-                        Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
-                        dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                        model.FarmItem item = inventoryDAO.getRecordById(recordId);
+                    int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+                    Integer recordId = (Integer) tableModel.getValueAt(modelRow, 0);
+                    // WHAT: Read, update and save the record in one background task
+                    // WHY: No user interaction is needed between the read and the update
+                    // HOW: Returns true if the item was a HarvestLot and has been updated
+                    BackgroundTasks.run(() -> {
+                        model.InventoryService inventoryService = dao.CachingInventoryService.getService();
+                        model.FarmItem item = inventoryService.getRecordById(recordId);
                         if (item != null && item instanceof model.HarvestLot) {
                             model.HarvestLot harvestLot = (model.HarvestLot) item;
                             harvestLot.setStatus("Interested");
-                            inventoryDAO.updateRecord(harvestLot);
+                            inventoryService.updateRecord(harvestLot);
+                            return true;
+                        }
+                        return false;
+                    }, updated -> {
+                        if (updated) {
                             JOptionPane.showMessageDialog(this, "Product marked as interested!", "Success", JOptionPane.INFORMATION_MESSAGE);
                             loadRecordsIntoTable(tableModel);
                         }
-                    } catch (Exception ex) {
+                    }, ex -> {
                         JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    });
                 } else {
                     JOptionPane.showMessageDialog(this, "Please select a product", "No Selection", JOptionPane.WARNING_MESSAGE);
                 }
             });
             
             exportButton.addActionListener(e -> {
-                try {
-                    // WHAT: Get all records from database
-                    // WHY: exportToCSV needs list of records
-                    // HOW: InventoryDAO.getAllRecords() returns list
-                    dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-                    java.util.List<model.FarmItem> records = inventoryDAO.getAllRecords();
-                    
-                    JFileChooser buyerExportChooser = new JFileChooser();
-                    buyerExportChooser.setDialogTitle("Export Records to CSV");
-                    if (buyerExportChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-                        java.io.File buyerExportFile = buyerExportChooser.getSelectedFile();
-                        util.CSVExporter.exportToCSV(buyerExportFile.getAbsolutePath(), records);
-                        JOptionPane.showMessageDialog(this, "Records exported successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this, "Error exporting: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                JFileChooser buyerExportChooser = new JFileChooser();
+                buyerExportChooser.setDialogTitle("Export Records to CSV");
+                if (buyerExportChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+                    java.io.File buyerExportFile = buyerExportChooser.getSelectedFile();
+                    exportRecordsInBackground(buyerExportFile.getAbsolutePath());
                 }
             });
             
@@ -1268,21 +1249,24 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * loadRecordsIntoTable() - Loads records from database into table
      * WHAT: Queries database and populates table model with records
      * WHY: Table needs to display current records
-     * HOW: Uses InventoryDAO to get records, adds rows to table model
+     * HOW: Uses the shared CachingInventoryService to get records on a background thread, adds rows to table model on the EDT
+     *      (recorded as a FlightEvents.TableReload event during flight recordings)
      * @param tableModel Table model to populate
      */
     private void loadRecordsIntoTable(DefaultTableModel tableModel) {
-        // WHAT: Clear existing rows
-        // WHY: Start fresh before loading
-        // HOW: setRowCount(0) removes all rows
-        tableModel.setRowCount(0);
-        
-        try {
-            // WHAT: Get all records from database
-            // WHY: Need to display all inventory items
-            // HOW: InventoryDAO.getAllRecords() returns list
-            dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-            java.util.List<model.FarmItem> records = inventoryDAO.getAllRecords();
+        // WHAT: Get all records from database on a background thread
+        // WHY: Need to display all inventory items without freezing the EDT
+        // HOW: getAllRecords() returns list (from memory when cached), rows are added in the success callback
+        long requested = System.nanoTime();
+        BackgroundTasks.run(() -> dao.CachingInventoryService.getService().getAllRecords(), records -> {
+            FlightEvents.TableReload event = new FlightEvents.TableReload();
+            event.loadMillis = (System.nanoTime() - requested) / 1_000_000;
+            event.begin();
+            
+            // WHAT: Clear existing rows
+            // WHY: Start fresh before loading
+            // HOW: setRowCount(0) removes all rows
+            tableModel.setRowCount(0);
             
             // WHAT: Add each record as a row
             // WHY: Table needs data rows
@@ -1311,9 +1295,28 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                 };
                 tableModel.addRow(row);
             }
-        } catch (Exception e) {
+            
+            event.table = "MainMenuFrame records";
+            event.rows = records.size();
+            event.commit();
+        }, e -> {
             JOptionPane.showMessageDialog(this, "Error loading records: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
+    }
+    
+    /**
+     * exportRecordsInBackground() - Exports all records to a CSV file off the EDT
+     * WHAT: Reads all records and writes them to the given file on a background thread
+     * WHY: Export buttons of the records panel must not freeze the window for large inventories
+     * HOW: InventoryDAO.exportAllToCSV() streams rows into the file in a background task, result dialog on the EDT
+     * @param filePath Absolute path of the CSV file to write
+     */
+    private void exportRecordsInBackground(String filePath) {
+        BackgroundTasks.run(() -> new dao.InventoryDAO().exportAllToCSV(filePath), rows -> {
+            JOptionPane.showMessageDialog(this, "Records exported successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+        }, ex -> {
+            JOptionPane.showMessageDialog(this, "Error exporting: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
     }
     
     /**
@@ -1349,50 +1352,54 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         reportsTabbedPane.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         reportsTabbedPane.setBackground(Color.WHITE);
         
-        try {
-            // WHAT: Get all records from database
-            // WHY: Need data for all reports
-            // HOW: InventoryDAO queries database
-            dao.InventoryDAO inventoryDAO = new dao.InventoryDAO();
-            java.util.List<model.FarmItem> records = inventoryDAO.getAllRecords();
-            
+        // WHAT: Add every tab with a placeholder while reports load
+        // WHY: Panel appears immediately, report data arrives from background queries
+        // HOW: Placeholders are replaced (setComponentAt) when the data (or an error) arrives
+        String[] tabTitles = {"Statistical Reports", "Inventory Summaries", "Category Breakdowns",
+            "Status Distribution", "Export Reports"};
+        for (String tabTitle : tabTitles) {
+            reportsTabbedPane.addTab(tabTitle, createReportPlaceholder("Loading reports..."));
+        }
+        
+        // WHAT: Create Trends tab
+        // WHY: Shows harvested and sold quantities over time per crop
+        // HOW: createTrendsTab() loads its own data from the daily rollups when its range or options change
+        reportsTabbedPane.addTab("Trends", createTrendsTab());
+        
+        // WHAT: Get aggregated statistics from database on a background thread
+        // WHY: Statistics tabs only need counts and totals, not every record
+        // HOW: InventoryReportDAO reads the precomputed INVENTORY_STATS rows (one per item_type, status)
+        BackgroundTasks.run(() -> new dao.InventoryReportDAO().getSummary(), summary -> {
             // WHAT: Create Statistical Reports tab
             // WHY: Shows overall statistics and summaries
             // HOW: createStatisticalReportsTab() returns panel with statistics
-            reportsTabbedPane.addTab("Statistical Reports", createStatisticalReportsTab(records));
-            
-            // WHAT: Create Inventory Summaries tab
-            // WHY: Shows detailed inventory breakdown
-            // HOW: createInventorySummariesTab() returns panel with summaries
-            reportsTabbedPane.addTab("Inventory Summaries", createInventorySummariesTab(records));
+            reportsTabbedPane.setComponentAt(0, createStatisticalReportsTab(summary));
             
             // WHAT: Create Category Breakdowns tab
             // WHY: Shows breakdown by item type and categories
             // HOW: createCategoryBreakdownsTab() returns panel with category analysis
-            reportsTabbedPane.addTab("Category Breakdowns", createCategoryBreakdownsTab(records));
+            reportsTabbedPane.setComponentAt(2, createCategoryBreakdownsTab(summary));
             
             // WHAT: Create Status Distribution tab
             // WHY: Shows status distribution for harvests
             // HOW: createStatusDistributionTab() returns panel with status analysis
-            reportsTabbedPane.addTab("Status Distribution", createStatusDistributionTab(records));
+            reportsTabbedPane.setComponentAt(3, createStatusDistributionTab(summary));
+        }, e -> showReportError(reportsTabbedPane, e, 0, 2, 3));
+        
+        // WHAT: Get all records from database on a background thread
+        // WHY: The item table and the CSV exports list individual records
+        // HOW: CachingInventoryService reads the records (from memory when cached), tabs are built in the success callback
+        BackgroundTasks.run(() -> dao.CachingInventoryService.getService().getAllRecords(), records -> {
+            // WHAT: Create Inventory Summaries tab
+            // WHY: Shows detailed inventory breakdown
+            // HOW: createInventorySummariesTab() returns panel with summaries
+            reportsTabbedPane.setComponentAt(1, createInventorySummariesTab(records));
             
             // WHAT: Create Export tab with export functionality
             // WHY: Allows administrators to export reports
             // HOW: createExportTab() returns panel with export options
-            reportsTabbedPane.addTab("Export Reports", createExportTab(records));
-            
-        } catch (Exception e) {
-            // WHAT: Handle errors gracefully
-            // WHY: User needs feedback if reports fail to load
-            // HOW: Show error message
-            System.err.println("Error loading reports: " + e.getMessage());
-            e.printStackTrace();
-            JLabel errorLabel = new JLabel("Error loading reports: " + e.getMessage());
-            errorLabel.setForeground(new Color(200, 0, 0));
-            errorLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-            errorLabel.setBorder(new EmptyBorder(20, 20, 20, 20));
-            reportsTabbedPane.addTab("Error", new JScrollPane(errorLabel));
-        }
+            reportsTabbedPane.setComponentAt(4, createExportTab(records));
+        }, e -> showReportError(reportsTabbedPane, e, 1, 4));
         
         // WHAT: Add tabbed pane to panel
         // WHY: Reports should fill center
@@ -1419,6 +1426,37 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         return outerPanel;
     }
     
+    /**
+     * createReportPlaceholder() - Creates a message panel for a report tab without data
+     * WHAT: Label with padding, used while a tab loads or when it failed to load
+     * @param message Message to show
+     * @return JComponent to use as tab content
+     */
+    private JComponent createReportPlaceholder(String message) {
+        JLabel label = new JLabel(message);
+        label.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        label.setBorder(new EmptyBorder(20, 20, 20, 20));
+        return label;
+    }
+    
+    /**
+     * showReportError() - Shows a load error in report tabs
+     * WHAT: Replaces the given tabs' content with the error message
+     * WHY: User needs feedback if reports fail to load; other tabs stay usable
+     * @param tabs Reports tabbed pane
+     * @param e Error from the background query
+     * @param tabIndexes Tabs fed by the failed query
+     */
+    private void showReportError(JTabbedPane tabs, Exception e, int... tabIndexes) {
+        System.err.println("Error loading reports: " + e.getMessage());
+        e.printStackTrace();
+        for (int index : tabIndexes) {
+            JComponent errorLabel = createReportPlaceholder("Error loading reports: " + e.getMessage());
+            errorLabel.setForeground(new Color(200, 0, 0));
+            tabs.setComponentAt(index, new JScrollPane(errorLabel));
+        }
+    }
+    
     /**
      * createStatCard() - Creates a modern statistics card
      * WHAT: Creates a card panel with icon, label, and value
@@ -1613,10 +1651,10 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * WHAT: Displays overall statistics with cards showing key metrics
      * WHY: Provides quick overview of inventory statistics
      * HOW: Creates card-based layout with key statistics
-     * @param records List of all inventory records
+     * @param summary Aggregated inventory statistics
      * @return JPanel containing statistical reports
      */
-    private JPanel createStatisticalReportsTab(java.util.List<model.FarmItem> records) {
+    private JPanel createStatisticalReportsTab(model.InventorySummary summary) {
         // WHAT: Create main panel with GridBagLayout
         // WHY: GridBagLayout allows flexible component positioning
         // HOW: JPanel with GridBagLayout
@@ -1628,24 +1666,15 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         gbc.insets = new Insets(15, 15, 15, 15);
         gbc.anchor = GridBagConstraints.NORTHWEST;
         
-        // WHAT: Calculate statistics
+        // WHAT: Read statistics from the summary
         // WHY: Need data for display
-        // HOW: Stream operations and loops
-        int totalItems = records.size();
-        long harvestCount = records.stream().filter(r -> r instanceof model.HarvestLot).count();
-        long equipmentCount = records.stream().filter(r -> r instanceof model.EquipmentItem).count();
-        double totalQuantity = records.stream().mapToDouble(model.FarmItem::getQuantity).sum();
-        double totalValue = 0.0;
-        double avgQuantity = totalItems > 0 ? totalQuantity / totalItems : 0.0;
-        
-        for (model.FarmItem item : records) {
-            if (item instanceof model.HarvestLot) {
-                model.HarvestLot harvest = (model.HarvestLot) item;
-                if (harvest.getPricePerUnit() != null) {
-                    totalValue += harvest.getQuantity() * harvest.getPricePerUnit();
-                }
-            }
-        }
+        // HOW: Totals were aggregated by the database (InventoryReportDAO)
+        int totalItems = summary.getTotalItems();
+        int harvestCount = summary.getHarvestCount();
+        int equipmentCount = summary.getEquipmentCount();
+        double totalQuantity = summary.getTotalQuantity();
+        double totalValue = summary.getHarvestValue();
+        double avgQuantity = summary.getAverageQuantity();
         
         // WHAT: Create header
         // WHY: Identifies the section
@@ -1714,6 +1743,151 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         return wrapper;
     }
     
+    /**
+     * createTrendsTab() - Creates harvest and sales trends tab
+     * WHAT: Table of harvested and sold quantity, lots, sales and revenue per period and crop
+     * WHY: Shows throughput trends (per day, week or month) instead of point-in-time counts
+     * HOW: DailyRollupDAO reads the precomputed daily rollups of the selected range and downsamples them;
+     *      reloads on a background thread whenever the range, granularity or crop changes
+     * @return JPanel containing the trends table and its options
+     */
+    private JPanel createTrendsTab() {
+        // WHAT: Create main panel with BorderLayout
+        // WHY: Options at top, table in center, status at bottom
+        // HOW: JPanel with BorderLayout
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.setBackground(ThemeColors.BACKGROUND);
+        panel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        
+        dao.DailyRollupDAO rollupDAO = new dao.DailyRollupDAO();
+        
+        // WHAT: Create header and option controls
+        // WHY: Users choose the range, bucket size and crop
+        // HOW: JComboBoxes in a FlowLayout panel; "Auto" picks the bucket size from the range length
+        JLabel headerLabel = new JLabel("Harvest & Sales Trends");
+        headerLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        headerLabel.setForeground(new Color(33, 33, 33));
+        
+        JComboBox<String> rangeBox = new JComboBox<>(new String[] {"Last 30 days", "Last 12 weeks", "Last 12 months", "This year"});
+        JComboBox<String> granularityBox = new JComboBox<>(new String[] {"Auto", "Daily", "Weekly", "Monthly"});
+        JComboBox<String> cropBox = new JComboBox<>(new String[] {"All crops"});
+        
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        optionsPanel.setBackground(ThemeColors.BACKGROUND);
+        optionsPanel.add(new JLabel("Range:"));
+        optionsPanel.add(rangeBox);
+        optionsPanel.add(new JLabel("Group by:"));
+        optionsPanel.add(granularityBox);
+        optionsPanel.add(new JLabel("Crop:"));
+        optionsPanel.add(cropBox);
+        
+        JPanel topPanel = new JPanel(new BorderLayout(0, 10));
+        topPanel.setBackground(ThemeColors.BACKGROUND);
+        topPanel.add(headerLabel, BorderLayout.NORTH);
+        topPanel.add(optionsPanel, BorderLayout.SOUTH);
+        panel.add(topPanel, BorderLayout.NORTH);
+        
+        // WHAT: Create table model and table
+        // WHY: One row per period and crop
+        // HOW: DefaultTableModel, read-only
+        String[] columnNames = {"Period", "Crop", "Unit", "Harvested", "Lots", "Sold", "Sales", "Revenue"};
+        DefaultTableModel tableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false; // Read-only
+            }
+        };
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        table.setRowHeight(25);
+        table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
+        table.getTableHeader().setBackground(ThemeColors.TABLE_HEADER_BG);
+        table.getTableHeader().setForeground(ThemeColors.TABLE_HEADER_TEXT);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        
+        JLabel statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        statusLabel.setForeground(ThemeColors.TEXT_SECONDARY);
+        panel.add(statusLabel, BorderLayout.SOUTH);
+        
+        // WHAT: Load trend data for the current options
+        // WHY: Called initially and whenever an option changes
+        // HOW: BackgroundTasks.run() queries the rollups, rows are added on the EDT;
+        //      a result is dropped if the options changed again while it was loading
+        java.util.concurrent.atomic.AtomicInteger loadGeneration = new java.util.concurrent.atomic.AtomicInteger();
+        Runnable load = () -> {
+            int generation = loadGeneration.incrementAndGet();
+            java.time.LocalDate to = java.time.LocalDate.now();
+            java.time.LocalDate from;
+            switch (rangeBox.getSelectedIndex()) {
+                case 1: from = to.minusWeeks(12).plusDays(1); break;
+                case 2: from = to.minusMonths(12).plusDays(1); break;
+                case 3: from = to.withDayOfYear(1); break;
+                default: from = to.minusDays(29);
+            }
+            dao.DailyRollupDAO.Granularity granularity;
+            switch (granularityBox.getSelectedIndex()) {
+                case 1: granularity = dao.DailyRollupDAO.Granularity.DAY; break;
+                case 2: granularity = dao.DailyRollupDAO.Granularity.WEEK; break;
+                case 3: granularity = dao.DailyRollupDAO.Granularity.MONTH; break;
+                default: granularity = dao.DailyRollupDAO.Granularity.forRange(from, to, 60);
+            }
+            String crop = cropBox.getSelectedIndex() > 0 ? (String) cropBox.getSelectedItem() : null;
+            statusLabel.setText("Loading...");
+            long start = System.nanoTime();
+            BackgroundTasks.run(() -> rollupDAO.getTrend(from, to, granularity, crop), points -> {
+                if (generation != loadGeneration.get()) {
+                    return; // Superseded by a newer load
+                }
+                tableModel.setRowCount(0);
+                for (model.RollupPoint point : points) {
+                    tableModel.addRow(new Object[] {
+                        formatTrendPeriod(point.getBucketStart(), granularity),
+                        point.getCrop(),
+                        point.getUnit(),
+                        String.format("%.2f", point.getHarvestedQuantity()),
+                        point.getHarvestLots(),
+                        String.format("%.2f", point.getSoldQuantity()),
+                        point.getSalesCount(),
+                        String.format("₱%.2f", point.getRevenue())
+                    });
+                }
+                statusLabel.setText(String.format("%,d rows, %s to %s by %s (%.1f ms)", points.size(), from, to,
+                    granularity.name().toLowerCase(), (System.nanoTime() - start) / 1e6));
+            }, ex -> statusLabel.setText("Error loading trends: " + ex.getMessage()));
+        };
+        
+        rangeBox.addActionListener(e -> load.run());
+        granularityBox.addActionListener(e -> load.run());
+        cropBox.addActionListener(e -> load.run());
+        
+        // WHAT: Fill the crop list, then load the default view
+        // WHY: Crops come from the rollup table (distinct names)
+        // HOW: Adding items keeps "All crops" selected (no reload per item); load runs once at the end
+        BackgroundTasks.run(rollupDAO::getCrops, crops -> {
+            for (String crop : crops) {
+                cropBox.addItem(crop); // Does not change the selection ("All crops")
+            }
+            load.run();
+        }, ex -> load.run());
+        
+        return panel;
+    }
+    
+    /**
+     * formatTrendPeriod() - Formats a bucket start for the trends table
+     * @param start First day of the bucket
+     * @param granularity Bucket size
+     * @return "2024-05-06" (day), "Week of 2024-05-06" (week) or "2024-05" (month)
+     */
+    private String formatTrendPeriod(java.time.LocalDate start, dao.DailyRollupDAO.Granularity granularity) {
+        switch (granularity) {
+            case WEEK: return "Week of " + start;
+            case MONTH: return java.time.YearMonth.from(start).toString();
+            default: return start.toString();
+        }
+    }
+    
     /**
      * createInventorySummariesTab() - Creates inventory summaries tab
      * WHAT: Displays detailed inventory summaries with tables
@@ -1806,10 +1980,10 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * WHAT: Displays breakdown by item type and categories
      * WHY: Shows distribution of items by category
      * HOW: Creates panels showing category statistics
-     * @param records List of all inventory records
+     * @param summary Aggregated inventory statistics
      * @return JPanel containing category breakdowns
      */
-    private JPanel createCategoryBreakdownsTab(java.util.List<model.FarmItem> records) {
+    private JPanel createCategoryBreakdownsTab(model.InventorySummary summary) {
         // WHAT: Create main panel with GridBagLayout
         // WHY: GridBagLayout allows flexible component positioning
         // HOW: JPanel with GridBagLayout
@@ -1823,19 +1997,13 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.weightx = 1.0;
         
-        // WHAT: Calculate category statistics
+        // WHAT: Read category statistics from the summary
         // WHY: Need data for breakdown
-        // HOW: Stream operations
-        long harvestCount = records.stream().filter(r -> r instanceof model.HarvestLot).count();
-        long equipmentCount = records.stream().filter(r -> r instanceof model.EquipmentItem).count();
-        double harvestQuantity = records.stream()
-            .filter(r -> r instanceof model.HarvestLot)
-            .mapToDouble(model.FarmItem::getQuantity)
-            .sum();
-        double equipmentQuantity = records.stream()
-            .filter(r -> r instanceof model.EquipmentItem)
-            .mapToDouble(model.FarmItem::getQuantity)
-            .sum();
+        // HOW: Per-type counts and quantities were aggregated by the database
+        long harvestCount = summary.getHarvestCount();
+        long equipmentCount = summary.getEquipmentCount();
+        double harvestQuantity = summary.getHarvestQuantity();
+        double equipmentQuantity = summary.getEquipmentQuantity();
         
         // WHAT: Create header
         // WHY: Identifies the section
@@ -1859,10 +2027,10 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         // WHY: Shows distribution by category
         // HOW: createCategorySection() creates formatted section
         gbc.gridy = 2;
-        panel.add(createCategorySection("Harvest Items", harvestCount, harvestQuantity, records.size(), ThemeColors.PRIMARY), gbc);
+        panel.add(createCategorySection("Harvest Items", harvestCount, harvestQuantity, summary.getTotalItems(), ThemeColors.PRIMARY), gbc);
         
         gbc.gridy = 3;
-        panel.add(createCategorySection("Equipment Items", equipmentCount, equipmentQuantity, records.size(), ThemeColors.WARNING), gbc);
+        panel.add(createCategorySection("Equipment Items", equipmentCount, equipmentQuantity, summary.getTotalItems(), ThemeColors.WARNING), gbc);
         
         // WHAT: Add glue for spacing
         // WHY: Push content to top
@@ -1955,10 +2123,10 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * WHAT: Displays status distribution for harvest items
      * WHY: Shows how harvests are distributed by status
      * HOW: Creates panels showing status statistics with progress bars
-     * @param records List of all inventory records
+     * @param summary Aggregated inventory statistics
      * @return JPanel containing status distribution
      */
-    private JPanel createStatusDistributionTab(java.util.List<model.FarmItem> records) {
+    private JPanel createStatusDistributionTab(model.InventorySummary summary) {
         // WHAT: Create main panel with GridBagLayout
         // WHY: GridBagLayout allows flexible component positioning
         // HOW: JPanel with GridBagLayout
@@ -1972,28 +2140,13 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.weightx = 1.0;
         
-        // WHAT: Calculate status statistics
+        // WHAT: Read status statistics from the summary
         // WHY: Need data for distribution
-        // HOW: Loop through harvest items
-        int availableCount = 0;
-        int interestedCount = 0;
-        int soldOutCount = 0;
-        int totalHarvests = 0;
-        
-        for (model.FarmItem item : records) {
-            if (item instanceof model.HarvestLot) {
-                totalHarvests++;
-                model.HarvestLot harvest = (model.HarvestLot) item;
-                String status = harvest.getStatus();
-                if ("Available".equals(status)) {
-                    availableCount++;
-                } else if ("Interested".equals(status)) {
-                    interestedCount++;
-                } else if ("Sold Out".equals(status)) {
-                    soldOutCount++;
-                }
-            }
-        }
+        // HOW: Harvest status tallies were aggregated by the database
+        int availableCount = summary.getAvailableCount();
+        int interestedCount = summary.getInterestedCount();
+        int soldOutCount = summary.getSoldOutCount();
+        int totalHarvests = summary.getHarvestCount();
         
         // WHAT: Create header
         // WHY: Identifies the section
@@ -2152,10 +2305,26 @@ public class MainMenuFrame extends JFrame implements ActionListener {
         // HOW: JButton with action listener
         JButton exportStatsButton = new JButton("Export Statistics Summary");
         styleExportButton(exportStatsButton, ThemeColors.INFO);
-        exportStatsButton.addActionListener(e -> exportStatisticsSummary(records));
+        exportStatsButton.addActionListener(e -> BackgroundTasks.run(() -> new dao.InventoryReportDAO().getSummary(),
+            this::exportStatisticsSummary,
+            ex -> JOptionPane.showMessageDialog(this, "Error exporting statistics: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE)));
         btnGbc.gridy = 3;
         buttonsPanel.add(exportStatsButton, btnGbc);
         
+        // WHAT: Create rebuild statistics button
+        // WHY: Repairs the precomputed statistics after rows were edited outside the application (H2 Console)
+        // HOW: InventoryReportDAO.rebuildStats() on a background thread, reports whether drift was found
+        JButton rebuildStatsButton = new JButton("Rebuild Statistics");
+        styleExportButton(rebuildStatsButton, ThemeColors.PRIMARY_DARK);
+        rebuildStatsButton.addActionListener(e -> BackgroundTasks.run(() -> new dao.InventoryReportDAO().rebuildStats(),
+            drifted -> JOptionPane.showMessageDialog(this,
+                drifted ? "Statistics were out of date and have been rebuilt.\nReopen Reports to see the corrected figures."
+                        : "Statistics are consistent with the inventory.",
+                "Rebuild Statistics", JOptionPane.INFORMATION_MESSAGE),
+            ex -> JOptionPane.showMessageDialog(this, "Error rebuilding statistics: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE)));
+        btnGbc.gridy = 4;
+        buttonsPanel.add(rebuildStatsButton, btnGbc);
+        
         // WHAT: Add buttons panel to main panel
         // WHY: Display export options
         // HOW: GridBagConstraints positions component
@@ -2235,11 +2404,21 @@ public class MainMenuFrame extends JFrame implements ActionListener {
                     filePath += ".csv";
                 }
                 
-                util.CSVExporter.exportToCSV(filePath, records);
-                JOptionPane.showMessageDialog(this, 
-                    exportType + " exported successfully to:\n" + filePath, 
-                    "Export Success", 
-                    JOptionPane.INFORMATION_MESSAGE);
+                // WHAT: Write the CSV file on a background thread
+                // WHY: Large exports must not freeze the window
+                // HOW: BackgroundTasks.run() with success/error dialogs on the EDT
+                String exportPath = filePath;
+                BackgroundTasks.run(() -> {
+                    util.CSVExporter.exportToCSV(exportPath, records);
+                    return null;
+                }, ignored -> {
+                    JOptionPane.showMessageDialog(this, 
+                        exportType + " exported successfully to:\n" + exportPath, 
+                        "Export Success", 
+                        JOptionPane.INFORMATION_MESSAGE);
+                }, ex -> {
+                    JOptionPane.showMessageDialog(this, "Error exporting data: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
+                });
             }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error exporting data: " + e.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
@@ -2251,38 +2430,21 @@ public class MainMenuFrame extends JFrame implements ActionListener {
      * WHAT: Exports calculated statistics to a text file
      * WHY: Allows saving statistics for reporting
      * HOW: Writes statistics to text file
-     * @param records List of all inventory records
+     * @param summary Aggregated inventory statistics (queried when the button is clicked)
      */
-    private void exportStatisticsSummary(java.util.List<model.FarmItem> records) {
+    private void exportStatisticsSummary(model.InventorySummary summary) {
         try {
-            // WHAT: Calculate statistics
+            // WHAT: Read statistics from the summary
             // WHY: Need data for export
-            // HOW: Stream operations and loops
-            int totalItems = records.size();
-            long harvestCount = records.stream().filter(r -> r instanceof model.HarvestLot).count();
-            long equipmentCount = records.stream().filter(r -> r instanceof model.EquipmentItem).count();
-            double totalQuantity = records.stream().mapToDouble(model.FarmItem::getQuantity).sum();
-            double totalValue = 0.0;
-            int availableCount = 0;
-            int interestedCount = 0;
-            int soldOutCount = 0;
-            
-            for (model.FarmItem item : records) {
-                if (item instanceof model.HarvestLot) {
-                    model.HarvestLot harvest = (model.HarvestLot) item;
-                    String status = harvest.getStatus();
-                    if ("Available".equals(status)) {
-                        availableCount++;
-                    } else if ("Interested".equals(status)) {
-                        interestedCount++;
-                    } else if ("Sold Out".equals(status)) {
-                        soldOutCount++;
-                    }
-                    if (harvest.getPricePerUnit() != null) {
-                        totalValue += harvest.getQuantity() * harvest.getPricePerUnit();
-                    }
-                }
-            }
+            // HOW: Totals were aggregated by the database (InventoryReportDAO)
+            int totalItems = summary.getTotalItems();
+            int harvestCount = summary.getHarvestCount();
+            int equipmentCount = summary.getEquipmentCount();
+            double totalQuantity = summary.getTotalQuantity();
+            double totalValue = summary.getHarvestValue();
+            int availableCount = summary.getAvailableCount();
+            int interestedCount = summary.getInterestedCount();
+            int soldOutCount = summary.getSoldOutCount();
             
             JFileChooser fileChooser = new JFileChooser();
             fileChooser.setDialogTitle("Export Statistics Summary");
@@ -2629,6 +2791,11 @@ public class MainMenuFrame extends JFrame implements ActionListener {
             // WHY: Only logout if user confirms
             // HOW: YES_OPTION constant returned when Yes clicked
             if (confirm == JOptionPane.YES_OPTION) {
+                // WHAT: End the user session
+                // WHY: Nobody is logged in until the next login
+                // HOW: UserSession.end() clears the shared session
+                UserSession.end();
+                
                 // WHAT: Close main menu window
                 // WHY: User is logging out
                 // HOW: dispose() closes and destroys window
@@ -1,18 +1,22 @@
 package gui; // Package declaration: Groups this class with other GUI classes
 
-import dao.InventoryDAO; // Import: InventoryDAO for updating inventory after purchase
+import dao.PurchaseService; // Import: PurchaseService for atomic stock decrements
 import java.awt.*; // Import: UserDAO for getting seller location
 import java.awt.event.ActionEvent; // Import: AWT classes for layout managers, colors, fonts, dimensions, cursors
 import java.awt.event.ActionListener; // Import: ActionEvent for button click events
 import java.awt.event.ItemEvent; // Import: ActionListener interface for event handling
 import java.awt.event.ItemListener; // Import: ItemEvent for combo box changes
 import java.text.DecimalFormat; // Import: ItemListener interface for combo box events
+import java.time.LocalDateTime; // Import: LocalDateTime for the order time
 import javax.swing.*; // Import: DecimalFormat for currency formatting
 import javax.swing.border.CompoundBorder; // Import: Swing components (JDialog, JPanel, JButton, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
 import javax.swing.border.LineBorder; // Import: CompoundBorder for layered borders
 import model.HarvestLot; // Import: LineBorder for solid borders
+import model.PurchaseOrder; // Import: PurchaseOrder for the ledger entry
+import model.PurchaseResult; // Import: PurchaseResult for the purchase outcome
 import model.User; // Import: HarvestLot class
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
 
 /**
  * PurchaseDialog - Professional Purchase Interface for Buyers
@@ -819,61 +823,89 @@ public class PurchaseDialog extends JDialog implements ActionListener, ItemListe
             // WHY: Only process if user confirms
             // HOW: YES_OPTION constant returned when Yes clicked
             if (confirm == JOptionPane.YES_OPTION) {
-                // WHAT: Try to update inventory
-                // WHY: Need to reduce available quantity after purchase
-                // HOW: Try-catch block wraps database operations
-                try {
-                    InventoryDAO dao = new InventoryDAO();
-                    
-                    // WHAT: Calculate new quantity (available - purchased)
-                    // WHY: Reduce inventory by purchased amount
-                    // HOW: Subtract purchase quantity from available quantity
-                    double newQuantity = harvestItem.getQuantity() - purchaseQuantity;
-                    
-                    // WHAT: Update harvest item with new quantity
-                    // WHY: Reflect purchase in inventory
-                    // HOW: Create updated HarvestLot with new quantity
-                    HarvestLot updatedItem = new HarvestLot(
-                        harvestItem.getId(),
-                        harvestItem.getName(),
-                        newQuantity,
-                        harvestItem.getUnit(),
-                        harvestItem.getDateAdded(),
-                        harvestItem.getNotes(),
-                        newQuantity > 0 ? "Available" : "Sold Out",
-                        harvestItem.getPricePerUnit()
-                    );
-                    
-                    // WHAT: Update record in database
-                    // WHY: Save inventory changes
-                    // HOW: updateRecord() executes UPDATE SQL statement
-                    dao.updateRecord(updatedItem);
-                    
-                    // WHAT: Show success message
-                    // WHY: User needs confirmation that purchase completed
-                    // HOW: showMessageDialog() displays success message
-                    JOptionPane.showMessageDialog(this, 
-                        "Purchase completed successfully!\n\n" +
-                        "Total Paid: " + currencyFormat.format(total) + "\n" +
-                        "Remaining Quantity: " + newQuantity + " " + harvestItem.getUnit(),
-                        "Purchase Successful", 
-                        JOptionPane.INFORMATION_MESSAGE);
-                    
-                    // WHAT: Close dialog
-                    // WHY: Purchase is complete
-                    // HOW: dispose() closes and destroys dialog
-                    dispose();
-                    
-                } catch (Exception ex) {
+                // WHAT: Ledger entry for this purchase
+                // WHY: Records who bought what, at which price and how it is delivered (reconciliation, sales reports)
+                // HOW: Snapshot of the confirmed values; the order ID is allocated by the ledger
+                boolean delivery = deliveryRadioButton.isSelected();
+                PurchaseOrder order = new PurchaseOrder(
+                    currentUser.getId(),
+                    currentUser.getUsername(),
+                    harvestItem.getId(),
+                    harvestItem.getName(),
+                    purchaseQuantity,
+                    harvestItem.getUnit(),
+                    pricePerUnit,
+                    subtotal,
+                    shippingFee,
+                    total,
+                    purchaseMethod,
+                    delivery ? PurchaseOrder.DELIVERY : PurchaseOrder.PICKUP,
+                    delivery ? deliveryAddressField.getText().trim() : null,
+                    LocalDateTime.now()
+                );
+                
+                // WHAT: Buy the quantity on a background thread
+                // WHY: Concurrent buyers of the same lot must not oversell it; the EDT must not freeze
+                // HOW: PurchaseService decrements the stock atomically (only if enough is left and the
+                //      price is still the one shown) and records the order in the same transaction; callbacks run on the EDT
+                BackgroundTasks.run(() -> {
+                    PurchaseResult purchase = new PurchaseService().purchase(harvestItem.getId(), purchaseQuantity, pricePerUnit, order);
+                    if (purchase.isCompleted()) {
+                        System.out.println("✓ Recorded purchase order " + purchase.getOrderId() + " for item " + order.getItemId());
+                    }
+                    return purchase;
+                }, result -> {
+                    switch (result.getOutcome()) {
+                        case COMPLETED:
+                            // WHAT: Show success message
+                            // WHY: User needs confirmation that purchase completed
+                            // HOW: showMessageDialog() displays success message with the remaining stock from the database
+                            JOptionPane.showMessageDialog(this, 
+                                "Purchase completed successfully!\n\n" +
+                                "Total Paid: " + currencyFormat.format(total) + "\n" +
+                                "Remaining Quantity: " + result.getRemainingQuantity() + " " + harvestItem.getUnit(),
+                                "Purchase Successful", 
+                                JOptionPane.INFORMATION_MESSAGE);
+                            
+                            // WHAT: Close dialog
+                            // WHY: Purchase is complete
+                            // HOW: dispose() closes and destroys dialog
+                            dispose();
+                            break;
+                        case INSUFFICIENT_STOCK:
+                            // WHAT: Another buyer bought part of the stock first
+                            // WHY: User can lower the quantity and try again
+                            // HOW: Remaining quantity comes from the database, not from the dialog's copy
+                            JOptionPane.showMessageDialog(this, 
+                                "Not enough stock left. Only " + result.getRemainingQuantity() + " " + harvestItem.getUnit() + " available now.", 
+                                "Insufficient Stock", JOptionPane.WARNING_MESSAGE);
+                            break;
+                        case PRICE_CHANGED:
+                            JOptionPane.showMessageDialog(this, 
+                                "The seller changed the price of this item. Please reopen the item to see the new price.", 
+                                "Price Changed", JOptionPane.WARNING_MESSAGE);
+                            break;
+                        case NOT_FOUND:
+                        case NOT_FOR_SALE:
+                            JOptionPane.showMessageDialog(this, "This item is no longer available for purchase.", 
+                                "Not Available", JOptionPane.WARNING_MESSAGE);
+                            break;
+                        default:
+                            // WHAT: Item kept changing while retrying (CONFLICT)
+                            JOptionPane.showMessageDialog(this, "The item is busy right now. Please try again.", 
+                                "Please Retry", JOptionPane.WARNING_MESSAGE);
+                            break;
+                    }
+                }, ex -> {
                     // WHAT: Handle database errors
                     // WHY: Database operations can fail
-                    // HOW: catch block executes when exception occurs
+                    // HOW: onError callback runs on the EDT when the background task throws
                     // WHAT: Show error message dialog
                     // WHY: User needs to know what went wrong
                     // HOW: getMessage() gets exception description, showMessageDialog() displays it
                     JOptionPane.showMessageDialog(this, "Error processing purchase: " + ex.getMessage(), 
                         "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                });
             }
             
         } catch (NumberFormatException e) {
@@ -1,37 +1,43 @@
 package gui; // Package declaration: Groups this class with other GUI classes
 
+import dao.CachingInventoryService; // Import: CachingInventoryService for cached record reads and writes
 import dao.InventoryDAO; // Import: InventoryDAO for database CRUD operations
 import java.awt.*; // Import: AWT classes for layout managers, colors, fonts, dimensions, cursors
 import java.awt.event.ActionEvent; // Import: ActionEvent for button click events
 import java.awt.event.ActionListener; // Import: ActionListener interface for button clicks
 import java.awt.event.KeyEvent; // Import: KeyEvent for keyboard input events
-import java.awt.event.KeyListener; // Import: KeyListener interface for keyboard events
 import java.awt.event.WindowAdapter; // Import: WindowAdapter for window close events
 import java.awt.event.WindowEvent; // Import: WindowEvent for window state changes
 import java.io.File; // Import: File class for file operations
 import java.util.List; // Import: List interface for collections
 import javax.swing.*; // Import: Swing components (JFrame, JTable, JButton, JMenuBar, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
-import javax.swing.table.DefaultTableModel; // Import: DefaultTableModel for table data management
-import javax.swing.table.TableRowSorter; // Import: TableRowSorter for live search/filtering
 import model.FarmItem; // Import: RowFilter for table row filtering
 import model.HarvestLot; // Import: KeyStroke for menu keyboard shortcuts
+import model.InventoryService; // Import: InventoryService interface
 import model.User; // Import: FarmItem base class
-import util.CSVExporter; // Import: HarvestLot class for status operations
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
+import util.UserSession; // Import: UserSession for the logged-in user
 import util.FileImporter; // Import: User model class
+import util.FlightEvents; // Import: FlightEvents for recording table reloads
+import util.FlightRecording; // Import: FlightRecording for the Diagnostics menu
 
 /**
  * RecordsWindow - Main Inventory Records Management Window
  * WHAT: Displays all inventory records in a JTable with CRUD operations, search, and role-based features
  * WHY: Central window for viewing and managing inventory - supports all user roles with different permissions
- * HOW: Uses JTable with DefaultTableModel, TableRowSorter for live search, implements ActionListener and KeyListener
+ * HOW: Uses JTable with LazyInventoryTableModel (paged reads) and debounced database search, implements ActionListener
  * 
  * OOP CONCEPTS:
- * - Event-Driven Programming: Implements ActionListener and KeyListener for user interactions
+ * - Event-Driven Programming: Implements ActionListener and listens to search field changes for user interactions
  * - Polymorphism: Handles FarmItem objects, uses instanceof to check HarvestLot type
  * - Role-Based Access Control: Shows/hides buttons based on user role
  */
-public class RecordsWindow extends JFrame implements ActionListener, KeyListener {
+public class RecordsWindow extends JFrame implements ActionListener {
+    // WHAT: Maximum number of search results shown
+    // WHY: Ranked search puts the best matches first; thousands of weak matches are not useful in a table
+    private static final int SEARCH_RESULT_LIMIT = 1000;
+    
     // WHAT: Currently logged-in user object (final - cannot be reassigned)
     // WHY: Needed for role-based button visibility and passing to other windows
     // HOW: Stored as final instance variable, passed from constructor
@@ -44,19 +50,29 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
     
     // WHAT: Table model that holds the data for JTable
     // WHY: JTable needs a TableModel to manage data (rows and columns)
-    // HOW: DefaultTableModel stores data as Object[][] internally
-    private DefaultTableModel tableModel;
+    // HOW: LazyInventoryTableModel loads rows in blocks as they are displayed (constant memory for any table size)
+    private LazyInventoryTableModel tableModel;
     
-    // WHAT: Row sorter for live search/filtering functionality
-    // WHY: Allows filtering table rows as user types in search field
-    // HOW: TableRowSorter filters rows based on RowFilter criteria
-    private TableRowSorter<DefaultTableModel> sorter;
+    // WHAT: Search text currently applied to the table
+    // WHY: Results of an older search that finish late must not replace newer results
+    // HOW: Set in performSearch(), compared when a background search completes
+    private String appliedSearchText = "";
     
     // WHAT: Text field for entering search query
     // WHY: Users need field to search/filter records
-    // HOW: JTextField with KeyListener for live search
+    // HOW: JTextField watched by searchController for live search
     private JTextField searchField;
     
+    // WHAT: Runs the search once typing pauses
+    // WHY: One search per typed word instead of up to three per keystroke
+    // HOW: DebouncedSearchController calls performSearch() on the EDT
+    private DebouncedSearchController searchController;
+    
+    // WHAT: Label showing match count and search time
+    // WHY: Users see how many records match; search latency is visible when tuning
+    // HOW: Set by performSearch() when results arrive
+    private JLabel searchStatusLabel;
+    
     // WHAT: Button to refresh/reload records from database
     // WHY: Updates table after database changes (add, edit, delete)
     // HOW: Calls loadRecords() method when clicked
@@ -79,7 +95,7 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
     
     // WHAT: Button to export records to CSV file
     // WHY: Users may want to backup data or use in spreadsheet programs
-    // HOW: Opens file chooser, calls CSVExporter.exportToCSV()
+    // HOW: Opens file chooser, calls InventoryDAO.exportAllToCSV()
     private JButton exportButton;
     
     // WHAT: Button to import records from CSV file
@@ -108,27 +124,32 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
     private JButton markSoldOutButton;
     
     // WHAT: InventoryDAO object for database operations (final - cannot be reassigned)
-    // WHY: All database operations go through this DAO instance
+    // WHY: Paging, counting, searching and exporting go through this DAO instance
     // HOW: Created once in constructor, used throughout class
     private final InventoryDAO inventoryDAO;
     
+    // WHAT: Shared inventory cache for single-record reads and writes
+    // WHY: Edits, deletes and status changes must keep the cache used by other screens current
+    // HOW: CachingInventoryService writes through to the database, then updates its cached item
+    private final InventoryService inventoryService;
+    
     /**
      * Constructor - Creates and displays the RecordsWindow
      * WHAT: Initializes components, sets up layout, loads records from database, configures window
      * WHY: Called to display inventory records management interface
      * HOW: Calls helper methods to set up GUI, loads data, then displays window
-     * @param user Currently logged-in user object
      */
-    public RecordsWindow(User user) {
-        // WHAT: Store user object in instance variable
-        // WHY: Needed for role-based features and displaying user info
-        // HOW: this.currentUser = user assigns parameter
-        this.currentUser = user;
+    public RecordsWindow() {
+        // WHAT: Read the logged-in user from the session
+        // WHY: Needed for displaying user info and role-based features; every screen shares the session User
+        // HOW: UserSession.requireUser() fails fast if the screen is opened without a login
+        this.currentUser = UserSession.requireUser();
         
         // WHAT: Create InventoryDAO instance for database operations
         // WHY: Need DAO to perform CRUD operations on inventory
         // HOW: new InventoryDAO() creates instance
         this.inventoryDAO = new InventoryDAO();
+        this.inventoryService = CachingInventoryService.getService();
         
         // WHAT: Initialize all GUI components
         // WHY: Components must be created before adding to layout
@@ -233,23 +254,10 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
      */
     private void initializeComponents() {
         // --- Table Setup ---
-        // WHAT: Array of column names for table
-        // WHY: Defines table structure and column headers
-        // HOW: String array with 9 column names (added Price column)
-        String[] columnNames = {"ID", "Name", "Quantity", "Unit", "Price", "Type", "Date Added", "Status", "Notes"};
-        
-        // WHAT: Create table model with column names and 0 initial rows
-        // WHY: Table model manages table data structure
-        // HOW: DefaultTableModel constructor takes column names and row count
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            // WHAT: Override method to make all cells non-editable
-            // WHY: Prevents direct cell editing - users must use Edit button
-            // HOW: Always return false to disable cell editing
-            public boolean isCellEditable(int row, int column) {
-                return false; // All cells are read-only
-            }
-        };
+        // WHAT: Create lazy table model backed by paged DAO reads
+        // WHY: Only the visible rows are loaded, so large inventories open instantly
+        // HOW: LazyInventoryTableModel defines the 9 columns and is read-only
+        tableModel = new LazyInventoryTableModel(inventoryDAO);
         
         // WHAT: Create JTable with table model
         // WHY: JTable displays data in tabular format
@@ -305,15 +313,8 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         recordsTable.getColumnModel().getColumn(7).setPreferredWidth(250); // Notes column - wide
         
         // --- Live Search Setup ---
-        // WHAT: Create TableRowSorter for table filtering
-        // WHY: Enables live search functionality - filters rows as user types
-        // HOW: TableRowSorter constructor takes TableModel
-        sorter = new TableRowSorter<>(tableModel);
-        
-        // WHAT: Attach sorter to table
-        // WHY: Table needs sorter to enable filtering
-        // HOW: setRowSorter() connects sorter to table
-        recordsTable.setRowSorter(sorter);
+        // Note: No TableRowSorter - sorting or filtering in the view would read every row and defeat lazy loading.
+        // Records are listed newest first by the database, search runs as a database query (see performSearch()).
         
         // --- Search Field Setup ---
         // WHAT: Create search text field (30 characters wide)
@@ -334,10 +335,18 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             BorderFactory.createEmptyBorder(8, 12, 8, 12) // Inner border - padding
         ));
         
-        // WHAT: Attach key listener to search field
-        // WHY: Need to detect typing for live search
-        // HOW: addKeyListener() registers this class (implements KeyListener) to receive events
-        searchField.addKeyListener(this);
+        // WHAT: Attach debounced search controller to search field
+        // WHY: Need to detect typing (and paste) for live search without searching on every key event
+        // HOW: Controller listens to the field's document and calls performSearch() after a short pause
+        searchController = new DebouncedSearchController(searchField, DebouncedSearchController.DEFAULT_DELAY_MS, this::performSearch);
+        searchField.addActionListener(e -> searchController.flush()); // Enter searches immediately
+        
+        // WHAT: Create search status label
+        // WHY: Shows match count and search latency next to the search field
+        // HOW: JLabel, text set by performSearch()
+        searchStatusLabel = new JLabel(" ");
+        searchStatusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        searchStatusLabel.setForeground(Color.GRAY);
         
         // --- Button Creation ---
         // WHAT: Create all action buttons with text and emojis
@@ -469,8 +478,7 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         JMenuItem importItem = new JMenuItem("Import from CSV", KeyEvent.VK_I);
         importItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_I, ActionEvent.CTRL_MASK));
         importItem.addActionListener(e -> {
-            FileImporter.importFromCSV(this);
-            loadRecords();
+            FileImporter.importFromCSV(this, this::loadRecords);
         });
         // WHAT: Only show import for admin
         // WHY: Import is admin-only feature
@@ -549,15 +557,48 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         // HOW: JMenuItem with action listener
         JMenuItem reportsItem = new JMenuItem("Reports & Statistics", KeyEvent.VK_S);
         reportsItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, ActionEvent.CTRL_MASK));
-        reportsItem.addActionListener(e -> new ReportsWindow(currentUser));
+        reportsItem.addActionListener(e -> new ReportsWindow());
         viewMenu.add(reportsItem);
         
+        // WHAT: Create Diagnostics menu with flight recording controls
+        // WHY: A user who sees the window hang can record it and send the .jfr file for analysis
+        // HOW: Items call FlightRecording on a background thread (files are written there)
+        JMenu diagnosticsMenu = new JMenu("Diagnostics");
+        diagnosticsMenu.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        JMenuItem startRecordingItem = new JMenuItem("Start Flight Recording");
+        JMenuItem dumpRecordingItem = new JMenuItem("Save Recording Snapshot");
+        JMenuItem stopRecordingItem = new JMenuItem("Stop and Save Recording");
+        Runnable updateRecordingItems = () -> {
+            boolean recording = FlightRecording.isRecording();
+            startRecordingItem.setEnabled(!recording);
+            dumpRecordingItem.setEnabled(recording);
+            stopRecordingItem.setEnabled(recording);
+        };
+        startRecordingItem.addActionListener(e -> BackgroundTasks.run(() -> {
+            FlightRecording.start();
+            return null;
+        }, ignored -> updateRecordingItems.run(), this::showRecordingError));
+        dumpRecordingItem.addActionListener(e -> BackgroundTasks.run(FlightRecording::dump,
+            file -> showRecordingSaved(file.toString()), this::showRecordingError));
+        stopRecordingItem.addActionListener(e -> BackgroundTasks.run(FlightRecording::stop, file -> {
+            updateRecordingItems.run();
+            showRecordingSaved(file.toString());
+        }, ex -> {
+            updateRecordingItems.run();
+            showRecordingError(ex);
+        }));
+        updateRecordingItems.run();
+        diagnosticsMenu.add(startRecordingItem);
+        diagnosticsMenu.add(dumpRecordingItem);
+        diagnosticsMenu.add(stopRecordingItem);
+        
         // WHAT: Add all menus to menu bar
         // WHY: Menu bar needs menus to display
         // HOW: add() method adds menus to menu bar
         menuBar.add(fileMenu);
         menuBar.add(editMenu);
         menuBar.add(viewMenu);
+        menuBar.add(diagnosticsMenu);
         
         // WHAT: Return completed menu bar
         // WHY: Caller needs menu bar to set on frame
@@ -565,6 +606,33 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         return menuBar;
     }
     
+    /**
+     * showRecordingSaved() - Tells the user where the flight recording was written
+     * @param file Path of the .jfr file
+     */
+    private void showRecordingSaved(String file) {
+        JOptionPane.showMessageDialog(this, "Flight recording saved to:\n" + file
+            + "\n\nOpen it with JDK Mission Control or: jfr print --categories AgriTrack <file>",
+            "Flight Recording", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    /**
+     * showRowNotLoaded() - Tells the user the selected row is still loading
+     * WHY: Rows of a block that is being (re)loaded have no item ID yet; the action can be retried in a moment
+     */
+    private void showRowNotLoaded() {
+        JOptionPane.showMessageDialog(this, "The selected record is still loading. Please try again in a moment.",
+            "Loading", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    /**
+     * showRecordingError() - Shows a failed flight recording action
+     * @param ex Error thrown by FlightRecording
+     */
+    private void showRecordingError(Exception ex) {
+        JOptionPane.showMessageDialog(this, ex.getMessage(), "Flight Recording", JOptionPane.ERROR_MESSAGE);
+    }
+    
     /**
      * setupLayout() - Arranges components in window
      * WHAT: Creates layout structure with header, search panel, table, and action buttons
@@ -609,6 +677,7 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         searchPanel.add(searchLabel);
         searchPanel.add(searchField); // Add search field
         searchPanel.add(refreshButton); // Add refresh button
+        searchPanel.add(searchStatusLabel); // Add search status label
         
         // WHAT: Create status legend panel (only for buyers and admins)
         // WHY: Buyers and admins need to understand status color-coding
@@ -808,152 +877,76 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
      * loadRecords() - Loads all inventory records from database and displays in table
      * WHAT: Queries database for all records, converts to table rows, populates JTable
      * WHY: Table needs data to display - called on window open and after add/edit/delete
-     * HOW: Calls inventoryDAO.getAllRecords(), loops through items, adds each as table row
+     * HOW: Counts records on a background thread, resets the lazy table model with the new count;
+     *      the EDT part is recorded as a FlightEvents.TableReload event during flight recordings
      */
     private void loadRecords() {
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Get all inventory records from database
-            // WHY: Need all records to display in table
-            // HOW: getAllRecords() queries database, returns List<FarmItem>
-            List<FarmItem> items = inventoryDAO.getAllRecords();
+        // WHAT: Count records on a background thread
+        // WHY: Database calls on the EDT freeze the window
+        // HOW: BackgroundTasks.run() executes countRecords(), success callback runs on the EDT
+        long requested = System.nanoTime();
+        BackgroundTasks.run(inventoryDAO::countRecords, count -> {
+            FlightEvents.TableReload event = new FlightEvents.TableReload();
+            event.loadMillis = (System.nanoTime() - requested) / 1_000_000;
+            event.begin();
             
-            // WHAT: Clear all existing rows from table
-            // WHY: Prevents duplicate rows when refreshing
-            // HOW: setRowCount(0) removes all rows from table model
-            tableModel.setRowCount(0);
+            // WHAT: Set new row count and drop cached row blocks
+            // WHY: Table shows current data after add/edit/delete without copying every record
+            // HOW: reset() clears the cache; rows are fetched in blocks when the table paints them
+            tableModel.reset(count);
             
-            // WHAT: Loop through each inventory item
-            // WHY: Each item must be converted to table row
-            // HOW: Enhanced for loop iterates through List<FarmItem>
-            for (FarmItem item : items) {
-                // WHAT: Extract status if item is HarvestLot, empty string otherwise
-                // WHY: Only HarvestLot has status field, other types don't
-                // HOW: instanceof operator checks type, casts to HarvestLot if true
-                String status = item instanceof HarvestLot ? ((HarvestLot) item).getStatus() : "";
-                
-                // WHAT: Extract price if item is HarvestLot, empty string otherwise
-                // WHY: Only HarvestLot has price field, other types don't
-                // HOW: instanceof operator checks type, casts to HarvestLot if true
-                String priceDisplay = "";
-                if (item instanceof HarvestLot) {
-                    Double price = ((HarvestLot) item).getPricePerUnit();
-                    if (price != null && price > 0) {
-                        priceDisplay = String.format("₱%.2f", price);
-                    } else {
-                        priceDisplay = "Not set";
-                    }
-                }
-                
-                // WHAT: Create array representing one table row
-                // WHY: Table model requires Object[] for each row
-                // HOW: Array with values matching column order
-                Object[] row = {
-                    item.getId(), // Column 0: ID
-                    item.getName(), // Column 1: Name
-                    String.format("%.2f", item.getQuantity()), // Column 2: Quantity (formatted to 2 decimals)
-                    item.getUnit(), // Column 3: Unit
-                    priceDisplay, // Column 4: Price (formatted currency or "Not set")
-                    item.getItemType(), // Column 5: Type (HARVEST or EQUIPMENT)
-                    item.getDateAdded().toString(), // Column 6: Date (formatted as string)
-                    status, // Column 7: Status (empty for non-HarvestLot items)
-                    item.getNotes() != null ? item.getNotes() : "" // Column 8: Notes (empty string if null)
-                };
-                
-                // WHAT: Add row to table model
-                // WHY: Row must be added to model to appear in table
-                // HOW: addRow() method adds Object[] to table model
-                tableModel.addRow(row);
-            }
-        } catch (Exception ex) {
+            // WHAT: Re-apply active search (if any)
+            // WHY: Search results must reflect the changed data too
+            // HOW: rerun() searches again even though the text did not change
+            searchController.rerun();
+            
+            event.table = "RecordsWindow";
+            event.rows = count;
+            event.commit();
+        }, ex -> {
             // WHAT: Handle database errors
             // WHY: Database operations can fail (connection issues, SQL errors)
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message dialog
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error message
             JOptionPane.showMessageDialog(this, "Error loading records: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-    
-    /**
-     * keyTyped() - Called when key is typed in search field
-     * WHAT: Part of KeyListener interface - called when character is typed
-     * WHY: Triggers live search as user types
-     * HOW: Calls performSearch() method to filter table
-     * @param e KeyEvent containing information about the key typed
-     */
-    @Override
-    public void keyTyped(KeyEvent e) {
-        // WHAT: Call search method to filter table
-        // WHY: Live search should update as user types
-        // HOW: performSearch() applies filter to table sorter
-        performSearch();
-    }
-    
-    /**
-     * keyPressed() - Called when key is pressed in search field
-     * WHAT: Part of KeyListener interface - called when key is pressed down
-     * WHY: Triggers live search for all key events
-     * HOW: Calls performSearch() method to filter table
-     * @param e KeyEvent containing information about the key pressed
-     */
-    @Override
-    public void keyPressed(KeyEvent e) {
-        // WHAT: Call search method to filter table
-        // WHY: Live search should update on any key event
-        // HOW: performSearch() applies filter to table sorter
-        performSearch();
-    }
-    
-    /**
-     * keyReleased() - Called when key is released in search field
-     * WHAT: Part of KeyListener interface - called when key is released
-     * WHY: Triggers live search for all key events
-     * HOW: Calls performSearch() method to filter table
-     * @param e KeyEvent containing information about the key released
-     */
-    @Override
-    public void keyReleased(KeyEvent e) {
-        // WHAT: Call search method to filter table
-        // WHY: Live search should update on any key event
-        // HOW: performSearch() applies filter to table sorter
-        performSearch();
+        });
     }
     
     /**
      * performSearch() - Filters table rows based on search text
-     * WHAT: Gets search text, creates RowFilter, applies to table sorter
+     * WHAT: Queries matching records and shows them in the table
      * WHY: Provides live search functionality - filters table as user types
-     * HOW: Uses RowFilter.regexFilter() with case-insensitive pattern matching
+     * HOW: Called by searchController once typing pauses; uses inventoryDAO.fullTextSearch()
+     *      (ranked, prefix-matching index over name, notes, type and status; partial words such as "orn"
+     *      also match inside values, like the old row filter) instead of filtering every loaded row
+     * @param searchText Trimmed search field text
      */
-    private void performSearch() {
-        // WHAT: Get search text from search field and remove whitespace
-        // WHY: trim() prevents errors from accidental spaces
-        // HOW: getText() gets field value, trim() removes whitespace
-        String searchText = searchField.getText().trim();
+    private void performSearch(String searchText) {
+        appliedSearchText = searchText;
         
         // WHAT: Check if search field is empty
         // WHY: Empty search should show all records
         // HOW: length() gets string length, == 0 checks if empty
         if (searchText.length() == 0) {
-            // WHAT: Remove filter to show all rows
+            // WHAT: Switch back to lazily loaded full listing
             // WHY: Empty search means show everything
-            // HOW: setRowFilter(null) removes current filter
-            sorter.setRowFilter(null);
+            // HOW: showAll() leaves search mode
+            tableModel.showAll();
+            searchStatusLabel.setText(" ");
         } else {
-            // WHAT: Create regex filter for case-insensitive search
-            // WHY: Search should match regardless of case (uppercase/lowercase)
-            // HOW: RowFilter.regexFilter() creates filter, (?i) makes it case-insensitive
-            // Search in columns: 1 (Name), 4 (Type), 7 (Notes)
-            RowFilter<DefaultTableModel, Object> rf = RowFilter.regexFilter("(?i)" + searchText, 1, 4, 7);
-            
-            // WHAT: Apply filter to table sorter
-            // WHY: Filter must be applied to actually filter rows
-            // HOW: setRowFilter() applies filter to sorter
-            sorter.setRowFilter(rf);
+            // WHAT: Query matching records from the database
+            // WHY: Only matching rows are loaded, not the whole table
+            // HOW: fullTextSearch() runs on a background thread; results are dropped if the text changed meanwhile
+            long start = System.nanoTime();
+            BackgroundTasks.run(() -> inventoryDAO.fullTextSearch(searchText, SEARCH_RESULT_LIMIT), items -> {
+                if (searchText.equals(appliedSearchText)) {
+                    tableModel.showSearchResults(items);
+                    searchStatusLabel.setText(String.format(java.util.Locale.ROOT, "%,d matches (%.1f ms)",
+                        items.size(), (System.nanoTime() - start) / 1e6));
+                }
+            }, ex -> System.err.println("Error searching records: " + ex.getMessage()));
         }
     }
     
@@ -1025,12 +1018,11 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         else if (e.getSource() == importButton) {
             // WHAT: Call static method to import CSV file
             // WHY: Import functionality is in FileImporter utility class
-            // HOW: importFromCSV() opens file chooser and imports data
-            FileImporter.importFromCSV(this);
+            // HOW: importFromCSV() opens file chooser and imports data in the background
             // WHAT: Reload records after import
             // WHY: Imported records should appear in table
-            // HOW: loadRecords() refreshes table data
-            loadRecords(); // Refresh after import
+            // HOW: loadRecords() is passed as completion callback, runs once the import finished
+            FileImporter.importFromCSV(this, this::loadRecords); // Refresh after import
         } 
         // WHAT: Check if back button was clicked
         // WHY: Need to close window
@@ -1093,25 +1085,24 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             return; // Exit method early
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Convert view row index to model row index
-            // WHY: Table may be filtered/sorted, need actual model row index
-            // HOW: convertRowIndexToModel() converts view index to model index
-            int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-            
-            // WHAT: Get item ID from table model (column 0)
-            // WHY: Need ID to retrieve full item from database
-            // HOW: getValueAt() gets cell value, cast to Integer
-            int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
-            
-            // WHAT: Retrieve full item object from database
-            // WHY: Need full item to update status
-            // HOW: getRecordById() queries database and returns FarmItem
-            FarmItem item = inventoryDAO.getRecordById(itemId);
-            
+        // WHAT: Convert view row index to model row index
+        // WHY: Table may be filtered/sorted, need actual model row index
+        // HOW: convertRowIndexToModel() converts view index to model index
+        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+        
+        // WHAT: Get item ID from table model (column 0)
+        // WHY: Need ID to retrieve full item from database
+        // HOW: getItemIdAt() returns -1 while the row's block is still loading
+        int itemId = tableModel.getItemIdAt(modelRow);
+        if (itemId == -1) {
+            showRowNotLoaded();
+            return;
+        }
+        
+        // WHAT: Retrieve full item object from database
+        // WHY: Need full item to update status
+        // HOW: getRecordById() runs on a background thread, the rest of the workflow continues on the EDT
+        BackgroundTasks.run(() -> inventoryService.getRecordById(itemId), item -> {
             // WHAT: Check if item exists and is HarvestLot type
             // WHY: Only HarvestLot items have status field
             // HOW: != null checks existence, instanceof checks type
@@ -1154,34 +1145,37 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                     // HOW: setStatus() updates HarvestLot status field
                     harvestLot.setStatus("Interested");
                     
-                    // WHAT: Save updated item to database
+                    // WHAT: Save updated item to database (on a background thread)
                     // WHY: Status change must be persisted
-                    // HOW: updateRecord() executes UPDATE SQL statement
-                    inventoryDAO.updateRecord(harvestLot);
+                    // HOW: updateRecord() executes UPDATE SQL statement, success message and reload run on the EDT
+                    BackgroundTasks.run(() -> {
+                        inventoryService.updateRecord(harvestLot);
+                        return null;
+                    }, ignored -> {
+                        // WHAT: Show success message
+                        // WHY: User needs confirmation that action succeeded
+                        // HOW: showMessageDialog() displays success message
+                        JOptionPane.showMessageDialog(this, 
+                            "Product marked as interested!\nThe seller will be notified.", // Message text
+                            "Success", // Dialog title
+                            JOptionPane.INFORMATION_MESSAGE); // Information icon
                     
-                    // WHAT: Show success message
-                    // WHY: User needs confirmation that action succeeded
-                    // HOW: showMessageDialog() displays success message
-                    JOptionPane.showMessageDialog(this, 
-                        "Product marked as interested!\nThe seller will be notified.", // Message text
-                        "Success", // Dialog title
-                        JOptionPane.INFORMATION_MESSAGE); // Information icon
-                    
-                    // WHAT: Reload records to show updated status
-                    // WHY: Table should reflect status change
-                    // HOW: loadRecords() refreshes table data
-                    loadRecords();
+                        // WHAT: Reload records to show updated status
+                        // WHY: Table should reflect status change
+                        // HOW: loadRecords() refreshes table data
+                        loadRecords();
+                    }, ex -> JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
                 }
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle exceptions
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     /**
@@ -1207,25 +1201,24 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             return; // Exit method early
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Convert view row index to model row index
-            // WHY: Table may be filtered/sorted
-            // HOW: convertRowIndexToModel() converts view index to model index
-            int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-            
-            // WHAT: Get item ID from table model
-            // WHY: Need ID to retrieve full item
-            // HOW: getValueAt() gets cell value, cast to Integer
-            int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
-            
-            // WHAT: Retrieve full item object from database
-            // WHY: Need full item to pass to PurchaseDialog
-            // HOW: getRecordById() queries database
-            FarmItem item = inventoryDAO.getRecordById(itemId);
-            
+        // WHAT: Convert view row index to model row index
+        // WHY: Table may be filtered/sorted
+        // HOW: convertRowIndexToModel() converts view index to model index
+        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+        
+        // WHAT: Get item ID from table model (column 0)
+        // WHY: Need ID to retrieve full item
+        // HOW: getItemIdAt() returns -1 while the row's block is still loading
+        int itemId = tableModel.getItemIdAt(modelRow);
+        if (itemId == -1) {
+            showRowNotLoaded();
+            return;
+        }
+        
+        // WHAT: Retrieve full item object from database
+        // WHY: Need full item to pass to PurchaseDialog
+        // HOW: getRecordById() runs on a background thread, the rest of the workflow continues on the EDT
+        BackgroundTasks.run(() -> inventoryService.getRecordById(itemId), item -> {
             // WHAT: Check if item exists and is HarvestLot type
             // WHY: Only HarvestLot items can be purchased
             // HOW: != null and instanceof checks
@@ -1277,15 +1270,15 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                 // HOW: showMessageDialog() displays error
                 JOptionPane.showMessageDialog(this, "Only harvest items can be purchased", "Invalid Item", JOptionPane.WARNING_MESSAGE);
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle exceptions
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     /**
@@ -1311,25 +1304,24 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             return; // Exit method early
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Convert view row index to model row index
-            // WHY: Table may be filtered/sorted
-            // HOW: convertRowIndexToModel() converts view index to model index
-            int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-            
-            // WHAT: Get item ID from table model
-            // WHY: Need ID to retrieve full item
-            // HOW: getValueAt() gets cell value, cast to Integer
-            int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
-            
-            // WHAT: Retrieve full item object from database
-            // WHY: Need full item to update status
-            // HOW: getRecordById() queries database
-            FarmItem item = inventoryDAO.getRecordById(itemId);
-            
+        // WHAT: Convert view row index to model row index
+        // WHY: Table may be filtered/sorted
+        // HOW: convertRowIndexToModel() converts view index to model index
+        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+        
+        // WHAT: Get item ID from table model (column 0)
+        // WHY: Need ID to retrieve full item
+        // HOW: getItemIdAt() returns -1 while the row's block is still loading
+        int itemId = tableModel.getItemIdAt(modelRow);
+        if (itemId == -1) {
+            showRowNotLoaded();
+            return;
+        }
+        
+        // WHAT: Retrieve full item object from database
+        // WHY: Need full item to update status
+        // HOW: getRecordById() runs on a background thread, the rest of the workflow continues on the EDT
+        BackgroundTasks.run(() -> inventoryService.getRecordById(itemId), item -> {
             // WHAT: Check if item exists and is HarvestLot type
             // WHY: Only HarvestLot items have status field
             // HOW: != null and instanceof checks
@@ -1373,34 +1365,37 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                     // HOW: setStatus() updates HarvestLot status field
                     harvestLot.setStatus("Sold Out");
                     
-                    // WHAT: Save updated item to database
+                    // WHAT: Save updated item to database (on a background thread)
                     // WHY: Status change must be persisted
-                    // HOW: updateRecord() executes UPDATE SQL statement
-                    inventoryDAO.updateRecord(harvestLot);
-                    
-                    // WHAT: Show success message
-                    // WHY: Admin needs confirmation that status was updated
-                    // HOW: showMessageDialog() displays success message
-                    JOptionPane.showMessageDialog(this, 
-                        "Product marked as SOLD OUT successfully!", // Message text
-                        "Status Updated", // Dialog title
-                        JOptionPane.INFORMATION_MESSAGE); // Information icon
+                    // HOW: updateRecord() executes UPDATE SQL statement, success message and reload run on the EDT
+                    BackgroundTasks.run(() -> {
+                        inventoryService.updateRecord(harvestLot);
+                        return null;
+                    }, ignored -> {
+                        // WHAT: Show success message
+                        // WHY: Admin needs confirmation that status was updated
+                        // HOW: showMessageDialog() displays success message
+                        JOptionPane.showMessageDialog(this, 
+                            "Product marked as SOLD OUT successfully!", // Message text
+                            "Status Updated", // Dialog title
+                            JOptionPane.INFORMATION_MESSAGE); // Information icon
                     
-                    // WHAT: Reload records to show updated status
-                    // WHY: Table should reflect status change
-                    // HOW: loadRecords() refreshes table data
-                    loadRecords();
+                        // WHAT: Reload records to show updated status
+                        // WHY: Table should reflect status change
+                        // HOW: loadRecords() refreshes table data
+                        loadRecords();
+                    }, ex -> JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
                 }
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle exceptions
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     /**
@@ -1426,25 +1421,24 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             return; // Exit method early
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Convert view row index to model row index
-            // WHY: Table may be filtered/sorted
-            // HOW: convertRowIndexToModel() converts view index to model index
-            int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-            
-            // WHAT: Get item ID from table model (column 0)
-            // WHY: Need ID to retrieve full item from database
-            // HOW: getValueAt() gets cell value, cast to Integer
-            int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
-            
-            // WHAT: Retrieve full item object from database
-            // WHY: Need full item to populate edit form
-            // HOW: getRecordById() queries database and returns FarmItem
-            FarmItem item = inventoryDAO.getRecordById(itemId);
-            
+        // WHAT: Convert view row index to model row index
+        // WHY: Table may be filtered/sorted
+        // HOW: convertRowIndexToModel() converts view index to model index
+        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+        
+        // WHAT: Get item ID from table model (column 0)
+        // WHY: Need ID to retrieve full item from database
+        // HOW: getItemIdAt() returns -1 while the row's block is still loading
+        int itemId = tableModel.getItemIdAt(modelRow);
+        if (itemId == -1) {
+            showRowNotLoaded();
+            return;
+        }
+        
+        // WHAT: Retrieve full item object from database
+        // WHY: Need full item to populate edit form
+        // HOW: getRecordById() runs on a background thread, the rest of the workflow continues on the EDT
+        BackgroundTasks.run(() -> inventoryService.getRecordById(itemId), item -> {
             // WHAT: Check if item was found
             // WHY: Item may not exist (deleted by another user)
             // HOW: != null checks if item exists
@@ -1459,15 +1453,15 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                 // HOW: loadRecords() refreshes table data
                 loadRecords();
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle exceptions
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error
             JOptionPane.showMessageDialog(this, "Error loading record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     /**
@@ -1493,6 +1487,20 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
             return; // Exit method early
         }
         
+        // WHAT: Convert view row index to model row index
+        // WHY: Table may be filtered/sorted
+        // HOW: convertRowIndexToModel() converts view index to model index
+        int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
+        
+        // WHAT: Get item ID from table model (column 0) before asking for confirmation
+        // WHY: Need ID to delete record from database; the row's block may be reloaded while the dialog is open
+        // HOW: getItemIdAt() returns -1 while the row's block is still loading
+        int itemId = tableModel.getItemIdAt(modelRow);
+        if (itemId == -1) {
+            showRowNotLoaded();
+            return;
+        }
+        
         // WHAT: Show delete confirmation dialog
         // WHY: Prevents accidental deletion
         // HOW: showConfirmDialog() displays Yes/No dialog
@@ -1505,25 +1513,13 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
         // WHY: Only delete if user confirms
         // HOW: YES_OPTION constant returned when Yes clicked
         if (confirm == JOptionPane.YES_OPTION) {
-            // WHAT: Try block to handle database exceptions
-            // WHY: Database operations can fail
-            // HOW: try-catch block wraps database code
-            try {
-                // WHAT: Convert view row index to model row index
-                // WHY: Table may be filtered/sorted
-                // HOW: convertRowIndexToModel() converts view index to model index
-                int modelRow = recordsTable.convertRowIndexToModel(selectedRow);
-                
-                // WHAT: Get item ID from table model (column 0)
-                // WHY: Need ID to delete record from database
-                // HOW: getValueAt() gets cell value, cast to Integer
-                int itemId = (Integer) tableModel.getValueAt(modelRow, 0);
-                
-                // WHAT: Delete record from database
-                // WHY: Remove unwanted record
-                // HOW: deleteRecord() executes DELETE SQL statement
-                inventoryDAO.deleteRecord(itemId);
-                
+            // WHAT: Delete record from database on a background thread
+            // WHY: Remove unwanted record without freezing the EDT
+            // HOW: deleteRecord() executes DELETE SQL statement off the EDT, callbacks run on the EDT
+            BackgroundTasks.run(() -> {
+                inventoryService.deleteRecord(itemId);
+                return null;
+            }, ignored -> {
                 // WHAT: Show success message
                 // WHY: User needs confirmation that record was deleted
                 // HOW: showMessageDialog() displays success message
@@ -1533,15 +1529,15 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                 // WHY: Table should reflect deletion
                 // HOW: loadRecords() refreshes table data
                 loadRecords();
-            } catch (Exception ex) {
+            }, ex -> {
                 // WHAT: Handle exceptions
                 // WHY: Database errors must be shown to user
-                // HOW: catch block executes when exception occurs
+                // HOW: onError callback runs on the EDT when the background task throws
                 // WHAT: Show error message
                 // WHY: User needs to know what went wrong
                 // HOW: showMessageDialog() displays error
                 JOptionPane.showMessageDialog(this, "Error deleting record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }
     
@@ -1549,22 +1545,17 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
      * exportToCSV() - Exports all records to CSV file
      * WHAT: Gets all records, opens file chooser, exports to selected CSV file
      * WHY: Allows users to backup data or use in spreadsheet programs
-     * HOW: Queries database, opens file chooser, calls CSVExporter.exportToCSV()
+     * HOW: Counts records, opens file chooser, streams rows to the file with InventoryDAO.exportAllToCSV()
      */
     public void exportToCSV() {
-        // WHAT: Try block to handle file I/O and database exceptions
-        // WHY: File operations and database operations can fail
-        // HOW: try-catch block wraps all operations
-        try {
-            // WHAT: Get all inventory records from database
-            // WHY: Need all records to export
-            // HOW: getAllRecords() queries database, returns List<FarmItem>
-            List<FarmItem> items = inventoryDAO.getAllRecords();
-            
+        // WHAT: Check whether there is anything to export
+        // WHY: Records are streamed from the database during the export, only the count is needed up front
+        // HOW: countRecords() runs off the EDT, rest of the workflow runs on the EDT
+        BackgroundTasks.run(() -> inventoryDAO.countRecords(), count -> {
             // WHAT: Check if there are any records to export
-            // WHY: Cannot export empty list
-            // HOW: isEmpty() checks if list has no elements
-            if (items.isEmpty()) {
+            // WHY: Cannot export empty table
+            // HOW: Compare count with zero
+            if (count == 0) {
                 // WHAT: Show information message
                 // WHY: User needs feedback that there's nothing to export
                 // HOW: showMessageDialog() displays information
@@ -1602,7 +1593,7 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                 File fileToSave = fileChooser.getSelectedFile();
                 
                 // WHAT: Get absolute file path as string
-                // WHY: CSVExporter needs file path string
+                // WHY: Export needs file path string
                 // HOW: getAbsolutePath() returns full file path
                 String filePath = fileToSave.getAbsolutePath();
                 
@@ -1616,25 +1607,26 @@ public class RecordsWindow extends JFrame implements ActionListener, KeyListener
                     filePath += ".csv";
                 }
                 
-                // WHAT: Export records to CSV file
-                // WHY: Save data to file for backup or external use
-                // HOW: exportToCSV() writes all items to CSV file using polymorphic toCSVString()
-                CSVExporter.exportToCSV(filePath, items);
-                
-                // WHAT: Show success message with file path
-                // WHY: User needs confirmation that export succeeded
-                // HOW: showMessageDialog() displays success message
-                JOptionPane.showMessageDialog(this, "Data exported successfully to:\n" + filePath, "Success", JOptionPane.INFORMATION_MESSAGE);
+                // WHAT: Export records to CSV file on a background thread
+                // WHY: Save data to file for backup or external use without freezing the EDT
+                // HOW: exportAllToCSV() streams rows from the database into the file (constant memory)
+                String exportPath = filePath;
+                BackgroundTasks.run(() -> inventoryDAO.exportAllToCSV(exportPath), rows -> {
+                    // WHAT: Show success message with file path
+                    // WHY: User needs confirmation that export succeeded
+                    // HOW: showMessageDialog() displays success message
+                    JOptionPane.showMessageDialog(this, "Data exported successfully to:\n" + exportPath, "Success", JOptionPane.INFORMATION_MESSAGE);
+                }, ex -> JOptionPane.showMessageDialog(this, "Error exporting to CSV: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
             }
             // If user cancelled file chooser, no action needed (silently return)
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle exceptions
             // WHY: File I/O or database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message
             // WHY: User needs to know what went wrong
             // HOW: showMessageDialog() displays error
             JOptionPane.showMessageDialog(this, "Error exporting to CSV: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
@@ -9,6 +9,7 @@ import java.awt.event.WindowEvent; // Import: WindowEvent for window state chang
 import javax.swing.*; // Import: Swing components (JDialog, JPanel, JButton, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
 import model.User; // Import: User model class
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
 
 /**
  * RegistrationForm - Dialog for Creating New User Accounts
@@ -549,20 +550,10 @@ public class RegistrationForm extends JDialog implements ActionListener {
             return;
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail (e.g., username already exists)
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Create UserDAO object for database operations
-            // WHY: UserDAO handles user registration in database
-            // HOW: new UserDAO() creates instance
-            UserDAO userDAO = new UserDAO();
-            
-            // WHAT: Attempt to create new user account in database
-            // WHY: Registers new user so they can log in later
-            // HOW: signUp() inserts user record, returns User object if successful, throws exception if username exists
-            User newUser = userDAO.signUp(username, password, name, role);
-            
+        // WHAT: Create new user account in database on a background thread
+        // WHY: Registers new user so they can log in later, without freezing the EDT
+        // HOW: BackgroundTasks.run() executes signUp() off the EDT (throws if username exists), callbacks run on the EDT
+        BackgroundTasks.run(() -> new UserDAO().signUp(username, password, name, role), newUser -> {
             // WHAT: Check if registration was successful (user object not null)
             // WHY: null means registration failed (shouldn't happen if no exception)
             // HOW: != null checks if object exists
@@ -590,16 +581,16 @@ public class RegistrationForm extends JDialog implements ActionListener {
                 // HOW: clearFields() resets all fields
                 clearFields();
             }
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle registration exceptions (e.g., username already exists)
             // WHY: Database errors must be shown to user
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Display error message with exception details
             // WHY: User needs to know why registration failed
             // HOW: getMessage() gets exception description
             statusLabel.setText("Error: " + ex.getMessage());
             statusLabel.setForeground(new Color(200, 0, 0));
-        }
+        });
     }
     
     /**
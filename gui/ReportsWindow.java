@@ -1,17 +1,16 @@
 package gui; // Package declaration: Groups this class with other GUI classes
 
-import dao.InventoryDAO; // Import: InventoryDAO for database operations
+import dao.InventoryReportDAO; // Import: InventoryReportDAO for aggregated statistics
 import java.awt.*; // Import: AWT classes for layout managers, colors, fonts, dimensions
 import java.awt.event.ActionEvent; // Import: ActionEvent for button click events
 import java.awt.event.ActionListener; // Import: ActionListener interface for event handling
 import java.awt.event.WindowAdapter; // Import: WindowAdapter for window close events
 import java.awt.event.WindowEvent; // Import: WindowEvent for window state changes
-import java.util.List; // Import: List interface for collections
 import javax.swing.*; // Import: Swing components (JFrame, JPanel, JButton, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
-import model.FarmItem; // Import: FarmItem base class
-import model.HarvestLot; // Import: HarvestLot class for status operations
 import model.User; // Import: User model class
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * ReportsWindow - Reports and Statistics Window
@@ -27,10 +26,10 @@ public class ReportsWindow extends JFrame implements ActionListener {
     // HOW: Stored as instance variable, passed from constructor
     private final User currentUser;
     
-    // WHAT: InventoryDAO object for database operations
-    // WHY: Need to query database for statistics
-    // HOW: Created once in constructor, used throughout class
-    private final InventoryDAO inventoryDAO;
+    // WHAT: Report DAO for aggregated statistics
+    // WHY: Statistics are counts and totals; computing them in SQL avoids loading every record
+    // HOW: InventoryReportDAO.getSummary() reads the precomputed INVENTORY_STATS rows
+    private final InventoryReportDAO reportDAO;
     
     // WHAT: Button to refresh statistics
     // WHY: Users need to update statistics after data changes
@@ -52,18 +51,17 @@ public class ReportsWindow extends JFrame implements ActionListener {
      * WHAT: Initializes components, sets up layout, loads statistics, configures window
      * WHY: Called to display inventory reports and statistics
      * HOW: Calls helper methods to set up GUI, loads data, then displays window
-     * @param user Currently logged-in user object
      */
-    public ReportsWindow(User user) {
-        // WHAT: Store user object
-        // WHY: Needed for displaying user info
-        // HOW: this.currentUser = user assigns parameter
-        this.currentUser = user;
+    public ReportsWindow() {
+        // WHAT: Read the logged-in user from the session
+        // WHY: Needed for displaying user info and role-based features; every screen shares the session User
+        // HOW: UserSession.requireUser() fails fast if the screen is opened without a login
+        this.currentUser = UserSession.requireUser();
         
-        // WHAT: Create InventoryDAO instance
-        // WHY: Need DAO to query database for statistics
-        // HOW: new InventoryDAO() creates instance
-        this.inventoryDAO = new InventoryDAO();
+        // WHAT: Create report DAO
+        // WHY: Need aggregated inventory statistics
+        // HOW: new InventoryReportDAO() uses the application database
+        this.reportDAO = new InventoryReportDAO();
         
         // WHAT: Initialize all GUI components
         // WHY: Components must be created before adding to layout
@@ -292,18 +290,13 @@ public class ReportsWindow extends JFrame implements ActionListener {
      * loadStatistics() - Loads and displays inventory statistics
      * WHAT: Queries database, calculates statistics, displays in formatted labels
      * WHY: Window needs to show current statistics
-     * HOW: Gets all records, calculates counts and totals, creates formatted labels
+     * HOW: Queries aggregated counts and totals (InventoryReportDAO), creates formatted labels
      */
     private void loadStatistics() {
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Get all inventory records from database
-            // WHY: Need all records to calculate statistics
-            // HOW: getAllRecords() queries database, returns List<FarmItem>
-            List<FarmItem> items = inventoryDAO.getAllRecords();
-            
+        // WHAT: Get aggregated statistics from the database on a background thread
+        // WHY: Only totals are displayed; query must not freeze the EDT
+        // HOW: InventoryReportDAO reads precomputed totals (INVENTORY_STATS), labels are built on the EDT
+        BackgroundTasks.run(reportDAO::getSummary, summary -> {
             // WHAT: Clear existing statistics
             // WHY: Prevents duplicate labels when refreshing
             // HOW: removeAll() removes all components from panel
@@ -318,39 +311,16 @@ public class ReportsWindow extends JFrame implements ActionListener {
             gbc.gridx = 0;
             int row = 0;
             
-            // WHAT: Calculate total number of items
-            // WHY: Basic statistic users want to see
-            // HOW: size() returns number of elements in list
-            int totalItems = items.size();
-            
-            // WHAT: Count harvest items
-            // WHY: Users want to know how many harvests vs equipment
-            // HOW: Loop through items, check getItemType() equals "HARVEST"
-            int harvestCount = 0;
-            int equipmentCount = 0;
-            double totalQuantity = 0.0;
-            int availableCount = 0;
-            int interestedCount = 0;
-            int soldOutCount = 0;
-            
-            for (FarmItem item : items) {
-                if ("HARVEST".equals(item.getItemType())) {
-                    harvestCount++;
-                    if (item instanceof HarvestLot) {
-                        String status = ((HarvestLot) item).getStatus();
-                        if ("Available".equals(status)) {
-                            availableCount++;
-                        } else if ("Interested".equals(status)) {
-                            interestedCount++;
-                        } else if ("Sold Out".equals(status)) {
-                            soldOutCount++;
-                        }
-                    }
-                } else if ("EQUIPMENT".equals(item.getItemType())) {
-                    equipmentCount++;
-                }
-                totalQuantity += item.getQuantity();
-            }
+            // WHAT: Read counts and totals from the summary
+            // WHY: The database already grouped items by type and status
+            // HOW: InventorySummary getters
+            int totalItems = summary.getTotalItems();
+            int harvestCount = summary.getHarvestCount();
+            int equipmentCount = summary.getEquipmentCount();
+            double totalQuantity = summary.getTotalQuantity();
+            int availableCount = summary.getAvailableCount();
+            int interestedCount = summary.getInterestedCount();
+            int soldOutCount = summary.getSoldOutCount();
             
             // WHAT: Add statistics labels to panel
             // WHY: Display calculated statistics to user
@@ -397,12 +367,12 @@ public class ReportsWindow extends JFrame implements ActionListener {
             statisticsPanel.revalidate();
             statisticsPanel.repaint();
             
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle database errors
             // WHY: Database operations can fail
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             JOptionPane.showMessageDialog(this, "Error loading statistics: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     /**
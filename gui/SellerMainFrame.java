@@ -6,6 +6,7 @@ import java.awt.event.ActionListener; // Import: ActionListener interface for ev
 import javax.swing.*; // Import: Swing components (JFrame, JPanel, JButton, etc.)
 import javax.swing.border.EmptyBorder; // Import: EmptyBorder for padding/margins
 import model.User; // Import: User model class
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * SellerMainFrame - Seller-Specific Dashboard Window
@@ -46,13 +47,12 @@ public class SellerMainFrame extends JFrame implements ActionListener {
      * WHAT: Initializes components, sets up layout, configures window properties
      * WHY: Called after seller login to show seller dashboard
      * HOW: Calls helper methods to set up GUI, then displays window
-     * @param user Authenticated User object with SELLER role
      */
-    public SellerMainFrame(User user) {
-        // WHAT: Store user object in instance variable
-        // WHY: Needed for displaying user info and passing to other windows
-        // HOW: this.currentUser = user assigns parameter to instance field
-        this.currentUser = user;
+    public SellerMainFrame() {
+        // WHAT: Read the logged-in user from the session
+        // WHY: Needed for displaying user info and role-based features; every screen shares the session User
+        // HOW: UserSession.requireUser() fails fast if the screen is opened without a login
+        this.currentUser = UserSession.requireUser();
         
         // WHAT: Initialize all GUI components
         // WHY: Components must be created before adding to layout
@@ -323,7 +323,7 @@ public class SellerMainFrame extends JFrame implements ActionListener {
             // WHAT: Open records management window
             // WHY: Seller wants to view their harvest records
             // HOW: new RecordsWindow() creates and displays window
-            new RecordsWindow(currentUser);
+            new RecordsWindow();
         }
         // WHAT: Check if profile button was clicked
         // WHY: Need to open profile dialog
@@ -332,7 +332,7 @@ public class SellerMainFrame extends JFrame implements ActionListener {
             // WHAT: Open user profile dialog
             // WHY: Seller wants to set location information
             // HOW: new UserProfileDialog() creates and displays dialog
-            new UserProfileDialog(this, currentUser);
+            new UserProfileDialog(this);
         }
         // WHAT: Check if logout button was clicked
         // WHY: Need to logout seller
@@ -350,6 +350,11 @@ public class SellerMainFrame extends JFrame implements ActionListener {
             // WHY: Only logout if user confirms
             // HOW: YES_OPTION constant returned when Yes clicked
             if (confirm == JOptionPane.YES_OPTION) {
+                // WHAT: End the user session
+                // WHY: Nobody is logged in until the next login
+                // HOW: UserSession.end() clears the shared session
+                UserSession.end();
+                
                 // WHAT: Close seller window
                 // WHY: User is logging out
                 // HOW: dispose() closes and destroys window
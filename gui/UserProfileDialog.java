@@ -9,6 +9,8 @@ import javax.swing.border.CompoundBorder; // Import: EmptyBorder for padding/mar
 import javax.swing.border.EmptyBorder; // Import: CompoundBorder for layered borders
 import javax.swing.border.LineBorder; // Import: LineBorder for solid borders
 import model.User; // Import: User model class
+import util.BackgroundTasks; // Import: BackgroundTasks for running database calls off the EDT
+import util.UserSession; // Import: UserSession for the logged-in user
 
 /**
  * UserProfileDialog - Professional User Profile Management Dialog
@@ -55,18 +57,17 @@ public class UserProfileDialog extends JDialog implements ActionListener {
      * WHY: Called when user wants to set or update their location
      * HOW: Sets up GUI components, populates existing location, displays dialog
      * @param parent Parent JFrame window
-     * @param user Currently logged-in user
      */
-    public UserProfileDialog(JFrame parent, User user) {
+    public UserProfileDialog(JFrame parent) {
         // WHAT: Call parent JDialog constructor with modal flag
         // WHY: Modal dialog blocks parent window until closed
         // HOW: super(parent, true) creates modal dialog
         super(parent, true);
         
-        // WHAT: Store user and parent objects
-        // WHY: Needed throughout the dialog
-        // HOW: Assign parameters to instance fields
-        this.currentUser = user;
+        // WHAT: Store the session user and the parent window
+        // WHY: Needed throughout the dialog; the location is saved on the User every screen shares
+        // HOW: UserSession.requireUser() for the user, parameter for the parent
+        this.currentUser = UserSession.requireUser();
         this.parentFrame = parent;
         
         // WHAT: Initialize all GUI components
@@ -381,20 +382,13 @@ public class UserProfileDialog extends JDialog implements ActionListener {
             return; // Exit method early
         }
         
-        // WHAT: Try block to handle database exceptions
-        // WHY: Database operations can fail
-        // HOW: try-catch block wraps database code
-        try {
-            // WHAT: Create UserDAO object for database operations
-            // WHY: UserDAO handles user location updates
-            // HOW: new UserDAO() creates instance
-            UserDAO userDAO = new UserDAO();
-            
-            // WHAT: Update user location in database
-            // WHY: Save location information
-            // HOW: updateUserLocation() executes UPDATE SQL statement
-            userDAO.updateUserLocation(currentUser.getId(), location);
-            
+        // WHAT: Update user location in database on a background thread
+        // WHY: Save location information without freezing the EDT
+        // HOW: BackgroundTasks.run() executes updateUserLocation() (UPDATE SQL statement) off the EDT
+        BackgroundTasks.run(() -> {
+            new UserDAO().updateUserLocation(currentUser.getId(), location);
+            return null;
+        }, ignored -> {
             // WHAT: Update current user object with new location
             // WHY: Keep user object in sync with database
             // HOW: setLocation() updates user object
@@ -410,15 +404,15 @@ public class UserProfileDialog extends JDialog implements ActionListener {
             // HOW: dispose() closes and destroys dialog
             dispose();
             
-        } catch (Exception ex) {
+        }, ex -> {
             // WHAT: Handle database errors
             // WHY: Database operations can fail
-            // HOW: catch block executes when exception occurs
+            // HOW: onError callback runs on the EDT when the background task throws
             // WHAT: Show error message dialog with exception details
             // WHY: User needs to know what went wrong
             // HOW: getMessage() gets exception description, showMessageDialog() displays it
             JOptionPane.showMessageDialog(this, "Error saving location: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
 
@@ -0,0 +1,157 @@
+package benchmark; // Package declaration: Groups performance benchmarks (run manually, not part of the application)
+
+import dao.UserDAO; // Import: UserDAO under test
+import java.sql.Connection; // Import: Connection interface for the benchmark database
+import java.sql.DriverManager; // Import: DriverManager for an isolated in-memory database
+import java.sql.PreparedStatement; // Import: PreparedStatement for setup and lookups
+import java.sql.ResultSet; // Import: ResultSet for draining lookup results
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.util.ArrayList; // Import: ArrayList for latency samples
+import java.util.Collections; // Import: Collections for sorting samples
+import java.util.List; // Import: List interface for samples
+import java.util.Random; // Import: Random for picking users
+import model.User; // Import: User returned by login
+import util.PasswordHasher; // Import: PasswordHasher with the cost under test
+import util.SchemaMigrator; // Import: SchemaMigrator to create the application schema
+
+/**
+ * LoginBenchmark - Login Latency by User Count and Hash Cost
+ * WHAT: Measures (1) the username lookup of the old UPPER(username) = UPPER(?) query against the indexed
+ *       username_lower = ?, and (2) complete UserDAO.login() calls for several PBKDF2 iteration counts, with and
+ *       without the verification cache
+ * WHY: Picks the hash cost - as high as login latency allows - and shows that the lookup is no longer a table scan
+ * HOW: Private in-memory H2 database with the application schema (SchemaMigrator) and N users. All users of a run
+ *      share one precomputed hash (hashing N passwords at full cost would take minutes); verification cost does
+ *      not depend on which user logs in.
+ *
+ * USAGE: java -cp jmh/target/benchmarks.jar benchmark.LoginBenchmark [users] [logins per cost]
+ */
+public class LoginBenchmark {
+    private static final String URL = "jdbc:h2:mem:login_bench;DB_CLOSE_DELAY=-1";
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final int[] ITERATIONS = {10_000, 100_000, 310_000, PasswordHasher.DEFAULT_ITERATIONS};
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int logins = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Class.forName("org.h2.Driver");
+        try (Connection conn = connect()) {
+            SchemaMigrator.migrate(conn);
+            createUsers(conn, users, new PasswordHasher(ITERATIONS[0], 0).hash(PASSWORD));
+        }
+
+        System.out.printf("%d users%n%n", users);
+        System.out.printf("%-34s %10s %10s%n", "Username lookup", "p50 (us)", "p99 (us)");
+        lookup("UPPER(username) = UPPER(?)", "SELECT user_id FROM \"USER\" WHERE UPPER(username) = UPPER(?)", users, false);
+        lookup("username_lower = ?", "SELECT user_id FROM \"USER\" WHERE username_lower = ?", users, true);
+
+        System.out.printf("%n%-12s %14s %14s %16s %16s%n",
+            "Iterations", "Login p50 ms", "Login p99 ms", "Cached p50 ms", "Cached p99 ms");
+        for (int iterations : ITERATIONS) {
+            login(iterations, users, logins);
+        }
+        System.out.printf("%nDefault cost: %d iterations (-Dagritrack.password.iterations)%n",
+            PasswordHasher.DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * lookup() - Times a username query for random users
+     * @param normalized true to pass the lower-cased username (username_lower), false for the display username
+     */
+    private static void lookup(String label, String sql, int users, boolean normalized) throws SQLException {
+        Random random = new Random(42);
+        List<Double> samples = new ArrayList<>();
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int rounds = Math.max(2_000, users);
+            for (int i = 0; i < rounds * 2; i++) {
+                String username = username(random.nextInt(users));
+                pstmt.setString(1, normalized ? UserDAO.normalizeUsername(username) : username);
+                long start = System.nanoTime();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("User not found: " + username);
+                    }
+                }
+                if (i >= rounds) { // First half is warm-up
+                    samples.add((System.nanoTime() - start) / 1_000.0);
+                }
+            }
+        }
+        Collections.sort(samples);
+        System.out.printf("%-34s %10.1f %10.1f%n", label, percentile(samples, 0.50), percentile(samples, 0.99));
+    }
+
+    /**
+     * login() - Times UserDAO.login() with every stored hash at the given cost
+     * HOW: First without cache (every login runs PBKDF2), then the same users again with a cache-enabled
+     *      hasher after one warm-up login each
+     */
+    private static void login(int iterations, int users, int logins) throws Exception {
+        try (Connection conn = connect();
+             PreparedStatement update = conn.prepareStatement("UPDATE \"USER\" SET password = ?")) {
+            update.setString(1, new PasswordHasher(iterations, 0).hash(PASSWORD));
+            update.executeUpdate();
+        }
+
+        Random random = new Random(7);
+        String[] picked = new String[logins];
+        for (int i = 0; i < logins; i++) {
+            picked[i] = username(random.nextInt(users)).toUpperCase(); // Case-insensitive login
+        }
+
+        List<Double> full = time(new UserDAO(LoginBenchmark::connect, new PasswordHasher(iterations, 0)), picked);
+        UserDAO cachedDAO = new UserDAO(LoginBenchmark::connect, new PasswordHasher(iterations, 60_000));
+        time(cachedDAO, picked); // Warm-up fills the cache
+        List<Double> cached = time(cachedDAO, picked);
+
+        System.out.printf("%-12d %14.1f %14.1f %16.3f %16.3f%n", iterations, percentile(full, 0.50),
+            percentile(full, 0.99), percentile(cached, 0.50), percentile(cached, 0.99));
+    }
+
+    private static List<Double> time(UserDAO userDAO, String[] usernames) throws Exception {
+        List<Double> samples = new ArrayList<>();
+        for (String username : usernames) {
+            long start = System.nanoTime();
+            User user = userDAO.login(username, PASSWORD);
+            samples.add((System.nanoTime() - start) / 1_000_000.0);
+            if (user == null) {
+                throw new IllegalStateException("Login failed: " + username);
+            }
+        }
+        Collections.sort(samples);
+        return samples;
+    }
+
+    private static void createUsers(Connection conn, int users, String hash) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO \"USER\" (username, username_lower, password, name, role) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                String username = username(i);
+                insert.setString(1, username);
+                insert.setString(2, UserDAO.normalizeUsername(username));
+                insert.setString(3, hash);
+                insert.setString(4, "Bench User " + i);
+                insert.setString(5, i % 2 == 0 ? "BUYER" : "SELLER");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    private static String username(int i) {
+        return "Farmer" + i;
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * p)));
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, "sa", "");
+    }
+}
@@ -0,0 +1,175 @@
+package benchmark; // Package declaration: Groups performance benchmarks (run manually, not part of the application)
+
+import dao.PurchaseService; // Import: PurchaseService under test
+import java.sql.Connection; // Import: Connection interface for the benchmark database
+import java.sql.DriverManager; // Import: DriverManager for an isolated in-memory database
+import java.sql.PreparedStatement; // Import: PreparedStatement for the legacy update and setup
+import java.sql.ResultSet; // Import: ResultSet for reading stock
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for RETURN_GENERATED_KEYS
+import java.util.ArrayList; // Import: ArrayList for latency samples
+import java.util.Collections; // Import: Collections for sorting samples
+import java.util.List; // Import: List interface for samples
+import java.util.concurrent.CountDownLatch; // Import: CountDownLatch to start all buyers at once
+import java.util.concurrent.ExecutorService; // Import: ExecutorService for buyer threads
+import java.util.concurrent.Executors; // Import: Executors for the buyer thread pool
+import java.util.concurrent.Future; // Import: Future for waiting on buyers
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for awaiting termination
+import java.util.concurrent.atomic.AtomicLong; // Import: AtomicLong for shared counters
+import model.PurchaseResult; // Import: PurchaseResult for purchase outcomes
+import util.SchemaMigrator; // Import: SchemaMigrator to create the application schema
+
+/**
+ * PurchaseConcurrencyBenchmark - Many Concurrent Buyers on One Harvest Lot
+ * WHAT: Lets N buyer threads buy 1 unit at a time from one lot until it is sold out, once with the old
+ *       read-modify-write (read quantity, UPDATE SET quantity = ?) and once with PurchaseService
+ * WHY: Shows the oversell of the old approach and the throughput, retries and latency of the atomic one
+ * HOW: Private in-memory H2 database with the application schema (SchemaMigrator); every buyer opens its own
+ *      connection per purchase like the GUI does. "Sold" is what buyers were told; "Decremented" is what the
+ *      stock actually lost - they must be equal and never exceed the stock.
+ *
+ * USAGE: java -cp jmh/target/benchmarks.jar benchmark.PurchaseConcurrencyBenchmark [buyers] [stock]
+ */
+public class PurchaseConcurrencyBenchmark {
+    private static final String URL = "jdbc:h2:mem:purchase_bench;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    /**
+     * Buyer - One purchase strategy
+     * @return true if the buyer was told the purchase succeeded, false if sold out
+     */
+    @FunctionalInterface
+    private interface Buyer {
+        boolean buyOne(int itemId) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int buyers = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int stock = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Class.forName("org.h2.Driver");
+        try (Connection conn = connect()) {
+            SchemaMigrator.migrate(conn);
+        }
+
+        System.out.printf("%d buyers, lot of %d units, 1 unit per purchase%n%n", buyers, stock);
+        System.out.printf("%-18s %8s %12s %10s %10s %10s %10s %9s%n",
+            "Strategy", "Sold", "Decremented", "Oversold", "Purch/s", "p50 (ms)", "p99 (ms)", "Retries");
+
+        run("Read-modify-write", buyers, stock, PurchaseConcurrencyBenchmark::legacyBuyOne, null);
+
+        PurchaseService service = new PurchaseService(PurchaseConcurrencyBenchmark::connect, 50);
+        run("PurchaseService", buyers, stock, itemId -> {
+            PurchaseResult result = service.purchase(itemId, 1, 10.0);
+            if (result.getOutcome() == PurchaseResult.Outcome.CONFLICT) {
+                throw new IllegalStateException("Purchase gave up after " + result.getAttempts() + " attempts");
+            }
+            return result.isCompleted();
+        }, service);
+    }
+
+    /**
+     * run() - Sells one lot with the given strategy and prints one result row
+     */
+    private static void run(String label, int buyers, int stock, Buyer buyer, PurchaseService service) throws Exception {
+        int itemId = createLot(stock);
+        AtomicLong sold = new AtomicLong();
+        List<List<Double>> latencies = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        List<Future<?>> futures = new ArrayList<>();
+        long retriesBefore = service != null ? service.getRetryCount() : 0;
+
+        for (int b = 0; b < buyers; b++) {
+            List<Double> samples = new ArrayList<>();
+            latencies.add(samples);
+            futures.add(pool.submit(() -> {
+                start.await();
+                while (true) {
+                    long t0 = System.nanoTime();
+                    boolean bought = buyer.buyOne(itemId);
+                    samples.add((System.nanoTime() - t0) / 1e6);
+                    if (!bought) {
+                        return null; // Sold out
+                    }
+                    sold.incrementAndGet();
+                }
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        List<Double> all = new ArrayList<>();
+        for (List<Double> samples : latencies) {
+            all.addAll(samples);
+        }
+        Collections.sort(all);
+        double decremented = stock - readQuantity(itemId);
+        long retries = service != null ? service.getRetryCount() - retriesBefore : 0;
+        System.out.printf("%-18s %8d %12.0f %10d %10.0f %10.2f %10.2f %9d%n", label, sold.get(), decremented,
+            Math.max(0, sold.get() - stock), sold.get() / seconds, percentile(all, 0.50), percentile(all, 0.99), retries);
+    }
+
+    /**
+     * legacyBuyOne() - The old PurchaseDialog logic: read the quantity, write back quantity - 1
+     */
+    private static boolean legacyBuyOne(int itemId) throws SQLException {
+        double quantity = readQuantity(itemId);
+        if (quantity < 1) {
+            return false;
+        }
+        double newQuantity = quantity - 1;
+        try (Connection conn = connect();
+             PreparedStatement update = conn.prepareStatement(
+                 "UPDATE INVENTORY_ITEM SET quantity = ?, status = ? WHERE item_id = ?")) {
+            update.setDouble(1, newQuantity);
+            update.setString(2, newQuantity > 0 ? "Available" : "Sold Out");
+            update.setInt(3, itemId);
+            update.executeUpdate();
+        }
+        return true;
+    }
+
+    /**
+     * createLot() - Inserts one harvest lot priced at 10.00
+     */
+    private static int createLot(int stock) throws SQLException {
+        try (Connection conn = connect();
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO INVENTORY_ITEM (name, quantity, unit, item_type, date_added, status, notes, price_per_unit) "
+                 + "VALUES ('Rice', ?, 'kg', 'HARVEST', CURRENT_DATE, 'Available', '', 10.0)",
+                 Statement.RETURN_GENERATED_KEYS)) {
+            insert.setDouble(1, stock);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static double readQuantity(int itemId) throws SQLException {
+        try (Connection conn = connect();
+             PreparedStatement select = conn.prepareStatement("SELECT quantity FROM INVENTORY_ITEM WHERE item_id = ?")) {
+            select.setInt(1, itemId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getDouble(1);
+            }
+        }
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * p)));
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, "sa", "");
+    }
+}
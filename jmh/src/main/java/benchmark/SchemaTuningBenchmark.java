@@ -0,0 +1,164 @@
+package benchmark; // Package declaration: Groups performance benchmarks (run manually, not part of the application)
+
+import java.sql.Connection; // Import: Connection interface for the benchmark database
+import java.sql.DriverManager; // Import: DriverManager for an isolated in-memory database
+import java.sql.PreparedStatement; // Import: PreparedStatement for loading rows and running queries
+import java.sql.ResultSet; // Import: ResultSet for consuming query results
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for DDL
+import java.time.LocalDate; // Import: LocalDate for generated dates
+import java.util.ArrayList; // Import: ArrayList for timing samples
+import java.util.Collections; // Import: Collections for sorting samples
+import java.util.LinkedHashMap; // Import: LinkedHashMap for ordered results
+import java.util.List; // Import: List interface for samples
+import java.util.Map; // Import: Map interface for results
+import java.util.Random; // Import: Random for generated data
+import util.InventorySchema; // Import: InventorySchema for the upgrade under test
+
+/**
+ * SchemaTuningBenchmark - Before/After Timings for the INVENTORY_ITEM Schema Upgrade
+ * WHAT: Measures the hot inventory queries on the legacy schema (VARCHAR dates, no indexes),
+ *       applies InventorySchema.upgrade(), and measures the same queries again
+ * WHY: Records the effect of the DATE column and the indexes on listing, paging, filtering and lookups
+ * HOW: Private in-memory H2 database (the application database and servers are not touched);
+ *      each query is warmed up, then timed; the median of all runs is reported
+ *      OPTIMIZE_REUSE_RESULTS=FALSE: otherwise H2 returns the cached result of the previous identical run
+ *
+ * USAGE: java -cp jmh/target/benchmarks.jar benchmark.SchemaTuningBenchmark [rows] [iterations]
+ */
+public class SchemaTuningBenchmark {
+    // WHAT: Legacy table layout (before the upgrade)
+    // WHY: Same columns as DBConnection created before date_added became a DATE column
+    private static final String LEGACY_TABLE_DDL = "CREATE TABLE INVENTORY_ITEM (" +
+        "item_id INTEGER PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255) NOT NULL, quantity DOUBLE NOT NULL, " +
+        "unit VARCHAR(50) NOT NULL, item_type VARCHAR(50) NOT NULL, date_added VARCHAR(50) NOT NULL, " +
+        "status VARCHAR(50), notes VARCHAR(1000), price_per_unit DOUBLE)";
+
+    private static final String COLUMNS =
+        "SELECT item_id, name, quantity, unit, item_type, date_added, status, notes, price_per_unit FROM INVENTORY_ITEM ";
+
+    private static final String[] PRODUCTS = {"Rice", "Corn", "Mango", "Banana", "Coconut", "Cassava", "Onion", "Tomato"};
+    private static final String[] STATUSES = {"Available", "Available", "Available", "Fresh", "Interested", "Sold Out"};
+
+    /**
+     * Query - One benchmarked query with its parameters
+     */
+    private static final class Query {
+        final String label;
+        final String sql;
+        final Object[] params;
+
+        Query(String label, String sql, Object... params) {
+            this.label = label;
+            this.sql = sql;
+            this.params = params;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Class.forName("org.h2.Driver");
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:schema_bench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "")) {
+            System.out.println("Loading " + rows + " rows into legacy INVENTORY_ITEM...");
+            createLegacyTable(conn, rows);
+
+            String middleDate = LocalDate.of(2020, 1, 1).plusDays(900).toString();
+            List<Query> queries = new ArrayList<>();
+            queries.add(new Query("First page (50 rows)", COLUMNS + "ORDER BY date_added DESC, item_id DESC LIMIT 50"));
+            queries.add(new Query("Keyset page (50 rows)", COLUMNS
+                + "WHERE date_added <= ? AND (date_added < ? OR item_id < ?) ORDER BY date_added DESC, item_id DESC LIMIT 50",
+                middleDate, middleDate, rows / 2));
+            queries.add(new Query("Full listing", COLUMNS + "ORDER BY date_added DESC"));
+            queries.add(new Query("Type + status filter", COLUMNS + "WHERE item_type = ? AND status = ?", "HARVEST", "Sold Out"));
+            queries.add(new Query("Name lookup", COLUMNS + "WHERE name = ?", "Mango 4242"));
+
+            Map<String, Double> before = measure(conn, queries, iterations);
+            long upgradeStart = System.nanoTime();
+            InventorySchema.upgrade(conn);
+            double upgradeMs = (System.nanoTime() - upgradeStart) / 1e6;
+            Map<String, Double> after = measure(conn, queries, iterations);
+
+            System.out.println();
+            System.out.printf("INVENTORY_ITEM schema tuning - %d rows, median of %d runs%n", rows, iterations);
+            System.out.printf("%-24s %12s %12s %9s%n", "Query", "Before (ms)", "After (ms)", "Speedup");
+            for (Query query : queries) {
+                double b = before.get(query.label);
+                double a = after.get(query.label);
+                System.out.printf("%-24s %12.3f %12.3f %8.1fx%n", query.label, b, a, b / Math.max(a, 1e-6));
+            }
+            System.out.printf("Upgrade (DATE conversion + indexes): %.0f ms%n", upgradeMs);
+        }
+    }
+
+    /**
+     * createLegacyTable() - Creates and fills the pre-upgrade table
+     * HOW: Batched inserts; 2% of dates in MM/dd/yyyy form like H2 Console edits
+     */
+    private static void createLegacyTable(Connection conn, int rows) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS INVENTORY_ITEM");
+            stmt.execute(LEGACY_TABLE_DDL);
+        }
+        Random random = new Random(42);
+        LocalDate first = LocalDate.of(2020, 1, 1);
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO INVENTORY_ITEM (name, quantity, unit, item_type, date_added, status, notes, price_per_unit) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                LocalDate date = first.plusDays(random.nextInt(1800));
+                boolean harvest = random.nextInt(10) < 8;
+                insert.setString(1, PRODUCTS[random.nextInt(PRODUCTS.length)] + " " + i);
+                insert.setDouble(2, 1 + random.nextInt(1000));
+                insert.setString(3, harvest ? "kg" : "pieces");
+                insert.setString(4, harvest ? "HARVEST" : "EQUIPMENT");
+                insert.setString(5, random.nextInt(50) == 0
+                    ? String.format("%02d/%02d/%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear())
+                    : date.toString());
+                insert.setString(6, harvest ? STATUSES[random.nextInt(STATUSES.length)] : "Good");
+                insert.setString(7, "Lot " + i);
+                insert.setDouble(8, 10 + random.nextInt(100));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * measure() - Times each query
+     * HOW: 3 warm-up runs, then iterations timed runs reading every row; returns the median in ms per query
+     */
+    private static Map<String, Double> measure(Connection conn, List<Query> queries, int iterations) throws SQLException {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (Query query : queries) {
+            try (PreparedStatement pstmt = conn.prepareStatement(query.sql)) {
+                for (int i = 0; i < query.params.length; i++) {
+                    pstmt.setObject(i + 1, query.params[i]);
+                }
+                List<Double> samples = new ArrayList<>();
+                for (int run = 0; run < iterations + 3; run++) {
+                    long start = System.nanoTime();
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            rs.getObject(6); // Read date_added like the DAO does
+                        }
+                    }
+                    if (run >= 3) {
+                        samples.add((System.nanoTime() - start) / 1e6);
+                    }
+                }
+                Collections.sort(samples);
+                medians.put(query.label, samples.get(samples.size() / 2));
+            }
+        }
+        return medians;
+    }
+}
@@ -0,0 +1,110 @@
+package benchmark; // Package declaration: Groups performance benchmarks (run manually, not part of the application)
+
+import java.io.BufferedReader; // Import: BufferedReader for reading the child's output
+import java.io.File; // Import: File for the application jar and the archive
+import java.io.InputStreamReader; // Import: InputStreamReader for the child's output
+import java.nio.charset.StandardCharsets; // Import: StandardCharsets for decoding the child's output
+import java.util.ArrayList; // Import: ArrayList for command lines and samples
+import java.util.Collections; // Import: Collections for sorting samples
+import java.util.List; // Import: List interface for command lines and samples
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for waiting on the child process
+import java.util.regex.Matcher; // Import: Matcher for the child's startup log line
+import java.util.regex.Pattern; // Import: Pattern for the child's startup log line
+
+/**
+ * StartupBenchmark - Time to First Frame With and Without the AppCDS Archive
+ * WHAT: Starts the application jar repeatedly, once without and once with -XX:SharedArchiveFile, and reports the
+ *       time until the login window is shown
+ * WHY: Shows what the class data sharing archive (mvn -B package -Pcds) saves on a cold start
+ * HOW: Each run is a new JVM. Time to first frame is measured from ProcessBuilder.start() until the child logs
+ *      "Startup: login window" (StartupTimer, printed after LoginFrame became visible); the child's own
+ *      "after launch" value is reported next to it. The child is then stopped (shutdown hook closes the database).
+ *      Runs alternate between the two modes so drift (disk cache, CPU frequency) affects both; one warm-up run
+ *      of each mode is discarded. The archive mode uses -Xshare:on, so a stale archive fails instead of being
+ *      silently ignored.
+ *
+ * USAGE: java -cp jmh/target/benchmarks.jar benchmark.StartupBenchmark [runs] [jar] [archive]
+ *        (defaults: 10, app/target/agritrack-1.0-SNAPSHOT.jar, app/target/agritrack.jsa; needs a display)
+ */
+public class StartupBenchmark {
+    private static final Pattern LOGIN_WINDOW = Pattern.compile("Startup: login window .*\\(([\\d,]+) ms after launch");
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        File jar = new File(args.length > 1 ? args[1] : "app/target/agritrack-1.0-SNAPSHOT.jar");
+        File archive = new File(args.length > 2 ? args[2] : "app/target/agritrack.jsa");
+        if (!jar.isFile()) {
+            throw new Exception("Error: application jar not found: " + jar + " (run mvn -B package)");
+        }
+        if (!archive.isFile()) {
+            throw new Exception("Error: CDS archive not found: " + archive + " (run mvn -B package -Pcds)");
+        }
+
+        List<double[]> withoutArchive = new ArrayList<>();
+        List<double[]> withArchive = new ArrayList<>();
+        for (int run = 0; run <= runs; run++) {
+            double[] plain = launch(jar, null);
+            double[] shared = launch(jar, archive);
+            if (run > 0) { // Run 0 is warm-up
+                withoutArchive.add(plain);
+                withArchive.add(shared);
+            }
+        }
+
+        System.out.printf("%d runs, %s%n%n", runs, jar);
+        System.out.printf("%-22s %14s %14s %18s%n", "Mode", "Median ms", "Min ms", "Child median ms");
+        report("Default CDS (JDK)", withoutArchive);
+        report("AppCDS archive", withArchive);
+    }
+
+    /**
+     * launch() - Starts the application once and waits for the login window
+     * @param archive Archive to use, or null for the JVM's default
+     * @return {parent-measured ms, child-reported ms after launch}
+     */
+    private static double[] launch(File jar, File archive) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive.getPath());
+            command.add("-Xshare:on");
+        }
+        command.add("-jar");
+        command.add(jar.getAbsolutePath()); // The archive stores the class path as given - absolute, like the launchers
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = LOGIN_WINDOW.matcher(line);
+                if (matcher.find()) {
+                    double parentMillis = (System.nanoTime() - start) / 1e6;
+                    double childMillis = Double.parseDouble(matcher.group(1).replace(",", ""));
+                    return new double[] {parentMillis, childMillis};
+                }
+            }
+            throw new Exception("Error: application exited before showing the login window (exit code "
+                + process.waitFor() + ")");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void report(String mode, List<double[]> samples) {
+        List<Double> parent = new ArrayList<>();
+        List<Double> child = new ArrayList<>();
+        for (double[] sample : samples) {
+            parent.add(sample[0]);
+            child.add(sample[1]);
+        }
+        Collections.sort(parent);
+        Collections.sort(child);
+        System.out.printf("%-22s %14.0f %14.0f %18.0f%n", mode, parent.get(parent.size() / 2), parent.get(0),
+            child.get(child.size() / 2));
+    }
+}
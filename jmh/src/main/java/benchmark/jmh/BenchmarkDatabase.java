@@ -0,0 +1,137 @@
+package benchmark.jmh; // Package declaration: JMH benchmarks (built by the jmh module, not part of the application)
+
+import dao.InventoryDAO; // Import: InventoryDAO for seeding through the application's bulk insert
+import java.sql.Connection; // Import: Connection interface for the benchmark database
+import java.sql.DriverManager; // Import: DriverManager for the embedded in-memory database
+import java.sql.ResultSet; // Import: ResultSet for reading the ID range
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for setup statements
+import java.time.LocalDate; // Import: LocalDate for generated harvest dates
+import java.util.Iterator; // Import: Iterator for generating rows without a list
+import java.util.NoSuchElementException; // Import: NoSuchElementException for the exhausted generator
+import java.util.concurrent.atomic.AtomicInteger; // Import: AtomicInteger for unique database names
+import model.EquipmentItem; // Import: EquipmentItem for generated equipment rows
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot for generated harvest rows
+import util.ConnectionPool; // Import: ConnectionPool.ConnectionFactory handed to the DAOs
+import util.SchemaMigrator; // Import: SchemaMigrator to create the application schema
+
+/**
+ * BenchmarkDatabase - Embedded H2 Database Seeded with Generated Inventory
+ * WHAT: Private in-memory database with the application schema and N generated items
+ * WHY: Benchmarks must not touch the user's database, and results must be comparable across runs and sizes
+ * HOW: SchemaMigrator creates the schema; rows come from a deterministic generator (same seed, same rows) and are
+ *      inserted with InventoryDAO.addRecords(), so statistics and rollup tables are filled as in the application.
+ *      About 1 in 8 rows is equipment, the rest harvest lots spread over two years. DAOs get their connections
+ *      from a ConnectionPool, as in the application (DBConnection), so results do not include connection setup.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    static final String[] PRODUCTS = {"Rice", "Corn", "Mango", "Banana", "Coconut", "Cassava", "Onion", "Tomato",
+        "Eggplant", "Pineapple", "Calamansi", "Sweet Potato"};
+    private static final String[] STATUSES = {"Available", "Available", "Available", "Fresh", "Interested", "Sold Out"};
+    private static final String[] EQUIPMENT = {"Tractor", "Water Pump", "Sprayer", "Harvester", "Tiller"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private final String url;
+    private final int rows;
+    private final Connection keepAlive;
+    private final ConnectionPool pool;
+    private int minId;
+    private int maxId;
+
+    /**
+     * Constructor - Creates and seeds a new database
+     * @param rows Number of items to insert
+     * @throws Exception If the schema or the seed rows cannot be written
+     */
+    BenchmarkDatabase(int rows) throws Exception {
+        this.rows = rows;
+        this.url = "jdbc:h2:mem:jmh" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        this.keepAlive = DriverManager.getConnection(url, "sa", "");
+        this.pool = new ConnectionPool(() -> DriverManager.getConnection(url, "sa", ""), 1, 4, 10_000, 300_000, 30_000, 0);
+        SchemaMigrator.migrate(keepAlive);
+        new InventoryDAO(connections()).addRecords(generate(rows), 1_000, 50_000);
+        refreshIdRange();
+    }
+
+    /**
+     * connections() - Connection source for the DAOs under test
+     */
+    ConnectionPool.ConnectionFactory connections() {
+        return pool::getConnection;
+    }
+
+    int getRows() { return rows; }
+    int getMinId() { return minId; }
+    int getMaxId() { return maxId; }
+
+    /**
+     * refreshIdRange() - Reads the smallest and largest item ID
+     * @return Largest item ID
+     */
+    int refreshIdRange() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(item_id), MAX(item_id) FROM INVENTORY_ITEM")) {
+            rs.next();
+            minId = rs.getInt(1);
+            maxId = rs.getInt(2);
+            return maxId;
+        }
+    }
+
+    /**
+     * clearInventory() - Deletes all items (import benchmarks start every iteration from an empty table)
+     */
+    void clearInventory() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.executeUpdate("DELETE FROM INVENTORY_ITEM");
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        pool.shutdown();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            keepAlive.close();
+        }
+    }
+
+    /**
+     * generate() - Deterministic generator of n items
+     */
+    static Iterator<FarmItem> generate(int n) {
+        return new Iterator<FarmItem>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < n;
+            }
+
+            @Override
+            public FarmItem next() {
+                if (next >= n) {
+                    throw new NoSuchElementException();
+                }
+                return item(next++);
+            }
+        };
+    }
+
+    /**
+     * item() - The i-th generated item (ID 0 - assigned by the database)
+     */
+    static FarmItem item(int i) {
+        LocalDate day = FIRST_DAY.plusDays(i % 730);
+        if (i % 8 == 7) {
+            return new EquipmentItem(0, EQUIPMENT[i % EQUIPMENT.length] + " " + i, 1, "unit", day,
+                "Shed " + (i % 4), i % 3 == 0 ? "Good" : "Needs Repair");
+        }
+        return new HarvestLot(0, PRODUCTS[i % PRODUCTS.length], 10 + (i * 37 % 990), "kg", day,
+            "Field " + (i % 50) + ", lot " + i, STATUSES[i % STATUSES.length], 20.0 + (i % 180));
+    }
+}
@@ -0,0 +1,108 @@
+package benchmark.jmh; // Package declaration: JMH benchmarks (built by the jmh module, not part of the application)
+
+import dao.InventoryDAO; // Import: InventoryDAO for the database import
+import java.io.File; // Import: File for the CSV input and output files
+import java.util.ArrayList; // Import: ArrayList for the exported items
+import java.util.Iterator; // Import: Iterator for feeding parsed items to the DAO
+import java.util.List; // Import: List interface for the exported items
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for JMH settings
+import java.util.stream.Stream; // Import: Stream returned by the CSV reader
+import model.BulkInsertResult; // Import: BulkInsertResult of the database import
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot for the toCSVString() benchmark
+import org.openjdk.jmh.annotations.Benchmark; // Import: JMH benchmark method marker
+import org.openjdk.jmh.annotations.BenchmarkMode; // Import: JMH measurement mode
+import org.openjdk.jmh.annotations.Fork; // Import: JMH fork settings
+import org.openjdk.jmh.annotations.Level; // Import: JMH setup level
+import org.openjdk.jmh.annotations.Measurement; // Import: JMH measurement iterations
+import org.openjdk.jmh.annotations.Mode; // Import: JMH modes
+import org.openjdk.jmh.annotations.OutputTimeUnit; // Import: JMH result unit
+import org.openjdk.jmh.annotations.Param; // Import: JMH parameters
+import org.openjdk.jmh.annotations.Scope; // Import: JMH state scope
+import org.openjdk.jmh.annotations.Setup; // Import: JMH setup methods
+import org.openjdk.jmh.annotations.State; // Import: JMH state marker
+import org.openjdk.jmh.annotations.TearDown; // Import: JMH teardown methods
+import org.openjdk.jmh.annotations.Warmup; // Import: JMH warm-up iterations
+import org.openjdk.jmh.infra.Blackhole; // Import: Blackhole so parsed items are not optimized away
+import util.CSVExporter; // Import: CSVExporter under test
+import util.FileImporter; // Import: FileImporter (CSV parsing) under test
+
+/**
+ * CsvBenchmark - CSV Import/Export and Model Formatting
+ * WHAT: Throughput of HarvestLot.toCSVString(), parsing a CSV file into items (FileImporter.streamCSVFile - the
+ *       CsvParser path that replaced parseCSVLine), writing a list with CSVExporter, and a full import of the
+ *       file into the database through InventoryDAO's batched inserts
+ * WHY: Import and export cost per row, and allocation per row (run with -prof gc), for files of `rows` lines
+ * HOW: The input file is written once per trial by CSVExporter from generated items; the import benchmark
+ *      empties INVENTORY_ITEM before every iteration
+ *
+ * USAGE: java -jar jmh/target/benchmarks.jar Csv -p rows=1000 -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CsvBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<FarmItem> items;
+    private HarvestLot lot;
+    private File inputFile;
+    private File outputFile;
+    private BenchmarkDatabase database;
+    private InventoryDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        items = new ArrayList<>(rows);
+        Iterator<FarmItem> generator = BenchmarkDatabase.generate(rows);
+        while (generator.hasNext()) {
+            items.add(generator.next());
+        }
+        lot = (HarvestLot) BenchmarkDatabase.item(1);
+        inputFile = File.createTempFile("agritrack-jmh-import", ".csv");
+        outputFile = File.createTempFile("agritrack-jmh-export", ".csv");
+        CSVExporter.exportToCSV(inputFile.getPath(), items);
+        database = new BenchmarkDatabase(0);
+        dao = new InventoryDAO(database.connections());
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyInventory() throws Exception {
+        database.clearInventory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+        inputFile.delete();
+        outputFile.delete();
+    }
+
+    @Benchmark
+    public String harvestLotToCsvString() {
+        return lot.toCSVString();
+    }
+
+    @Benchmark
+    public void parseFile(Blackhole blackhole) throws Exception {
+        try (Stream<FarmItem> parsed = FileImporter.streamCSVFile(inputFile.getPath())) {
+            parsed.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void exportList() throws Exception {
+        CSVExporter.exportToCSV(outputFile.getPath(), items);
+    }
+
+    @Benchmark
+    public BulkInsertResult importFile() throws Exception {
+        try (Stream<FarmItem> parsed = FileImporter.streamCSVFile(inputFile.getPath())) {
+            return dao.addRecords(parsed.iterator());
+        }
+    }
+}
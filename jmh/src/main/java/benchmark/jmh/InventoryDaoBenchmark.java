@@ -0,0 +1,133 @@
+package benchmark.jmh; // Package declaration: JMH benchmarks (built by the jmh module, not part of the application)
+
+import dao.InventoryDAO; // Import: InventoryDAO under test
+import java.io.File; // Import: File for the export target
+import java.util.List; // Import: List interface for listing results
+import java.util.concurrent.ThreadLocalRandom; // Import: ThreadLocalRandom for picking rows
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for JMH settings
+import model.FarmItem; // Import: FarmItem base class
+import model.HarvestLot; // Import: HarvestLot for updated items
+import model.InventoryPage; // Import: InventoryPage for listing pages
+import org.openjdk.jmh.annotations.Benchmark; // Import: JMH benchmark method marker
+import org.openjdk.jmh.annotations.BenchmarkMode; // Import: JMH measurement mode
+import org.openjdk.jmh.annotations.Fork; // Import: JMH fork settings
+import org.openjdk.jmh.annotations.Level; // Import: JMH setup level
+import org.openjdk.jmh.annotations.Measurement; // Import: JMH measurement iterations
+import org.openjdk.jmh.annotations.Mode; // Import: JMH modes
+import org.openjdk.jmh.annotations.OutputTimeUnit; // Import: JMH result unit
+import org.openjdk.jmh.annotations.Param; // Import: JMH parameters
+import org.openjdk.jmh.annotations.Scope; // Import: JMH state scope
+import org.openjdk.jmh.annotations.Setup; // Import: JMH setup methods
+import org.openjdk.jmh.annotations.State; // Import: JMH state marker
+import org.openjdk.jmh.annotations.TearDown; // Import: JMH teardown methods
+import org.openjdk.jmh.annotations.Warmup; // Import: JMH warm-up iterations
+
+/**
+ * InventoryDaoBenchmark - InventoryDAO Operations at Different Table Sizes
+ * WHAT: Throughput of single-row CRUD, counting, keyset listing, LIKE search, the ranked full-text search used by
+ *       the records window, loading the whole table and the streaming CSV export, on a database seeded with `rows` items
+ * WHY: Shows how each DAO path scales with the inventory and what it allocates (run with -prof gc)
+ * HOW: One seeded BenchmarkDatabase per fork and size; write benchmarks keep the row count constant
+ *      (insert + delete, update in place)
+ *
+ * USAGE: java -jar jmh/target/benchmarks.jar InventoryDao -p rows=1000,100000 -prof gc
+ *        (listAll and exportAll at 1M rows need about 2 GB of heap - see @Fork)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class InventoryDaoBenchmark {
+    // WHAT: Result limit of the records window's search (RecordsWindow.SEARCH_RESULT_LIMIT)
+    private static final int SEARCH_RESULT_LIMIT = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private InventoryDAO dao;
+    private File exportFile;
+    private int generated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new BenchmarkDatabase(rows);
+        dao = new InventoryDAO(database.connections());
+        exportFile = File.createTempFile("agritrack-jmh-export", ".csv");
+        generated = rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+        exportFile.delete();
+    }
+
+    @Benchmark
+    public FarmItem getRecordById() throws Exception {
+        return dao.getRecordById(randomId());
+    }
+
+    @Benchmark
+    public int countRecords() throws Exception {
+        return dao.countRecords();
+    }
+
+    @Benchmark
+    public InventoryPage firstPage() throws Exception {
+        return dao.getRecordsPage(null, 50);
+    }
+
+    @Benchmark
+    public InventoryPage deepPage() throws Exception {
+        // WHAT: Page 20 of 50 items, jumped to by skipping 950 rows from the start
+        return dao.getRecordsPage(null, 19 * 50, 50);
+    }
+
+    @Benchmark
+    public List<FarmItem> searchRecords() throws Exception {
+        return dao.searchRecords(BenchmarkDatabase.PRODUCTS[ThreadLocalRandom.current().nextInt(BenchmarkDatabase.PRODUCTS.length)]);
+    }
+
+    @Benchmark
+    public List<FarmItem> fullTextSearch() throws Exception {
+        // WHAT: The records window's search (same result limit); the index is built during warm-up
+        return dao.fullTextSearch(BenchmarkDatabase.PRODUCTS[ThreadLocalRandom.current().nextInt(BenchmarkDatabase.PRODUCTS.length)],
+            SEARCH_RESULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<FarmItem> listAll() throws Exception {
+        return dao.getAllRecords();
+    }
+
+    @Benchmark
+    public int exportAll() throws Exception {
+        return dao.exportAllToCSV(exportFile.getPath());
+    }
+
+    @Benchmark
+    public void updateRecord() throws Exception {
+        FarmItem item = dao.getRecordById(randomId());
+        if (item instanceof HarvestLot) {
+            HarvestLot lot = (HarvestLot) item;
+            lot.setQuantity(lot.getQuantity() + 1);
+            dao.updateRecord(lot);
+        }
+    }
+
+    @Benchmark
+    public int insertAndDelete() throws Exception {
+        // WHAT: One insert and one delete per operation, so the table size stays at `rows`
+        dao.addRecord(BenchmarkDatabase.item(generated++));
+        int id = database.refreshIdRange();
+        dao.deleteRecord(id);
+        return id;
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(database.getMinId(), database.getMinId() + rows);
+    }
+}
@@ -1,40 +1,62 @@
 package main; // Package declaration: Groups this class with other main classes
 
+import dao.InventoryReportDAO; // Import: InventoryReportDAO for the statistics rebuild command
+import dao.PurchaseOrderDAO; // Import: PurchaseOrderDAO to flush the purchase ledger at exit
 import gui.LoginFrame; // Import: LoginFrame class for user authentication GUI
 import javax.swing.SwingUtilities; // Import: Utility class to ensure thread-safe GUI operations
 import util.DBConnection; // Import: DBConnection for database server shutdown
+import util.Metrics; // Import: Metrics for operation timing and the exit report
+import util.StartupTimer; // Import: StartupTimer for logging startup phases
 
 /**
  * AgriTrackApp - Main Entry Point
  * WHAT: This is the main application class that serves as the entry point for the AgriTrack application
  * WHY: Java applications require a main() method as the starting point for execution
- * HOW: Initializes database, then launches the GUI on the Event Dispatch Thread (EDT)
+ * HOW: Starts the database bootstrap in the background and launches the GUI on the Event Dispatch Thread (EDT)
+ *      at the same time; the first database call waits for the bootstrap
+ *
+ * SETTINGS: -Dagritrack.h2.servers=true   also starts the H2 TCP server and web console at startup
+ *                                         (otherwise they start when the Database Viewer is opened)
  */
 public class AgriTrackApp {
     /**
      * main() - Application Entry Point
      * WHAT: Static method that Java runtime calls to start the application
      * WHY: Required by Java - the JVM looks for this exact method signature to begin execution
-     * HOW: First initializes database, then safely launches GUI on EDT thread
-     * @param args Command-line arguments (not used in this application)
+     * HOW: Starts database initialization on its own thread, then safely launches GUI on EDT thread
+     * @param args Command-line arguments: --rebuild-stats recomputes INVENTORY_STATS and exits without the GUI
      */
     public static void main(String[] args) {
-        // WHAT: Initialize database connection and create tables
-        // WHY: Database must be ready before any GUI operations that need data access
-        // HOW: Loading the DBConnection class triggers its static block which creates tables/users
-        try {
-            // WHAT: Force class loading to trigger static initialization block
-            // WHY: DBConnection has a static block that creates database tables and default users
-            // HOW: Class.forName() loads the class, executing static blocks before returning
-            Class.forName("util.DBConnection");
-        } catch (ClassNotFoundException e) {
-            // WHAT: Handle error if DBConnection class cannot be found
-            // WHY: Application cannot function without database, so we must exit gracefully
-            // HOW: Print error message and return to prevent further execution
-            System.err.println("DBConnection Class not found. Application cannot start.");
-            return; // Exit main method if database initialization fails
+        // WHAT: Initialize database connection and create tables in the background
+        // WHY: The login window used to wait for the H2 servers, the connection check, migrations and default users
+        // HOW: startInitialization() returns at once; DBConnection.getConnection() waits until the database is ready
+        long mainStarted = StartupTimer.begin();
+        DBConnection.startInitialization();
+        
+        // WHAT: Start the H2 TCP server and web console only when asked for
+        // WHY: Few sessions use H2 Console; the Database Viewer starts them when it is opened
+        if (Boolean.getBoolean("agritrack.h2.servers")) {
+            new Thread(DBConnection::startServers, "agritrack-h2-servers").start();
         }
         
+        // WHAT: Statistics consistency rebuild (maintenance command)
+        // WHY: Repairs INVENTORY_STATS after rows were edited outside the application (e.g. H2 Console)
+        // HOW: java main.AgriTrackApp --rebuild-stats - recomputes the table, reports drift, exits
+        if (args.length > 0 && "--rebuild-stats".equals(args[0])) {
+            try {
+                new InventoryReportDAO().rebuildStats();
+            } catch (Exception e) {
+                System.err.println("Error rebuilding statistics: " + e.getMessage());
+            } finally {
+                DBConnection.shutdownServers();
+            }
+            return;
+        }
+        
+        // WHAT: Start operation metrics (JMX beans and the periodic dump) when -Dagritrack.metrics.enabled=true
+        // WHY: Off by default - timers then cost one static check per operation
+        Metrics.start();
+        
         // WHAT: Launch the GUI application on the Event Dispatch Thread (EDT)
         // WHY: Swing components are NOT thread-safe and must run on EDT to prevent race conditions
         // HOW: invokeLater() schedules the Runnable (lambda) to run on EDT, ensuring thread safety
@@ -43,12 +65,17 @@ public class AgriTrackApp {
             // WHY: LoginFrame is the first window users see - handles authentication
             // HOW: Constructor automatically sets up GUI components and makes window visible
             LoginFrame loginFrame = new LoginFrame();
+            StartupTimer.end("login window", mainStarted);
             
             // WHAT: Add shutdown hook to stop H2 servers when application exits
             // WHY: Ensures H2 servers are stopped gracefully when application closes
             // HOW: Runtime.getRuntime().addShutdownHook() registers shutdown handler
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                PurchaseOrderDAO.getInstance().shutdown(); // Commit queued ledger orders while the database is open
                 DBConnection.shutdownServers();
+                if (Metrics.ENABLED) {
+                    System.out.println(Metrics.report()); // Final per-operation latencies for this run
+                }
             }));
         });
     }
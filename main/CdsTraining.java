@@ -0,0 +1,69 @@
+package main; // Package declaration: Groups this class with other main classes
+
+import dao.CachingInventoryService; // Import: CachingInventoryService to load records like the screens do
+import dao.InventoryDAO; // Import: InventoryDAO for the paged reads of the records table
+import dao.UserDAO; // Import: UserDAO for the login
+import gui.LoginFrame; // Import: LoginFrame, the first window of a normal start
+import gui.MainMenuFrame; // Import: MainMenuFrame opened after login
+import gui.RecordsWindow; // Import: RecordsWindow with the lazily loaded records table
+import java.awt.Window; // Import: Window to close every window at the end
+import javax.swing.SwingUtilities; // Import: SwingUtilities to create windows on the EDT
+import model.User; // Import: User returned by the login
+import util.DBConnection; // Import: DBConnection for the database bootstrap
+import util.UserSession; // Import: UserSession started after login, as in LoginFrame
+
+/**
+ * CdsTraining - Training Run for the Application Class Data Sharing (AppCDS) Archive
+ * WHAT: Goes through a typical start - login window, login, main menu with its records table, records window -
+ *       then exits
+ * WHY: Run with -XX:ArchiveClassesAtExit, the JVM writes every class loaded here (H2, Swing, all frames) into an
+ *      archive; later starts map the archive instead of parsing and verifying those classes again
+ * HOW: Same order as AgriTrackApp and LoginFrame.openMainFrame(); the login is made with UserDAO directly instead of
+ *      typing into the form. Waits agritrack.training.settleMillis so background loads of the windows finish
+ *      (their classes are archived too), then closes all windows and exits.
+ *
+ * DATABASE: Uses the database in user.home like the application; the cds profile sets user.home to
+ *           app/target/cds-home, so training never migrates or logs in to a real database
+ * SETTINGS: -Dagritrack.training.user=admin  -Dagritrack.training.password=admin123  (a default account)
+ *           -Dagritrack.training.settleMillis=3000
+ * USAGE: mvn -B package -Pcds (needs a display; on headless Linux run it under xvfb-run)
+ */
+public class CdsTraining {
+    private static final String USERNAME = System.getProperty("agritrack.training.user", "admin");
+    private static final String PASSWORD = System.getProperty("agritrack.training.password", "admin123");
+    private static final long SETTLE_MILLIS = Long.getLong("agritrack.training.settleMillis", 3000);
+
+    public static void main(String[] args) throws Exception {
+        // WHAT: Same startup as AgriTrackApp - bootstrap in the background, login window on the EDT
+        DBConnection.startInitialization();
+        SwingUtilities.invokeAndWait(LoginFrame::new);
+
+        // WHAT: Log in, then load records the way the records screens do
+        User user = new UserDAO().login(USERNAME, PASSWORD);
+        if (user == null) {
+            throw new Exception("Error in CDS training run: login failed for " + USERNAME);
+        }
+        CachingInventoryService.getService().countRecords();
+        new InventoryDAO().getRecordsPage(null, 100);
+
+        // WHAT: Replace the login window with the main menu and open the records window (LoginFrame.openMainFrame)
+        SwingUtilities.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                window.dispose();
+            }
+            UserSession.start(user);
+            new MainMenuFrame();
+            new RecordsWindow();
+        });
+        Thread.sleep(SETTLE_MILLIS);
+
+        SwingUtilities.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                window.dispose();
+            }
+        });
+        DBConnection.shutdownServers();
+        System.out.println("✓ CDS training run finished (user " + USERNAME + ")");
+        System.exit(0); // The archive is written at exit
+    }
+}
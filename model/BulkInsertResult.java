@@ -0,0 +1,115 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+import java.util.ArrayList; // Import: ArrayList for collecting batch errors
+import java.util.Collections; // Import: Collections for read-only error list
+import java.util.List; // Import: List interface for batch errors
+
+/**
+ * BulkInsertResult - Outcome of a Batched Insert
+ * WHAT: Counts of inserted and failed rows plus one error entry per failed batch
+ * WHY: Bulk imports insert thousands of rows per transaction; the caller needs to know which batches failed and why
+ * HOW: Filled by InventoryBatchWriter while batches execute, returned by InventoryService.addRecords()
+ */
+public class BulkInsertResult {
+    /**
+     * BatchError - One failed batch
+     * WHAT: Position and size of a batch that was rolled back, with the database error message
+     * WHY: Lets the user find the affected rows in the source file
+     * HOW: firstRow is the 0-based index of the batch's first item in insertion order
+     */
+    public static class BatchError {
+        private final int batchNumber;
+        private final int firstRow;
+        private final int rowCount;
+        private final String message;
+
+        /**
+         * Constructor - Creates a new BatchError object
+         * @param batchNumber 1-based number of the failed batch
+         * @param firstRow 0-based index of the first item in the batch
+         * @param rowCount Number of items in the batch
+         * @param message Database error message
+         */
+        public BatchError(int batchNumber, int firstRow, int rowCount, String message) {
+            this.batchNumber = batchNumber;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+            this.message = message;
+        }
+
+        public int getBatchNumber() { return batchNumber; }
+        public int getFirstRow() { return firstRow; }
+        public int getRowCount() { return rowCount; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Batch " + batchNumber + " (rows " + (firstRow + 1) + "-" + (firstRow + rowCount) + "): " + message;
+        }
+    }
+
+    // WHAT: Number of rows committed to the database
+    // WHY: Reported to the user after an import
+    // HOW: Incremented by recordInserted()
+    private int insertedCount;
+
+    // WHAT: Number of rows in failed batches
+    // WHY: Reported to the user after an import
+    // HOW: Incremented by recordFailedBatch()
+    private int failedCount;
+
+    // WHAT: One entry per failed batch
+    // WHY: Per-batch error reporting
+    // HOW: Appended by recordFailedBatch()
+    private final List<BatchError> batchErrors = new ArrayList<>();
+
+    /**
+     * recordInserted() - Adds successfully written rows
+     * @param rows Number of rows written
+     */
+    public void recordInserted(int rows) {
+        insertedCount += rows;
+    }
+
+    /**
+     * recordFailedBatch() - Adds a failed batch
+     * @param error Description of the failed batch
+     */
+    public void recordFailedBatch(BatchError error) {
+        failedCount += error.getRowCount();
+        batchErrors.add(error);
+    }
+
+    /**
+     * merge() - Adds the counts and errors of another result
+     * WHAT: Combines results of several writers into one
+     * WHY: Imports may use more than one writer (one per writer thread)
+     * HOW: Sums counts, appends errors
+     * @param other Result to add
+     */
+    public void merge(BulkInsertResult other) {
+        insertedCount += other.insertedCount;
+        failedCount += other.failedCount;
+        batchErrors.addAll(other.batchErrors);
+    }
+
+    public int getInsertedCount() { return insertedCount; }
+    public int getFailedCount() { return failedCount; }
+
+    /**
+     * WHAT: Returns the failed batches
+     * WHY: Shown to the user (or logged) after an import
+     * HOW: Returns unmodifiable view
+     */
+    public List<BatchError> getBatchErrors() { return Collections.unmodifiableList(batchErrors); }
+
+    /**
+     * WHAT: Returns whether any batch failed
+     */
+    public boolean hasErrors() { return !batchErrors.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "BulkInsertResult{inserted=" + insertedCount + ", failed=" + failedCount + ", failedBatches=" + batchErrors.size() + "}";
+    }
+}
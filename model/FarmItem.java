@@ -15,6 +15,9 @@ import java.time.LocalDate; // Import: LocalDate class for date handling without
  */
 // Abstract Class (Abstraction, Inheritance base)
 public abstract class FarmItem {
+    // WHAT: Version value of items that were not read from the database (new items)
+    public static final int UNKNOWN_VERSION = -1;
+
     // WHAT: Unique identifier for each inventory item in the database
     // WHY: Primary key needed for database CRUD operations
     // HOW: Assigned by database AUTO_INCREMENT when item is created
@@ -45,6 +48,12 @@ public abstract class FarmItem {
     // HOW: Stored as VARCHAR(1000) in database, displayed in text areas
     private String notes;
 
+    // WHAT: Row version (INVENTORY_ITEM.version) at the time the item was read
+    // WHY: updateRecord() only overwrites the row if nobody changed it since (optimistic locking) - a purchase
+    //      committed in between must not be reverted by writing back the quantity read earlier
+    // HOW: Set by InventoryDAO when loading and after a successful update; UNKNOWN_VERSION for new items
+    private int version = UNKNOWN_VERSION;
+
     /**
      * Constructor - Creates a new FarmItem object
      * WHAT: Initializes all common fields that all inventory items share
@@ -142,4 +151,20 @@ public abstract class FarmItem {
      */
     // Setter for Quantity (used in the 'Update' CRUD operation)
     public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    /**
+     * getVersion() - Getter for the Row Version
+     * WHAT: Returns the INVENTORY_ITEM.version the item was read with
+     * WHY: Sent back with updateRecord() to detect changes made since the read
+     * HOW: Returns private version field value (UNKNOWN_VERSION for items not read from the database)
+     */
+    public int getVersion() { return version; }
+
+    /**
+     * setVersion() - Setter for the Row Version
+     * WHAT: Records the row version the item corresponds to
+     * WHY: Copies of an item (edit forms, cache) must keep the version of the row they were made from
+     * @param version Row version
+     */
+    public void setVersion(int version) { this.version = version; }
 }
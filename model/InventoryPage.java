@@ -0,0 +1,118 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+import java.nio.charset.StandardCharsets; // Import: StandardCharsets for cursor token encoding
+import java.util.Base64; // Import: Base64 for opaque cursor tokens
+import java.util.Collections; // Import: Collections for read-only item list
+import java.util.List; // Import: List interface for page items
+
+/**
+ * InventoryPage - One Page of Inventory Records (Keyset Pagination)
+ * WHAT: Holds a window of FarmItem objects plus the cursor token for the next page
+ * WHY: Screens should only fetch the rows they display instead of materializing the whole INVENTORY_ITEM table
+ * HOW: Returned by InventoryService.getRecordsPage(); pass getNextCursor() back to fetch the following page
+ *
+ * CURSOR FORMAT: Opaque Base64 token encoding the (date_added, item_id) key of the last row on the page
+ */
+public class InventoryPage {
+    // WHAT: Separator between date and id inside the decoded cursor token
+    // WHY: date_added values never contain '|', so it is safe as a separator
+    // HOW: Used by encodeCursor() and decodeCursor()
+    private static final char CURSOR_SEPARATOR = '|';
+
+    // WHAT: Items on this page, in listing order (date_added DESC, item_id DESC)
+    // WHY: Caller displays these rows
+    // HOW: Unmodifiable list set in constructor
+    private final List<FarmItem> items;
+
+    // WHAT: Cursor token pointing after the last item on this page
+    // WHY: Caller passes it to getRecordsPage() to continue from where this page ended
+    // HOW: null when this is the last page
+    private final String nextCursor;
+
+    /**
+     * Constructor - Creates a new InventoryPage object
+     * @param items Items on this page
+     * @param nextCursor Token for the next page, or null if there are no more rows
+     */
+    public InventoryPage(List<FarmItem> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * WHAT: Returns the items on this page
+     * WHY: Displayed in GUI tables
+     * HOW: Returns unmodifiable list
+     */
+    public List<FarmItem> getItems() { return items; }
+
+    /**
+     * WHAT: Returns the cursor token for the next page
+     * WHY: Needed to request the next page
+     * HOW: Returns null when there are no more rows
+     */
+    public String getNextCursor() { return nextCursor; }
+
+    /**
+     * WHAT: Returns whether another page exists after this one
+     * WHY: Lets GUI enable/disable a "Next" action or stop prefetching
+     * HOW: True when nextCursor is set
+     */
+    public boolean hasMore() { return nextCursor != null; }
+
+    /**
+     * encodeCursor() - Builds an opaque cursor token
+     * WHAT: Encodes the sort key (date_added, item_id) of a row as a URL-safe string
+     * WHY: Callers should treat cursors as opaque tokens, not build SQL conditions themselves
+     * HOW: "date|id" encoded with Base64 URL encoder (no padding)
+     * @param dateAdded Raw date_added column value of the row
+     * @param itemId item_id of the row
+     * @return Cursor token
+     */
+    public static String encodeCursor(String dateAdded, int itemId) {
+        String raw = dateAdded + CURSOR_SEPARATOR + itemId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * decodeCursorDate() - Extracts date_added from a cursor token
+     * @param cursor Token created by encodeCursor()
+     * @return Raw date_added value
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static String decodeCursorDate(String cursor) {
+        String raw = decode(cursor);
+        return raw.substring(0, raw.lastIndexOf(CURSOR_SEPARATOR));
+    }
+
+    /**
+     * decodeCursorId() - Extracts item_id from a cursor token
+     * @param cursor Token created by encodeCursor()
+     * @return item_id value
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static int decodeCursorId(String cursor) {
+        String raw = decode(cursor);
+        return Integer.parseInt(raw.substring(raw.lastIndexOf(CURSOR_SEPARATOR) + 1));
+    }
+
+    /**
+     * decode() - Decodes and validates a cursor token
+     * WHAT: Base64-decodes the token and checks it contains a separator
+     * WHY: Malformed tokens should fail with a clear message instead of a SQL error
+     * HOW: Throws IllegalArgumentException for bad input
+     */
+    private static String decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(CURSOR_SEPARATOR);
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+            }
+            Integer.parseInt(raw.substring(sep + 1)); // Validate id part
+            return raw;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package model; // Package declaration: Groups this interface with other model classes
 
+import java.util.Collection; // Import: Collection for bulk inserts
 import java.util.List; // Import: List interface for returning collections of FarmItem objects
 
 /**
@@ -23,6 +24,17 @@ public interface InventoryService {
     // CRUD Operations signatures
     void addRecord(FarmItem item) throws Exception; // Create
     
+    /**
+     * addRecords() - Bulk Create Operation
+     * WHAT: Adds many inventory items to the database in batches
+     * WHY: Imports of large files cannot afford one connection and one commit per row
+     * HOW: Implementations use JDBC batching with periodic commits; a failed batch does not stop later batches
+     * @param items Items to add, in insertion order
+     * @return Counts of inserted and failed rows with per-batch errors
+     * @throws Exception If the database cannot be reached
+     */
+    BulkInsertResult addRecords(Collection<? extends FarmItem> items) throws Exception; // Bulk create
+    
     /**
      * getAllRecords() - Read Operation (CRUD)
      * WHAT: Retrieves all inventory items from the database
@@ -33,13 +45,24 @@ public interface InventoryService {
      */
     List<FarmItem> getAllRecords() throws Exception; // Read
     
+    /**
+     * getRecordById() - Read Operation (CRUD)
+     * WHAT: Retrieves a single inventory item by its ID
+     * WHY: Edit, delete and purchase flows load the selected item before changing it
+     * HOW: Implementations query by primary key
+     * @param id Unique identifier of the item
+     * @return FarmItem object if found, null if not found
+     * @throws Exception If database operation fails
+     */
+    FarmItem getRecordById(int id) throws Exception; // Read one
+    
     /**
      * updateRecord() - Update Operation (CRUD)
      * WHAT: Updates an existing inventory item in the database
      * WHY: Required for editing/modifying existing records
      * HOW: Implementations will update database record with new item data
-     * @param item FarmItem object with updated data (must have valid ID)
-     * @throws Exception If database operation fails
+     * @param item FarmItem object with updated data (must have valid ID and the version it was read with)
+     * @throws Exception If database operation fails, or the record changed since the item was read
      */
     void updateRecord(FarmItem item) throws Exception; // Update
     
@@ -55,13 +78,50 @@ public interface InventoryService {
     
     /**
      * searchRecords() - Search/Filter Operation
-     * WHAT: Searches inventory items matching a query string
-     * WHY: Required for filtering records by name, notes, or item type
+     * WHAT: Searches inventory items containing a query string (case-insensitive)
+     * WHY: Required for filtering records by name, notes, item type or status
      * HOW: Implementations will query database with LIKE pattern matching
      * @param query Search string to match against item fields
      * @return List of FarmItem objects matching the search query
      * @throws Exception If database operation fails
      */
-    // Search/Filter 
+    // Search/Filter
     List<FarmItem> searchRecords(String query) throws Exception;
+
+    /**
+     * fullTextSearch() - Ranked Full-Text Search
+     * WHAT: Searches name, notes, item type and status word by word, best matches first
+     * WHY: Live search must not scan the whole table on every keystroke; relevant items should come first
+     * HOW: Implementations use a full-text index; every query word must match a word or the start of a word.
+     *      Queries containing partial words ("orn") additionally return searchRecords() substring matches,
+     *      after the ranked ones
+     * @param query Search words (case-insensitive, prefix matching)
+     * @param limit Maximum number of results
+     * @return Matching items ordered by relevance
+     * @throws Exception If database operation fails
+     */
+    List<FarmItem> fullTextSearch(String query, int limit) throws Exception;
+
+    /**
+     * getRecordsPage() - Paged Read Operation (Keyset Pagination)
+     * WHAT: Retrieves one page of inventory items, ordered by date (newest first) then ID
+     * WHY: Large inventories cannot be loaded in full; screens only need the rows they display
+     * HOW: Implementations seek past the (date_added, item_id) key in the cursor instead of using OFFSET
+     * @param cursor Token from a previous page's getNextCursor(), or null for the first page
+     * @param pageSize Maximum number of items to return (must be positive)
+     * @return InventoryPage with the items and the cursor for the next page
+     * @throws Exception If database operation fails or the cursor is invalid
+     */
+    // Pagination
+    InventoryPage getRecordsPage(String cursor, int pageSize) throws Exception;
+
+    /**
+     * countRecords() - Count Operation
+     * WHAT: Returns the total number of inventory items
+     * WHY: Paged screens need the total row count (scroll bars, "page X of Y")
+     * HOW: Implementations run SELECT COUNT(*)
+     * @return Total number of items in the inventory
+     * @throws Exception If database operation fails
+     */
+    int countRecords() throws Exception;
 }
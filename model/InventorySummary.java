@@ -0,0 +1,110 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+import java.util.Collections; // Import: Collections for the read-only group list
+import java.util.List; // Import: List interface for the aggregate groups
+
+/**
+ * InventorySummary - Aggregated Inventory Statistics
+ * WHAT: Item counts, quantity totals, harvest value and harvest status tallies for the whole inventory
+ * WHY: Report screens loaded every FarmItem just to count and sum them; this object carries only the totals
+ * HOW: Built by InventoryReportDAO from one row per (item_type, status) group; totals are derived once here
+ */
+public class InventorySummary {
+    /**
+     * Group - One (item_type, status) aggregate row
+     * WHAT: COUNT(*), SUM(quantity) and SUM(quantity * price_per_unit) for one type/status combination
+     */
+    public static final class Group {
+        private final String itemType;
+        private final String status; // null for rows without a status
+        private final int count;
+        private final double quantity;
+        private final double value; // 0 when no row in the group has a price
+
+        public Group(String itemType, String status, int count, double quantity, double value) {
+            this.itemType = itemType;
+            this.status = status;
+            this.count = count;
+            this.quantity = quantity;
+            this.value = value;
+        }
+
+        public String getItemType() { return itemType; }
+        public String getStatus() { return status; }
+        public int getCount() { return count; }
+        public double getQuantity() { return quantity; }
+        public double getValue() { return value; }
+    }
+
+    private final List<Group> groups;
+    private final int totalItems;
+    private final double totalQuantity;
+    private final int harvestCount;
+    private final double harvestQuantity;
+    private final double harvestValue;
+    private final int equipmentCount;
+    private final double equipmentQuantity;
+    private final int availableCount;
+    private final int interestedCount;
+    private final int soldOutCount;
+
+    /**
+     * Constructor - Derives the totals from the aggregate groups
+     * @param groups One entry per (item_type, status) combination present in the inventory
+     */
+    public InventorySummary(List<Group> groups) {
+        this.groups = Collections.unmodifiableList(groups);
+
+        int total = 0, harvests = 0, equipment = 0, available = 0, interested = 0, soldOut = 0;
+        double quantity = 0, harvestQty = 0, equipmentQty = 0, value = 0;
+        for (Group group : groups) {
+            total += group.count;
+            quantity += group.quantity;
+            if ("HARVEST".equals(group.itemType)) {
+                harvests += group.count;
+                harvestQty += group.quantity;
+                value += group.value;
+                // WHAT: Status tallies count harvests only (equipment rows have no sale status)
+                if ("Available".equals(group.status)) {
+                    available += group.count;
+                } else if ("Interested".equals(group.status)) {
+                    interested += group.count;
+                } else if ("Sold Out".equals(group.status)) {
+                    soldOut += group.count;
+                }
+            } else if ("EQUIPMENT".equals(group.itemType)) {
+                equipment += group.count;
+                equipmentQty += group.quantity;
+            }
+        }
+        this.totalItems = total;
+        this.totalQuantity = quantity;
+        this.harvestCount = harvests;
+        this.harvestQuantity = harvestQty;
+        this.harvestValue = value;
+        this.equipmentCount = equipment;
+        this.equipmentQuantity = equipmentQty;
+        this.availableCount = available;
+        this.interestedCount = interested;
+        this.soldOutCount = soldOut;
+    }
+
+    public List<Group> getGroups() { return groups; }
+    public int getTotalItems() { return totalItems; }
+    public double getTotalQuantity() { return totalQuantity; }
+    public double getAverageQuantity() { return totalItems > 0 ? totalQuantity / totalItems : 0.0; }
+    public int getHarvestCount() { return harvestCount; }
+    public double getHarvestQuantity() { return harvestQuantity; }
+    public double getHarvestValue() { return harvestValue; }
+    public int getEquipmentCount() { return equipmentCount; }
+    public double getEquipmentQuantity() { return equipmentQuantity; }
+    public int getAvailableCount() { return availableCount; }
+    public int getInterestedCount() { return interestedCount; }
+    public int getSoldOutCount() { return soldOutCount; }
+
+    @Override
+    public String toString() {
+        return "InventorySummary: " + totalItems + " items (" + harvestCount + " harvests, " + equipmentCount
+            + " equipment), quantity " + totalQuantity;
+    }
+}
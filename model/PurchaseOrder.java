@@ -0,0 +1,89 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+import java.time.LocalDateTime; // Import: LocalDateTime for the order time
+
+/**
+ * PurchaseOrder - One Completed Purchase in the Ledger
+ * WHAT: Who bought which item, how much, at what price, with which purchase method and delivery option
+ * WHY: A purchase used to change only INVENTORY_ITEM.quantity; sales could not be reconciled or reported
+ * HOW: Immutable snapshot written once to PURCHASE_ORDER by PurchaseOrderDAO (item name and price are copied,
+ *      so orders stay readable after the item is edited or deleted)
+ */
+public class PurchaseOrder {
+    // WHAT: Delivery options stored in delivery_option
+    public static final String DELIVERY = "DELIVERY";
+    public static final String PICKUP = "PICKUP";
+
+    private final long orderId; // 0 until the order is stored
+    private final int buyerId;
+    private final String buyerUsername;
+    private final int itemId;
+    private final String itemName;
+    private final double quantity;
+    private final String unit;
+    private final double pricePerUnit;
+    private final double subtotal;
+    private final double shippingFee;
+    private final double total;
+    private final String purchaseMethod;
+    private final String deliveryOption;
+    private final String deliveryAddress; // null for pickup
+    private final LocalDateTime orderedAt;
+
+    /**
+     * Constructor - Creates a new (not yet stored) order
+     * WHY: Used by PurchaseDialog; the ID is allocated when the ledger writes the order
+     */
+    public PurchaseOrder(int buyerId, String buyerUsername, int itemId, String itemName, double quantity, String unit,
+                         double pricePerUnit, double subtotal, double shippingFee, double total, String purchaseMethod,
+                         String deliveryOption, String deliveryAddress, LocalDateTime orderedAt) {
+        this(0, buyerId, buyerUsername, itemId, itemName, quantity, unit, pricePerUnit, subtotal, shippingFee, total,
+            purchaseMethod, deliveryOption, deliveryAddress, orderedAt);
+    }
+
+    /**
+     * Constructor - Creates an order with all fields
+     * WHY: Used by PurchaseOrderDAO when reading stored orders
+     */
+    public PurchaseOrder(long orderId, int buyerId, String buyerUsername, int itemId, String itemName, double quantity,
+                         String unit, double pricePerUnit, double subtotal, double shippingFee, double total,
+                         String purchaseMethod, String deliveryOption, String deliveryAddress, LocalDateTime orderedAt) {
+        this.orderId = orderId;
+        this.buyerId = buyerId;
+        this.buyerUsername = buyerUsername;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.pricePerUnit = pricePerUnit;
+        this.subtotal = subtotal;
+        this.shippingFee = shippingFee;
+        this.total = total;
+        this.purchaseMethod = purchaseMethod;
+        this.deliveryOption = deliveryOption;
+        this.deliveryAddress = deliveryAddress;
+        this.orderedAt = orderedAt;
+    }
+
+    public long getOrderId() { return orderId; }
+    public int getBuyerId() { return buyerId; }
+    public String getBuyerUsername() { return buyerUsername; }
+    public int getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public double getQuantity() { return quantity; }
+    public String getUnit() { return unit; }
+    public double getPricePerUnit() { return pricePerUnit; }
+    public double getSubtotal() { return subtotal; }
+    public double getShippingFee() { return shippingFee; }
+    public double getTotal() { return total; }
+    public String getPurchaseMethod() { return purchaseMethod; }
+    public String getDeliveryOption() { return deliveryOption; }
+    public String getDeliveryAddress() { return deliveryAddress; }
+    public LocalDateTime getOrderedAt() { return orderedAt; }
+
+    @Override
+    public String toString() {
+        return "Order " + orderId + ": " + buyerUsername + " bought " + quantity + " " + unit + " of " + itemName
+            + " (item " + itemId + ") for " + total;
+    }
+}
@@ -0,0 +1,70 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+/**
+ * PurchaseResult - Outcome of One Purchase Attempt
+ * WHAT: Whether the stock was decremented, and if not why, plus the remaining quantity and retry count
+ * WHY: Rejections such as "not enough stock left" are normal business outcomes the dialog must explain,
+ *      not database errors
+ * HOW: Created by PurchaseService; database failures are still thrown as exceptions
+ */
+public class PurchaseResult {
+    /**
+     * Outcome - Result kinds of a purchase
+     */
+    public enum Outcome {
+        COMPLETED, // Stock decremented and committed
+        NOT_FOUND, // Item was deleted
+        NOT_FOR_SALE, // Item is not a harvest lot or has no price
+        INSUFFICIENT_STOCK, // Less stock left than requested (another buyer was faster)
+        PRICE_CHANGED, // Seller changed the price since the buyer saw it
+        CONFLICT // Item kept changing concurrently - all retries used up
+    }
+
+    private final Outcome outcome;
+    private final double remainingQuantity;
+    private final String status;
+    private final int attempts;
+    private final long orderId;
+
+    /**
+     * Constructor - Creates a new PurchaseResult object without a recorded order
+     * @param outcome Result kind
+     * @param remainingQuantity Stock left after the purchase (COMPLETED) or currently available (rejections)
+     * @param status Item status after the purchase (COMPLETED) or current status
+     * @param attempts Number of attempts made (1 = no retry)
+     */
+    public PurchaseResult(Outcome outcome, double remainingQuantity, String status, int attempts) {
+        this(outcome, remainingQuantity, status, attempts, 0);
+    }
+
+    /**
+     * Constructor - Creates a new PurchaseResult object
+     * @param orderId ID of the PURCHASE_ORDER row committed with the purchase, or 0 if none was recorded
+     */
+    public PurchaseResult(Outcome outcome, double remainingQuantity, String status, int attempts, long orderId) {
+        this.outcome = outcome;
+        this.remainingQuantity = remainingQuantity;
+        this.status = status;
+        this.attempts = attempts;
+        this.orderId = orderId;
+    }
+
+    public Outcome getOutcome() { return outcome; }
+    public double getRemainingQuantity() { return remainingQuantity; }
+    public String getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public long getOrderId() { return orderId; }
+
+    /**
+     * isCompleted() - Returns true if the stock was decremented
+     */
+    public boolean isCompleted() {
+        return outcome == Outcome.COMPLETED;
+    }
+
+    @Override
+    public String toString() {
+        return outcome + " (remaining " + remainingQuantity + ", status " + status + ", attempts " + attempts
+            + (orderId != 0 ? ", order " + orderId : "") + ")";
+    }
+}
@@ -0,0 +1,64 @@
+package model; // Package declaration: Groups this class with other model/data classes
+
+import java.time.LocalDate; // Import: LocalDate for the bucket start
+
+/**
+ * RollupPoint - Harvest and Sales Totals of One Crop in One Time Bucket
+ * WHAT: Quantity harvested (and lots recorded), quantity sold (and sales), revenue for a crop/unit in a day, week or month
+ * WHY: Trend reports show throughput over time instead of point-in-time counts
+ * HOW: Built by DailyRollupDAO from DAILY_ROLLUP rows; weekly and monthly points are sums of daily rows
+ */
+public class RollupPoint {
+    private final LocalDate bucketStart; // First day of the day/week/month
+    private final String crop; // Harvest lot name
+    private final String unit; // Quantities of different units are never added together
+    private final double harvestedQuantity;
+    private final int harvestLots;
+    private final double soldQuantity;
+    private final int salesCount;
+    private final double revenue; // Order subtotals (without shipping)
+
+    public RollupPoint(LocalDate bucketStart, String crop, String unit, double harvestedQuantity, int harvestLots,
+                       double soldQuantity, int salesCount, double revenue) {
+        this.bucketStart = bucketStart;
+        this.crop = crop;
+        this.unit = unit;
+        this.harvestedQuantity = harvestedQuantity;
+        this.harvestLots = harvestLots;
+        this.soldQuantity = soldQuantity;
+        this.salesCount = salesCount;
+        this.revenue = revenue;
+    }
+
+    /**
+     * plus() - Returns the sum of this point and another point of the same crop and unit
+     * WHY: Downsampling adds daily points into their week or month
+     */
+    public RollupPoint plus(RollupPoint other) {
+        return new RollupPoint(bucketStart, crop, unit, harvestedQuantity + other.harvestedQuantity,
+            harvestLots + other.harvestLots, soldQuantity + other.soldQuantity, salesCount + other.salesCount,
+            revenue + other.revenue);
+    }
+
+    /**
+     * withBucketStart() - Returns the same totals under another bucket start
+     */
+    public RollupPoint withBucketStart(LocalDate start) {
+        return new RollupPoint(start, crop, unit, harvestedQuantity, harvestLots, soldQuantity, salesCount, revenue);
+    }
+
+    public LocalDate getBucketStart() { return bucketStart; }
+    public String getCrop() { return crop; }
+    public String getUnit() { return unit; }
+    public double getHarvestedQuantity() { return harvestedQuantity; }
+    public int getHarvestLots() { return harvestLots; }
+    public double getSoldQuantity() { return soldQuantity; }
+    public int getSalesCount() { return salesCount; }
+    public double getRevenue() { return revenue; }
+
+    @Override
+    public String toString() {
+        return bucketStart + " " + crop + ": harvested " + harvestedQuantity + " " + unit + ", sold " + soldQuantity
+            + " " + unit;
+    }
+}
@@ -19,10 +19,9 @@ public class User {
     // HOW: Stored in database and used for login verification
     private String username;
     
-    // WHAT: Password for authentication (stored in plain text - for educational purposes)
+    // WHAT: Stored password hash (util.PasswordHasher format, salted PBKDF2)
     // WHY: Required for secure login verification
-    // HOW: Compared with user input during login process
-    // NOTE: In production, passwords should be hashed (e.g., bcrypt, SHA-256)
+    // HOW: UserDAO.login() verifies user input against it; the password itself is never stored
     private String password; 
     
     // WHAT: Full name of the user for display purposes
@@ -47,7 +46,7 @@ public class User {
      * HOW: Assigns parameter values to corresponding instance fields
      * @param id Unique user identifier from database
      * @param username Login username
-     * @param password Login password
+     * @param password Stored password hash
      * @param name User's full name
      * @param role User's role (ADMIN/BUYER/SELLER)
      * @param location User's location/warehouse address (can be null)
@@ -94,8 +93,8 @@ public class User {
     public String getUsername() { return username; }
     
     /**
-     * WHAT: Returns the password (for login verification)
-     * WHY: Needed to compare with user input during authentication
+     * WHAT: Returns the stored password hash
+     * WHY: Identifies the stored credential (UserDAO verifies passwords against the database row)
      * HOW: Returns the private password field value
      */
     public String getPassword() { return password; }
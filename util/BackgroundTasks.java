@@ -0,0 +1,222 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.util.List; // Import: List interface for published progress chunks
+import java.util.concurrent.Callable; // Import: Callable for simple background work
+import java.util.concurrent.CancellationException; // Import: CancellationException for cancelled tasks
+import java.util.concurrent.ExecutionException; // Import: ExecutionException for unwrapping task errors
+import java.util.concurrent.ExecutorService; // Import: ExecutorService for the shared worker threads
+import java.util.concurrent.Future; // Import: Future returned to callers for cancellation
+import java.util.concurrent.LinkedBlockingQueue; // Import: LinkedBlockingQueue for queued tasks
+import java.util.concurrent.ThreadPoolExecutor; // Import: ThreadPoolExecutor for bounded worker threads
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for keep-alive time
+import java.util.concurrent.atomic.AtomicInteger; // Import: AtomicInteger for thread numbering
+import java.util.function.Consumer; // Import: Consumer for EDT completion callbacks
+import javax.swing.SwingWorker; // Import: SwingWorker for EDT-aware background tasks
+
+/**
+ * BackgroundTasks - Shared Background Execution Layer for GUI Database Work
+ * WHAT: Runs database (DAO) calls on worker threads and delivers results back on the Event Dispatch Thread
+ * WHY: JDBC calls on the EDT freeze the whole application while a query or a connection retry is running
+ * HOW: Wraps each task in a SwingWorker executed on a small shared thread pool;
+ *      onSuccess/onError/onProgress callbacks always run on the EDT, so they may update Swing components
+ *
+ * USAGE:
+ *   BackgroundTasks.run(() -> dao.getAllRecords(), records -> showRecords(records), ex -> showError(ex));
+ */
+public final class BackgroundTasks {
+    /**
+     * Work - Background work that can report progress
+     * WHAT: Function executed on a worker thread
+     * WHY: Long tasks (imports, exports) need to report progress and check for cancellation
+     * HOW: Receives a Progress object, returns a result or throws an exception
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T call(Progress progress) throws Exception;
+    }
+
+    /**
+     * Progress - Progress reporting handle passed to Work
+     * WHAT: Lets background work publish progress and detect cancellation
+     * WHY: Progress updates must reach the EDT; cancelled work should stop early
+     * HOW: Implemented by the task's SwingWorker
+     */
+    public interface Progress {
+        /**
+         * WHAT: Reports progress (0-100) and an optional status message
+         * WHY: GUI shows progress bars/status labels during long operations
+         * HOW: Delivered to the onProgress callback on the EDT (coalesced if reported faster than painted)
+         */
+        void update(int percent, String message);
+
+        /**
+         * WHAT: Returns true if the task was cancelled
+         * WHY: Long-running work should check this and stop early
+         * HOW: Reflects Future.cancel() on the task
+         */
+        boolean isCancelled();
+    }
+
+    // WHAT: Number of worker threads
+    // WHY: Matches the order of the connection pool size; more threads would just wait for connections
+    // HOW: Overridable with -Dagritrack.tasks.threads
+    private static final int WORKER_THREADS = Integer.getInteger("agritrack.tasks.threads", 4);
+
+    // WHAT: Shared executor for all GUI background tasks
+    // WHY: One bounded pool for the whole application instead of a new thread per click
+    // HOW: Fixed-size daemon threads so pending tasks never keep the JVM alive after the last window closes
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private BackgroundTasks() {
+        // Utility class - no instances
+    }
+
+    /**
+     * createExecutor() - Creates the shared worker pool
+     * WHAT: ThreadPoolExecutor with named daemon threads
+     * WHY: Named threads make thread dumps and profiler output readable
+     * HOW: Core = max = WORKER_THREADS, idle threads time out after 60 seconds
+     */
+    private static ExecutorService createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            WORKER_THREADS, WORKER_THREADS, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                Thread t = new Thread(r, "agritrack-worker-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * run() - Runs simple background work
+     * WHAT: Executes work on a worker thread, then calls onSuccess or onError on the EDT
+     * WHY: Most DAO calls are a single query with no progress to report
+     * HOW: Adapts the Callable to Work and delegates to runWithProgress()
+     * @param work Background work (runs off the EDT - must not touch Swing components)
+     * @param onSuccess Called on the EDT with the result (may be null)
+     * @param onError Called on the EDT with the failure (may be null to just log)
+     * @return Future that can be used to cancel the task
+     */
+    public static <T> Future<T> run(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        return runWithProgress(progress -> work.call(), onSuccess, onError, null);
+    }
+
+    /**
+     * runWithProgress() - Runs background work with progress reporting
+     * WHAT: Executes work on a worker thread with EDT callbacks for progress, success and failure
+     * WHY: Long tasks (imports, exports) must keep the GUI responsive and show progress
+     * HOW: SwingWorker publishes progress chunks; done() unwraps the result on the EDT
+     * @param work Background work (runs off the EDT - must not touch Swing components)
+     * @param onSuccess Called on the EDT with the result (may be null)
+     * @param onError Called on the EDT with the failure (may be null to just log)
+     * @param onProgress Called on the EDT with (percent, message) updates (may be null)
+     * @return Future that can be used to cancel the task; cancelled tasks call neither onSuccess nor onError
+     */
+    public static <T> Future<T> runWithProgress(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError,
+                                                ProgressCallback onProgress) {
+        TaskWorker<T> worker = new TaskWorker<>(work, onSuccess, onError, onProgress);
+        EXECUTOR.execute(worker);
+        return worker;
+    }
+
+    /**
+     * ProgressCallback - EDT progress listener
+     * WHAT: Receives progress updates on the EDT
+     * WHY: Lets callers update progress bars or status labels safely
+     */
+    @FunctionalInterface
+    public interface ProgressCallback {
+        void onProgress(int percent, String message);
+    }
+
+    /**
+     * ProgressUpdate - One published progress update
+     */
+    private static final class ProgressUpdate {
+        final int percent;
+        final String message;
+
+        ProgressUpdate(int percent, String message) {
+            this.percent = percent;
+            this.message = message;
+        }
+    }
+
+    /**
+     * TaskWorker - SwingWorker adapter for Work
+     * WHAT: Runs Work in doInBackground(), routes callbacks to the EDT
+     * WHY: SwingWorker already guarantees process()/done() run on the EDT
+     * HOW: publish() for progress, get() in done() to obtain the result or the exception
+     */
+    private static final class TaskWorker<T> extends SwingWorker<T, ProgressUpdate> implements Progress {
+        private final Work<T> work;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onError;
+        private final ProgressCallback onProgress;
+
+        TaskWorker(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError, ProgressCallback onProgress) {
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            this.onProgress = onProgress;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return work.call(this);
+        }
+
+        @Override
+        public void update(int percent, String message) {
+            int clamped = Math.max(0, Math.min(100, percent));
+            setProgress(clamped);
+            publish(new ProgressUpdate(clamped, message));
+        }
+
+        @Override
+        protected void process(List<ProgressUpdate> chunks) {
+            // WHAT: Deliver only the latest update
+            // WHY: Updates published faster than the EDT can paint are coalesced into one chunk list
+            // HOW: Last element is the most recent progress
+            if (onProgress != null && !chunks.isEmpty()) {
+                ProgressUpdate latest = chunks.get(chunks.size() - 1);
+                onProgress.onProgress(latest.percent, latest.message);
+            }
+        }
+
+        @Override
+        protected void done() {
+            // WHAT: Deliver result or error on the EDT
+            // WHY: Callbacks update Swing components
+            // HOW: get() returns the result or throws the wrapped exception
+            if (isCancelled()) {
+                return; // Cancelled tasks report nothing
+            }
+            T result;
+            try {
+                result = get();
+            } catch (CancellationException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                Exception error = cause instanceof Exception ? (Exception) cause : new Exception(cause);
+                if (onError != null) {
+                    onError.accept(error);
+                } else {
+                    System.err.println("Background task failed: " + error.getMessage());
+                }
+                return;
+            }
+            if (onSuccess != null) {
+                onSuccess.accept(result);
+            }
+        }
+    }
+}
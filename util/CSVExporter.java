@@ -1,8 +1,11 @@
 package util; // Package declaration: Groups this class with other utility classes
 
+import dao.InventoryDAO; // Import: InventoryDAO for parsing stored dates
 import java.io.BufferedWriter; // Import: BufferedWriter for efficient text file writing
 import java.io.FileWriter; // Import: FileWriter for writing to files
 import java.io.IOException; // Import: IOException for file I/O error handling
+import java.sql.ResultSet; // Import: ResultSet for streaming exports
+import java.sql.SQLException; // Import: SQLException for result set read errors
 import java.util.List; // Import: List interface for collections of FarmItem objects
 import model.FarmItem; // Import: FarmItem base class for inventory items
 
@@ -10,7 +13,8 @@ import model.FarmItem; // Import: FarmItem base class for inventory items
  * CSVExporter - Utility Class for Exporting Data to CSV Files
  * WHAT: Exports inventory records to CSV (Comma-Separated Values) file format
  * WHY: Allows users to backup data or import into spreadsheet programs (Excel, Google Sheets)
- * HOW: Writes each FarmItem to CSV file using polymorphic toCSVString() method
+ * HOW: Writes each FarmItem to CSV file using polymorphic toCSVString() method,
+ *      or streams rows straight from a ResultSet with CsvRowWriter for large exports
  * 
  * OOP CONCEPT: Polymorphism - Uses toCSVString() method that each subclass implements differently
  */
@@ -30,6 +34,10 @@ public class CSVExporter {
      * @throws IOException If file cannot be written (permissions, disk full, etc.)
      */
     public static void exportToCSV(String filePath, List<FarmItem> records) throws IOException {
+        // WHAT: Flight recorder event for this export (written only during recordings)
+        FlightEvents.CsvExport event = new FlightEvents.CsvExport();
+        event.begin();
+        
         // WHAT: Try-with-resources block to automatically close file writer
         // WHY: Ensures file is properly closed even if exception occurs
         // HOW: try (resource) syntax automatically calls close() when block exits
@@ -49,9 +57,79 @@ public class CSVExporter {
                 // Uses Polymorphism via toCSVString() method defined in model classes
                 writer.write(item.toCSVString() + "\n"); // Write CSV row and newline character
             }
+        } finally {
+            event.file = filePath;
+            event.rows = records.size();
+            event.commit();
         }
         // WHAT: File writer automatically closed here (try-with-resources)
         // WHY: Prevents resource leaks and ensures data is flushed to disk
         // HOW: BufferedWriter.close() is called automatically when try block exits
     }
+    
+    /**
+     * exportToCSV() - Streams inventory rows from a query result to a CSV file
+     * WHAT: Writes header and one line per row while the ResultSet is being read
+     * WHY: Constant memory and no per-field String.format() - exports of millions of rows run at disk speed
+     * HOW: Columns are looked up once; numbers and dates are formatted by CsvRowWriter into a large buffer.
+     *      Output is identical to the list export: HARVEST rows end with status and price,
+     *      EQUIPMENT rows with condition (stored in the status column)
+     * @param filePath Full path where CSV file should be created
+     * @param rs Forward-only result with columns item_id, name, quantity, unit, item_type, date_added,
+     *           status, notes, price_per_unit (not closed by this method)
+     * @return Number of rows written
+     * @throws IOException If file cannot be written
+     * @throws SQLException If a row cannot be read
+     */
+    public static int exportToCSV(String filePath, ResultSet rs) throws IOException, SQLException {
+        // WHAT: Resolve column indexes once
+        // WHY: Lookup by name for every row and column costs a map lookup (and often a toUpperCase()) each time
+        int idColumn = rs.findColumn("item_id");
+        int nameColumn = rs.findColumn("name");
+        int quantityColumn = rs.findColumn("quantity");
+        int unitColumn = rs.findColumn("unit");
+        int typeColumn = rs.findColumn("item_type");
+        int dateColumn = rs.findColumn("date_added");
+        int statusColumn = rs.findColumn("status");
+        int notesColumn = rs.findColumn("notes");
+        int priceColumn = rs.findColumn("price_per_unit");
+        
+        FlightEvents.CsvExport event = new FlightEvents.CsvExport();
+        event.begin();
+        event.file = filePath;
+        event.streaming = true;
+        int rows = 0;
+        try (CsvRowWriter writer = new CsvRowWriter(new FileWriter(filePath))) {
+            writer.text(CSV_HEADER);
+            while (rs.next()) {
+                writer.integer(rs.getInt(idColumn)).comma()
+                      .text(rs.getString(nameColumn)).comma()
+                      .decimal2(rs.getDouble(quantityColumn)).comma()
+                      .text(rs.getString(unitColumn)).comma();
+                
+                // WHAT: Write stored dates in yyyy-MM-dd form
+                // WHY: Most values are already ISO text and can be copied; others (MM/dd/yyyy) are converted
+                // HOW: Same fallback rules as InventoryDAO.createFarmItemFromResultSet()
+                String date = rs.getString(dateColumn);
+                if (date != null && date.length() == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+                    writer.text(date);
+                } else {
+                    writer.date(InventoryDAO.parseDateAdded(date));
+                }
+                
+                writer.comma().text(rs.getString(notesColumn)).comma()
+                      .text(rs.getString(statusColumn));
+                if (!"EQUIPMENT".equals(rs.getString(typeColumn))) {
+                    // WHAT: Price column only for harvest rows (null written as 0.00, like toCSVString())
+                    writer.comma().decimal2(rs.getDouble(priceColumn));
+                }
+                writer.endRow();
+                rows++;
+            }
+        } finally {
+            event.rows = rows;
+            event.commit(); // Written only during flight recordings
+        }
+        return rows;
+    }
 }
@@ -0,0 +1,613 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.lang.reflect.InvocationHandler; // Import: InvocationHandler for intercepting Connection.close()
+import java.lang.reflect.InvocationTargetException; // Import: InvocationTargetException for unwrapping proxied errors
+import java.lang.reflect.Method; // Import: Method for reflective calls on the physical connection
+import java.lang.reflect.Proxy; // Import: Proxy for creating pooled Connection wrappers
+import java.sql.Connection; // Import: Connection interface for database connections
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.util.ArrayDeque; // Import: ArrayDeque for the idle connection stack
+import java.util.Deque; // Import: Deque interface for idle connections
+import java.util.Iterator; // Import: Iterator for removing evicted idle connections
+import java.util.Set; // Import: Set interface for tracking borrowed connections
+import java.util.concurrent.ConcurrentHashMap; // Import: ConcurrentHashMap for thread-safe borrowed tracking
+import java.util.concurrent.Executors; // Import: Executors for the housekeeping thread
+import java.util.concurrent.ScheduledExecutorService; // Import: ScheduledExecutorService for periodic eviction
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for timeouts and scheduling
+import java.util.concurrent.locks.Condition; // Import: Condition for waiting on a free connection
+import java.util.concurrent.locks.ReentrantLock; // Import: ReentrantLock for guarding pool state
+
+/**
+ * ConnectionPool - Bounded, Self-Validating JDBC Connection Pool
+ * WHAT: Keeps a bounded set of open database connections and hands them out on request
+ * WHY: Opening a new H2 connection for every DAO call (DriverManager + retry + metadata round trip) dominates short queries
+ * HOW: Idle connections are kept in a stack; borrowers get a proxy whose close() returns the connection to the pool
+ *
+ * FEATURES:
+ * - Min/max size: keeps at least minIdle connections warm, never opens more than maxSize
+ * - Borrow timeout: callers wait up to borrowTimeoutMillis for a free connection, then get an SQLException
+ * - Validation: connections idle longer than validationIntervalMillis are checked with isValid() before reuse
+ * - Idle eviction: connections idle longer than idleTimeoutMillis are closed (down to minIdle)
+ * - Leak detection: connections held longer than leakThresholdMillis are reported with the borrower's stack trace
+ */
+public class ConnectionPool {
+    /**
+     * ConnectionFactory - Creates physical (non-pooled) connections
+     * WHAT: Functional interface used by the pool to open a new database connection
+     * WHY: Keeps the pool independent of how DBConnection chooses URLs and handles lock retries
+     * HOW: DBConnection passes a method reference to its physical connection method
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * PooledEntry - Book-keeping for one physical connection
+     * WHAT: Holds the physical connection and its timestamps
+     * WHY: Pool needs to know when a connection was last used (eviction) and who borrowed it (leak detection)
+     * HOW: Simple mutable holder guarded by the pool lock
+     */
+    private static final class PooledEntry {
+        final Connection physical; // The real JDBC connection
+        final long createdAt; // Creation time in milliseconds
+        long lastReturnedAt; // Last time the connection went back to the idle stack
+        long borrowedAt; // Time of the current borrow
+        Throwable borrowSite; // Stack trace of the current borrower (for leak reports)
+        boolean leakReported; // True once a leak warning has been printed for this borrow
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = this.createdAt;
+        }
+    }
+
+    /**
+     * PoolStats - Snapshot of pool statistics
+     * WHAT: Immutable view of pool counters for monitoring
+     * WHY: Lets callers (console, admin screens) see pool health without touching pool internals
+     * HOW: Created under the pool lock by getStats()
+     */
+    public static final class PoolStats {
+        private final int active; // Connections currently borrowed
+        private final int idle; // Connections waiting in the pool
+        private final int maxSize; // Configured maximum
+        private final int waiting; // Threads blocked waiting for a connection
+        private final long totalBorrowed; // Number of successful borrows
+        private final long totalCreated; // Number of physical connections opened
+        private final long totalDestroyed; // Number of physical connections closed
+        private final long totalTimeouts; // Number of borrows that timed out
+        private final long totalValidationFailures; // Number of connections that failed isValid()
+        private final long totalLeaksDetected; // Number of borrows reported as leaks
+
+        PoolStats(int active, int idle, int maxSize, int waiting, long totalBorrowed, long totalCreated,
+                  long totalDestroyed, long totalTimeouts, long totalValidationFailures, long totalLeaksDetected) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.waiting = waiting;
+            this.totalBorrowed = totalBorrowed;
+            this.totalCreated = totalCreated;
+            this.totalDestroyed = totalDestroyed;
+            this.totalTimeouts = totalTimeouts;
+            this.totalValidationFailures = totalValidationFailures;
+            this.totalLeaksDetected = totalLeaksDetected;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getMaxSize() { return maxSize; }
+        public int getWaiting() { return waiting; }
+        public long getTotalBorrowed() { return totalBorrowed; }
+        public long getTotalCreated() { return totalCreated; }
+        public long getTotalDestroyed() { return totalDestroyed; }
+        public long getTotalTimeouts() { return totalTimeouts; }
+        public long getTotalValidationFailures() { return totalValidationFailures; }
+        public long getTotalLeaksDetected() { return totalLeaksDetected; }
+
+        @Override
+        public String toString() {
+            return "Pool[active=" + active + ", idle=" + idle + ", max=" + maxSize + ", waiting=" + waiting +
+                   ", borrowed=" + totalBorrowed + ", created=" + totalCreated + ", destroyed=" + totalDestroyed +
+                   ", timeouts=" + totalTimeouts + ", validationFailures=" + totalValidationFailures +
+                   ", leaks=" + totalLeaksDetected + "]";
+        }
+    }
+
+    // WHAT: Pool configuration values
+    // WHY: Different deployments need different sizes and timeouts
+    // HOW: Set once in the constructor, read by borrow/return/housekeeping
+    private final ConnectionFactory factory;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final long leakThresholdMillis;
+
+    // WHAT: Pool state (idle stack and borrowed set)
+    // WHY: Idle stack gives LIFO reuse (warmest connection first), borrowed set is used for leak detection
+    // HOW: Guarded by lock; notEmpty is signalled whenever a connection is returned or capacity frees up
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int totalConnections; // Idle + borrowed + being created
+    private int waitingThreads;
+    private boolean closed;
+
+    // WHAT: Statistic counters
+    // WHY: Exposed through getStats() for monitoring
+    // HOW: Incremented under lock
+    private long totalBorrowed;
+    private long totalCreated;
+    private long totalDestroyed;
+    private long totalTimeouts;
+    private long totalValidationFailures;
+    private long totalLeaksDetected;
+
+    // WHAT: Background thread for idle eviction, minimum-idle top-up and leak detection
+    // WHY: Those checks must run even when nobody is borrowing connections
+    // HOW: Single daemon thread so it never keeps the application alive
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Constructor - Creates a new connection pool
+     * WHAT: Stores configuration and starts the housekeeping thread
+     * WHY: Pool is created once by DBConnection and shared by all DAOs
+     * HOW: Validates arguments, schedules housekeeping at a fraction of the idle timeout
+     * @param factory Creates physical connections
+     * @param minIdle Minimum number of idle connections to keep open
+     * @param maxSize Maximum number of open connections (idle + borrowed)
+     * @param borrowTimeoutMillis Maximum time to wait for a free connection
+     * @param idleTimeoutMillis Idle time after which surplus connections are closed
+     * @param validationIntervalMillis Idle time after which a connection is validated before reuse
+     * @param leakThresholdMillis Borrow time after which a connection is reported as leaked (0 disables)
+     */
+    public ConnectionPool(ConnectionFactory factory, int minIdle, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long validationIntervalMillis, long leakThresholdMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "agritrack-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, Math.min(idleTimeoutMillis, leakThresholdMillis > 0 ? leakThresholdMillis : idleTimeoutMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * getConnection() - Borrows a connection from the pool
+     * WHAT: Returns a pooled connection, opening a new one if the pool is below maxSize
+     * WHY: Replaces DriverManager.getConnection() for every DAO call
+     * HOW: Reuses a validated idle connection, else creates one, else waits up to borrowTimeoutMillis
+     * @return Connection proxy; calling close() returns it to the pool
+     * @throws SQLException If the pool is closed, the wait times out, or a connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean mayCreate = false;
+
+            lock.lock();
+            try {
+                // WHAT: Wait until a connection is idle or capacity is available
+                // WHY: Bounded pool - never exceed maxSize open connections
+                // HOW: Condition.awaitNanos() releases the lock while waiting
+                while (!closed && idle.isEmpty() && totalConnections >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        totalTimeouts++;
+                        throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection. " + statsLocked());
+                    }
+                    waitingThreads++;
+                    try {
+                        notEmpty.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waitingThreads--;
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                if (!idle.isEmpty()) {
+                    entry = idle.pollFirst(); // LIFO: most recently used connection first
+                } else {
+                    totalConnections++; // Reserve a slot before creating outside the lock
+                    mayCreate = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mayCreate) {
+                // WHAT: Open a new physical connection outside the lock
+                // WHY: Connection setup can be slow (lock retries), must not block other borrowers
+                // HOW: Release the reserved slot if creation fails
+                try {
+                    entry = new PooledEntry(factory.create());
+                } catch (SQLException | RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+                lock.lock();
+                try {
+                    totalCreated++;
+                } finally {
+                    lock.unlock();
+                }
+            } else if (!isUsable(entry)) {
+                // WHAT: Idle connection failed validation, discard it and try again
+                // WHY: Self-validating pool never hands out broken connections
+                // HOW: destroy() closes it and frees its slot, loop retries
+                destroy(entry);
+                continue;
+            }
+
+            return lend(entry);
+        }
+    }
+
+    /**
+     * isUsable() - Validates an idle connection before reuse
+     * WHAT: Checks that the connection is open and, if idle long enough, still valid
+     * WHY: Database may have been restarted or the connection dropped while idle
+     * HOW: isClosed() always, isValid() only after validationIntervalMillis of idleness (keeps hot path cheap)
+     */
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastReturnedAt >= validationIntervalMillis
+                    && !entry.physical.isValid(2)) {
+                lock.lock();
+                try {
+                    totalValidationFailures++;
+                } finally {
+                    lock.unlock();
+                }
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * lend() - Marks an entry as borrowed and wraps it in a proxy
+     * WHAT: Records borrow time and call site, returns a Connection proxy
+     * WHY: Proxy intercepts close() so DAOs keep using try-with-resources unchanged
+     * HOW: java.lang.reflect.Proxy with a PooledConnectionHandler
+     */
+    private Connection lend(PooledEntry entry) {
+        entry.borrowedAt = System.currentTimeMillis();
+        entry.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+        entry.leakReported = false;
+        borrowed.add(entry);
+        lock.lock();
+        try {
+            totalBorrowed++;
+        } finally {
+            lock.unlock();
+        }
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            new PooledConnectionHandler(entry));
+    }
+
+    /**
+     * giveBack() - Returns a borrowed connection to the idle stack
+     * WHAT: Resets connection state and makes it available to other borrowers
+     * WHY: Next borrower must get a connection in default state (auto-commit on, no open transaction)
+     * HOW: Rolls back uncommitted work, restores auto-commit, pushes onto idle stack, signals waiters
+     */
+    private void giveBack(PooledEntry entry) {
+        borrowed.remove(entry);
+        try {
+            if (entry.physical.isClosed()) {
+                destroy(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (entry.physical.isReadOnly()) {
+                entry.physical.setReadOnly(false);
+            }
+        } catch (SQLException e) {
+            destroy(entry);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                closeQuietly(entry.physical);
+                totalConnections--;
+                totalDestroyed++;
+                return;
+            }
+            entry.lastReturnedAt = System.currentTimeMillis();
+            entry.borrowSite = null;
+            idle.offerFirst(entry);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * destroy() - Closes a physical connection and frees its slot
+     * WHAT: Closes connection, decrements total count, wakes a waiter
+     * WHY: Broken or evicted connections must not count against maxSize
+     * HOW: closeQuietly() then update counters under lock
+     */
+    private void destroy(PooledEntry entry) {
+        closeQuietly(entry.physical);
+        borrowed.remove(entry);
+        lock.lock();
+        try {
+            totalDestroyed++;
+            totalConnections--;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * releaseSlot() - Frees a reserved slot after a failed creation
+     */
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * housekeep() - Periodic maintenance task
+     * WHAT: Evicts surplus idle connections, tops up to minIdle, and reports leaked connections
+     * WHY: Keeps resource usage bounded and surfaces DAO code that forgets to close connections
+     * HOW: Runs on the housekeeper thread every few seconds
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // WHAT: Evict connections idle longer than idleTimeoutMillis (keep at least minIdle)
+            // WHY: Idle connections hold database resources (file handles, server sessions)
+            // HOW: Iterate from the bottom of the stack (least recently used) and remove expired entries
+            java.util.List<PooledEntry> evicted = new java.util.ArrayList<>();
+            lock.lock();
+            try {
+                Iterator<PooledEntry> it = idle.descendingIterator();
+                while (it.hasNext() && idle.size() > minIdle) {
+                    PooledEntry entry = it.next();
+                    if (now - entry.lastReturnedAt >= idleTimeoutMillis) {
+                        it.remove();
+                        evicted.add(entry);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (PooledEntry entry : evicted) {
+                destroy(entry);
+            }
+
+            // WHAT: Report connections borrowed longer than leakThresholdMillis
+            // WHY: A DAO that forgets to close its connection slowly starves the pool
+            // HOW: Print the borrower's stack trace once per borrow
+            if (leakThresholdMillis > 0) {
+                for (PooledEntry entry : borrowed) {
+                    if (!entry.leakReported && now - entry.borrowedAt >= leakThresholdMillis) {
+                        entry.leakReported = true;
+                        lock.lock();
+                        try {
+                            totalLeaksDetected++;
+                        } finally {
+                            lock.unlock();
+                        }
+                        System.err.println("⚠ Possible connection leak: connection held for " + (now - entry.borrowedAt) + " ms");
+                        if (entry.borrowSite != null) {
+                            entry.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            // WHAT: Top up idle connections to minIdle
+            // WHY: Keeps warm connections ready so the next query does not pay setup cost
+            // HOW: Reserve slot under lock, create outside lock, push onto idle stack
+            fillToMinIdle();
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * fillToMinIdle() - Opens connections until minIdle idle connections exist
+     */
+    private void fillToMinIdle() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || idle.size() >= minIdle || totalConnections >= maxSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                PooledEntry entry = new PooledEntry(factory.create());
+                lock.lock();
+                try {
+                    totalCreated++;
+                    if (closed) {
+                        closeQuietly(entry.physical);
+                        totalConnections--;
+                        totalDestroyed++;
+                        return;
+                    }
+                    idle.offerLast(entry);
+                    notEmpty.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException | RuntimeException e) {
+                releaseSlot();
+                return; // Try again on next housekeeping run
+            }
+        }
+    }
+
+    /**
+     * clear() - Closes all idle connections
+     * WHAT: Empties the idle stack; borrowed connections are closed when returned
+     * WHY: Needed when DBConnection switches database URL so stale connections are not reused
+     * HOW: Drain idle stack under lock, close each connection outside lock
+     */
+    public void clear() {
+        java.util.List<PooledEntry> drained;
+        lock.lock();
+        try {
+            drained = new java.util.ArrayList<>(idle);
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledEntry entry : drained) {
+            destroy(entry);
+        }
+        // Borrowed connections still point at the old database: mark them so they are closed on return
+        for (PooledEntry entry : borrowed) {
+            entry.lastReturnedAt = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * shutdown() - Closes the pool and all idle connections
+     * WHAT: Stops housekeeping, rejects new borrows, closes idle connections
+     * WHY: Clean shutdown when the application exits
+     * HOW: Sets closed flag, wakes waiters, closes idle connections
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        clear();
+    }
+
+    /**
+     * getStats() - Returns a snapshot of pool statistics
+     * WHAT: Current active/idle counts and lifetime counters
+     * WHY: Exposed for monitoring (console output, admin screens)
+     * @return PoolStats snapshot
+     */
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return statsLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PoolStats statsLocked() {
+        return new PoolStats(borrowed.size(), idle.size(), maxSize, waitingThreads, totalBorrowed,
+                             totalCreated, totalDestroyed, totalTimeouts, totalValidationFailures, totalLeaksDetected);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // Ignore errors while closing a discarded connection
+        }
+    }
+
+    /**
+     * PooledConnectionHandler - Proxy handler for borrowed connections
+     * WHAT: Forwards every call to the physical connection except close()/isClosed()
+     * WHY: close() must return the connection to the pool instead of closing it
+     * HOW: Tracks a per-borrow closed flag so double close() is harmless and use-after-close fails
+     */
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned;
+
+        PooledConnectionHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        if (entry.lastReturnedAt == Long.MIN_VALUE) {
+                            destroy(entry); // Pool was cleared while this connection was borrowed
+                        } else {
+                            giveBack(entry);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "unwrap":
+                    if (args != null && args.length == 1 && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
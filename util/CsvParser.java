@@ -0,0 +1,270 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.io.Closeable; // Import: Closeable so the parser can be used in try-with-resources
+import java.io.IOException; // Import: IOException for read errors
+import java.io.Reader; // Import: Reader as the character source
+import java.util.Arrays; // Import: Arrays for growing the reusable buffers
+
+/**
+ * CsvParser - Streaming, Allocation-Free CSV Record Reader
+ * WHAT: Reads one CSV record at a time from a Reader, exposing its fields by index
+ * WHY: Reading a whole file into lines/lists, or allocating a StringBuilder and String[] per line,
+ *      runs out of memory on multi-gigabyte files and spends most of its time in the garbage collector
+ * HOW: Characters are read in large blocks into a reused input buffer; the current record is decoded into
+ *      a reused char buffer with field start/end offsets. Strings are only created when a field is requested.
+ *
+ * CSV RULES:
+ * - Fields are separated by commas, records by \n, \r\n or \r
+ * - A double quote toggles quoted mode; commas and line breaks inside quotes belong to the field
+ * - Inside quotes, two double quotes ("") are a literal double quote
+ *
+ * MEMORY: Bounded by the longest record in the file, independent of the file size
+ * THREADING: Not thread-safe - one parser per reader
+ */
+public final class CsvParser implements Closeable {
+    // WHAT: Size of the block read from the underlying Reader
+    // WHY: Large reads amortize the cost of Reader.read() calls (no BufferedReader needed)
+    // HOW: 64K chars
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+
+    // WHAT: Character source
+    private final Reader reader;
+
+    // WHAT: Block of characters read from the reader, and the read position inside it
+    private final char[] input = new char[INPUT_BUFFER_SIZE];
+    private int inputPos;
+    private int inputLimit;
+
+    // WHAT: Decoded characters of the current record (quotes removed, escapes resolved)
+    // WHY: Reused for every record - grows only if a record is longer than any before
+    private char[] record = new char[1024];
+    private int recordLength;
+
+    // WHAT: Start and end offsets of each field of the current record within record[]
+    // WHY: Reused for every record - grows only if a record has more fields than any before
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    // WHAT: Physical line number where the current record starts (1-based) and the next line number
+    // WHY: Error messages point the user to the offending line, also for records spanning lines
+    private long recordLine;
+    private long lineNumber = 1;
+
+    // WHAT: Total characters consumed from the reader
+    // WHY: Lets callers report progress against the file size
+    private long charsRead;
+
+    // WHAT: Whether the reader reached end of input
+    private boolean eof;
+
+    /**
+     * Constructor - Creates a parser over a character stream
+     * @param reader Source of CSV text (closed by close())
+     */
+    public CsvParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * next() - Advances to the next record
+     * WHAT: Decodes the next record into the reusable buffers
+     * WHY: Pull-based - the caller decides when the next record is read (natural backpressure)
+     * HOW: Character state machine over the input buffer, refilled from the reader as needed
+     * @return true if a record was read, false at end of input
+     * @throws IOException If the reader fails
+     */
+    public boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        recordLine = lineNumber;
+
+        if (!ensureInput()) {
+            return false; // End of input, no more records
+        }
+
+        boolean inQuotes = false;
+        int fieldStart = 0;
+        while (true) {
+            if (inputPos >= inputLimit && !ensureInput()) {
+                break; // Last record without trailing line break
+            }
+            char c = input[inputPos++];
+            charsRead++;
+            if (inQuotes) {
+                if (c == '"') {
+                    // WHAT: "" inside quotes is an escaped quote, a single " ends quoted mode
+                    // HOW: Peek at the next character (may require a refill)
+                    if ((inputPos < inputLimit || ensureInput()) && input[inputPos] == '"') {
+                        inputPos++;
+                        charsRead++;
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++; // Line break inside a quoted field
+                    }
+                    append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                endField(fieldStart);
+                fieldStart = recordLength;
+            } else if (c == '\n' || c == '\r') {
+                lineNumber++;
+                if (c == '\r' && (inputPos < inputLimit || ensureInput()) && input[inputPos] == '\n') {
+                    inputPos++; // \r\n counts as one line break
+                    charsRead++;
+                }
+                break;
+            } else {
+                append(c);
+            }
+        }
+        endField(fieldStart);
+        return true;
+    }
+
+    /**
+     * fieldCount() - Returns the number of fields in the current record
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * field() - Returns a field of the current record as a String
+     * WHAT: Creates a String for one field
+     * WHY: Only fields the caller actually needs are turned into objects
+     * @param index 0-based field index
+     * @return Field value (empty string for empty fields)
+     */
+    public String field(int index) {
+        checkIndex(index);
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * trimmedField() - Returns a field without leading/trailing whitespace
+     * WHAT: Same as field(index).trim() without creating the untrimmed String
+     * @param index 0-based field index
+     * @return Trimmed field value
+     */
+    public String trimmedField(int index) {
+        checkIndex(index);
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && record[start] <= ' ') {
+            start++;
+        }
+        while (end > start && record[end - 1] <= ' ') {
+            end--;
+        }
+        return new String(record, start, end - start);
+    }
+
+    /**
+     * isBlankRecord() - Returns whether the current record contains only whitespace
+     * WHAT: True for empty lines
+     * WHY: Empty lines are skipped by importers
+     */
+    public boolean isBlankRecord() {
+        for (int i = 0; i < recordLength; i++) {
+            if (record[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * getRecordLine() - Returns the line number where the current record starts (1-based)
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * getCharsRead() - Returns the number of characters consumed so far
+     */
+    public long getCharsRead() {
+        return charsRead;
+    }
+
+    /**
+     * recordText() - Returns the decoded current record for error messages
+     * HOW: Fields joined with commas (quotes are not restored)
+     */
+    public String recordText() {
+        StringBuilder text = new StringBuilder(recordLength + fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(record, fieldStarts[i], fieldEnds[i] - fieldStarts[i]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * ensureInput() - Refills the input buffer if it is exhausted
+     * @return true if at least one character is available
+     */
+    private boolean ensureInput() throws IOException {
+        if (inputPos < inputLimit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int n;
+        do {
+            n = reader.read(input, 0, input.length);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            inputPos = inputLimit = 0;
+            return false;
+        }
+        inputPos = 0;
+        inputLimit = n;
+        return true;
+    }
+
+    /**
+     * append() - Appends a decoded character to the current record
+     */
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    /**
+     * endField() - Records the boundaries of the field that ends at the current position
+     */
+    private void endField(int fieldStart) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.sql.PreparedStatement; // Import: PreparedStatement for parameterize
 import java.sql.ResultSet; // Import: ResultSet for reading query results
 import java.sql.SQLException; // Import: SQLException for database error handling
 import java.sql.Statement; // Import: Statement for executing SQL DDL statements
+import java.util.concurrent.CompletableFuture; // Import: CompletableFuture for the background database bootstrap
 // Import: H2 Server for enabling web console access (optional - only if H2 tools available)
 // Note: org.h2.tools.Server is part of h2-2.4.240.jar
 
@@ -14,7 +15,8 @@ import java.sql.Statement; // Import: Statement for executing SQL DDL statements
  * DBConnection - Database Connection and Initialization Utility
  * WHAT: Manages H2 database connection, creates tables, initializes default users, and starts H2 server
  * WHY: Centralizes database setup - ensures tables exist, default users are available, and H2 Console is accessible
- * HOW: Uses static block for initialization, starts H2 server for web console access, provides getConnection() method
+ * HOW: startInitialization() prepares the database on a background thread, startServers() starts the H2 servers for
+ *      web console access on demand, getConnection() hands out pooled connections once the database is ready
  * 
  * DATABASE: H2 Database (Server mode) - stores data in agritrack.mv.db file, accessible via H2 Console
  * H2 CONSOLE: Accessible at http://localhost:8082 (JDBC URL: jdbc:h2:tcp://localhost:9092/./agritrack)
@@ -24,8 +26,9 @@ public class DBConnection {
     // WHY: Enables H2 Console web interface to connect to the same database
     // HOW: Server.createTcpServer() creates TCP server, Server.createWebServer() creates web console
     // Note: Using Object type to avoid compilation issues if H2 tools not in classpath during linting
-    private static Object tcpServer;
-    private static Object webServer;
+    // Note: Started on demand by startServers(); volatile because shutdownServers() runs in the shutdown hook
+    private static volatile Object tcpServer;
+    private static volatile Object webServer;
     
     // WHAT: JDBC connection URL for H2 database (TCP server mode)
     // WHY: Server mode allows H2 Console web interface to connect to the same database
@@ -66,16 +69,60 @@ public class DBConnection {
     // Default to true to use user's H2 Console database
     private static boolean useUserDatabase = true;
     
+    // WHAT: Connection pool configuration (overridable with -D system properties)
+    // WHY: Pool size and timeouts depend on deployment (single desktop vs shared server)
+    // HOW: Integer.getInteger()/Long.getLong() read system property or fall back to default
+    private static final int POOL_MIN_IDLE = Integer.getInteger("agritrack.pool.minIdle", 1);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("agritrack.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("agritrack.pool.borrowTimeoutMs", 10000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("agritrack.pool.idleTimeoutMs", 300000L);
+    private static final long POOL_VALIDATION_INTERVAL_MS = Long.getLong("agritrack.pool.validationIntervalMs", 30000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("agritrack.pool.leakThresholdMs", 60000L);
+    
+    // WHAT: Shared connection pool handed out by getConnection()
+    // WHY: Opening a new H2 connection (with lock retries and metadata check) for every DAO call is slow
+    // HOW: ConnectionPool reuses physical connections created by openPhysicalConnection()
+    private static final ConnectionPool connectionPool = new ConnectionPool(
+        DBConnection::openPhysicalConnection,
+        POOL_MIN_IDLE,
+        POOL_MAX_SIZE,
+        POOL_BORROW_TIMEOUT_MS,
+        POOL_IDLE_TIMEOUT_MS,
+        POOL_VALIDATION_INTERVAL_MS,
+        POOL_LEAK_THRESHOLD_MS);
+    
+    // WHAT: Database bootstrap, null until startInitialization() is first called
+    // WHY: getConnection() waits for it so no DAO runs against a database without tables
+    private static volatile CompletableFuture<Void> initialization;
+    
+    /**
+     * startInitialization() - Starts the database bootstrap in the background
+     * WHAT: Loads the driver, checks the connection, applies schema migrations and creates default users
+     * WHY: This ran in a static block on the main thread, together with starting the H2 TCP and web servers,
+     *      and the login window waited for all of it
+     * HOW: Runs bootstrap() once on the "agritrack-db-init" thread; later calls return the same future.
+     *      getConnection() waits for it (and starts it if nobody did), so DAOs always see a migrated database
+     * @return Future completed when the bootstrap has finished (errors are logged, as before, not thrown)
+     */
+    public static synchronized CompletableFuture<Void> startInitialization() {
+        if (initialization == null) {
+            initialization = CompletableFuture.runAsync(DBConnection::bootstrap,
+                task -> new Thread(task, "agritrack-db-init").start());
+        }
+        return initialization;
+    }
+    
     /**
-     * Static Initialization Block
-     * WHAT: Executes automatically when class is first loaded
+     * bootstrap() - Prepares the database for the application
+     * WHAT: Former static initialization block, without the H2 servers (see startServers())
      * WHY: Ensures database is initialized before any database operations occur
-     * HOW: Static block runs once when class is loaded by JVM
+     * HOW: Each phase is timed and logged with StartupTimer
      */
-    // Static block to start H2 server, register driver, create tables, and create default users
-    static {
+    private static void bootstrap() {
+        long started = StartupTimer.begin();
+        
         // WHAT: Try block to handle initialization errors
-        // WHY: Database initialization can fail (driver not found, SQL errors, server startup issues)
+        // WHY: Database initialization can fail (driver not found, SQL errors)
         // HOW: try-catch block wraps initialization code
         try {
             // WHAT: Load H2 JDBC driver class
@@ -83,73 +130,16 @@ public class DBConnection {
             // HOW: Class.forName() loads driver class, triggers driver registration
             Class.forName("org.h2.Driver");
             
-            // WHAT: Start H2 TCP server for database access
-            // WHY: Enables H2 Console web interface to connect to the same database
-            // HOW: Uses reflection to call Server.createTcpServer() (avoids compilation dependency)
-            try {
-                // WHAT: Use reflection to access H2 Server class
-                // WHY: Avoids compilation errors if H2 tools not in classpath during linting
-                // HOW: Class.forName() loads Server class, getMethod() gets createTcpServer method
-                Class<?> serverClass = Class.forName("org.h2.tools.Server");
-                Object server = serverClass.getMethod("createTcpServer", String[].class)
-                    .invoke(null, (Object) new String[]{"-tcp", "-tcpAllowOthers", "-tcpPort", "9092", "-baseDir", "./"});
-                tcpServer = serverClass.getMethod("start").invoke(server);
-                System.out.println("H2 TCP Server started on port 9092");
-                System.out.println("H2 Console JDBC URL: jdbc:h2:tcp://localhost:9092/./agritrack");
-            } catch (Exception e) {
-                // WHAT: If TCP server fails, try to use existing server or fallback to embedded
-                // WHY: Server might already be running or port might be in use
-                // HOW: Check if server is already running, otherwise use embedded mode
-                System.out.println("H2 TCP Server may already be running or port 9092 is in use.");
-                System.out.println("Attempting to use existing server or falling back to embedded mode...");
-                currentURL = EMBEDDED_URL; // Fallback to embedded mode
-            }
-            
-            // WHAT: Start H2 Web Console server
-            // WHY: Provides web-based database management interface
-            // HOW: Uses reflection to call Server.createWebServer() on port 8082
-            try {
-                // WHAT: Use reflection to access H2 Server class for web console
-                // WHY: Avoids compilation errors if H2 tools not in classpath during linting
-                // HOW: Class.forName() loads Server class, getMethod() gets createWebServer method
-                Class<?> serverClass = Class.forName("org.h2.tools.Server");
-                // WHAT: Create web server with network access enabled
-                // WHY: -webAllowOthers allows connections from other machines on the network
-                // HOW: -webPort specifies the port, -webBindAddress 0.0.0.0 binds to all network interfaces
-                Object server = serverClass.getMethod("createWebServer", String[].class)
-                    .invoke(null, (Object) new String[]{
-                        "-web", 
-                        "-webAllowOthers", 
-                        "-webPort", "8082",
-                        "-webBindAddress", "0.0.0.0"  // Bind to all network interfaces
-                    });
-                webServer = serverClass.getMethod("start").invoke(server);
-                System.out.println("========================================");
-                System.out.println("H2 Web Console started successfully!");
-                System.out.println("========================================");
-                System.out.println("Access H2 Console at:");
-                System.out.println("  Local: http://localhost:8082");
-                System.out.println("  Network: http://10.53.192.28:8082");
-                System.out.println("========================================");
-            } catch (Exception e) {
-                // WHAT: If web server fails, continue without console (not critical)
-                // WHY: Application can work without web console
-                // HOW: Print warning but continue initialization
-                System.err.println("Warning: H2 Web Console could not be started.");
-                System.err.println("Error: " + e.getMessage());
-                System.err.println("Possible causes:");
-                System.err.println("  - Port 8082 may already be in use");
-                System.err.println("  - Firewall may be blocking port 8082");
-                System.err.println("  - H2 tools JAR may not be in classpath");
-                System.err.println("You can manually start H2 Console or use embedded mode.");
-                e.printStackTrace();
-            }
-            
+            long connectStarted = StartupTimer.begin();
+            Connection firstConnection = null;
             // WHAT: Create database connection to user's H2 Console database
             // WHY: H2 creates database file on first connection, need to establish connection first
             // HOW: Directly connect to USER_DB_URL with credentials to create database file
             // Note: Using AUTO_SERVER mode allows multiple connections (H2 Console + Application)
-            try (Connection testConn = DriverManager.getConnection(USER_DB_URL, DB_USERNAME, DB_PASSWORD)) {
+            // Note: The connection stays open until the default users exist (closed below) - closing the last
+            //       connection closes the H2 database, and reopening it costs as much as the first open
+            try {
+                firstConnection = DriverManager.getConnection(USER_DB_URL, DB_USERNAME, DB_PASSWORD);
                 String dbPath = USER_DB_URL.replace("jdbc:h2:", "").replace("~", System.getProperty("user.home"));
                 System.out.println("========================================");
                 System.out.println("✓ DATABASE CONNECTION ESTABLISHED");
@@ -185,17 +175,27 @@ public class DBConnection {
                     currentURL = EMBEDDED_URL;
                 }
             }
+            StartupTimer.end("database connection", connectStarted);
             
-            // WHAT: Create database tables if they don't exist
-            // WHY: Tables must exist before application can store/retrieve data
-            // HOW: createTables() executes CREATE TABLE IF NOT EXISTS statements
-            createTables();
-            
-            // WHAT: Create default users if no users exist
-            // WHY: Provides test accounts (admin, seller, buyer) for immediate use
-            // HOW: createDefaultUsers() checks user count, inserts defaults if empty
-            createDefaultUsers();
-            
+            try {
+                // WHAT: Create database tables if they don't exist
+                // WHY: Tables must exist before application can store/retrieve data
+                // HOW: createTables() executes CREATE TABLE IF NOT EXISTS statements
+                long migrationsStarted = StartupTimer.begin();
+                createTables();
+                StartupTimer.end("schema migrations", migrationsStarted);
+                
+                // WHAT: Create default users if no users exist
+                // WHY: Provides test accounts (admin, seller, buyer) for immediate use
+                // HOW: createDefaultUsers() checks user count, inserts defaults if empty
+                long usersStarted = StartupTimer.begin();
+                createDefaultUsers();
+                StartupTimer.end("default users", usersStarted);
+            } finally {
+                if (firstConnection != null) {
+                    firstConnection.close();
+                }
+            }
         } catch (ClassNotFoundException e) {
             // WHAT: Handle case where H2 driver JAR is not in classpath
             // WHY: Application cannot connect to database without driver
@@ -214,18 +214,148 @@ public class DBConnection {
             // HOW: System.err.println() writes error message
             System.err.println("Database initialization error: " + e.getMessage());
         }
+        StartupTimer.end("database ready", started);
+    }
+    
+    /**
+     * startServers() - Starts the H2 TCP server and web console if they are not running
+     * WHAT: TCP server on port 9092 and web console on port 8082 for H2 Console access
+     * WHY: Only needed to look at the database from outside the application, but starting them cost every launch;
+     *      now started on demand by DatabaseViewerDialog, or at startup with -Dagritrack.h2.servers=true
+     * HOW: Uses reflection to call org.h2.tools.Server (avoids compilation dependency); failures are logged
+     */
+    public static synchronized void startServers() {
+        if (tcpServer != null && webServer != null) {
+            return;
+        }
+        long started = StartupTimer.begin();
+        if (tcpServer == null) {
+            // WHAT: Start H2 TCP server for database access
+            // WHY: Enables H2 Console web interface to connect to the same database
+            // HOW: Uses reflection to call Server.createTcpServer() (avoids compilation dependency)
+            try {
+                // WHAT: Use reflection to access H2 Server class
+                // WHY: Avoids compilation errors if H2 tools not in classpath during linting
+                // HOW: Class.forName() loads Server class, getMethod() gets createTcpServer method
+                Class<?> serverClass = Class.forName("org.h2.tools.Server");
+                Object server = serverClass.getMethod("createTcpServer", String[].class)
+                    .invoke(null, (Object) new String[]{"-tcp", "-tcpAllowOthers", "-tcpPort", "9092", "-baseDir", "./"});
+                tcpServer = serverClass.getMethod("start").invoke(server);
+                System.out.println("H2 TCP Server started on port 9092");
+                System.out.println("H2 Console JDBC URL: jdbc:h2:tcp://localhost:9092/./agritrack");
+            } catch (Exception e) {
+                // WHAT: If TCP server fails, continue without it (not critical)
+                // WHY: Server might already be running or port might be in use
+                // HOW: Print a note; the application itself connects to USER_DB_URL, not through this server
+                System.out.println("H2 TCP Server may already be running or port 9092 is in use.");
+                System.out.println("H2 Console can still reach the database through an already running server.");
+            }
+        }
+        
+        if (webServer == null) {
+            // WHAT: Start H2 Web Console server
+            // WHY: Provides web-based database management interface
+            // HOW: Uses reflection to call Server.createWebServer() on port 8082
+            try {
+                // WHAT: Use reflection to access H2 Server class for web console
+                // WHY: Avoids compilation errors if H2 tools not in classpath during linting
+                // HOW: Class.forName() loads Server class, getMethod() gets createWebServer method
+                Class<?> serverClass = Class.forName("org.h2.tools.Server");
+                // WHAT: Create web server with network access enabled
+                // WHY: -webAllowOthers allows connections from other machines on the network
+                // HOW: -webPort specifies the port, -webBindAddress 0.0.0.0 binds to all network interfaces
+                Object server = serverClass.getMethod("createWebServer", String[].class)
+                    .invoke(null, (Object) new String[]{
+                        "-web", 
+                        "-webAllowOthers", 
+                        "-webPort", "8082",
+                        "-webBindAddress", "0.0.0.0"  // Bind to all network interfaces
+                    });
+                webServer = serverClass.getMethod("start").invoke(server);
+                System.out.println("========================================");
+                System.out.println("H2 Web Console started successfully!");
+                System.out.println("========================================");
+                System.out.println("Access H2 Console at:");
+                System.out.println("  Local: http://localhost:8082");
+                System.out.println("  Network: http://10.53.192.28:8082");
+                System.out.println("========================================");
+            } catch (Exception e) {
+                // WHAT: If web server fails, continue without console (not critical)
+                // WHY: Application can work without web console
+                // HOW: Print warning but continue initialization
+                System.err.println("Warning: H2 Web Console could not be started.");
+                System.err.println("Error: " + e.getMessage());
+                System.err.println("Possible causes:");
+                System.err.println("  - Port 8082 may already be in use");
+                System.err.println("  - Firewall may be blocking port 8082");
+                System.err.println("  - H2 tools JAR may not be in classpath");
+                System.err.println("You can manually start H2 Console or use embedded mode.");
+                e.printStackTrace();
+            }
+        }
+        StartupTimer.end("H2 servers", started);
     }
 
     /**
      * getConnection() - Gets database connection
-     * WHAT: Creates and returns a Connection object to the H2 database
+     * WHAT: Borrows a Connection object to the H2 database from the connection pool
      * WHY: All database operations need a connection object
-     * HOW: DriverManager.getConnection() creates connection using current URL (server or embedded or user's database)
+     * HOW: Waits until the bootstrap (startInitialization()) has finished, then borrows a pooled connection
      * @return Connection object for database operations
-     * @throws SQLException If connection cannot be established
+     * @throws SQLException If connection cannot be established or the pool wait times out
      */
     // Method to get a database connection
     public static Connection getConnection() throws SQLException {
+        CompletableFuture<Void> ready = initialization;
+        if (ready == null) {
+            ready = startInitialization();
+        }
+        ready.join(); // Returns at once after startup; bootstrap errors are logged, never thrown
+        return borrowConnection();
+    }
+    
+    /**
+     * borrowConnection() - Borrows a connection without waiting for the bootstrap
+     * WHY: The bootstrap itself needs connections for migrations and default users
+     * HOW: connectionPool.getConnection() reuses an idle connection or opens a new one; close() returns it to the pool.
+     *      With agritrack.metrics.enabled the connection times its statements (Metrics.instrument).
+     *      The wait is recorded as a FlightEvents.ConnectionAcquire event during flight recordings
+     */
+    private static Connection borrowConnection() throws SQLException {
+        FlightEvents.ConnectionAcquire event = new FlightEvents.ConnectionAcquire();
+        event.begin();
+        Connection conn = connectionPool.getConnection();
+        event.end();
+        if (event.shouldCommit()) {
+            ConnectionPool.PoolStats stats = connectionPool.getStats();
+            event.active = stats.getActive();
+            event.idle = stats.getIdle();
+            event.waiting = stats.getWaiting();
+            event.commit();
+        }
+        return Metrics.instrument(conn);
+    }
+    
+    /**
+     * getPoolStats() - Returns connection pool statistics
+     * WHAT: Snapshot of active/idle connections and lifetime counters (borrows, timeouts, leaks)
+     * WHY: Allows monitoring of pool health from the console or admin screens
+     * HOW: Delegates to connectionPool.getStats()
+     * @return ConnectionPool.PoolStats snapshot
+     */
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return connectionPool.getStats();
+    }
+    
+    /**
+     * openPhysicalConnection() - Opens a new (non-pooled) database connection
+     * WHAT: Creates a Connection object to the H2 database
+     * WHY: Used by the connection pool whenever it needs a new physical connection
+     * HOW: DriverManager.getConnection() creates connection using current URL (server or embedded or user's database)
+     * @return Connection object for database operations
+     * @throws SQLException If connection cannot be established
+     */
+    private static Connection openPhysicalConnection() throws SQLException {
         // WHAT: Check if user wants to use their H2 Console database
         // WHY: User may want to connect to their existing database
         // HOW: If useUserDatabase flag is true, use USER_DB_URL with credentials
@@ -363,6 +493,10 @@ public class DBConnection {
      */
     public static void setUseUserDatabase(boolean useUserDb) {
         useUserDatabase = useUserDb;
+        // WHAT: Drop pooled connections to the previous database
+        // WHY: Pooled connections would otherwise keep pointing at the old URL
+        // HOW: clear() closes idle connections, borrowed ones are closed when returned
+        connectionPool.clear();
         if (useUserDb) {
             System.out.println("Switched to user's H2 Console database: " + USER_DB_URL);
         } else {
@@ -504,6 +638,12 @@ public class DBConnection {
      * HOW: Uses reflection to call stop() on server instances if they exist
      */
     public static void shutdownServers() {
+        // WHAT: Close pooled connections before stopping servers
+        // WHY: Lets H2 close the database file cleanly
+        // HOW: shutdown() stops housekeeping and closes idle connections
+        System.out.println("Connection pool at shutdown: " + connectionPool.getStats());
+        connectionPool.shutdown();
+        
         // WHAT: Stop web server if it exists
         // WHY: Clean shutdown prevents resource leaks
         // HOW: Use reflection to call stop() method
@@ -530,116 +670,27 @@ public class DBConnection {
     }
 
     /**
-     * createTables() - Creates database tables if they don't exist
-     * WHAT: Executes CREATE TABLE IF NOT EXISTS statements for INVENTORY_ITEM and USER tables
-     * WHY: Tables must exist before application can store data
-     * HOW: Uses Statement.execute() to run DDL (Data Definition Language) SQL statements
-     * @throws SQLException If table creation fails
+     * createTables() - Creates or upgrades the database schema
+     * WHAT: Applies pending schema migrations (tables, added columns, date type, indexes)
+     * WHY: Tables must exist and match the code before application can store data
+     * HOW: SchemaMigrator.migrate() reads SCHEMA_VERSION and runs only the steps the database has not seen yet;
+     *      an up-to-date database costs one version query
+     * @throws SQLException If a migration fails (reported at startup instead of being ignored)
      */
     // Creates the required tables: Inventory and User
     private static void createTables() throws SQLException {
         // WHAT: Try-with-resources block to automatically close database resources
-        // WHY: Ensures Connection and Statement are closed even if exception occurs
+        // WHY: Ensures Connection is closed even if exception occurs
         // HOW: try (resource) syntax automatically calls close() when block exits
-        // Note: getConnection() is called here, which will create the database file if it doesn't exist
-        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
-            
-            // WHAT: SQL statement to create INVENTORY_ITEM table
-            // WHY: Stores all inventory items (harvests, equipment) in this table
-            // HOW: CREATE TABLE IF NOT EXISTS creates table only if it doesn't already exist
-            // 1. INVENTORY_ITEM Table
-            // NOTE: Using IDENTITY for H2 compatibility (simplified syntax)
-            String sqlInventory = "CREATE TABLE IF NOT EXISTS INVENTORY_ITEM (" +
-                                  "item_id INTEGER PRIMARY KEY AUTO_INCREMENT," + // Auto-incrementing primary key (H2 compatible)
-                                  "name VARCHAR(255) NOT NULL," + // Item name, required, max 255 characters
-                                  "quantity DOUBLE NOT NULL," + // Quantity as decimal number, required
-                                  "unit VARCHAR(50) NOT NULL," + // Unit of measurement, required, max 50 characters
-                                  "item_type VARCHAR(50) NOT NULL," + // Item type (HARVEST or EQUIPMENT), required
-                                  "date_added VARCHAR(50) NOT NULL," + // Date as string (yyyy-MM-dd), required
-                                  "status VARCHAR(50)," + // Status/condition field, optional
-                                  "notes VARCHAR(1000)," + // Optional notes, max 1000 characters
-                                  "price_per_unit DOUBLE" + // Price per unit (e.g., per kg), optional
-                                  ")";
-            
-            // WHAT: Execute CREATE TABLE statement
-            // WHY: Actually creates the table in database
-            // HOW: execute() method runs DDL statement
-            // Note: If table already exists with wrong syntax (AUTO_INCREMENT), it won't be recreated
-            // User may need to manually drop and recreate the table in H2 Console if errors occur
-            stmt.execute(sqlInventory);
-            
-            // WHAT: Add price_per_unit column if it doesn't exist (for existing databases)
-            // WHY: Existing databases may not have the price column
-            // HOW: ALTER TABLE with try-catch (H2 doesn't support IF NOT EXISTS in ALTER TABLE)
-            try {
-                stmt.execute("ALTER TABLE INVENTORY_ITEM ADD COLUMN price_per_unit DOUBLE");
-            } catch (SQLException e) {
-                // Column may already exist, ignore error
-            }
-            
-            // WHAT: Fix AUTO_INCREMENT sequence to prevent primary key violations
-            // WHY: When records are manually inserted via H2 Console with explicit IDs, the AUTO_INCREMENT sequence doesn't update
-            // HOW: Find the maximum existing ID and set the sequence to max+1
-            try {
-                // Check if table has any records
-                ResultSet rs = stmt.executeQuery("SELECT MAX(item_id) FROM INVENTORY_ITEM");
-                if (rs.next()) {
-                    int maxId = rs.getInt(1);
-                    if (maxId > 0) {
-                        // Set the sequence to max+1 to avoid conflicts
-                        // H2 uses ALTER TABLE to reset the sequence
-                        try {
-                            stmt.execute("ALTER TABLE INVENTORY_ITEM ALTER COLUMN item_id RESTART WITH " + (maxId + 1));
-                            System.out.println("✓ Fixed AUTO_INCREMENT sequence: next ID will be " + (maxId + 1));
-                        } catch (SQLException e) {
-                            // If RESTART WITH doesn't work, try alternative H2 syntax
-                            try {
-                                stmt.execute("ALTER TABLE INVENTORY_ITEM ALTER COLUMN item_id RESTART " + (maxId + 1));
-                                System.out.println("✓ Fixed AUTO_INCREMENT sequence: next ID will be " + (maxId + 1));
-                            } catch (SQLException e2) {
-                                // If both fail, log warning but continue
-                                System.out.println("⚠ Could not reset AUTO_INCREMENT sequence. If you get primary key errors, manually fix the sequence in H2 Console.");
-                            }
-                        }
-                    }
-                }
-            } catch (SQLException e) {
-                // Table might be empty or error occurred, continue anyway
-                System.out.println("Note: Could not check/fix AUTO_INCREMENT sequence: " + e.getMessage());
-            }
-
-            // WHAT: SQL statement to create USER table
-            // WHY: Stores user accounts (admin, seller, buyer) in this table
-            // HOW: CREATE TABLE IF NOT EXISTS, "USER" in quotes because USER is H2 reserved keyword
-            // 2. USER Table (quoted because USER is a reserved keyword in H2)
-            // NOTE: Using AUTO_INCREMENT for H2 compatibility
-            String sqlUser = "CREATE TABLE IF NOT EXISTS \"USER\" (" +
-                             "user_id INTEGER PRIMARY KEY AUTO_INCREMENT," + // Auto-incrementing primary key (H2 compatible)
-                             "username VARCHAR(100) NOT NULL UNIQUE," + // Username, required, must be unique
-                             "password VARCHAR(255) NOT NULL," + // Password, required, max 255 characters
-                             "name VARCHAR(255)," + // User's full name, optional, max 255 characters
-                             "role VARCHAR(50) NOT NULL," + // User role (ADMIN, BUYER, SELLER), required
-                             "location VARCHAR(500)" + // User's location/warehouse address, optional
-                             ")"; // "ADMIN", "BUYER", "SELLER"
-            
-            // WHAT: Add location column if it doesn't exist (for existing databases)
-            // WHY: Existing databases may not have the location column
-            // HOW: ALTER TABLE with try-catch (H2 doesn't support IF NOT EXISTS in ALTER TABLE)
-            try {
-                stmt.execute("ALTER TABLE \"USER\" ADD COLUMN location VARCHAR(500)");
-            } catch (SQLException e) {
-                // Column may already exist, ignore error
-            }
-            
-            // WHAT: Execute CREATE TABLE statement
-            // WHY: Actually creates the table in database
-            // HOW: execute() method runs DDL statement
-            stmt.execute(sqlUser);
-            
-            // WHAT: Print success message to console
-            // WHY: Confirms tables were created successfully
-            // HOW: System.out.println() writes to standard output
-            System.out.println("Database tables checked/created successfully.");
+        // Note: borrowConnection() is called here, which will create the database file if it doesn't exist
+        try (Connection conn = borrowConnection()) {
+            // WHAT: Apply pending migrations
+            // WHY: Replaces ALTER TABLE statements in try/catch and the AUTO_INCREMENT reset that ran on every launch
+            //      (InventoryDAO.addRecord() still repairs the sequence if a primary key violation actually occurs)
+            // HOW: Prints the schema version so startup logs show which schema is in use
+            int applied = SchemaMigrator.migrate(conn);
+            System.out.println("Database schema at version " + SchemaMigrator.getLatestVersion()
+                + (applied > 0 ? " (" + applied + " migrations applied)." : " (up to date)."));
         }
     }
     
@@ -660,12 +711,14 @@ public class DBConnection {
         // WHAT: SQL INSERT statement to create new user
         // WHY: Need to insert user records into database
         // HOW: INSERT INTO with column names and ? placeholders, "USER" in quotes for H2
-        String insertSql = "INSERT INTO \"USER\" (username, password, name, role) VALUES (?, ?, ?, ?)";
+        //      (username_lower is the lookup key, password holds a PasswordHasher hash)
+        String insertSql = "INSERT INTO \"USER\" (username, password, name, role, username_lower) VALUES (?, ?, ?, ?, ?)";
+        PasswordHasher hasher = PasswordHasher.getDefault();
         
         // WHAT: Try-with-resources block for database operations
         // WHY: Ensures resources are properly closed
         // HOW: try (resource) syntax
-        try (Connection conn = getConnection();
+        try (Connection conn = borrowConnection();
              Statement countStmt = conn.createStatement();
              ResultSet rs = countStmt.executeQuery(countSql)) {
             
@@ -683,9 +736,10 @@ public class DBConnection {
                     // HOW: Set parameters and execute INSERT statement
                     // Admin User (User for Role-Based Access)
                     insertStmt.setString(1, "admin"); // Username
-                    insertStmt.setString(2, "admin123"); // Password
+                    insertStmt.setString(2, hasher.hash("admin123")); // Password hash
                     insertStmt.setString(3, "Admin User"); // Name
                     insertStmt.setString(4, "ADMIN"); // Role
+                    insertStmt.setString(5, "admin"); // Normalized username
                     insertStmt.executeUpdate(); // Execute INSERT
 
                     // WHAT: Create Seller/Farmer user account
@@ -693,9 +747,10 @@ public class DBConnection {
                     // HOW: Set parameters and execute INSERT statement
                     // Seller/Farmer User (User for CRUD)
                     insertStmt.setString(1, "seller"); // Username
-                    insertStmt.setString(2, "seller123"); // Password
+                    insertStmt.setString(2, hasher.hash("seller123")); // Password hash
                     insertStmt.setString(3, "Juan Dela Cruz (Farmer)"); // Name
                     insertStmt.setString(4, "SELLER"); // Role
+                    insertStmt.setString(5, "seller"); // Normalized username
                     insertStmt.executeUpdate(); // Execute INSERT
                     
                     // WHAT: Create Buyer user account
@@ -703,9 +758,10 @@ public class DBConnection {
                     // HOW: Set parameters and execute INSERT statement
                     // Buyer User (User for Viewing/Buying Harvests)
                     insertStmt.setString(1, "buyer"); // Username (lowercase for consistency)
-                    insertStmt.setString(2, "buyer123"); // Password
+                    insertStmt.setString(2, hasher.hash("buyer123")); // Password hash
                     insertStmt.setString(3, "John Buyer"); // Name
                     insertStmt.setString(4, "BUYER"); // Role
+                    insertStmt.setString(5, "buyer"); // Normalized username
                     insertStmt.executeUpdate(); // Execute INSERT
                     
                     // WHAT: Print success message to console
@@ -0,0 +1,270 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.lang.reflect.InvocationHandler; // Import: InvocationHandler for the recording proxies
+import java.lang.reflect.InvocationTargetException; // Import: InvocationTargetException to rethrow the real error
+import java.lang.reflect.Method; // Import: Method for proxied calls
+import java.lang.reflect.Proxy; // Import: Proxy for recorded connections, statements and result sets
+import java.sql.Connection; // Import: Connection interface for statement recording
+import java.sql.ResultSet; // Import: ResultSet interface for counting query rows
+import java.sql.Statement; // Import: Statement interface for statement recording
+import jdk.jfr.Category; // Import: Category for grouping events in JDK Mission Control
+import jdk.jfr.Description; // Import: Description for event documentation in recordings
+import jdk.jfr.Event; // Import: Event base class of JDK Flight Recorder events
+import jdk.jfr.EventType; // Import: EventType to check whether an event is being recorded
+import jdk.jfr.Label; // Import: Label for readable event and field names
+import jdk.jfr.Name; // Import: Name for stable event type names
+import jdk.jfr.Timespan; // Import: Timespan for duration fields
+
+/**
+ * FlightEvents - JDK Flight Recorder Events for Database, Import and Table Hot Paths
+ * WHAT: Custom JFR events (category "AgriTrack") for connection acquisition, InventoryDAO statements,
+ *       bulk insert batches, CSV exports and table reloads, with row counts and durations
+ * WHY: A report like "the records screen hangs" needs a recording that shows which query, batch or reload took
+ *      the time - next to JFR's own thread, lock and GC events
+ * HOW: Each event is begun before the work and committed after it (JFR measures the duration). Events are only
+ *      written while a recording is running (FlightRecording, or java -XX:StartFlightRecording); otherwise
+ *      shouldCommit() is false and the cost is an object that the JIT usually removes.
+ *      InventoryDAO statements are recorded by instrument(Connection, source), which wraps the connection only
+ *      when the statement event is enabled.
+ *
+ * ANALYSIS: jfr print --categories AgriTrack recording.jfr, or open the file in JDK Mission Control
+ */
+public final class FlightEvents {
+    // WHAT: Type of the statement event, checked before wrapping a connection
+    private static final EventType SQL_STATEMENT_TYPE = EventType.getEventType(SqlStatement.class);
+
+    private FlightEvents() {
+    }
+
+    /**
+     * ConnectionAcquire - Time spent borrowing a connection from the pool (DBConnection.getConnection)
+     */
+    @Name("agritrack.ConnectionAcquire")
+    @Label("Connection Acquire")
+    @Category({"AgriTrack", "Database"})
+    @Description("Borrowing a connection from the application connection pool")
+    public static final class ConnectionAcquire extends Event {
+        @Label("Active Connections")
+        public int active;
+
+        @Label("Idle Connections")
+        public int idle;
+
+        @Label("Waiting Threads")
+        public int waiting;
+    }
+
+    /**
+     * SqlStatement - One SQL statement from executing it until its result set is closed
+     */
+    @Name("agritrack.SqlStatement")
+    @Label("SQL Statement")
+    @Category({"AgriTrack", "Database"})
+    @Description("SQL statement executed by a DAO; queries end when their result set is closed")
+    public static final class SqlStatement extends Event {
+        @Label("Source")
+        public String source;
+
+        @Label("Kind")
+        @Description("query, update, batch or execute")
+        public String kind;
+
+        @Label("SQL")
+        public String sql;
+
+        @Label("Rows")
+        @Description("Rows read by a query, or rows changed by an update or batch")
+        public long rows;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    /**
+     * InsertBatch - One executeBatch() of InventoryBatchWriter (CSV imports and bulk inserts)
+     */
+    @Name("agritrack.InsertBatch")
+    @Label("Insert Batch")
+    @Category({"AgriTrack", "Import"})
+    @Description("Batched INSERT of inventory items with its statistics updates")
+    public static final class InsertBatch extends Event {
+        @Label("Batch Number")
+        public int batchNumber;
+
+        @Label("First Row")
+        @Description("Zero-based record number of the batch's first row in import order")
+        public int firstRow;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    /**
+     * CsvExport - One CSV export written by CSVExporter
+     */
+    @Name("agritrack.CsvExport")
+    @Label("CSV Export")
+    @Category({"AgriTrack", "Export"})
+    public static final class CsvExport extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Streaming")
+        @Description("Rows written straight from a query result instead of a loaded list")
+        public boolean streaming;
+    }
+
+    /**
+     * TableReload - Applying reloaded records to a table on the EDT
+     */
+    @Name("agritrack.TableReload")
+    @Label("Table Reload")
+    @Category({"AgriTrack", "UI"})
+    @Description("Table update on the Event Dispatch Thread after its records were loaded in the background")
+    public static final class TableReload extends Event {
+        @Label("Table")
+        public String table;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Load Time")
+        @Description("Time from requesting the records until the EDT started updating the table")
+        @Timespan(Timespan.MILLISECONDS)
+        public long loadMillis;
+    }
+
+    /**
+     * instrument() - Records every statement executed through a connection as a SqlStatement event
+     * WHAT: Statements of the returned connection commit one event per execute; queries count the rows read and
+     *       end when the result set (or the statement) is closed
+     * WHY: Row counts and the time spent reading the result are what separate a slow query from a large one
+     * @param conn Connection to record (closing the proxy closes it)
+     * @param source Recorded as the event's source, e.g. "InventoryDAO"
+     * @return Recording connection, or conn itself when no recording includes SqlStatement events
+     */
+    public static Connection instrument(Connection conn, String source) {
+        if (!SQL_STATEMENT_TYPE.isEnabled()) {
+            return conn;
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(method, conn, args);
+            if (result instanceof Statement) {
+                // WHAT: prepareStatement()/prepareCall() carry their SQL; createStatement() gets it per execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return new StatementRecorder((Statement) result, sql, source).proxy();
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+
+    /**
+     * StatementRecorder - Proxy handler of one recorded statement
+     * HOW: The event of the last query stays open until its result set or the statement is closed,
+     *      or the statement is executed again
+     */
+    private static final class StatementRecorder implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final String source;
+        private SqlStatement openQuery;
+
+        StatementRecorder(Statement statement, String preparedSql, String source) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.source = source;
+        }
+
+        Statement proxy() {
+            Class<?> type = statement instanceof java.sql.CallableStatement ? java.sql.CallableStatement.class
+                : statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                finishQuery();
+                return FlightEvents.invoke(method, statement, args);
+            }
+            if (!name.startsWith("execute")) {
+                return FlightEvents.invoke(method, statement, args);
+            }
+            finishQuery();
+
+            SqlStatement event = new SqlStatement();
+            event.begin();
+            event.source = source;
+            event.sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "(batch)";
+            event.kind = name.equals("executeQuery") ? "query"
+                : name.contains("Batch") ? "batch" : name.contains("Update") ? "update" : "execute";
+            Object result;
+            try {
+                result = FlightEvents.invoke(method, statement, args);
+            } catch (Throwable t) {
+                event.failed = true;
+                event.commit();
+                throw t;
+            }
+            if (result instanceof ResultSet) {
+                // WHAT: Query - keep the event open while the caller reads the rows
+                openQuery = event;
+                return resultSetProxy((ResultSet) result);
+            }
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    event.rows += Math.max(0, count); // SUCCESS_NO_INFO (-2) counts as unknown
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    event.rows += Math.max(0, count);
+                }
+            } else if (result instanceof Number) {
+                event.rows = ((Number) result).longValue();
+            }
+            event.commit();
+            return result;
+        }
+
+        private ResultSet resultSetProxy(ResultSet rs) {
+            SqlStatement event = openQuery;
+            InvocationHandler handler = (proxy, method, args) -> {
+                Object result = FlightEvents.invoke(method, rs, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    event.rows++;
+                } else if (method.getName().equals("close")) {
+                    finishQuery();
+                }
+                return result;
+            };
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class}, handler);
+        }
+
+        private void finishQuery() {
+            if (openQuery != null) {
+                openQuery.commit();
+                openQuery = null;
+            }
+        }
+    }
+
+    /**
+     * invoke() - Calls the target and unwraps the exception it threw
+     */
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
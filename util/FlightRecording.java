@@ -0,0 +1,115 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.io.File; // Import: File for the recording directory
+import java.nio.file.Path; // Import: Path of written recording files
+import java.time.Duration; // Import: Duration for the recording's maximum age
+import java.time.LocalDateTime; // Import: LocalDateTime for file names
+import java.time.format.DateTimeFormatter; // Import: DateTimeFormatter for file names
+import jdk.jfr.Configuration; // Import: Configuration for the built-in JFR settings ("profile", "default")
+import jdk.jfr.Recording; // Import: Recording for starting, dumping and stopping a flight recording
+
+/**
+ * FlightRecording - Starts, Dumps and Stops a JDK Flight Recording from the Application
+ * WHAT: One in-process recording with JFR's built-in settings plus all AgriTrack events (FlightEvents)
+ * WHY: Users who see a hang can record it from the menu and send the file, without JVM options or jcmd
+ * HOW: start() begins a disk-backed recording that keeps the last agritrack.jfr.maxAgeMinutes minutes;
+ *      dump() writes a snapshot while recording continues; stop() writes the final file and ends the recording.
+ *      Files are named agritrack-yyyyMMdd-HHmmss.jfr in agritrack.jfr.dir.
+ *
+ * SETTINGS: -Dagritrack.jfr.dir=<directory>      where recordings are written (default: user home)
+ *           -Dagritrack.jfr.settings=profile     JFR configuration name ("default" has lower overhead)
+ *           -Dagritrack.jfr.maxAgeMinutes=30     how much history a dump contains
+ * THREADING: Thread-safe (synchronized); file writes should run off the EDT
+ */
+public final class FlightRecording {
+    private static final String DIRECTORY = System.getProperty("agritrack.jfr.dir", System.getProperty("user.home"));
+    private static final String SETTINGS = System.getProperty("agritrack.jfr.settings", "profile");
+    private static final long MAX_AGE_MINUTES = Long.getLong("agritrack.jfr.maxAgeMinutes", 30);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * isRecording() - Whether a recording started by start() is running
+     */
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * start() - Starts recording
+     * @throws Exception If JFR is unavailable or the settings cannot be read
+     */
+    public static synchronized void start() throws Exception {
+        if (recording != null) {
+            throw new Exception("A flight recording is already running");
+        }
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(SETTINGS));
+            started.setName("AgriTrack");
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMinutes(MAX_AGE_MINUTES));
+            // WHAT: AgriTrack events are recorded in full (no threshold), with stack traces
+            started.enable(FlightEvents.ConnectionAcquire.class);
+            started.enable(FlightEvents.SqlStatement.class);
+            started.enable(FlightEvents.InsertBatch.class);
+            started.enable(FlightEvents.CsvExport.class);
+            started.enable(FlightEvents.TableReload.class);
+            started.start();
+            recording = started;
+            System.out.println("✓ Flight recording started (settings: " + SETTINGS + ")");
+        } catch (Exception e) {
+            throw new Exception("Error starting flight recording: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * dump() - Writes what has been recorded so far; recording continues
+     * @return Written file
+     * @throws Exception If no recording is running or the file cannot be written
+     */
+    public static synchronized Path dump() throws Exception {
+        if (recording == null) {
+            throw new Exception("No flight recording is running");
+        }
+        Path file = nextFile();
+        try {
+            recording.dump(file);
+        } catch (Exception e) {
+            throw new Exception("Error writing flight recording: " + e.getMessage(), e);
+        }
+        System.out.println("✓ Flight recording written to " + file);
+        return file;
+    }
+
+    /**
+     * stop() - Ends the recording and writes it
+     * @return Written file
+     * @throws Exception If no recording is running or the file cannot be written
+     */
+    public static synchronized Path stop() throws Exception {
+        if (recording == null) {
+            throw new Exception("No flight recording is running");
+        }
+        Recording stopped = recording;
+        recording = null;
+        Path file = nextFile();
+        try {
+            stopped.stop();
+            stopped.dump(file);
+        } catch (Exception e) {
+            throw new Exception("Error writing flight recording: " + e.getMessage(), e);
+        } finally {
+            stopped.close();
+        }
+        System.out.println("✓ Flight recording stopped, written to " + file);
+        return file;
+    }
+
+    private static Path nextFile() {
+        return new File(DIRECTORY, "agritrack-" + LocalDateTime.now().format(FILE_TIME) + ".jfr").toPath();
+    }
+}
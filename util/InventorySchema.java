@@ -0,0 +1,179 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.sql.Connection; // Import: Connection interface for schema changes
+import java.sql.DatabaseMetaData; // Import: DatabaseMetaData for checking the date_added column type
+import java.sql.PreparedStatement; // Import: PreparedStatement for normalizing date values
+import java.sql.ResultSet; // Import: ResultSet for reading metadata and rows
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for executing DDL statements
+import java.sql.Types; // Import: Types for JDBC column type codes
+import java.time.LocalDate; // Import: LocalDate for normalized dates
+import java.time.format.DateTimeFormatter; // Import: DateTimeFormatter for the accepted date formats
+import java.time.format.DateTimeParseException; // Import: DateTimeParseException for unreadable dates
+import java.util.ArrayList; // Import: ArrayList for the IDs of unreadable rows
+import java.util.List; // Import: List interface for the IDs of unreadable rows
+
+/**
+ * InventorySchema - Column Types and Indexes for INVENTORY_ITEM
+ * WHAT: Converts date_added from VARCHAR to DATE and creates the indexes used by the hot inventory queries
+ * WHY: Every listing sorts by date_added DESC and buyer/report screens filter by item_type and status;
+ *      without indexes each query scans and sorts the whole table, and VARCHAR dates sort as text
+ * HOW: upgrade() checks the column type through DatabaseMetaData, normalizes non-ISO date text, changes the
+ *      column type in place, then creates missing indexes (CREATE INDEX IF NOT EXISTS)
+ *
+ * IDEMPOTENT: Safe to run more than once - a DATE column and existing indexes are left untouched
+ * FIXED RULES: Part of migration 4 - the date formats are copied here, not taken from InventoryDAO, so the
+ *              migration behaves the same on every database it will ever run on
+ */
+public final class InventorySchema {
+    // WHAT: Index for the listing order (date_added DESC, item_id DESC)
+    // WHY: Listings, keyset pages and exports read rows in this order; a matching index avoids the sort
+    // HOW: Declared DESC so the index is scanned forwards in listing order
+    public static final String IDX_DATE_ID = "IDX_INVENTORY_DATE_ID";
+
+    // WHAT: Index for buyer/report filters on item type and status
+    public static final String IDX_TYPE_STATUS = "IDX_INVENTORY_TYPE_STATUS";
+
+    // WHAT: Index for name lookups and prefix searches
+    public static final String IDX_NAME = "IDX_INVENTORY_NAME";
+
+    // WHAT: DDL for the indexes, in creation order
+    private static final String[] INDEX_DDL = {
+        "CREATE INDEX IF NOT EXISTS " + IDX_DATE_ID + " ON INVENTORY_ITEM (date_added DESC, item_id DESC)",
+        "CREATE INDEX IF NOT EXISTS " + IDX_TYPE_STATUS + " ON INVENTORY_ITEM (item_type, status)",
+        "CREATE INDEX IF NOT EXISTS " + IDX_NAME + " ON INVENTORY_ITEM (name)"
+    };
+
+    // WHAT: Date formats accepted by the conversion: ISO (application) and MM/dd/yyyy (H2 Console edits)
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter CONSOLE_DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    // WHAT: Most unreadable item IDs listed in the error message
+    private static final int MAX_LISTED_IDS = 50;
+
+    private InventorySchema() {
+        // Utility class - no instances
+    }
+
+    /**
+     * upgrade() - Brings INVENTORY_ITEM up to the tuned schema
+     * WHAT: DATE column for date_added plus the three hot-query indexes
+     * WHY: Used by the schema benchmark; at startup SchemaMigrator runs the two steps as separate migrations
+     * HOW: convertDateAddedToDate() then createIndexes()
+     * @param conn Open connection (auto-commit mode)
+     * @throws SQLException If a schema change fails
+     */
+    public static void upgrade(Connection conn) throws SQLException {
+        convertDateAddedToDate(conn);
+        createIndexes(conn);
+    }
+
+    /**
+     * convertDateAddedToDate() - Changes date_added from VARCHAR to DATE
+     * WHAT: Rewrites non-ISO date text (MM/dd/yyyy from H2 Console edits) as yyyy-MM-dd, then changes the type
+     * WHY: ALTER COLUMN ... SET DATA TYPE DATE fails on any value that is not ISO text
+     * HOW: Reads all (item_id, date_added) rows once, updates only rows whose text changes, then ALTERs the column.
+     *      A value in neither format fails the conversion with the offending item IDs - it is never replaced
+     *      by a guessed date (the rows must be fixed, e.g. in the H2 Console, before the migration can run)
+     * @param conn Open connection
+     * @return true if the column was converted, false if it already was a DATE
+     * @throws SQLException If reading, updating or altering fails, or a stored date cannot be read
+     */
+    public static boolean convertDateAddedToDate(Connection conn) throws SQLException {
+        if (isDateColumn(conn)) {
+            return false;
+        }
+        long start = System.nanoTime();
+
+        // WHAT: Normalize every stored value to ISO text
+        // WHY: Same formats the application reads (InventoryDAO.parseDateAdded), without its display fallback
+        // HOW: Batched UPDATE for rows whose text differs from the ISO form; unreadable rows are collected
+        int normalized = 0;
+        int unreadable = 0;
+        List<Integer> unreadableIds = new ArrayList<>();
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery("SELECT item_id, date_added FROM INVENTORY_ITEM");
+             PreparedStatement update = conn.prepareStatement("UPDATE INVENTORY_ITEM SET date_added = ? WHERE item_id = ?")) {
+            while (rs.next()) {
+                String stored = rs.getString(2);
+                LocalDate date = parseStoredDate(stored);
+                if (date == null) {
+                    if (unreadable++ < MAX_LISTED_IDS) {
+                        unreadableIds.add(rs.getInt(1));
+                    }
+                    continue;
+                }
+                String iso = date.toString();
+                if (!iso.equals(stored)) {
+                    update.setString(1, iso);
+                    update.setInt(2, rs.getInt(1));
+                    update.addBatch();
+                    if (++normalized % 1000 == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            if (unreadable > 0) {
+                // WHAT: Stop before the ALTER; the caller rolls back the normalized rows
+                throw new SQLException("INVENTORY_ITEM.date_added has " + unreadable + " value(s) in neither yyyy-MM-dd "
+                    + "nor MM/dd/yyyy format (item_id " + unreadableIds + (unreadable > MAX_LISTED_IDS ? ", ..." : "")
+                    + "); correct them and restart");
+            }
+            if (normalized % 1000 != 0) {
+                update.executeBatch();
+            }
+        }
+
+        // WHAT: Change the column type in place
+        // WHY: Keeps column position and NOT NULL constraint; H2 converts ISO text to DATE values
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE INVENTORY_ITEM ALTER COLUMN date_added SET DATA TYPE DATE");
+        }
+        System.out.println("✓ Converted INVENTORY_ITEM.date_added to DATE (" + normalized + " values normalized) in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return true;
+    }
+
+    /**
+     * createIndexes() - Creates the hot-query indexes if they are missing
+     * @param conn Open connection
+     * @throws SQLException If an index cannot be created
+     */
+    public static void createIndexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String ddl : INDEX_DDL) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * parseStoredDate() - Parses stored date text in one of the accepted formats
+     * @return Parsed date, or null if the text is empty or in neither format
+     */
+    private static LocalDate parseStoredDate(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        String text = stored.trim();
+        for (DateTimeFormatter format : new DateTimeFormatter[] {ISO_DATE, CONSOLE_DATE}) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    /**
+     * isDateColumn() - Returns whether date_added already has type DATE
+     * HOW: DatabaseMetaData.getColumns() in the connection's current schema
+     */
+    private static boolean isDateColumn(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getColumns(conn.getCatalog(), conn.getSchema(), "INVENTORY_ITEM", "DATE_ADDED")) {
+            return rs.next() && rs.getInt("DATA_TYPE") == Types.DATE;
+        }
+    }
+}
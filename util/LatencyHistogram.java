@@ -0,0 +1,84 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.util.concurrent.atomic.AtomicLongArray; // Import: AtomicLongArray for lock-free bucket counts
+
+/**
+ * LatencyHistogram - Fixed-Size Log-Linear Latency Histogram
+ * WHAT: Counts latencies in buckets and answers percentiles (p50/p95/p99) from them
+ * WHY: Keeping every sample would grow without bound; an average hides the slow tail users notice
+ * HOW: Microsecond values below 16 get one bucket each; above that every power of two is split into 8 equal
+ *      buckets, so a percentile is off by at most 1/16 (6%) of the value. 256 buckets cover up to about 2^35 us
+ *      (9.5 hours); larger values land in the last bucket. Recording is one atomic increment.
+ *
+ * THREADING: Thread-safe; a percentile read during recording sees a consistent-enough snapshot for monitoring
+ */
+public final class LatencyHistogram {
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 256;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * record() - Adds one latency
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucket(Math.max(0, nanos / 1_000)));
+    }
+
+    /**
+     * percentile() - Returns the latency below which the given fraction of recorded values lie
+     * @param p Fraction between 0 and 1 (0.99 for p99)
+     * @return Latency in milliseconds (middle of the bucket), 0 if nothing was recorded
+     */
+    public double percentile(double p) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return middle(i) / 1_000.0;
+            }
+        }
+        return middle(BUCKETS - 1) / 1_000.0;
+    }
+
+    /**
+     * reset() - Forgets all recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int bucket(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros); // >= 4
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, LINEAR + (exponent - 4) * SUB_BUCKETS + sub);
+    }
+
+    private static double middle(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket + 0.5;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long width = 1L << (exponent - 3);
+        long lower = (SUB_BUCKETS + sub) * width;
+        return lower + width / 2.0;
+    }
+}
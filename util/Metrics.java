@@ -0,0 +1,399 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.lang.management.ManagementFactory; // Import: ManagementFactory for the platform MBean server
+import java.lang.reflect.InvocationHandler; // Import: InvocationHandler for timing proxies
+import java.lang.reflect.InvocationTargetException; // Import: InvocationTargetException to rethrow the real error
+import java.lang.reflect.Method; // Import: Method for proxied calls
+import java.lang.reflect.Proxy; // Import: Proxy for instrumented interfaces, connections and statements
+import java.sql.Connection; // Import: Connection interface for SQL instrumentation
+import java.sql.Statement; // Import: Statement interface for SQL instrumentation
+import java.util.ArrayList; // Import: ArrayList for the sorted report
+import java.util.List; // Import: List interface for the sorted report
+import java.util.Locale; // Import: Locale for report formatting
+import java.util.Map; // Import: Map interface for the operation registry
+import java.util.concurrent.ConcurrentHashMap; // Import: ConcurrentHashMap for the operation registry
+import java.util.concurrent.Executors; // Import: Executors for the periodic dump thread
+import java.util.concurrent.ScheduledExecutorService; // Import: ScheduledExecutorService for the periodic dump
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for the dump period
+import java.util.concurrent.atomic.AtomicInteger; // Import: AtomicInteger for in-flight gauges
+import java.util.concurrent.atomic.LongAccumulator; // Import: LongAccumulator for maximum latency
+import java.util.concurrent.atomic.LongAdder; // Import: LongAdder for counters and total time
+import javax.management.MBeanServer; // Import: MBeanServer for JMX registration
+import javax.management.ObjectName; // Import: ObjectName for JMX names
+
+/**
+ * Metrics - Latency, Counter and Slow-Query Instrumentation
+ * WHAT: Per-operation call and error counters, in-flight gauges and latency histograms (p50/p95/p99/max) for
+ *       InventoryService and UserDAO operations and for every SQL statement, plus a slow-query log with the SQL text
+ * WHY: Query latency was invisible - the only output was startup banners
+ * HOW: Operations are registered by name (e.g. "UserDAO.login", "SQL.query"). Interfaces are wrapped with
+ *      instrument(Class, target, prefix); connections from DBConnection with instrument(Connection), which times
+ *      statement execution. start() registers every operation as a JMX MXBean (agritrack:type=Operation,name=...)
+ *      and prints report() every agritrack.metrics.dumpSeconds.
+ *
+ * SETTINGS: -Dagritrack.metrics.enabled=true          turns instrumentation on (off by default)
+ *           -Dagritrack.metrics.slowQueryMillis=200   SQL statements at least this slow are logged (0 disables)
+ *           -Dagritrack.metrics.dumpSeconds=60        period of the console report (0 disables)
+ * DISABLED: instrument() returns its argument unchanged and operation() a shared no-op, so the cost is one
+ *           check of a static final boolean (constant-folded by the JIT)
+ * THREADING: Thread-safe
+ */
+public final class Metrics {
+    // WHAT: Whether instrumentation is on
+    public static final boolean ENABLED = Boolean.getBoolean("agritrack.metrics.enabled");
+
+    // WHAT: Threshold of the slow-query log (0 turns the log off)
+    public static final long SLOW_QUERY_MILLIS = Long.getLong("agritrack.metrics.slowQueryMillis", 200);
+
+    // WHAT: Period of the console report in seconds (0 turns the periodic report off)
+    public static final long DUMP_SECONDS = Long.getLong("agritrack.metrics.dumpSeconds", 60);
+
+    private static final Map<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+    private static final Operation NO_OP = new Operation("disabled", false);
+    private static final Object START_LOCK = new Object();
+    private static volatile boolean jmxRegistration;
+    private static ScheduledExecutorService dumper;
+
+    /**
+     * Call - An operation returning a value
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Action - An operation without a result
+     */
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * OperationMXBean - JMX view of one operation
+     */
+    public interface OperationMXBean {
+        long getCount();
+        long getErrors();
+        int getInFlight();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP95Millis();
+        double getP99Millis();
+        double getMaxMillis();
+        void reset();
+    }
+
+    /**
+     * Operation - Metrics of one named operation
+     * HOW: start() before the call, stop() after it (also on failure); record() and run() do both
+     */
+    public static final class Operation implements OperationMXBean {
+        private final String name;
+        private final boolean enabled;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Operation(String name, boolean enabled) {
+            this.name = name;
+            this.enabled = enabled;
+        }
+
+        /**
+         * start() - Marks the start of a call
+         * @return Start time to pass to stop() (0 when disabled)
+         */
+        public long start() {
+            if (!enabled) {
+                return 0;
+            }
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * stop() - Marks the end of a call started with start()
+         * @param startNanos Value returned by start()
+         * @param failed true if the call threw
+         */
+        public void stop(long startNanos, boolean failed) {
+            if (!enabled) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            inFlight.decrementAndGet();
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+            histogram.record(elapsed);
+        }
+
+        /**
+         * record() - Runs and times an operation that returns a value
+         */
+        public <T, E extends Exception> T record(Call<T, E> call) throws E {
+            if (!enabled) {
+                return call.call();
+            }
+            long start = start();
+            boolean failed = true;
+            try {
+                T result = call.call();
+                failed = false;
+                return result;
+            } finally {
+                stop(start, failed);
+            }
+        }
+
+        /**
+         * run() - Runs and times an operation without a result
+         */
+        public <E extends Exception> void run(Action<E> action) throws E {
+            if (!enabled) {
+                action.run();
+                return;
+            }
+            long start = start();
+            boolean failed = true;
+            try {
+                action.run();
+                failed = false;
+            } finally {
+                stop(start, failed);
+            }
+        }
+
+        public String getName() { return name; }
+        @Override public long getCount() { return count.sum(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public int getInFlight() { return inFlight.get(); }
+        // Percentiles are bucket middles - capped at the exact maximum so p99 never reads above max
+        @Override public double getP50Millis() { return Math.min(histogram.percentile(0.50), getMaxMillis()); }
+        @Override public double getP95Millis() { return Math.min(histogram.percentile(0.95), getMaxMillis()); }
+        @Override public double getP99Millis() { return Math.min(histogram.percentile(0.99), getMaxMillis()); }
+        @Override public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+
+        @Override
+        public double getMeanMillis() {
+            long calls = count.sum();
+            return calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+        }
+
+        @Override
+        public void reset() {
+            count.reset();
+            errors.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            histogram.reset();
+        }
+    }
+
+    private Metrics() {
+        // Utility class - no instances
+    }
+
+    /**
+     * operation() - Returns the operation with this name, creating it on first use
+     * @param name Operation name, e.g. "UserDAO.login"
+     * @return Registered operation, or a shared no-op when metrics are disabled
+     */
+    public static Operation operation(String name) {
+        if (!ENABLED) {
+            return NO_OP;
+        }
+        return OPERATIONS.computeIfAbsent(name, n -> {
+            Operation operation = new Operation(n, true);
+            if (jmxRegistration) {
+                register(operation);
+            }
+            return operation;
+        });
+    }
+
+    /**
+     * instrument() - Times every method of an interface
+     * WHAT: Returns a proxy that records each call as operation prefix + "." + method name
+     * @param type Interface to instrument
+     * @param target Implementation that does the work
+     * @param prefix Operation name prefix, e.g. "InventoryService"
+     * @return Timing proxy, or target itself when metrics are disabled
+     */
+    public static <T> T instrument(Class<T> type, T target, String prefix) {
+        if (!ENABLED) {
+            return target;
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(method, target, args);
+            }
+            return operation(prefix + "." + method.getName()).record(() -> invokeChecked(method, target, args));
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * instrument() - Times SQL executed through a connection
+     * WHAT: Statements created by the returned connection record SQL.query / SQL.update / SQL.batch /
+     *       SQL.execute and log statements slower than agritrack.metrics.slowQueryMillis with their SQL text
+     * @param conn Connection to instrument (closing the proxy closes it)
+     * @return Instrumented connection, or conn itself when metrics are disabled
+     */
+    public static Connection instrument(Connection conn) {
+        if (!ENABLED) {
+            return conn;
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(method, conn, args);
+            if (result instanceof Statement) {
+                // WHAT: prepareStatement()/prepareCall() carry their SQL; createStatement() gets it per execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return statementProxy((Statement) result, sql);
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+
+    /**
+     * start() - Publishes the metrics over JMX and starts the periodic console report
+     * WHY: Called once by the application at startup; does nothing when metrics are disabled
+     */
+    public static void start() {
+        if (!ENABLED) {
+            return;
+        }
+        synchronized (START_LOCK) {
+            if (jmxRegistration) {
+                return;
+            }
+            jmxRegistration = true;
+            for (Operation operation : OPERATIONS.values()) {
+                register(operation);
+            }
+            if (DUMP_SECONDS > 0) {
+                dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "agritrack-metrics");
+                    t.setDaemon(true);
+                    return t;
+                });
+                dumper.scheduleWithFixedDelay(() -> {
+                    String report = report();
+                    if (!report.isEmpty()) {
+                        System.out.print(report);
+                    }
+                }, DUMP_SECONDS, DUMP_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+        System.out.println("✓ Metrics enabled (JMX agritrack:type=Operation, report every " + DUMP_SECONDS
+            + " s, slow SQL >= " + SLOW_QUERY_MILLIS + " ms)");
+    }
+
+    /**
+     * report() - Returns a table of all operations that were called, slowest p99 first
+     * @return Report text, empty if nothing was recorded
+     */
+    public static String report() {
+        List<Operation> called = new ArrayList<>();
+        for (Operation operation : OPERATIONS.values()) {
+            if (operation.getCount() > 0) {
+                called.add(operation);
+            }
+        }
+        if (called.isEmpty()) {
+            return "";
+        }
+        called.sort((a, b) -> Double.compare(b.getP99Millis(), a.getP99Millis()));
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-40s %9s %7s %6s %9s %9s %9s %9s%n",
+            "Operation", "Calls", "Errors", "Active", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Operation op : called) {
+            report.append(String.format(Locale.ROOT, "%-40s %9d %7d %6d %9.2f %9.2f %9.2f %9.2f%n", op.getName(),
+                op.getCount(), op.getErrors(), op.getInFlight(), op.getP50Millis(), op.getP95Millis(),
+                op.getP99Millis(), op.getMaxMillis()));
+        }
+        return report.toString();
+    }
+
+    private static void register(Operation operation) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("agritrack:type=Operation,name=" + ObjectName.quote(operation.getName()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(operation, name);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠ Could not register metrics MBean " + operation.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * statementProxy() - Times the execute methods of a statement
+     */
+    private static Statement statementProxy(Statement statement, String preparedSql) {
+        Class<?>[] interfaces = {statementInterface(statement)};
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                return invoke(method, statement, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "(batch)";
+            Operation operation = operation(name.equals("executeQuery") ? "SQL.query"
+                : name.contains("Batch") ? "SQL.batch" : name.contains("Update") ? "SQL.update" : "SQL.execute");
+            long start = operation.start();
+            boolean failed = true;
+            try {
+                Object result = invoke(method, statement, args);
+                failed = false;
+                return result;
+            } finally {
+                operation.stop(start, failed);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                if (SLOW_QUERY_MILLIS > 0 && millis >= SLOW_QUERY_MILLIS) {
+                    System.out.println("⚠ Slow SQL (" + millis + " ms" + (failed ? ", failed" : "") + "): " + sql);
+                }
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Class<?> statementInterface(Statement statement) {
+        if (statement instanceof java.sql.CallableStatement) {
+            return java.sql.CallableStatement.class;
+        }
+        return statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+    }
+
+    /**
+     * invoke() - Calls the target and unwraps the exception it threw
+     */
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * invokeChecked() - invoke() for Operation.record(), which accepts Exception (Errors are rethrown as is)
+     */
+    private static Object invokeChecked(Method method, Object target, Object[] args) throws Exception {
+        try {
+            return invoke(method, target, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
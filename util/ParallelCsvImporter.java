@@ -0,0 +1,511 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import dao.InventoryBatchWriter; // Import: InventoryBatchWriter for batched inserts per writer thread
+import java.io.File; // Import: File for the input file
+import java.io.IOException; // Import: IOException for file errors
+import java.io.InputStream; // Import: InputStream adapter over mapped chunks
+import java.io.InputStreamReader; // Import: InputStreamReader for decoding chunk bytes
+import java.nio.ByteBuffer; // Import: ByteBuffer for newline scanning
+import java.nio.MappedByteBuffer; // Import: MappedByteBuffer for memory-mapped chunks
+import java.nio.channels.FileChannel; // Import: FileChannel for mapping and positional reads
+import java.nio.charset.Charset; // Import: Charset for decoding (same default charset as FileReader)
+import java.nio.file.StandardOpenOption; // Import: StandardOpenOption for opening the channel read-only
+import java.util.ArrayList; // Import: ArrayList for parsed row batches and writer threads
+import java.util.List; // Import: List interface for collections
+import java.util.concurrent.ArrayBlockingQueue; // Import: ArrayBlockingQueue for bounded parser-to-writer hand-off
+import java.util.concurrent.BlockingQueue; // Import: BlockingQueue interface
+import java.util.concurrent.ForkJoinPool; // Import: ForkJoinPool for parallel chunk parsing
+import java.util.concurrent.RecursiveAction; // Import: RecursiveAction for recursive chunk splitting
+import java.util.concurrent.TimeUnit; // Import: TimeUnit for queue timeouts
+import java.util.concurrent.atomic.AtomicBoolean; // Import: AtomicBoolean for cancel/abort flags
+import java.util.concurrent.atomic.AtomicLong; // Import: AtomicLong for progress counters
+import java.util.concurrent.atomic.AtomicReference; // Import: AtomicReference for the first failure
+import model.BulkInsertResult; // Import: BulkInsertResult for merged insert counts and errors
+import model.FarmItem; // Import: FarmItem base class
+
+/**
+ * ParallelCsvImporter - Multi-Core CSV Import
+ * WHAT: Imports a CSV file using several parser threads and several batched database writer threads
+ * WHY: A single thread that reads, parses, converts dates and writes cannot keep up with large co-op exports
+ * HOW: 1. The file is split into newline-aligned byte ranges (FileChannel positional reads find the boundaries)
+ *      2. Ranges are parsed on a ForkJoinPool: each task memory-maps its range and parses it with CsvParser
+ *      3. Parsed rows travel in batches through a bounded queue to a few writer threads (InventoryBatchWriter each)
+ *      4. A throughput report (rows/sec, bytes/sec) is printed at the end
+ *
+ * LIMITATIONS:
+ * - Quoted fields must not contain line breaks (chunk boundaries are found by scanning for '\n'); isSplittable()
+ *   checks this with one quote-parity scan of the file, and importFile() refuses files that fail it
+ * - Rows are inserted in no particular order (item_id order differs from file order)
+ * - Failed batches are numbered per writer thread
+ */
+public final class ParallelCsvImporter {
+    // WHAT: Default parser parallelism
+    // WHY: Parsing is CPU-bound; one thread per core
+    // HOW: Overridable with -Dagritrack.import.parserThreads
+    public static final int DEFAULT_PARSER_THREADS =
+        Integer.getInteger("agritrack.import.parserThreads", Runtime.getRuntime().availableProcessors());
+
+    // WHAT: Default number of writer threads (= database connections used)
+    // WHY: H2 serializes most writes; a couple of writers keep it busy while the others wait for a round trip
+    // HOW: Overridable with -Dagritrack.import.writerThreads
+    public static final int DEFAULT_WRITER_THREADS = Integer.getInteger("agritrack.import.writerThreads", 2);
+
+    // WHAT: Target size of one parse chunk
+    // WHY: Small enough for good load balancing across cores, large enough to amortize task overhead
+    // HOW: Ranges larger than this are split in two (at a newline) by the fork-join task
+    private static final long CHUNK_SIZE = Long.getLong("agritrack.import.chunkBytes", 8L * 1024 * 1024);
+
+    // WHAT: Number of row batches that may wait for a writer
+    // WHY: Bounds memory - parsers block when writers fall behind (backpressure)
+    private static final int QUEUE_CAPACITY_PER_WRITER = 4;
+
+    // WHAT: Marker that tells a writer thread no more batches will come
+    private static final List<FarmItem> END_OF_INPUT = new ArrayList<>();
+
+    private final int parserThreads;
+    private final int writerThreads;
+    private final int batchSize;
+    private final int commitInterval;
+
+    /**
+     * Report - Outcome and throughput of a parallel import
+     * WHAT: Insert counts, errors, elapsed time, rows/sec and bytes/sec
+     * WHY: Shown to the user and printed to the console after every import
+     */
+    public static final class Report {
+        private final BulkInsertResult result;
+        private final long bytes;
+        private final long elapsedNanos;
+        private final int parserThreads;
+        private final int writerThreads;
+
+        Report(BulkInsertResult result, long bytes, long elapsedNanos, int parserThreads, int writerThreads) {
+            this.result = result;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+            this.parserThreads = parserThreads;
+            this.writerThreads = writerThreads;
+        }
+
+        public BulkInsertResult getResult() { return result; }
+        public long getBytes() { return bytes; }
+        public double getElapsedSeconds() { return elapsedNanos / 1e9; }
+
+        /**
+         * WHAT: Rows (inserted + failed) processed per second
+         */
+        public double getRowsPerSecond() {
+            double seconds = Math.max(getElapsedSeconds(), 1e-9);
+            return (result.getInsertedCount() + result.getFailedCount()) / seconds;
+        }
+
+        /**
+         * WHAT: Input bytes processed per second
+         */
+        public double getBytesPerSecond() {
+            return bytes / Math.max(getElapsedSeconds(), 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Parallel import: %d rows inserted, %d failed, %.1f MB in %.2f s "
+                    + "(%.0f rows/s, %.1f MB/s, %d parser / %d writer threads)",
+                result.getInsertedCount(), result.getFailedCount(), bytes / 1048576.0, getElapsedSeconds(),
+                getRowsPerSecond(), getBytesPerSecond() / 1048576.0, parserThreads, writerThreads);
+        }
+    }
+
+    /**
+     * Constructor - Creates an importer with default threads and batching
+     */
+    public ParallelCsvImporter() {
+        this(DEFAULT_PARSER_THREADS, DEFAULT_WRITER_THREADS,
+             InventoryBatchWriter.DEFAULT_BATCH_SIZE, InventoryBatchWriter.DEFAULT_COMMIT_INTERVAL);
+    }
+
+    /**
+     * Constructor - Creates an importer with explicit threads and batching
+     * @param parserThreads Fork-join parallelism for parsing
+     * @param writerThreads Number of writer threads (each uses one database connection)
+     * @param batchSize Rows per executeBatch() call (also rows per queued batch)
+     * @param commitInterval Rows per commit per writer
+     */
+    public ParallelCsvImporter(int parserThreads, int writerThreads, int batchSize, int commitInterval) {
+        if (parserThreads <= 0 || writerThreads <= 0 || batchSize <= 0 || commitInterval <= 0) {
+            throw new IllegalArgumentException("Thread counts, batch size and commit interval must be positive");
+        }
+        this.parserThreads = parserThreads;
+        this.writerThreads = writerThreads;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * importFile() - Imports a CSV file in parallel
+     * WHAT: Parses and inserts all records, returns counts and throughput
+     * WHY: Entry point used by FileImporter for large files
+     * HOW: Checks isSplittable(), then importSplittable()
+     * @param file CSV file with a header line
+     * @param progress Progress handle (percent of bytes parsed), may be null
+     * @param cancelRequested Stops parsing when set (rows already queued are still written), may be null
+     * @return Import report
+     * @throws Exception If the file has quoted line breaks, cannot be read, or a writer loses its database connection
+     */
+    public Report importFile(File file, BackgroundTasks.Progress progress, AtomicBoolean cancelRequested) throws Exception {
+        if (!isSplittable(file)) {
+            throw new Exception("Error importing " + file.getName() + " in parallel: quoted fields contain line breaks "
+                + "(use the sequential import)");
+        }
+        return importSplittable(file, progress, cancelRequested);
+    }
+
+    /**
+     * isSplittable() - Returns whether every '\n' of the file ends a record
+     * WHAT: Scans the file once, toggling "inside quotes" on every '"' (an escaped "" toggles twice, as in CsvParser)
+     * WHY: Chunks are split at any '\n'; one inside a quoted field would cut a record in two and the rest of the
+     *      chunk would be parsed with inverted quoting - rows silently corrupted or skipped
+     * HOW: Positional FileChannel reads in 1 MB blocks; stops at the first line break inside quotes.
+     *      Checking bytes is safe for UTF-8 and single-byte charsets ('"' and '\n' never occur inside a multi-byte character)
+     * @param file CSV file
+     * @return false if a line break occurs inside a quoted field
+     * @throws IOException If the file cannot be read
+     */
+    public static boolean isSplittable(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            byte[] bytes = buffer.array();
+            boolean inQuotes = false;
+            long pos = 0;
+            int n;
+            while ((n = channel.read(buffer.clear(), pos)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    byte b = bytes[i];
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && inQuotes) {
+                        return false;
+                    }
+                }
+                pos += n;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * importSplittable() - Imports a file that passed isSplittable()
+     * WHY: FileImporter checks isSplittable() itself (to fall back to the sequential import) - no second scan
+     * HOW: Starts writer threads, runs the fork-join parse, then signals end of input and joins the writers
+     */
+    Report importSplittable(File file, BackgroundTasks.Progress progress, AtomicBoolean cancelRequested) throws Exception {
+        long startNanos = System.nanoTime();
+        AtomicBoolean cancel = cancelRequested != null ? cancelRequested : new AtomicBoolean();
+        AtomicBoolean abort = new AtomicBoolean();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong bytesParsed = new AtomicLong();
+        BlockingQueue<List<FarmItem>> queue = new ArrayBlockingQueue<>(writerThreads * QUEUE_CAPACITY_PER_WRITER);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // WHAT: Start writer threads
+            // WHY: Writers run while parsing is still in progress
+            // HOW: Each writer owns one InventoryBatchWriter (one connection, one transaction at a time)
+            List<WriterThread> writers = new ArrayList<>();
+            for (int i = 0; i < writerThreads; i++) {
+                WriterThread writer = new WriterThread(i + 1, queue, abort, failure);
+                writers.add(writer);
+                writer.start();
+            }
+
+            // WHAT: Parse all chunks on a dedicated fork-join pool
+            // WHY: Dedicated pool - parser tasks block on the queue, which must not stall the common pool
+            // HOW: ChunkTask splits the data range recursively at newlines
+            ForkJoinPool pool = new ForkJoinPool(parserThreads);
+            try {
+                long dataStart = skipLine(channel, 0, size); // Skip header line
+                ParseContext context = new ParseContext(channel, queue, cancel, abort, failure, bytesParsed, size, progress);
+                pool.invoke(new ChunkTask(context, dataStart, size));
+            } finally {
+                pool.shutdown();
+            }
+
+            // WHAT: Tell writers that no more batches will come, wait for them
+            // WHY: Writers commit their last batches before the import is reported
+            // HOW: One END_OF_INPUT marker per writer
+            for (int i = 0; i < writerThreads; i++) {
+                putUninterruptibly(queue, END_OF_INPUT);
+            }
+            BulkInsertResult result = new BulkInsertResult();
+            for (WriterThread writer : writers) {
+                writer.join();
+                result.merge(writer.result);
+            }
+
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            Report report = new Report(result, size, System.nanoTime() - startNanos, parserThreads, writerThreads);
+            System.out.println("✓ " + report);
+            return report;
+        }
+    }
+
+    /**
+     * skipLine() - Returns the position after the next '\n' at or after position
+     * WHAT: Finds the start of the next line
+     * WHY: Chunk boundaries must fall on line starts so no record is split between two chunks
+     * HOW: Reads small blocks with positional FileChannel reads (does not move a shared position)
+     */
+    private static long skipLine(FileChannel channel, long position, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < limit) {
+            buffer.clear();
+            int n = channel.read(buffer, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    return Math.min(pos + i + 1, limit);
+                }
+            }
+            pos += n;
+        }
+        return limit;
+    }
+
+    /**
+     * putUninterruptibly() - Puts a batch on the queue, retrying if interrupted
+     */
+    private static void putUninterruptibly(BlockingQueue<List<FarmItem>> queue, List<FarmItem> batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * ParseContext - State shared by all chunk tasks of one import
+     */
+    private final class ParseContext {
+        final FileChannel channel;
+        final BlockingQueue<List<FarmItem>> queue;
+        final AtomicBoolean cancel;
+        final AtomicBoolean abort;
+        final AtomicReference<Exception> failure;
+        final AtomicLong bytesParsed;
+        final long totalBytes;
+        final BackgroundTasks.Progress progress;
+
+        ParseContext(FileChannel channel, BlockingQueue<List<FarmItem>> queue, AtomicBoolean cancel, AtomicBoolean abort,
+                     AtomicReference<Exception> failure, AtomicLong bytesParsed, long totalBytes,
+                     BackgroundTasks.Progress progress) {
+            this.channel = channel;
+            this.queue = queue;
+            this.cancel = cancel;
+            this.abort = abort;
+            this.failure = failure;
+            this.bytesParsed = bytesParsed;
+            this.totalBytes = Math.max(1, totalBytes);
+            this.progress = progress;
+        }
+
+        boolean stopped() {
+            return cancel.get() || abort.get();
+        }
+
+        /**
+         * offer() - Hands a batch to the writers, waiting while the queue is full
+         * HOW: Timed offer so a failed import (abort) does not leave parsers blocked forever
+         */
+        void offer(List<FarmItem> batch) throws InterruptedException {
+            while (!abort.get()) {
+                if (queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * ChunkTask - Fork-join task that parses one newline-aligned byte range
+     * WHAT: Splits ranges larger than CHUNK_SIZE in two, parses small ranges directly
+     * WHY: Recursive splitting balances work across cores without knowing the line structure up front
+     * HOW: Split point = first line start after the middle of the range
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private final ParseContext context;
+        private final long start;
+        private final long end;
+
+        ChunkTask(ParseContext context, long start, long end) {
+            this.context = context;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (context.stopped() || start >= end) {
+                return;
+            }
+            try {
+                if (end - start > CHUNK_SIZE) {
+                    long middle = skipLine(context.channel, start + (end - start) / 2, end);
+                    if (middle > start && middle < end) {
+                        invokeAll(new ChunkTask(context, start, middle), new ChunkTask(context, middle, end));
+                        return;
+                    }
+                }
+                parseRange();
+            } catch (Exception e) {
+                context.failure.compareAndSet(null, e);
+                context.abort.set(true);
+            }
+        }
+
+        /**
+         * parseRange() - Parses all records of this range and queues them in batches
+         * HOW: Memory-maps the range, decodes it with the platform charset (same as FileReader) into CsvParser
+         */
+        private void parseRange() throws IOException, InterruptedException {
+            MappedByteBuffer mapped = context.channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            try (CsvParser parser = new CsvParser(new InputStreamReader(new ByteBufferInputStream(mapped), Charset.defaultCharset()))) {
+                List<FarmItem> batch = new ArrayList<>(batchSize);
+                while (!context.stopped() && parser.next()) {
+                    if (parser.isBlankRecord()) {
+                        continue;
+                    }
+                    FarmItem item;
+                    try {
+                        item = FileImporter.toFarmItem(parser);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error parsing record at byte range " + start + "-" + end + ": "
+                            + parser.recordText() + " - " + e.getMessage());
+                        continue;
+                    }
+                    if (item != null) {
+                        batch.add(item);
+                        if (batch.size() == batchSize) {
+                            context.offer(batch);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+                if (!batch.isEmpty() && !context.abort.get()) {
+                    context.offer(batch);
+                }
+            }
+            long parsed = context.bytesParsed.addAndGet(end - start);
+            if (context.progress != null) {
+                int percent = (int) Math.min(99, parsed * 100 / context.totalBytes);
+                context.progress.update(percent, "Parsed " + (parsed / 1048576) + " of " + (context.totalBytes / 1048576) + " MB");
+            }
+        }
+    }
+
+    /**
+     * WriterThread - Drains row batches into the database
+     * WHAT: Takes batches from the queue and adds them to its own InventoryBatchWriter
+     * WHY: Several writers keep the database busy while others wait on round trips and commits
+     * HOW: Stops at END_OF_INPUT; on a connection error records the failure and aborts the import
+     */
+    private final class WriterThread extends Thread {
+        private final BlockingQueue<List<FarmItem>> queue;
+        private final AtomicBoolean abort;
+        private final AtomicReference<Exception> failure;
+        private BulkInsertResult result = new BulkInsertResult();
+
+        WriterThread(int number, BlockingQueue<List<FarmItem>> queue, AtomicBoolean abort, AtomicReference<Exception> failure) {
+            super("agritrack-import-writer-" + number);
+            setDaemon(true);
+            this.queue = queue;
+            this.abort = abort;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try (InventoryBatchWriter writer = new InventoryBatchWriter(batchSize, commitInterval)) {
+                while (true) {
+                    List<FarmItem> batch = queue.take();
+                    if (batch == END_OF_INPUT) {
+                        break;
+                    }
+                    if (abort.get()) {
+                        continue; // Drain queue without writing after a failure
+                    }
+                    for (FarmItem item : batch) {
+                        writer.add(item);
+                    }
+                }
+                if (!abort.get()) {
+                    result = writer.finish();
+                } else {
+                    result = writer.getResult(); // Committed rows so far; close() rolls back the rest
+                }
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+                abort.set(true);
+                drainUntilEnd();
+            }
+        }
+
+        /**
+         * drainUntilEnd() - Keeps consuming until END_OF_INPUT after a failure
+         * WHY: Parsers or the coordinator may still be putting batches; they must not block forever
+         */
+        private void drainUntilEnd() {
+            try {
+                while (queue.take() != END_OF_INPUT) {
+                    // Discard
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * ByteBufferInputStream - InputStream view of a (memory-mapped) ByteBuffer
+     * WHY: Lets InputStreamReader decode a mapped chunk without copying it to the heap first
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.nio.charset.StandardCharsets; // Import: StandardCharsets for password bytes
+import java.security.GeneralSecurityException; // Import: GeneralSecurityException for crypto failures
+import java.security.MessageDigest; // Import: MessageDigest.isEqual for constant-time comparison
+import java.security.SecureRandom; // Import: SecureRandom for salts and the cache key
+import java.util.Base64; // Import: Base64 for storing salt and hash as text
+import java.util.Map; // Import: Map interface for the verification cache
+import java.util.concurrent.ConcurrentHashMap; // Import: ConcurrentHashMap for the verification cache
+import java.util.concurrent.atomic.AtomicLong; // Import: AtomicLong for cache counters
+import javax.crypto.Mac; // Import: Mac for the verification cache digest
+import javax.crypto.SecretKeyFactory; // Import: SecretKeyFactory for PBKDF2
+import javax.crypto.spec.PBEKeySpec; // Import: PBEKeySpec for PBKDF2 parameters
+import javax.crypto.spec.SecretKeySpec; // Import: SecretKeySpec for the cache HMAC key
+
+/**
+ * PasswordHasher - Salted PBKDF2 Password Hashes
+ * WHAT: Hashes passwords for storage and verifies login attempts against stored hashes
+ * WHY: USER.password held plain text; anyone who could read the database file could read every password
+ * HOW: PBKDF2-HMAC-SHA256 with a random 16-byte salt per password. The stored text is self-describing:
+ *          pbkdf2-sha256$<iterations>$<base64 salt>$<base64 hash>
+ *      so the cost can be raised later (needsRehash() tells UserDAO to re-hash at the next successful login).
+ *
+ * VERIFICATION CACHE: PBKDF2 is slow on purpose. After a successful verification the hasher remembers, per stored
+ *      hash, an HMAC of the password under a random per-process key for agritrack.password.cacheSeconds; a repeat
+ *      login with the same password is then checked with one HMAC. Failed attempts are never cached and always
+ *      pay the full cost, and nothing in the cache is useful outside this process.
+ *
+ * THREADING: Thread-safe
+ */
+public final class PasswordHasher {
+    // WHAT: Default PBKDF2 iteration count
+    // WHY: OWASP recommendation for PBKDF2-HMAC-SHA256; roughly 0.3 s per hash on a desktop CPU
+    // HOW: Overridable with -Dagritrack.password.iterations (benchmark.LoginBenchmark shows the latency per cost)
+    public static final int DEFAULT_ITERATIONS = Integer.getInteger("agritrack.password.iterations", 600_000);
+
+    // WHAT: How long a successful verification is remembered (0 disables the cache)
+    public static final long DEFAULT_CACHE_MILLIS = Long.getLong("agritrack.password.cacheSeconds", 600) * 1000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // WHAT: Upper bound on cached verifications
+    // WHY: One entry per user who logged in recently; cleared when full
+    private static final int MAX_CACHE_ENTRIES = 1024;
+
+    private static final PasswordHasher DEFAULT = new PasswordHasher(DEFAULT_ITERATIONS, DEFAULT_CACHE_MILLIS);
+
+    /**
+     * Verified - A remembered successful verification
+     */
+    private static final class Verified {
+        final byte[] digest;
+        final long expiresAt;
+
+        Verified(byte[] digest, long expiresAt) {
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int iterations;
+    private final long cacheMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final byte[] cacheKey = new byte[32];
+    private final Map<String, Verified> verified = new ConcurrentHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong fullVerifications = new AtomicLong();
+
+    /**
+     * Constructor - Creates a hasher with the given cost
+     * @param iterations PBKDF2 iterations for new hashes (must be positive)
+     * @param cacheMillis How long successful verifications are remembered, 0 to disable
+     */
+    public PasswordHasher(int iterations, long cacheMillis) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+        this.cacheMillis = cacheMillis;
+        random.nextBytes(cacheKey);
+    }
+
+    /**
+     * getDefault() - Returns the application's hasher (configured by system properties)
+     */
+    public static PasswordHasher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * isHash() - Returns true if the stored value is a hash produced by this class (false for plain text)
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * hash() - Hashes a password with a new random salt
+     * @param password Password to hash
+     * @return Text for USER.password
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * verify() - Checks a password against a stored hash
+     * HOW: Cached successful verification first (one HMAC), otherwise PBKDF2 with the stored salt and iterations
+     *      and a constant-time comparison
+     * @param password Password entered by the user
+     * @param stored Stored hash (see class comment)
+     * @return true if the password matches
+     */
+    public boolean verify(String password, String stored) {
+        if (!isHash(stored)) {
+            return false;
+        }
+        byte[] digest = cacheMillis > 0 ? cacheDigest(password) : null;
+        if (digest != null) {
+            Verified entry = verified.get(stored);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis() && MessageDigest.isEqual(entry.digest, digest)) {
+                cacheHits.incrementAndGet();
+                return true;
+            }
+        }
+
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        byte[] expected;
+        byte[] actual;
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            expected = Base64.getDecoder().decode(parts[2]);
+            fullVerifications.incrementAndGet();
+            actual = pbkdf2(password, salt, storedIterations);
+        } catch (IllegalArgumentException e) {
+            return false; // Malformed stored value
+        }
+        boolean matches = MessageDigest.isEqual(expected, actual);
+        if (matches && digest != null) {
+            if (verified.size() >= MAX_CACHE_ENTRIES) {
+                verified.clear();
+            }
+            verified.put(stored, new Verified(digest, System.currentTimeMillis() + cacheMillis));
+        }
+        return matches;
+    }
+
+    /**
+     * needsRehash() - Returns true if a stored hash uses fewer iterations than this hasher
+     * WHY: Raising the cost upgrades existing users as they log in
+     */
+    public boolean needsRehash(String stored) {
+        if (!isHash(stored)) {
+            return true;
+        }
+        int end = stored.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * clearCache() - Forgets all cached verifications
+     */
+    public void clearCache() {
+        verified.clear();
+    }
+
+    public int getIterations() { return iterations; }
+    public long getCacheHits() { return cacheHits.get(); }
+    public long getFullVerifications() { return fullVerifications.get(); }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private byte[] cacheDigest(String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(cacheKey, "HmacSHA256"));
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            return null; // No cache - always verify fully
+        }
+    }
+}
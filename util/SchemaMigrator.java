@@ -0,0 +1,333 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.sql.Connection; // Import: Connection interface for running migrations
+import java.sql.PreparedStatement; // Import: PreparedStatement for recording applied versions
+import java.sql.ResultSet; // Import: ResultSet for reading the current version
+import java.sql.SQLException; // Import: SQLException for database error handling
+import java.sql.Statement; // Import: Statement for executing DDL statements
+import java.sql.Timestamp; // Import: Timestamp for the applied_at column
+import java.util.ArrayList; // Import: ArrayList for the migration list
+import java.util.Collections; // Import: Collections for the read-only migration list
+import java.util.List; // Import: List interface for migrations
+
+/**
+ * SchemaMigrator - Versioned Database Schema Migrations
+ * WHAT: Brings the database schema to the current version by running ordered migration steps once each
+ * WHY: Running every ALTER TABLE inside try/catch and resetting the AUTO_INCREMENT sequence on each launch
+ *      made startup slower on large databases and silently hid real schema errors
+ * HOW: SCHEMA_VERSION stores one row per applied migration; at startup the highest applied version is read
+ *      and only newer steps run. Each step is idempotent (IF NOT EXISTS), so databases created before
+ *      SCHEMA_VERSION existed are upgraded safely by running all steps once.
+ *
+ * ADDING A MIGRATION: Append a new Migration with the next version number to MIGRATIONS - never change or
+ *                     reorder steps that were already released.
+ */
+public final class SchemaMigrator {
+    /**
+     * Step - Schema change of one migration
+     * WHAT: Executes DDL/DML on the given connection
+     * WHY: Most steps are a single statement; some (date conversion) need Java logic
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Migration - One versioned schema change
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+    }
+
+    // WHAT: Table that records applied migrations
+    // WHY: One small query at startup tells whether anything needs to run
+    private static final String SCHEMA_VERSION_DDL = "CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (" +
+        "version INTEGER PRIMARY KEY," + // Migration version number
+        "description VARCHAR(255) NOT NULL," + // What the migration does
+        "applied_at TIMESTAMP NOT NULL," + // When it ran
+        "duration_ms BIGINT NOT NULL" + // How long it took
+        ")";
+
+    // WHAT: All migrations in version order
+    // WHY: Single source of truth for the schema history
+    // HOW: Built once in a static initializer; versions must be strictly increasing
+    private static final List<Migration> MIGRATIONS;
+
+    static {
+        List<Migration> migrations = new ArrayList<>();
+
+        // WHAT: Base tables
+        // WHY: INVENTORY_ITEM stores all inventory items, USER stores accounts ("USER" quoted - reserved keyword in H2)
+        // HOW: CREATE TABLE IF NOT EXISTS, so existing databases keep their data
+        migrations.add(new Migration(1, "Create INVENTORY_ITEM and USER tables", conn -> execute(conn,
+            "CREATE TABLE IF NOT EXISTS INVENTORY_ITEM (" +
+                "item_id INTEGER PRIMARY KEY AUTO_INCREMENT," + // Auto-incrementing primary key (H2 compatible)
+                "name VARCHAR(255) NOT NULL," + // Item name, required, max 255 characters
+                "quantity DOUBLE NOT NULL," + // Quantity as decimal number, required
+                "unit VARCHAR(50) NOT NULL," + // Unit of measurement, required, max 50 characters
+                "item_type VARCHAR(50) NOT NULL," + // Item type (HARVEST or EQUIPMENT), required
+                "date_added DATE NOT NULL," + // Date the item was recorded, required
+                "status VARCHAR(50)," + // Status/condition field, optional
+                "notes VARCHAR(1000)," + // Optional notes, max 1000 characters
+                "price_per_unit DOUBLE" + // Price per unit (e.g., per kg), optional
+                ")",
+            "CREATE TABLE IF NOT EXISTS \"USER\" (" +
+                "user_id INTEGER PRIMARY KEY AUTO_INCREMENT," + // Auto-incrementing primary key (H2 compatible)
+                "username VARCHAR(100) NOT NULL UNIQUE," + // Username, required, must be unique
+                "password VARCHAR(255) NOT NULL," + // Password, required, max 255 characters
+                "name VARCHAR(255)," + // User's full name, optional, max 255 characters
+                "role VARCHAR(50) NOT NULL," + // User role (ADMIN, BUYER, SELLER), required
+                "location VARCHAR(500)" + // User's location/warehouse address, optional
+                ")")));
+
+        // WHAT: Columns added after the first release
+        // WHY: Databases created by older versions lack them
+        migrations.add(new Migration(2, "Add INVENTORY_ITEM.price_per_unit", conn -> execute(conn,
+            "ALTER TABLE INVENTORY_ITEM ADD COLUMN IF NOT EXISTS price_per_unit DOUBLE")));
+        migrations.add(new Migration(3, "Add USER.location", conn -> execute(conn,
+            "ALTER TABLE \"USER\" ADD COLUMN IF NOT EXISTS location VARCHAR(500)")));
+
+        // WHAT: Schema tuning for the hot inventory queries
+        // WHY: DATE sorting and indexes for listings, filters and name lookups
+        migrations.add(new Migration(4, "Convert INVENTORY_ITEM.date_added to DATE",
+            conn -> InventorySchema.convertDateAddedToDate(conn)));
+        migrations.add(new Migration(5, "Create INVENTORY_ITEM hot-query indexes", InventorySchema::createIndexes));
+
+        // WHAT: Row version for optimistic locking
+        // WHY: PurchaseService detects concurrent purchases and edits without holding locks while the buyer decides
+        migrations.add(new Migration(6, "Add INVENTORY_ITEM.version", conn -> execute(conn,
+            "ALTER TABLE INVENTORY_ITEM ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL")));
+
+        // WHAT: Append-only purchase ledger
+        // WHY: Completed purchases are recorded for reconciliation and sales reports
+        // HOW: IDs from a sequence that hands out blocks of 50 (PurchaseOrderDAO.ID_ALLOCATION_SIZE allocates
+        //      within a block - the value is written out here so this released step never changes);
+        //      no foreign key to INVENTORY_ITEM - orders keep a copy of the item and outlive its deletion;
+        //      indexes serve the ledger reads by buyer, by item and by date range
+        migrations.add(new Migration(7, "Create PURCHASE_ORDER ledger", conn -> execute(conn,
+            "CREATE SEQUENCE IF NOT EXISTS PURCHASE_ORDER_SEQ START WITH 1 INCREMENT BY 50",
+            "CREATE TABLE IF NOT EXISTS PURCHASE_ORDER (" +
+                "order_id BIGINT PRIMARY KEY," + // Allocated from PURCHASE_ORDER_SEQ
+                "buyer_id INTEGER NOT NULL," + // USER.user_id of the buyer
+                "buyer_username VARCHAR(100) NOT NULL," + // Username at purchase time
+                "item_id INTEGER NOT NULL," + // INVENTORY_ITEM.item_id (item may be deleted later)
+                "item_name VARCHAR(255) NOT NULL," + // Item name at purchase time
+                "quantity DOUBLE NOT NULL," + // Quantity bought
+                "unit VARCHAR(50) NOT NULL," + // Unit of the quantity
+                "price_per_unit DOUBLE NOT NULL," + // Price paid per unit
+                "subtotal DOUBLE NOT NULL," + // quantity * price_per_unit
+                "shipping_fee DOUBLE NOT NULL," + // Delivery fee (0 for pickup)
+                "total DOUBLE NOT NULL," + // subtotal + shipping_fee
+                "purchase_method VARCHAR(50)," + // Payment method chosen by the buyer
+                "delivery_option VARCHAR(20) NOT NULL," + // DELIVERY or PICKUP
+                "delivery_address VARCHAR(500)," + // Delivery address, null for pickup
+                "ordered_at TIMESTAMP NOT NULL" + // When the purchase was completed
+                ")",
+            "CREATE INDEX IF NOT EXISTS IDX_PURCHASE_ORDER_BUYER ON PURCHASE_ORDER (buyer_id, ordered_at DESC)",
+            "CREATE INDEX IF NOT EXISTS IDX_PURCHASE_ORDER_ITEM ON PURCHASE_ORDER (item_id, ordered_at DESC)",
+            "CREATE INDEX IF NOT EXISTS IDX_PURCHASE_ORDER_DATE ON PURCHASE_ORDER (ordered_at)")));
+
+        // WHAT: Precomputed inventory statistics
+        // WHY: Report screens read counts and totals without aggregating INVENTORY_ITEM
+        // HOW: One row per (item_type, status); "" for rows without status (primary key columns cannot be NULL);
+        //      filled from the existing rows here (same grouping as InventoryReportDAO.rebuildStats(), copied so the
+        //      released step never changes), then kept current by the DAO writers (InventoryStatsDelta)
+        migrations.add(new Migration(8, "Create INVENTORY_STATS summary table", conn -> {
+            execute(conn, "CREATE TABLE IF NOT EXISTS INVENTORY_STATS (" +
+                "item_type VARCHAR(50) NOT NULL," + // INVENTORY_ITEM.item_type
+                "status VARCHAR(50) NOT NULL," + // INVENTORY_ITEM.status, "" when NULL
+                "item_count BIGINT NOT NULL," + // Number of rows in the group
+                "total_quantity DOUBLE NOT NULL," + // SUM(quantity)
+                "total_value DOUBLE NOT NULL," + // SUM(quantity * price_per_unit), NULL prices excluded
+                "PRIMARY KEY (item_type, status)" +
+                ")");
+            execute(conn, "DELETE FROM INVENTORY_STATS",
+                "INSERT INTO INVENTORY_STATS (item_type, status, item_count, total_quantity, total_value) " +
+                "SELECT item_type, COALESCE(status, ''), COUNT(*), COALESCE(SUM(quantity), 0), " +
+                "COALESCE(SUM(quantity * price_per_unit), 0) " +
+                "FROM INVENTORY_ITEM GROUP BY item_type, COALESCE(status, '')");
+        }));
+
+        // WHAT: Daily harvest and sales rollups for trend reports
+        // WHY: Trends over weeks and months are read from at most one row per day and crop
+        // HOW: Primary key starts with bucket_date, so range queries read only the requested days;
+        //      filled from the existing lots and ledger here (a lot counts with its quantity plus its ledger sales;
+        //      same SQL as DailyRollupDAO.rebuildRollup(), copied so the released step never changes), then kept
+        //      current by the writers (DailyRollupDelta)
+        migrations.add(new Migration(9, "Create DAILY_ROLLUP trend table", conn -> {
+            execute(conn, "CREATE TABLE IF NOT EXISTS DAILY_ROLLUP (" +
+                "bucket_date DATE NOT NULL," + // Day of the harvest (date_added) or sale (ordered_at)
+                "crop VARCHAR(255) NOT NULL," + // Harvest lot name
+                "unit VARCHAR(50) NOT NULL," + // Unit of the quantities
+                "harvested_quantity DOUBLE NOT NULL," + // Quantity of lots recorded that day
+                "harvest_lots INTEGER NOT NULL," + // Number of lots recorded that day
+                "sold_quantity DOUBLE NOT NULL," + // Quantity sold that day
+                "sales_count INTEGER NOT NULL," + // Number of purchase orders that day
+                "revenue DOUBLE NOT NULL," + // Sum of order subtotals that day
+                "PRIMARY KEY (bucket_date, crop, unit)" +
+                ")");
+            execute(conn, "DELETE FROM DAILY_ROLLUP",
+                "INSERT INTO DAILY_ROLLUP (bucket_date, crop, unit, harvested_quantity, harvest_lots, sold_quantity, " +
+                "sales_count, revenue) " +
+                "SELECT bucket_date, crop, unit, SUM(harvested), SUM(lots), SUM(sold), SUM(sales), SUM(revenue) FROM (" +
+                "SELECT i.date_added AS bucket_date, TRIM(i.name) AS crop, i.unit AS unit, " +
+                "i.quantity + COALESCE((SELECT SUM(o.quantity) FROM PURCHASE_ORDER o WHERE o.item_id = i.item_id), 0) " +
+                "AS harvested, 1 AS lots, 0.0 AS sold, 0 AS sales, 0.0 AS revenue " +
+                "FROM INVENTORY_ITEM i WHERE i.item_type = 'HARVEST' " +
+                "UNION ALL " +
+                "SELECT CAST(o.ordered_at AS DATE), TRIM(o.item_name), o.unit, 0.0, 0, o.quantity, 1, o.subtotal " +
+                "FROM PURCHASE_ORDER o" +
+                ") events GROUP BY bucket_date, crop, unit");
+        }));
+
+        // WHAT: Case-insensitive username lookups by index, hashed passwords
+        // WHY: UPPER(username) = UPPER(?) scanned the table, and passwords were stored in plain text
+        // HOW: Non-unique index - databases may already hold usernames differing only in case
+        migrations.add(new Migration(10, "Add USER.username_lower and hash passwords", conn -> {
+            execute(conn, "ALTER TABLE \"USER\" ADD COLUMN IF NOT EXISTS username_lower VARCHAR(100)");
+            execute(conn, "UPDATE \"USER\" SET username_lower = LOWER(username) WHERE username_lower IS NULL");
+            execute(conn, "ALTER TABLE \"USER\" ALTER COLUMN username_lower SET NOT NULL");
+            execute(conn, "CREATE INDEX IF NOT EXISTS IDX_USER_USERNAME_LOWER ON \"USER\"(username_lower)");
+            hashPlaintextPasswords(conn);
+        }));
+
+        MIGRATIONS = Collections.unmodifiableList(migrations);
+    }
+
+    private SchemaMigrator() {
+        // Utility class - no instances
+    }
+
+    /**
+     * getLatestVersion() - Returns the version the code expects
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * getMigrations() - Returns all migrations in version order
+     */
+    public static List<Migration> getMigrations() {
+        return MIGRATIONS;
+    }
+
+    /**
+     * migrate() - Applies all pending migrations
+     * WHAT: Runs every migration newer than the database's current version, in order
+     * WHY: Called once at startup; an up-to-date database costs a single version query
+     * HOW: Each migration runs in its own transaction together with its SCHEMA_VERSION row
+     *      (H2 commits DDL implicitly, which is why every step must be idempotent)
+     * @param conn Open connection in auto-commit mode (restored afterwards)
+     * @return Number of migrations applied
+     * @throws SQLException If a migration fails - later migrations are not attempted
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        execute(conn, SCHEMA_VERSION_DDL);
+        int current = getCurrentVersion(conn);
+        if (current >= getLatestVersion()) {
+            return 0; // Up to date - nothing to do
+        }
+
+        int applied = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            conn.setAutoCommit(false);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    migration.step.apply(conn);
+                    recordVersion(conn, migration, (System.nanoTime() - start) / 1_000_000);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration " + migration.version + " (" + migration.description
+                        + ") failed: " + e.getMessage(), e.getSQLState(), e);
+                }
+                applied++;
+                System.out.println("✓ Applied schema migration " + migration.version + ": " + migration.description);
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    /**
+     * getCurrentVersion() - Returns the highest applied migration version (0 for a new database)
+     */
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM SCHEMA_VERSION")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * recordVersion() - Stores an applied migration in SCHEMA_VERSION
+     */
+    private static void recordVersion(Connection conn, Migration migration, long durationMs) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO SCHEMA_VERSION (version, description, applied_at, duration_ms) VALUES (?, ?, ?, ?)")) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            pstmt.setLong(4, durationMs);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * hashPlaintextPasswords() - Replaces plain-text passwords with hashes (part of migration 10)
+     * WHAT: Hashes every USER.password that is not yet a PasswordHasher hash
+     * WHY: Databases created before passwords were hashed; kept here, not in UserDAO, so the released step
+     *      never changes (stored hashes name their algorithm and iterations, so later hasher settings still verify them)
+     * HOW: Reads the plain-text rows, hashes them with the default hasher, conditional UPDATE per row
+     */
+    private static void hashPlaintextPasswords(Connection conn) throws SQLException {
+        PasswordHasher hasher = PasswordHasher.getDefault();
+        List<Object[]> plainText = new ArrayList<>();
+        try (PreparedStatement select = conn.prepareStatement(
+                "SELECT user_id, password FROM \"USER\" WHERE password NOT LIKE 'pbkdf2-%'");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                plainText.add(new Object[] {rs.getInt(1), rs.getString(2)});
+            }
+        }
+        try (PreparedStatement update = conn.prepareStatement(
+                "UPDATE \"USER\" SET password = ? WHERE user_id = ? AND password = ?")) {
+            for (Object[] row : plainText) {
+                update.setString(1, hasher.hash((String) row[1]));
+                update.setInt(2, (Integer) row[0]);
+                update.setString(3, (String) row[1]);
+                update.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * execute() - Runs SQL statements in order
+     */
+    private static void execute(Connection conn, String... sqlStatements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : sqlStatements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
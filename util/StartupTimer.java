@@ -0,0 +1,50 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.time.Instant; // Import: Instant for the process start time
+import java.util.Locale; // Import: Locale for number formatting
+
+/**
+ * StartupTimer - Timing of Application Startup Phases
+ * WHAT: Logs how long each startup phase took and when it finished, counted from process start
+ * WHY: Startup work now runs in parallel (login window, database bootstrap, optional H2 servers); the log shows
+ *      which phase the login window or the first login waited for
+ * HOW: begin() returns System.nanoTime(); end() prints "✓ Startup: <phase> <ms> ms (<ms> ms after launch)".
+ *      Launch time is the process start reported by the operating system, so JVM startup and class loading
+ *      before main() are included
+ *
+ * SETTINGS: -Dagritrack.startup.log=false   turns the phase log off
+ * THREADING: Thread-safe (phases finish on different threads)
+ */
+public final class StartupTimer {
+    private static final boolean ENABLED = !"false".equals(System.getProperty("agritrack.startup.log"));
+
+    // WHAT: Process start in epoch milliseconds (or first use of this class if the OS does not report it)
+    private static final long LAUNCHED_MILLIS = ProcessHandle.current().info().startInstant()
+        .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+
+    private StartupTimer() {
+    }
+
+    /**
+     * begin() - Start of a phase
+     * @return Value to pass to end()
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * end() - Logs a finished phase
+     * @param phase Phase name, e.g. "schema migrations"
+     * @param begin Value returned by begin() when the phase started
+     */
+    public static void end(String phase, long begin) {
+        if (!ENABLED) {
+            return;
+        }
+        double millis = (System.nanoTime() - begin) / 1e6;
+        long sinceLaunch = System.currentTimeMillis() - LAUNCHED_MILLIS;
+        System.out.println(String.format(Locale.ROOT, "✓ Startup: %s %.1f ms (%,d ms after launch, %s)",
+            phase, millis, sinceLaunch, Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,78 @@
+package util; // Package declaration: Groups this class with other utility classes
+
+import java.time.LocalDateTime; // Import: LocalDateTime for the login time
+import model.User; // Import: User model class
+
+/**
+ * UserSession - The Logged-In User of This Application Instance
+ * WHAT: Holds the User returned by login from login until logout
+ * WHY: Every window and dialog works with the same User object - a change such as a new location is seen by all
+ *      open screens at once, and no screen has to read the USER table again to know who is logged in
+ * HOW: LoginFrame calls start() after a successful login, logout handlers call end(); frames and dialogs take
+ *      no User parameter and read it with requireUser() when they are constructed
+ *
+ * THREADING: start/end/getCurrent are thread-safe; the User object itself is changed on the EDT only
+ */
+public final class UserSession {
+    // WHAT: Current session, null when nobody is logged in
+    private static volatile UserSession current;
+
+    private final User user;
+    private final LocalDateTime startedAt;
+
+    private UserSession(User user) {
+        this.user = user;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * start() - Starts a session for a user who just logged in (replaces any previous session)
+     * @param user Authenticated user
+     * @return The new session
+     */
+    public static UserSession start(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("Session user must not be null");
+        }
+        UserSession session = new UserSession(user);
+        current = session;
+        System.out.println("✓ Session started for " + user.getUsername() + " (" + user.getRole() + ")");
+        return session;
+    }
+
+    /**
+     * getCurrent() - Returns the current session, or null if nobody is logged in
+     */
+    public static UserSession getCurrent() {
+        return current;
+    }
+
+    /**
+     * requireUser() - Returns the logged-in user for a screen that is being opened
+     * WHY: Screens only open after login - a missing session is a programming error, not a user error
+     * @throws IllegalStateException if nobody is logged in
+     */
+    public static User requireUser() {
+        UserSession session = current;
+        if (session == null) {
+            throw new IllegalStateException("No user is logged in");
+        }
+        return session.user;
+    }
+
+    /**
+     * end() - Ends the current session (logout)
+     */
+    public static void end() {
+        current = null;
+    }
+
+    /**
+     * getUser() - Returns the logged-in user (shared by all screens)
+     */
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+}